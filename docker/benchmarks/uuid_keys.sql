@@ -0,0 +1,87 @@
+-- Insert throughput and index size: random VARCHAR(36) v4 keys vs native uuid v7 keys.
+--
+--   docker compose up -d postgres
+--   docker exec -i infratrack-postgres psql -U infratrack_user -d infratrack < docker/benchmarks/uuid_keys.sql
+--
+-- Each variant inserts the same rows into an empty table shaped like metrics, in
+-- batches as the snapshot writers do, then reports time, table and index sizes
+-- and the leaf density of the primary key. Everything lives in a scratch schema
+-- dropped at the end. Tune :rows / :batch below.
+
+\set rows 2000000
+\set batch 500
+\timing on
+
+DROP SCHEMA IF EXISTS uuid_bench CASCADE;
+CREATE SCHEMA uuid_bench;
+SET search_path = uuid_bench, public;
+CREATE EXTENSION IF NOT EXISTS pgstattuple SCHEMA public;
+
+-- uuidv7() is built in from PostgreSQL 18; this is the same layout
+CREATE FUNCTION uuid_v7() RETURNS uuid AS $$
+    SELECT encode(set_bit(set_bit(
+        overlay(uuid_send(gen_random_uuid())
+                placing substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                FROM 1 FOR 6),
+        52, 1), 53, 1), 'hex')::uuid
+$$ LANGUAGE sql VOLATILE;
+
+CREATE TABLE metrics_v4_text (
+    id           VARCHAR(36) PRIMARY KEY,
+    asset_id     VARCHAR(36) NOT NULL,
+    cpu_usage    DOUBLE PRECISION NOT NULL,
+    memory_usage DOUBLE PRECISION NOT NULL,
+    disk_usage   DOUBLE PRECISION NOT NULL,
+    collected_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX ON metrics_v4_text (asset_id, collected_at DESC);
+
+CREATE TABLE metrics_v7_uuid (
+    id           uuid PRIMARY KEY,
+    asset_id     uuid NOT NULL,
+    cpu_usage    DOUBLE PRECISION NOT NULL,
+    memory_usage DOUBLE PRECISION NOT NULL,
+    disk_usage   DOUBLE PRECISION NOT NULL,
+    collected_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX ON metrics_v7_uuid (asset_id, collected_at DESC);
+
+-- 1000 assets, one snapshot each per minute
+CREATE TABLE assets AS SELECT gen_random_uuid() AS id, n FROM generate_series(0, 999) n;
+
+CREATE PROCEDURE load(target regclass, v7 boolean, total int, batch int) AS $$
+DECLARE
+    done int := 0;
+BEGIN
+    WHILE done < total LOOP
+        EXECUTE format($q$
+            INSERT INTO %s
+            SELECT CASE WHEN $1 THEN uuid_bench.uuid_v7() ELSE gen_random_uuid() END,
+                   a.id, random() * 100, random() * 100, random() * 100,
+                   timestamptz '2026-01-01' + (g / 1000) * interval '1 minute'
+            FROM generate_series($2, $2 + $3 - 1) g
+            JOIN uuid_bench.assets a ON a.n = g %% 1000
+            $q$, target)
+        USING v7, done, batch;
+        COMMIT;
+        done := done + batch;
+    END LOOP;
+END $$ LANGUAGE plpgsql;
+
+\echo '--- random v4 keys, VARCHAR(36)'
+CALL load('metrics_v4_text', false, :rows, :batch);
+\echo '--- time-ordered v7 keys, uuid'
+CALL load('metrics_v7_uuid', true, :rows, :batch);
+
+\timing off
+SELECT c.relname AS relation,
+       pg_size_pretty(pg_relation_size(c.oid)) AS size,
+       CASE WHEN c.relkind = 'i' THEN round((pgstatindex(c.oid::regclass)).avg_leaf_density::numeric, 1) END
+           AS leaf_density_pct
+FROM pg_class c
+JOIN pg_namespace n ON n.oid = c.relnamespace
+WHERE n.nspname = 'uuid_bench' AND c.relname LIKE 'metrics_%'
+ORDER BY c.relname;
+
+RESET search_path;
+DROP SCHEMA uuid_bench CASCADE;
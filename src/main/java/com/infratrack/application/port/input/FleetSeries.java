@@ -0,0 +1,27 @@
+package com.infratrack.application.port.input;
+
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.FleetMetricPoint;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Fleet-wide history, one series per asset type and status.
+ *
+ * @param rollupTier the tier the points were computed from; empty when they were
+ *                   aggregated from raw snapshots
+ */
+public record FleetSeries(Duration step, Aggregation aggregation, Optional<RollupTier> rollupTier,
+                          List<FleetMetricPoint> points) {
+
+    public FleetSeries {
+        Objects.requireNonNull(step, "step cannot be null");
+        Objects.requireNonNull(aggregation, "aggregation cannot be null");
+        Objects.requireNonNull(rollupTier, "rollupTier cannot be null");
+        points = List.copyOf(points);
+    }
+}
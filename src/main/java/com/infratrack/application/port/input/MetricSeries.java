@@ -0,0 +1,26 @@
+package com.infratrack.application.port.input;
+
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Aggregated history of one asset.
+ *
+ * @param rollupTier the tier the points were computed from; empty when they were
+ *                   aggregated from raw snapshots
+ */
+public record MetricSeries(Duration step, Aggregation aggregation, Optional<RollupTier> rollupTier, List<MetricPoint> points) {
+
+    public MetricSeries {
+        Objects.requireNonNull(step, "step cannot be null");
+        Objects.requireNonNull(aggregation, "aggregation cannot be null");
+        Objects.requireNonNull(rollupTier, "rollupTier cannot be null");
+        points = List.copyOf(points);
+    }
+}
@@ -2,9 +2,13 @@ package com.infratrack.application.port.input;
 
 
 import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetType;
 import com.infratrack.domain.model.MetricSnapshot;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface MonitorAssetUseCase {
 
@@ -12,5 +16,25 @@ public interface MonitorAssetUseCase {
 
     List<MetricSnapshot> getHistory(AssetId assetId, int limit);
 
-    void collectAllActive();
+    /**
+     * The latest {@code limit} snapshots of each asset, newest first, read in one
+     * go rather than one query per asset. Keyed in the order of {@code assetIds}.
+     */
+    Map<AssetId, List<MetricSnapshot>> getHistories(Collection<AssetId> assetIds, int limit);
+
+    /** {@link #getHistories} for every asset of {@code type}, or every asset when it is null. */
+    Map<AssetId, List<MetricSnapshot>> getHistoriesByType(AssetType type, int limit);
+
+    /**
+     * Collects every ACTIVE asset and blocks until the sweep has finished
+     * or hit its deadline.
+     */
+    SweepReport collectAllActive();
+
+    /**
+     * Collects the ACTIVE assets whose slot in the collection schedule came up
+     * since the previous call, and blocks until they finished or hit the sweep
+     * deadline. Meant to be called on every schedule tick.
+     */
+    SweepReport collectDue(Instant now);
 }
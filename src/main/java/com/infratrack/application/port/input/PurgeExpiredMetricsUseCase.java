@@ -0,0 +1,10 @@
+package com.infratrack.application.port.input;
+
+public interface PurgeExpiredMetricsUseCase {
+
+    /**
+     * Deletes raw snapshots and rollups older than their retention, in small
+     * chunks, and blocks until done or out of time budget.
+     */
+    RetentionReport purgeExpired();
+}
@@ -0,0 +1,20 @@
+package com.infratrack.application.port.input;
+
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public interface QueryFleetMetricsUseCase {
+
+    /**
+     * Metrics of every asset between {@code from} (inclusive) and {@code to}
+     * (exclusive), grouped by asset type, status and {@code step}-wide bucket and
+     * reduced by {@code aggregation}. A null {@code type} or {@code status} matches
+     * every asset; without a step the range is split into about 500 points.
+     */
+    FleetSeries getFleetSeries(Instant from, Instant to, Duration step, Aggregation aggregation,
+                               AssetType type, AssetStatus status);
+}
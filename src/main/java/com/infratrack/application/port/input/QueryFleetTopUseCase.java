@@ -0,0 +1,15 @@
+package com.infratrack.application.port.input;
+
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.UsageMetric;
+
+import java.util.List;
+
+public interface QueryFleetTopUseCase {
+
+    /**
+     * Latest snapshots of the {@code limit} assets currently highest on
+     * {@code metric}, highest first.
+     */
+    List<MetricSnapshot> getTop(UsageMetric metric, int limit);
+}
@@ -0,0 +1,18 @@
+package com.infratrack.application.port.input;
+
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetId;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public interface QueryMetricHistoryUseCase {
+
+    /**
+     * History of the asset between {@code from} (inclusive) and {@code to}
+     * (exclusive) in {@code step}-wide buckets, each reduced by {@code aggregation}.
+     * Without a step the range is split into about 500 points; without an
+     * aggregation buckets are averaged.
+     */
+    MetricSeries getSeries(AssetId assetId, Instant from, Instant to, Duration step, Aggregation aggregation);
+}
@@ -0,0 +1,17 @@
+package com.infratrack.application.port.input;
+
+import com.infratrack.domain.model.AssetId;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public interface QueryMetricRollupsUseCase {
+
+    /**
+     * Aggregated history of the asset between {@code from} (inclusive) and
+     * {@code to} (exclusive), from the coarsest tier whose buckets are no wider
+     * than {@code resolution}. Without a resolution the range is split into
+     * about 500 points.
+     */
+    RollupSeries getRollups(AssetId assetId, Instant from, Instant to, Duration resolution);
+}
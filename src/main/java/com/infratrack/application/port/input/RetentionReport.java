@@ -0,0 +1,27 @@
+package com.infratrack.application.port.input;
+
+import com.infratrack.domain.model.AssetType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outcome of one retention run: rows deleted and time spent per asset type and
+ * series. {@code complete} is false when the run stopped at its time budget with
+ * expired rows left for the next run.
+ */
+public record RetentionReport(List<Purge> purges, Duration duration, boolean complete) {
+
+    public record Purge(AssetType type, String series, long rows, Duration duration) {
+    }
+
+    public RetentionReport {
+        purges = List.copyOf(purges);
+        Objects.requireNonNull(duration, "duration cannot be null");
+    }
+
+    public long totalRows() {
+        return purges.stream().mapToLong(Purge::rows).sum();
+    }
+}
@@ -0,0 +1,16 @@
+package com.infratrack.application.port.input;
+
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.RollupTier;
+
+import java.util.List;
+import java.util.Objects;
+
+/** Rollups of one asset over a time range, all from the tier the query selected. */
+public record RollupSeries(RollupTier tier, List<MetricRollup> points) {
+
+    public RollupSeries {
+        Objects.requireNonNull(tier, "tier cannot be null");
+        points = List.copyOf(points);
+    }
+}
@@ -0,0 +1,42 @@
+package com.infratrack.application.port.input;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Outcome of one monitoring sweep, returned once every collection task has
+ * either finished or been cancelled at the sweep deadline.
+ *
+ * <p>{@code succeeded + failed + timedOut + skipped == total} always holds.
+ * Skipped assets were due but not collected, e.g. because their previous
+ * collection was still running.
+ */
+public record SweepReport(
+        int total,
+        int succeeded,
+        int failed,
+        int timedOut,
+        int skipped,
+        Duration duration
+) {
+    public SweepReport {
+        Objects.requireNonNull(duration, "duration cannot be null");
+        if (succeeded + failed + timedOut + skipped != total) {
+            throw new IllegalArgumentException("outcomes must add up to total: "
+                    + succeeded + "+" + failed + "+" + timedOut + "+" + skipped + " != " + total);
+        }
+    }
+
+    public SweepReport(int total, int succeeded, int failed, int timedOut, Duration duration) {
+        this(total, succeeded, failed, timedOut, 0, duration);
+    }
+
+    public static SweepReport empty() {
+        return new SweepReport(0, 0, 0, 0, 0, Duration.ZERO);
+    }
+
+    /** Adds {@code count} skipped assets to this report. */
+    public SweepReport withSkipped(int count) {
+        return new SweepReport(total + count, succeeded, failed, timedOut, skipped + count, duration);
+    }
+}
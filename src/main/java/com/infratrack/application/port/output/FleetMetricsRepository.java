@@ -0,0 +1,37 @@
+package com.infratrack.application.port.output;
+
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.FleetMetricPoint;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Metrics of the whole fleet grouped by asset type, status and {@code step}-wide
+ * bucket, aggregated where they are stored. A null {@code type} or {@code status}
+ * matches every asset. Points come out ordered by type, status and bucket.
+ */
+public interface FleetMetricsRepository {
+
+    /** From raw snapshots collected in [{@code from}, {@code to}). */
+    List<FleetMetricPoint> aggregate(Instant from, Instant to, Duration step, Aggregation aggregation,
+                                     AssetType type, AssetStatus status);
+
+    /**
+     * From the rollups of {@code tier}, whose buckets must tile {@code step}.
+     * Only aggregations {@linkplain Aggregation#servedByRollups() served by rollups}.
+     */
+    List<FleetMetricPoint> aggregateRollups(RollupTier tier, Instant from, Instant to, Duration step,
+                                            Aggregation aggregation, AssetType type, AssetStatus status);
+
+    /**
+     * From the quantile sketches of {@code tier}, whose buckets must tile {@code step}.
+     * Only aggregations {@linkplain Aggregation#servedBySketches() served by sketches}.
+     */
+    List<FleetMetricPoint> aggregateSketches(RollupTier tier, Instant from, Instant to, Duration step,
+                                             Aggregation aggregation, AssetType type, AssetStatus status);
+}
@@ -0,0 +1,27 @@
+package com.infratrack.application.port.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.UsageMetric;
+
+import java.util.List;
+
+/**
+ * The latest snapshot of every reporting asset, ranked per usage metric and kept
+ * up to date as snapshots are recorded, so the hottest assets of the fleet can be
+ * read without looking at every asset.
+ */
+public interface FleetRanking {
+
+    /** Makes {@code snapshot} the asset's current reading unless a newer one is already held. */
+    void record(MetricSnapshot snapshot);
+
+    /** Drops the asset from every ranking, e.g. once it is deleted or no longer monitored. */
+    void remove(AssetId assetId);
+
+    /**
+     * Latest snapshots of the {@code limit} assets with the highest {@code metric},
+     * highest first. Assets that stopped reporting are left out.
+     */
+    List<MetricSnapshot> top(UsageMetric metric, int limit);
+}
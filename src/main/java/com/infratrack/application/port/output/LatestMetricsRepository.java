@@ -0,0 +1,23 @@
+package com.infratrack.application.port.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/** The latest snapshot of each asset, one entry per asset. */
+public interface LatestMetricsRepository {
+
+    /**
+     * Makes each snapshot its asset's latest, unless a newer one is already stored.
+     * Several snapshots of one asset may be passed; the newest wins.
+     */
+    void upsertAll(Collection<MetricSnapshot> snapshots);
+
+    Optional<MetricSnapshot> findByAssetId(AssetId assetId);
+
+    /** Assets without a stored snapshot are absent from the result. */
+    Map<AssetId, MetricSnapshot> findByAssetIds(Collection<AssetId> assetIds);
+}
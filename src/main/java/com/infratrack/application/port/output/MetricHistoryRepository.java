@@ -0,0 +1,22 @@
+package com.infratrack.application.port.output;
+
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricPoint;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Aggregated reads over raw snapshots. Implementations bucket and reduce where
+ * the data lives (in SQL for the database) so only the points leave the store.
+ */
+public interface MetricHistoryRepository {
+
+    /**
+     * One point per non-empty {@code step} bucket of the snapshots with
+     * {@code from <= collectedAt < to}, in time order.
+     */
+    List<MetricPoint> aggregate(AssetId assetId, Instant from, Instant to, Duration step, Aggregation aggregation);
+}
@@ -0,0 +1,22 @@
+package com.infratrack.application.port.output;
+
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Instant;
+
+/**
+ * Chunked deletes for retention. Each call deletes at most {@code limit} rows in
+ * its own short transaction and returns how many it deleted; a result below
+ * {@code limit} means nothing older than {@code cutoff} is left.
+ */
+public interface MetricRetentionRepository {
+
+    /** Raw snapshot rows ({@code metrics}). */
+    int deleteSnapshotsBefore(AssetType type, Instant cutoff, int limit);
+
+    /** Compressed raw blocks whose last sample is older than {@code cutoff}. */
+    int deleteBlocksBefore(AssetType type, Instant cutoff, int limit);
+
+    int deleteRollupsBefore(AssetType type, RollupTier tier, Instant cutoff, int limit);
+}
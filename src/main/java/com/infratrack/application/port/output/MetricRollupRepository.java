@@ -0,0 +1,21 @@
+package com.infratrack.application.port.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface MetricRollupRepository {
+
+    /**
+     * Merges each delta into the stored rollup of its bucket, creating the bucket
+     * if needed: counts and sums add up, min and max widen.
+     */
+    void mergeAll(Collection<MetricRollup> deltas);
+
+    /** Rollups of the asset in {@code tier} with {@code from <= bucketStart < to}, oldest first. */
+    List<MetricRollup> findByAssetId(AssetId assetId, RollupTier tier, Instant from, Instant to);
+}
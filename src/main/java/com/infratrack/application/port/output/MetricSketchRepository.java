@@ -0,0 +1,21 @@
+package com.infratrack.application.port.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface MetricSketchRepository {
+
+    /**
+     * Merges each delta into the stored sketches of its bucket, creating the bucket
+     * if needed. Concurrent merges into the same bucket must not lose samples.
+     */
+    void mergeAll(Collection<MetricSketch> deltas);
+
+    /** Sketches of the asset in {@code tier} with {@code from <= bucketStart < to}, oldest first. */
+    List<MetricSketch> findByAssetId(AssetId assetId, RollupTier tier, Instant from, Instant to);
+}
@@ -3,11 +3,40 @@ package com.infratrack.application.port.output;
 import com.infratrack.domain.model.AssetId;
 import com.infratrack.domain.model.MetricSnapshot;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface MetricSnapshotRepository {
 
     void save(MetricSnapshot snapshot);
 
+    /**
+     * Persists all snapshots as one batch: few round trips and a single
+     * transaction, so either the whole batch is stored or none of it.
+     */
+    void saveAll(List<MetricSnapshot> snapshots);
+
     List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots);
+
+    /**
+     * The latest snapshots of each asset, newest first, keyed in the order of
+     * {@code assetIds}; assets without snapshots map to an empty list. Stores
+     * override this with one set-based query instead of a query per asset.
+     */
+    default Map<AssetId, List<MetricSnapshot>> findLatestByAssetIds(Collection<AssetId> assetIds, int numberOfSnapshots) {
+        Map<AssetId, List<MetricSnapshot>> latest = new LinkedHashMap<>();
+        for (AssetId assetId : assetIds) {
+            latest.put(assetId, findLatestByAssetId(assetId, numberOfSnapshots));
+        }
+        return latest;
+    }
+
+    /**
+     * Drops whatever the store keeps in memory for a deleted asset (rings, open
+     * blocks, slots). Stored history is left to retention.
+     */
+    default void evict(AssetId assetId) {
+    }
 }
@@ -0,0 +1,228 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.output.DomainEventPublisher;
+import com.infratrack.domain.event.AlertFiredEvent;
+import com.infratrack.domain.event.AlertResolvedEvent;
+import com.infratrack.domain.model.AlertRule;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates {@link AlertRule}s against every recorded snapshot as it arrives.
+ * <p>
+ * Each (rule, asset) pair keeps a run counter: consecutive samples breaching the
+ * threshold while the alert is quiet, consecutive samples within it while it
+ * fires. A run reaching the rule's {@code samples} flips the alert and publishes
+ * an {@link AlertFiredEvent} or {@link AlertResolvedEvent}. That is the whole
+ * sliding window, so a snapshot costs one map lookup and one comparison per rule
+ * that applies to its asset — no history, no queries.
+ * <p>
+ * Type-scoped rules need the asset's type, which snapshots do not carry. It is
+ * registered from the asset lifecycle ({@link #register}); until then an asset is
+ * only evaluated against fleet-wide and asset-scoped rules.
+ * <p>
+ * A cleared or forgotten asset is buried: snapshots collected before that were
+ * still in flight and must not bring its state back, nor fire for it.
+ */
+public class AlertEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertEngine.class);
+    private static final Duration TOMBSTONE_TTL = Duration.ofMinutes(15);
+
+    /** Rules that apply to one asset, with their state at the same index. */
+    private static final class AssetAlerts {
+        private final AssetType type;
+        private final AlertRule[] rules;
+        private final int[] runs;
+        private final boolean[] firing;
+        private final double[] lastValues;
+        private Instant lastCollectedAt = Instant.MIN;
+
+        private AssetAlerts(AssetType type, List<AlertRule> rules) {
+            this.type = type;
+            this.rules = rules.toArray(AlertRule[]::new);
+            this.runs = new int[this.rules.length];
+            this.firing = new boolean[this.rules.length];
+            this.lastValues = new double[this.rules.length];
+        }
+    }
+
+    private final List<AlertRule> rules;
+    private final DomainEventPublisher publisher;
+    private final Map<AssetId, AssetType> types = new ConcurrentHashMap<>();
+    private final Map<AssetId, AssetAlerts> alerts = new ConcurrentHashMap<>();
+    private final Tombstones removed;
+
+    public AlertEngine(List<AlertRule> rules, DomainEventPublisher publisher) {
+        this(rules, publisher, Clock.systemUTC());
+    }
+
+    public AlertEngine(List<AlertRule> rules, DomainEventPublisher publisher, Clock clock) {
+        this.rules = List.copyOf(Objects.requireNonNull(rules, "rules cannot be null"));
+        this.publisher = Objects.requireNonNull(publisher, "publisher cannot be null");
+        this.removed = new Tombstones(TOMBSTONE_TTL, clock);
+    }
+
+    public List<AlertRule> rules() {
+        return rules;
+    }
+
+    /**
+     * Advances every rule that applies to the snapshot's asset. Snapshots older
+     * than the last one evaluated for the asset are ignored.
+     */
+    public void evaluate(MetricSnapshot snapshot) {
+        if (rules.isEmpty()) {
+            return;
+        }
+        // The tombstone is laid before the state is removed, so a state created here
+        // after the removal always sees it
+        AssetAlerts state = alerts.computeIfAbsent(snapshot.assetId(),
+                assetId -> removed.buries(snapshot) ? null : newState(assetId));
+        if (state == null) {
+            return;
+        }
+        List<Object> events = null;
+        synchronized (state) {
+            // Removed while we waited: whatever fires now would never be resolved
+            if (alerts.get(snapshot.assetId()) != state
+                    || snapshot.collectedAt().isBefore(state.lastCollectedAt)) {
+                return;
+            }
+            state.lastCollectedAt = snapshot.collectedAt();
+            for (int i = 0; i < state.rules.length; i++) {
+                AlertRule rule = state.rules[i];
+                double value = rule.metric().of(snapshot);
+                state.lastValues[i] = value;
+                // The run counts samples that argue for leaving the current state
+                if (rule.breachedBy(value) == state.firing[i]) {
+                    state.runs[i] = 0;
+                    continue;
+                }
+                if (++state.runs[i] < rule.samples()) {
+                    continue;
+                }
+                state.runs[i] = 0;
+                state.firing[i] = !state.firing[i];
+                if (events == null) {
+                    events = new ArrayList<>(1);
+                }
+                events.add(state.firing[i]
+                        ? fired(rule, snapshot.assetId(), value)
+                        : resolved(rule, snapshot.assetId(), value));
+            }
+        }
+        publish(events);
+    }
+
+    /**
+     * Records an asset's type so type-scoped rules apply to it. Re-registering
+     * with the same type keeps the asset's alert state.
+     */
+    public void register(AssetId assetId, AssetType type) {
+        Objects.requireNonNull(type, "type cannot be null");
+        types.put(assetId, type);
+        AssetAlerts state = alerts.get(assetId);
+        if (state != null && state.type != type) {
+            resolveAll(assetId);
+        }
+    }
+
+    /**
+     * Resolves whatever fires for an asset that is no longer collected, e.g. one
+     * taken out of ACTIVE. Its type stays registered.
+     */
+    public void clear(AssetId assetId) {
+        removed.bury(assetId);
+        resolveAll(assetId);
+    }
+
+    /** Drops a deleted asset, resolving whatever fires for it. */
+    public void forget(AssetId assetId) {
+        types.remove(assetId);
+        clear(assetId);
+    }
+
+    private void resolveAll(AssetId assetId) {
+        AssetAlerts state = alerts.remove(assetId);
+        if (state == null) {
+            return;
+        }
+        List<Object> events = null;
+        synchronized (state) {
+            for (int i = 0; i < state.rules.length; i++) {
+                if (state.firing[i]) {
+                    state.firing[i] = false;
+                    if (events == null) {
+                        events = new ArrayList<>(1);
+                    }
+                    events.add(resolved(state.rules[i], assetId, state.lastValues[i]));
+                }
+            }
+        }
+        publish(events);
+    }
+
+    /** Alerts currently firing, across all assets. */
+    public long firingCount() {
+        long count = 0;
+        for (AssetAlerts state : alerts.values()) {
+            synchronized (state) {
+                for (boolean firing : state.firing) {
+                    if (firing) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    public boolean isFiring(String ruleName, AssetId assetId) {
+        AssetAlerts state = alerts.get(assetId);
+        if (state == null) {
+            return false;
+        }
+        synchronized (state) {
+            for (int i = 0; i < state.rules.length; i++) {
+                if (state.rules[i].name().equals(ruleName)) {
+                    return state.firing[i];
+                }
+            }
+            return false;
+        }
+    }
+
+    private AssetAlerts newState(AssetId assetId) {
+        AssetType type = types.get(assetId);
+        return new AssetAlerts(type, rules.stream().filter(rule -> rule.appliesTo(assetId, type)).toList());
+    }
+
+    private static AlertFiredEvent fired(AlertRule rule, AssetId assetId, double value) {
+        log.warn("Alert [{}] fired for asset {} at {} {}", rule, assetId.getValue(), rule.metric().label(), value);
+        return AlertFiredEvent.of(rule.name(), assetId, rule.metric(), value, rule.threshold());
+    }
+
+    private static AlertResolvedEvent resolved(AlertRule rule, AssetId assetId, double value) {
+        log.info("Alert [{}] resolved for asset {} at {} {}", rule, assetId.getValue(), rule.metric().label(), value);
+        return AlertResolvedEvent.of(rule.name(), assetId, rule.metric(), value, rule.threshold());
+    }
+
+    private void publish(List<Object> events) {
+        if (events != null) {
+            events.forEach(publisher::publish);
+        }
+    }
+}
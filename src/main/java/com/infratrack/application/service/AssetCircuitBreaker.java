@@ -0,0 +1,198 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.output.DomainEventPublisher;
+import com.infratrack.domain.event.AssetCircuitStateChangedEvent;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.CircuitState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-asset circuit breaker for scheduled metric collection.
+ * <p>
+ * After {@code failureThreshold} consecutive failures an asset's circuit opens and
+ * the asset is skipped — no lookup, no SSH connect — until its backoff expires.
+ * The backoff doubles every time the circuit re-opens, up to {@code maxBackoff},
+ * and is jittered so that assets which failed together (a switch going down) do
+ * not all come back in the same tick. Once the backoff expires the circuit is
+ * HALF_OPEN: one trial collection closes it on success or re-opens it on failure.
+ * <p>
+ * Only assets with a failure history are tracked; healthy assets cost one map
+ * lookup. Every state change is published as an {@link AssetCircuitStateChangedEvent}.
+ */
+public class AssetCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetCircuitBreaker.class);
+
+    /**
+     * @param failureThreshold consecutive failures that open a closed circuit
+     * @param baseBackoff      backoff after the first opening; also how long a
+     *                         half-open trial may take before another is allowed
+     * @param maxBackoff       cap for the exponential backoff
+     * @param jitter           random spread applied to each backoff, as a fraction
+     *                         (0.2 means ±20%)
+     */
+    public record Settings(int failureThreshold, Duration baseBackoff, Duration maxBackoff, double jitter) {
+
+        public Settings {
+            if (failureThreshold < 1) {
+                throw new IllegalArgumentException("failureThreshold must be at least 1, got: " + failureThreshold);
+            }
+            Objects.requireNonNull(baseBackoff, "baseBackoff cannot be null");
+            Objects.requireNonNull(maxBackoff, "maxBackoff cannot be null");
+            if (baseBackoff.compareTo(maxBackoff) > 0) {
+                throw new IllegalArgumentException("baseBackoff must not exceed maxBackoff");
+            }
+            if (jitter < 0 || jitter >= 1) {
+                throw new IllegalArgumentException("jitter must be in [0, 1), got: " + jitter);
+            }
+        }
+
+        public static Settings defaults() {
+            return new Settings(3, Duration.ofSeconds(30), Duration.ofMinutes(15), 0.2);
+        }
+    }
+
+    private static final class Circuit {
+        private CircuitState state = CircuitState.CLOSED;
+        private int consecutiveFailures;
+        private int openings;
+        private Instant retryAt;
+    }
+
+    private final Settings settings;
+    private final DomainEventPublisher publisher;
+    private final Clock clock;
+    private final Map<AssetId, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public AssetCircuitBreaker(Settings settings, DomainEventPublisher publisher) {
+        this(settings, publisher, Clock.systemUTC());
+    }
+
+    public AssetCircuitBreaker(Settings settings, DomainEventPublisher publisher, Clock clock) {
+        this.settings = Objects.requireNonNull(settings, "settings cannot be null");
+        this.publisher = Objects.requireNonNull(publisher, "publisher cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+    }
+
+    /**
+     * Whether the asset may be collected now. An expired OPEN circuit moves to
+     * HALF_OPEN and admits exactly one trial until the trial reports back or
+     * {@code baseBackoff} passes.
+     */
+    public boolean tryAcquire(AssetId assetId) {
+        Circuit circuit = circuits.get(assetId);
+        if (circuit == null) {
+            return true;
+        }
+        AssetCircuitStateChangedEvent event = null;
+        synchronized (circuit) {
+            if (circuit.state == CircuitState.CLOSED) {
+                return true;
+            }
+            Instant now = clock.instant();
+            if (now.isBefore(circuit.retryAt)) {
+                return false;
+            }
+            if (circuit.state == CircuitState.OPEN) {
+                circuit.state = CircuitState.HALF_OPEN;
+                event = AssetCircuitStateChangedEvent.of(assetId, CircuitState.OPEN, CircuitState.HALF_OPEN,
+                        circuit.consecutiveFailures, Duration.ZERO);
+            }
+            circuit.retryAt = now.plus(settings.baseBackoff());
+        }
+        publish(event);
+        return true;
+    }
+
+    public void onSuccess(AssetId assetId) {
+        Circuit circuit = circuits.get(assetId);
+        if (circuit == null) {
+            return;
+        }
+        AssetCircuitStateChangedEvent event = null;
+        synchronized (circuit) {
+            if (circuit.state != CircuitState.CLOSED) {
+                event = AssetCircuitStateChangedEvent.of(assetId, circuit.state, CircuitState.CLOSED,
+                        0, Duration.ZERO);
+                log.info("Asset {} is reachable again, circuit closed", assetId.getValue());
+            }
+            circuits.remove(assetId, circuit);
+        }
+        publish(event);
+    }
+
+    public void onFailure(AssetId assetId) {
+        Circuit circuit = circuits.computeIfAbsent(assetId, id -> new Circuit());
+        AssetCircuitStateChangedEvent event = null;
+        synchronized (circuit) {
+            circuit.consecutiveFailures++;
+            boolean opens = circuit.state == CircuitState.HALF_OPEN
+                    || (circuit.state == CircuitState.CLOSED && circuit.consecutiveFailures >= settings.failureThreshold());
+            if (opens) {
+                Duration backoff = backoff(circuit.openings++);
+                event = AssetCircuitStateChangedEvent.of(assetId, circuit.state, CircuitState.OPEN,
+                        circuit.consecutiveFailures, backoff);
+                circuit.state = CircuitState.OPEN;
+                circuit.retryAt = clock.instant().plus(backoff);
+                log.warn("Asset {} failed {} consecutive collections, circuit open for {} s",
+                        assetId.getValue(), circuit.consecutiveFailures, backoff.toSeconds());
+            }
+        }
+        publish(event);
+    }
+
+    /** Drops the failure history of an asset that left the schedule. */
+    public void forget(AssetId assetId) {
+        circuits.remove(assetId);
+    }
+
+    public CircuitState stateOf(AssetId assetId) {
+        Circuit circuit = circuits.get(assetId);
+        if (circuit == null) {
+            return CircuitState.CLOSED;
+        }
+        synchronized (circuit) {
+            return circuit.state;
+        }
+    }
+
+    /** Assets currently in {@code state}; CLOSED only counts assets with recent failures. */
+    public long count(CircuitState state) {
+        return circuits.values().stream()
+                .filter(circuit -> {
+                    synchronized (circuit) {
+                        return circuit.state == state;
+                    }
+                })
+                .count();
+    }
+
+    // base * 2^openings, capped, then spread by ±jitter
+    private Duration backoff(int openings) {
+        long baseMillis = settings.baseBackoff().toMillis();
+        long maxMillis = settings.maxBackoff().toMillis();
+        long millis = openings >= 30 || baseMillis << openings > maxMillis || baseMillis << openings < 0
+                ? maxMillis
+                : baseMillis << openings;
+        if (settings.jitter() > 0) {
+            double spread = ThreadLocalRandom.current().nextDouble(-settings.jitter(), settings.jitter());
+            millis = Math.round(millis * (1 + spread));
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    private void publish(AssetCircuitStateChangedEvent event) {
+        if (event != null) {
+            publisher.publish(event);
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.infratrack.application.port.input.ManageAssetUseCase;
 import com.infratrack.application.port.output.AssetRepository;
 import com.infratrack.application.port.output.DomainEventPublisher;
 import com.infratrack.domain.event.AssetCreatedEvent;
+import com.infratrack.domain.event.AssetCredentialsChangedEvent;
 import com.infratrack.domain.event.AssetDeletedEvent;
+import com.infratrack.domain.event.AssetIpAddressChangedEvent;
 import com.infratrack.domain.event.AssetStatusChangedEvent;
 import com.infratrack.domain.model.*;
 
@@ -60,6 +62,7 @@ public class AssetService implements ManageAssetUseCase {
         Asset asset = findAsset(id);
         asset.updateCredentials(newCredentials);
         assetRepository.save(asset);
+        publisher.publish(AssetCredentialsChangedEvent.of(id));
         return asset;
     }
 
@@ -72,6 +75,7 @@ public class AssetService implements ManageAssetUseCase {
         }
         asset.updateIpAddress(newIpAddress);
         assetRepository.save(asset);
+        publisher.publish(AssetIpAddressChangedEvent.of(id, newIpAddress));
         return asset;
     }
 
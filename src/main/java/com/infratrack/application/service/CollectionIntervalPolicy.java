@@ -0,0 +1,133 @@
+package com.infratrack.application.service;
+
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides how often each asset is collected.
+ * <p>
+ * The base interval comes from, in order: a per-asset override, the asset's
+ * {@link AssetType}, then the global default. Per-asset overrides are fixed.
+ * Every other asset can be adaptive: after each reading its interval halves
+ * when the reading is volatile or close to saturation, and grows by half when
+ * the readings are flat, always within {@code [min, max]}.
+ */
+public class CollectionIntervalPolicy {
+
+    /**
+     * @param volatilityPercent change in any usage since the previous reading, in
+     *                          percentage points, that counts as volatile
+     * @param flatPercent       largest change in every usage that still counts as flat
+     * @param hotPercent        usage at or above which an asset is polled faster,
+     *                          however stable it is
+     */
+    public record Adaptive(
+            boolean enabled,
+            Duration min,
+            Duration max,
+            double volatilityPercent,
+            double flatPercent,
+            double hotPercent
+    ) {
+        public Adaptive {
+            Objects.requireNonNull(min, "min cannot be null");
+            Objects.requireNonNull(max, "max cannot be null");
+            if (min.compareTo(max) > 0) {
+                throw new IllegalArgumentException("min must not exceed max: " + min + " > " + max);
+            }
+            if (flatPercent > volatilityPercent) {
+                throw new IllegalArgumentException("flatPercent must not exceed volatilityPercent");
+            }
+        }
+
+        public static Adaptive disabled() {
+            return new Adaptive(false, Duration.ZERO, Duration.ZERO, 0, 0, 100);
+        }
+    }
+
+    private record Reading(double cpu, double memory, double disk, Duration interval) {
+    }
+
+    private final Duration defaultInterval;
+    private final Map<AssetType, Duration> byType;
+    private final Map<AssetId, Duration> byAsset;
+    private final Adaptive adaptive;
+    private final Map<AssetId, Reading> lastReadings = new ConcurrentHashMap<>();
+
+    public CollectionIntervalPolicy(Duration defaultInterval,
+                                    Map<AssetType, Duration> byType,
+                                    Map<AssetId, Duration> byAsset,
+                                    Adaptive adaptive) {
+        this.defaultInterval = Objects.requireNonNull(defaultInterval, "defaultInterval cannot be null");
+        this.byType = byType.isEmpty() ? Map.of() : new EnumMap<>(byType);
+        this.byAsset = Map.copyOf(byAsset);
+        this.adaptive = Objects.requireNonNull(adaptive, "adaptive cannot be null");
+    }
+
+    /** Same interval for every asset, no adaptation. */
+    public static CollectionIntervalPolicy fixed(Duration interval) {
+        return new CollectionIntervalPolicy(interval, Map.of(), Map.of(), Adaptive.disabled());
+    }
+
+    /** Interval an asset starts with when it joins the schedule. */
+    public Duration baseInterval(Asset asset) {
+        Duration pinned = byAsset.get(asset.getId());
+        if (pinned != null) {
+            return pinned;
+        }
+        Duration base = byType.getOrDefault(asset.getType(), defaultInterval);
+        return adaptive.enabled() ? clamp(base) : base;
+    }
+
+    /** Interval to use after {@code snapshot}; the base interval unless adaptive. */
+    public Duration nextInterval(Asset asset, MetricSnapshot snapshot) {
+        if (!adaptive.enabled() || byAsset.containsKey(asset.getId())) {
+            return baseInterval(asset);
+        }
+        Reading previous = lastReadings.get(asset.getId());
+        Duration current = previous != null ? previous.interval() : baseInterval(asset);
+        Duration next = current;
+
+        boolean hot = Math.max(snapshot.cpuUsage(), Math.max(snapshot.memoryUsage(), snapshot.diskUsage()))
+                >= adaptive.hotPercent();
+        if (previous != null || hot) {
+            double change = previous == null ? 0 : Math.max(
+                    Math.abs(snapshot.cpuUsage() - previous.cpu()),
+                    Math.max(Math.abs(snapshot.memoryUsage() - previous.memory()),
+                            Math.abs(snapshot.diskUsage() - previous.disk())));
+            if (hot || change >= adaptive.volatilityPercent()) {
+                next = clamp(current.dividedBy(2));
+            } else if (change <= adaptive.flatPercent()) {
+                next = clamp(current.plus(current.dividedBy(2)));
+            }
+        }
+
+        lastReadings.put(asset.getId(), new Reading(
+                snapshot.cpuUsage(), snapshot.memoryUsage(), snapshot.diskUsage(), next));
+        return next;
+    }
+
+    /** Drops the adaptive state of an asset that left the schedule. */
+    public void forget(AssetId assetId) {
+        lastReadings.remove(assetId);
+    }
+
+    public boolean isAdaptive() {
+        return adaptive.enabled();
+    }
+
+    private Duration clamp(Duration interval) {
+        if (interval.compareTo(adaptive.min()) < 0) {
+            return adaptive.min();
+        }
+        return interval.compareTo(adaptive.max()) > 0 ? adaptive.max() : interval;
+    }
+}
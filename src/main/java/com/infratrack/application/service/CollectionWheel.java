@@ -0,0 +1,298 @@
+package com.infratrack.application.service;
+
+import com.infratrack.domain.model.AssetId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Hashed timing wheel that decides when each asset is due for collection.
+ * <p>
+ * Time is cut into fixed ticks counted from the Unix epoch. Each asset gets a
+ * stable phase inside its period, derived from the bits of its {@link AssetId}
+ * (not from insertion order), so an asset is always polled at the same second of
+ * the interval, before and after a restart. Hashing spreads N assets evenly
+ * over the period: roughly N / interval collections per second instead of N at
+ * once.
+ * <p>
+ * Entries live in one of {@code wheelSize} buckets ({@code deadlineTick % wheelSize}),
+ * each an intrusive doubly linked list, so scheduling and removal are O(1) and
+ * advancing one tick only touches a single bucket. Deadlines further away than
+ * one wheel rotation simply stay in their bucket until their tick comes round.
+ * <p>
+ * Periods may differ per asset. The phase is hashed within each asset's own
+ * period, and an asset whose period is longer than the wheel is just skipped over
+ * (one comparison) on the rotations where its deadline is not reached yet, so
+ * millions of entries with mixed periods cost O(due + bucket size) per tick.
+ * <p>
+ * Not thread-safe on its own; all public methods synchronize on the wheel.
+ */
+public class CollectionWheel {
+
+    private final long tickMillis;
+    private final Duration defaultPeriod;
+    private final long defaultPeriodTicks;
+    private final Bucket[] buckets;
+    private final Map<AssetId, Entry> entries = new HashMap<>();
+    private long currentTick = -1;
+    private long periodTicksSum;
+
+    /**
+     * @param tick          wheel resolution; collection times are rounded to it
+     * @param defaultPeriod period used by {@link #schedule(AssetId)}; also sizes the
+     *                      wheel so one rotation covers exactly one default period
+     */
+    public CollectionWheel(Duration tick, Duration defaultPeriod) {
+        Objects.requireNonNull(tick, "tick cannot be null");
+        Objects.requireNonNull(defaultPeriod, "defaultPeriod cannot be null");
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("tick must be at least 1ms, got: " + tick);
+        }
+        this.tickMillis = tick.toMillis();
+        this.defaultPeriod = defaultPeriod;
+        this.defaultPeriodTicks = toTicks(defaultPeriod);
+        this.buckets = new Bucket[(int) Math.min(defaultPeriodTicks, 1 << 20)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /** Schedules the asset at the default period. No-op if it is already scheduled. */
+    public synchronized void schedule(AssetId assetId) {
+        schedule(assetId, defaultPeriod);
+    }
+
+    /** Schedules the asset at {@code period}. No-op if it is already scheduled. */
+    public synchronized void schedule(AssetId assetId, Duration period) {
+        if (!entries.containsKey(assetId)) {
+            Entry entry = new Entry(assetId, toTicks(period));
+            entries.put(assetId, entry);
+            periodTicksSum += entry.periodTicks;
+            entry.deadlineTick = nextOccurrence(entry, Math.max(currentTick, 0));
+            insert(entry);
+        }
+    }
+
+    /**
+     * Changes the period of a scheduled asset. Its next collection moves to the next
+     * occurrence of its phase under the new period. No-op if the period is unchanged
+     * or the asset is not scheduled.
+     */
+    public synchronized void reschedule(AssetId assetId, Duration period) {
+        Entry entry = entries.get(assetId);
+        long periodTicks = toTicks(period);
+        if (entry == null || entry.periodTicks == periodTicks) {
+            return;
+        }
+        entry.bucket.unlink(entry);
+        periodTicksSum += periodTicks - entry.periodTicks;
+        entry.periodTicks = periodTicks;
+        entry.deadlineTick = nextOccurrence(entry, Math.max(currentTick + 1, 0));
+        insert(entry);
+    }
+
+    public synchronized boolean remove(AssetId assetId) {
+        Entry entry = entries.remove(assetId);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.unlink(entry);
+        periodTicksSum -= entry.periodTicks;
+        return true;
+    }
+
+    /**
+     * Keeps only the given assets and schedules any that are missing at the given
+     * period. Assets already scheduled keep their current period.
+     *
+     * @return the assets that were removed
+     */
+    public synchronized List<AssetId> retainAndSchedule(Map<AssetId, Duration> periods) {
+        List<AssetId> stale = entries.keySet().stream()
+                .filter(id -> !periods.containsKey(id))
+                .toList();
+        stale.forEach(this::remove);
+        periods.forEach(this::schedule);
+        return stale;
+    }
+
+    /**
+     * Moves the wheel up to {@code now} and returns every asset whose deadline was
+     * reached on the way. Each returned asset is immediately rescheduled one period
+     * later, so the cadence does not depend on how long its collection takes.
+     * <p>
+     * The first call only positions the wheel; it never returns a backlog.
+     */
+    public synchronized List<AssetId> advance(Instant now) {
+        long targetTick = Math.floorDiv(now.toEpochMilli(), tickMillis);
+        List<AssetId> due = new ArrayList<>();
+        if (currentTick < 0) {
+            // Entries scheduled before the wheel knew the time were placed relative to
+            // the epoch; move them to their next occurrence from now.
+            currentTick = targetTick;
+            for (Entry entry : entries.values()) {
+                entry.bucket.unlink(entry);
+                entry.deadlineTick = nextOccurrence(entry, targetTick);
+                insert(entry);
+            }
+            collectBucket(targetTick, due);
+            return due;
+        }
+        // After a long pause every bucket is visited once; deadlines are absolute,
+        // so visiting a bucket collects everything overdue in it in one pass.
+        long firstTick = Math.max(currentTick + 1, targetTick - buckets.length + 1);
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            currentTick = tick;
+            collectBucket(tick, due);
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return due;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean contains(AssetId assetId) {
+        return entries.containsKey(assetId);
+    }
+
+    public synchronized Optional<Duration> periodOf(AssetId assetId) {
+        Entry entry = entries.get(assetId);
+        return entry == null ? Optional.empty() : Optional.of(Duration.ofMillis(entry.periodTicks * tickMillis));
+    }
+
+    /** Average period over all scheduled assets, or zero when the wheel is empty. */
+    public synchronized Duration meanPeriod() {
+        return entries.isEmpty() ? Duration.ZERO : Duration.ofMillis(periodTicksSum * tickMillis / entries.size());
+    }
+
+    /** Entries per bucket, in bucket order. A copy, safe to read without the lock. */
+    public synchronized int[] occupancy() {
+        int[] counts = new int[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].size;
+        }
+        return counts;
+    }
+
+    public synchronized int maxOccupancy() {
+        int max = 0;
+        for (Bucket bucket : buckets) {
+            max = Math.max(max, bucket.size);
+        }
+        return max;
+    }
+
+    public int slots() {
+        return buckets.length;
+    }
+
+    public Duration tick() {
+        return Duration.ofMillis(tickMillis);
+    }
+
+    public Duration defaultPeriod() {
+        return defaultPeriod;
+    }
+
+    /**
+     * Phase of the asset inside a period, in ticks. Pure function of the asset id:
+     * the UUID bits are run through the MurmurHash3 finalizer so that sequential
+     * or similar ids still land far apart.
+     */
+    static long phaseOf(AssetId assetId, long periodTicks) {
+        long h = assetId.getValue().getMostSignificantBits() ^ assetId.getValue().getLeastSignificantBits();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return Math.floorMod(h, periodTicks);
+    }
+
+    private void collectBucket(long tick, List<AssetId> due) {
+        Bucket bucket = buckets[(int) Math.floorMod(tick, (long) buckets.length)];
+        List<Entry> fired = new ArrayList<>();
+        for (Entry entry = bucket.head; entry != null; entry = entry.next) {
+            if (entry.deadlineTick <= tick) {
+                fired.add(entry);
+            }
+        }
+        for (Entry entry : fired) {
+            bucket.unlink(entry);
+            due.add(entry.assetId);
+            entry.deadlineTick = nextOccurrence(entry, tick + 1);
+            insert(entry);
+        }
+    }
+
+    // First tick >= fromTick on which the entry's phase comes round
+    private static long nextOccurrence(Entry entry, long fromTick) {
+        long phase = phaseOf(entry.assetId, entry.periodTicks);
+        return fromTick + Math.floorMod(phase - fromTick, entry.periodTicks);
+    }
+
+    private void insert(Entry entry) {
+        buckets[(int) Math.floorMod(entry.deadlineTick, (long) buckets.length)].link(entry);
+    }
+
+    private long toTicks(Duration duration) {
+        long ticks = duration.toMillis() / tickMillis;
+        if (ticks < 1) {
+            throw new IllegalArgumentException("period must be at least one tick, got: " + duration);
+        }
+        return ticks;
+    }
+
+    private static final class Entry {
+        private final AssetId assetId;
+        private long periodTicks;
+        private long deadlineTick;
+        private Bucket bucket;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(AssetId assetId, long periodTicks) {
+            this.assetId = assetId;
+            this.periodTicks = periodTicks;
+        }
+    }
+
+    private static final class Bucket {
+        private Entry head;
+        private int size;
+
+        void link(Entry entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+            size++;
+        }
+
+        void unlink(Entry entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.input.FleetSeries;
+import com.infratrack.application.port.input.QueryFleetMetricsUseCase;
+import com.infratrack.application.port.output.FleetMetricsRepository;
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.FleetMetricPoint;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Fleet-wide series grouped by asset type and status. Like
+ * {@link MetricHistoryService}, min, max and avg come from the coarsest rollup tier
+ * that tiles the step and percentiles from its quantile sketches, so a day of 10k
+ * assets is a few hundred thousand tier rows rather than millions of snapshots.
+ * Percentiles over a tier without sketches, and the part of a range a tier no
+ * longer covers, are aggregated from raw snapshots.
+ * <p>
+ * Raw fleet queries are expensive, so the default step is rounded up to a tier
+ * that is both retained back to the start of the range and, for percentiles,
+ * sketched: a day at p95 is served from the 5m sketches, not from raw rows.
+ */
+public class FleetMetricsService implements QueryFleetMetricsUseCase {
+
+    private final FleetMetricsRepository fleetRepository;
+    private final Set<RollupTier> sketchedTiers;
+    private final MetricRetentionPolicy retentionPolicy;
+    private final Clock clock;
+
+    public FleetMetricsService(FleetMetricsRepository fleetRepository, Set<RollupTier> sketchedTiers,
+                               MetricRetentionPolicy retentionPolicy) {
+        this(fleetRepository, sketchedTiers, retentionPolicy, Clock.systemUTC());
+    }
+
+    public FleetMetricsService(FleetMetricsRepository fleetRepository, Set<RollupTier> sketchedTiers,
+                               MetricRetentionPolicy retentionPolicy, Clock clock) {
+        this.fleetRepository = Objects.requireNonNull(fleetRepository, "fleetRepository cannot be null");
+        this.sketchedTiers = Set.copyOf(Objects.requireNonNull(sketchedTiers, "sketchedTiers cannot be null"));
+        this.retentionPolicy = Objects.requireNonNull(retentionPolicy, "retentionPolicy cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+    }
+
+    @Override
+    public FleetSeries getFleetSeries(Instant from, Instant to, Duration step, Aggregation aggregation,
+                                      AssetType type, AssetStatus status) {
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to: " + from + " >= " + to);
+        }
+        Duration range = Duration.between(from, to);
+        Aggregation reduce = aggregation != null ? aggregation : Aggregation.AVG;
+        Duration bucket = step != null ? step : defaultStep(from, to, reduce, type);
+        if (bucket.isNegative() || bucket.isZero() || bucket.getNano() != 0) {
+            throw new IllegalArgumentException("step must be a positive whole number of seconds, got: " + bucket);
+        }
+        if (range.dividedBy(bucket) > MetricHistoryService.MAX_POINTS) {
+            throw new IllegalArgumentException("step " + bucket + " gives more than "
+                    + MetricHistoryService.MAX_POINTS + " points over " + range);
+        }
+        Instant start = MetricPoint.bucketOf(from, bucket);
+
+        Optional<RollupTier> tier = MetricHistoryService.tileTier(bucket);
+        if (tier.isPresent()) {
+            List<FleetMetricPoint> points = reduce.servedByRollups()
+                    ? fleetRepository.aggregateRollups(tier.get(), start, to, bucket, reduce, type, status)
+                    : fleetRepository.aggregateSketches(tier.get(), start, to, bucket, reduce, type, status);
+            if (!points.isEmpty()) {
+                return new FleetSeries(bucket, reduce, tier, withRawHead(points, start, bucket, reduce, type, status));
+            }
+        }
+        return new FleetSeries(bucket, reduce, Optional.empty(),
+                fleetRepository.aggregate(start, to, bucket, reduce, type, status));
+    }
+
+    /**
+     * Range / 500, rounded up to a multiple of the coarsest usable tier that fits in
+     * it, or to the finest usable tier when none fits. A tier is usable when it is
+     * retained back to {@code from} and, for percentiles, sketched. With no usable
+     * tier the step is rounded up to a multiple of the coarsest tier, and served raw.
+     */
+    Duration defaultStep(Instant from, Instant to, Aggregation reduce, AssetType type) {
+        long seconds = MetricHistoryService.pointStepSeconds(Duration.between(from, to));
+        RollupTier usable = null;
+        RollupTier fitting = RollupTier.ONE_MINUTE;
+        for (RollupTier tier : RollupTier.values()) {
+            boolean fits = tier.width().getSeconds() <= seconds;
+            if (fits) {
+                fitting = tier;
+            }
+            if ((reduce.servedByRollups() || sketchedTiers.contains(tier)) && retains(tier, type, from)
+                    && (usable == null || fits)) {
+                usable = tier;
+            }
+        }
+        long width = (usable != null ? usable : fitting).width().getSeconds();
+        return Duration.ofSeconds((seconds + width - 1) / width * width);
+    }
+
+    // Whether no asset of the type (any type when null) has had the tier purged past from
+    private boolean retains(RollupTier tier, AssetType type, Instant from) {
+        Instant now = clock.instant();
+        for (AssetType each : type != null ? List.of(type) : List.of(AssetType.values())) {
+            Optional<Duration> ttl = retentionPolicy.rollupTtl(each, tier);
+            if (ttl.isPresent() && from.isBefore(now.minus(ttl.get()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // A finer tier may have expired the older part of the range: read that part raw
+    private List<FleetMetricPoint> withRawHead(List<FleetMetricPoint> tierPoints, Instant start, Duration bucket,
+                                               Aggregation reduce, AssetType type, AssetStatus status) {
+        Instant first = tierPoints.stream().map(FleetMetricPoint::bucketStart).min(Comparator.naturalOrder()).orElseThrow();
+        Instant covered = MetricPoint.bucketOf(first, bucket);
+        if (!covered.isAfter(start)) {
+            return tierPoints;
+        }
+        List<FleetMetricPoint> points = new ArrayList<>(fleetRepository.aggregate(start, covered, bucket, reduce, type, status));
+        points.addAll(tierPoints);
+        // Same order as the store returns: type, status, bucket
+        points.sort(Comparator.comparing((FleetMetricPoint point) -> point.type().name())
+                .thenComparing(point -> point.status().name())
+                .thenComparing(FleetMetricPoint::bucketStart));
+        return points;
+    }
+}
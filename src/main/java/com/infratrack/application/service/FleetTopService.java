@@ -0,0 +1,31 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.input.QueryFleetTopUseCase;
+import com.infratrack.application.port.output.FleetRanking;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.UsageMetric;
+
+import java.util.List;
+import java.util.Objects;
+
+/** Fleet-wide top-N, answered from the incrementally maintained {@link FleetRanking}. */
+public class FleetTopService implements QueryFleetTopUseCase {
+
+    /** Most assets one query may return. */
+    static final int MAX_LIMIT = 100;
+
+    private final FleetRanking fleetRanking;
+
+    public FleetTopService(FleetRanking fleetRanking) {
+        this.fleetRanking = Objects.requireNonNull(fleetRanking, "fleetRanking cannot be null");
+    }
+
+    @Override
+    public List<MetricSnapshot> getTop(UsageMetric metric, int limit) {
+        Objects.requireNonNull(metric, "metric cannot be null");
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ", got: " + limit);
+        }
+        return fleetRanking.top(metric, limit);
+    }
+}
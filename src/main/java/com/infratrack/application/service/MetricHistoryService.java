@@ -0,0 +1,137 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.input.MetricSeries;
+import com.infratrack.application.port.input.QueryMetricHistoryUseCase;
+import com.infratrack.application.port.output.MetricHistoryRepository;
+import com.infratrack.application.port.output.MetricRollupRepository;
+import com.infratrack.application.port.output.MetricSketchRepository;
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Range queries over metric history at a chosen step. Min, max and avg come from
+ * the coarsest rollup tier whose buckets tile the step, percentiles from the
+ * quantile sketches of that tier. Tiers that are not sketched, and the part of a
+ * range a tier no longer covers, are aggregated from raw snapshots by the store.
+ * Either way a 30-day chart transfers a few hundred points, not every raw row.
+ */
+public class MetricHistoryService implements QueryMetricHistoryUseCase {
+
+    /** Points a query aims for when it does not ask for a step. */
+    static final int DEFAULT_POINTS = 500;
+
+    /** Most points one query may return. */
+    static final int MAX_POINTS = 10_000;
+
+    private final MetricRollupRepository rollupRepository;
+    private final MetricSketchRepository sketchRepository;
+    private final MetricHistoryRepository historyRepository;
+
+    public MetricHistoryService(MetricRollupRepository rollupRepository,
+                                MetricSketchRepository sketchRepository,
+                                MetricHistoryRepository historyRepository) {
+        this.rollupRepository = Objects.requireNonNull(rollupRepository, "rollupRepository cannot be null");
+        this.sketchRepository = Objects.requireNonNull(sketchRepository, "sketchRepository cannot be null");
+        this.historyRepository = Objects.requireNonNull(historyRepository, "historyRepository cannot be null");
+    }
+
+    @Override
+    public MetricSeries getSeries(AssetId assetId, Instant from, Instant to, Duration step, Aggregation aggregation) {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to: " + from + " >= " + to);
+        }
+        Duration range = Duration.between(from, to);
+        Duration bucket = step != null ? step : defaultStep(range);
+        if (bucket.isNegative() || bucket.isZero() || bucket.getNano() != 0) {
+            throw new IllegalArgumentException("step must be a positive whole number of seconds, got: " + bucket);
+        }
+        if (range.dividedBy(bucket) > MAX_POINTS) {
+            throw new IllegalArgumentException("step " + bucket + " gives more than " + MAX_POINTS + " points over " + range);
+        }
+        Aggregation reduce = aggregation != null ? aggregation : Aggregation.AVG;
+        // Whole buckets, so the first point is not computed from a partial bucket
+        Instant start = MetricPoint.bucketOf(from, bucket);
+
+        Optional<MetricSeries> tiered = tileTier(bucket)
+                .flatMap(tier -> fromTier(assetId, tier, start, to, bucket, reduce));
+        return tiered.orElseGet(() -> new MetricSeries(bucket, reduce, Optional.empty(),
+                historyRepository.aggregate(assetId, start, to, bucket, reduce)));
+    }
+
+    // Rollups for min, max and avg, sketches for percentiles; empty when the tier holds nothing in range
+    private Optional<MetricSeries> fromTier(AssetId assetId, RollupTier tier, Instant start, Instant to,
+                                            Duration bucket, Aggregation reduce) {
+        Instant first;
+        List<MetricPoint> tierPoints;
+        if (reduce.servedByRollups()) {
+            List<MetricRollup> rollups = rollupRepository.findByAssetId(assetId, tier, start, to);
+            if (rollups.isEmpty()) {
+                return Optional.empty();
+            }
+            first = rollups.get(0).bucketStart();
+            tierPoints = MetricPoint.fromRollups(rollups, bucket, reduce);
+        } else {
+            List<MetricSketch> sketches = sketchRepository.findByAssetId(assetId, tier, start, to);
+            if (sketches.isEmpty()) {
+                return Optional.empty();
+            }
+            first = sketches.get(0).bucketStart();
+            tierPoints = MetricPoint.fromSketches(sketches, bucket, reduce);
+        }
+        List<MetricPoint> points = new ArrayList<>();
+        // A finer tier may have expired the older part of the range: read that part raw
+        Instant covered = MetricPoint.bucketOf(first, bucket);
+        if (covered.isAfter(start)) {
+            points.addAll(historyRepository.aggregate(assetId, start, covered, bucket, reduce));
+        }
+        points.addAll(tierPoints);
+        return Optional.of(new MetricSeries(bucket, reduce, Optional.of(tier), points));
+    }
+
+    /**
+     * Range / 500, rounded up to whole seconds and then to a multiple of the
+     * coarsest tier that fits in it, so the default step is served from a tier.
+     * Steps under a minute (ranges under about eight hours) stay raw.
+     */
+    static Duration defaultStep(Duration range) {
+        long seconds = pointStepSeconds(range);
+        long width = 0;
+        for (RollupTier tier : RollupTier.values()) {
+            if (tier.width().getSeconds() <= seconds) {
+                width = tier.width().getSeconds();
+            }
+        }
+        return Duration.ofSeconds(width == 0 ? seconds : (seconds + width - 1) / width * width);
+    }
+
+    /** Range / 500, rounded up to whole seconds. */
+    static long pointStepSeconds(Duration range) {
+        return Math.max(1, (range.toMillis() + DEFAULT_POINTS * 1000L - 1) / (DEFAULT_POINTS * 1000L));
+    }
+
+    /** Coarsest tier whose buckets fit a whole number of times into {@code step}. */
+    static Optional<RollupTier> tileTier(Duration step) {
+        RollupTier selected = null;
+        for (RollupTier tier : RollupTier.values()) {
+            long width = tier.width().getSeconds();
+            if (width <= step.getSeconds() && step.getSeconds() % width == 0) {
+                selected = tier;
+            }
+        }
+        return Optional.ofNullable(selected);
+    }
+}
@@ -0,0 +1,98 @@
+package com.infratrack.application.service;
+
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * How long each metric series is kept: raw snapshots and every rollup tier have
+ * their own TTL, and each TTL can be overridden per {@link AssetType}.
+ * <p>
+ * Series are named {@code raw} or by tier label ({@code 1m}, {@code 5m},
+ * {@code 1h}, {@code 1d}). A missing or zero TTL keeps the series forever.
+ * <p>
+ * Raw {@code metrics} rows also expire when their daily partition is dropped
+ * after {@code partitionRetention}. Deleting them row by row would only bloat the
+ * partition that is about to go, so raw rows are purged only for a raw TTL
+ * strictly shorter than that. Compressed blocks are not partitioned: they follow
+ * the raw TTL, or the partition retention when none is set.
+ */
+public class MetricRetentionPolicy {
+
+    public static final String RAW = "raw";
+
+    private final Map<String, Duration> defaults;
+    private final Map<AssetType, Map<String, Duration>> byType;
+    private final Duration partitionRetention;
+
+    /** Without partition drops: every TTL is applied by deleting rows. */
+    public MetricRetentionPolicy(Map<String, Duration> defaults, Map<AssetType, Map<String, Duration>> byType) {
+        this(defaults, byType, Duration.ZERO);
+    }
+
+    /**
+     * @param defaults           TTL per series for every asset type
+     * @param byType             per-type TTLs that replace the default of the same series
+     * @param partitionRetention age at which daily {@code metrics} partitions are dropped;
+     *                           zero when they are kept forever
+     */
+    public MetricRetentionPolicy(Map<String, Duration> defaults, Map<AssetType, Map<String, Duration>> byType,
+                                 Duration partitionRetention) {
+        this.partitionRetention = Objects.requireNonNull(partitionRetention, "partitionRetention cannot be null");
+        defaults.keySet().forEach(MetricRetentionPolicy::requireSeries);
+        byType.values().forEach(ttls -> ttls.keySet().forEach(MetricRetentionPolicy::requireSeries));
+        this.defaults = Map.copyOf(defaults);
+        Map<AssetType, Map<String, Duration>> copy = new EnumMap<>(AssetType.class);
+        byType.forEach((type, ttls) -> copy.put(type, Map.copyOf(ttls)));
+        this.byType = copy;
+    }
+
+    /** Keeps everything forever. */
+    public static MetricRetentionPolicy keepForever() {
+        return new MetricRetentionPolicy(Map.of(), Map.of());
+    }
+
+    public Optional<Duration> rawTtl(AssetType type) {
+        return ttl(type, RAW);
+    }
+
+    /** TTL for row deletes of raw snapshots: only where it beats the partition drop. */
+    public Optional<Duration> snapshotRowTtl(AssetType type) {
+        return rawTtl(type).filter(ttl -> !dropsPartitions() || ttl.compareTo(partitionRetention) < 0);
+    }
+
+    /** TTL of compressed raw blocks, which no partition drop covers. */
+    public Optional<Duration> blockTtl(AssetType type) {
+        return rawTtl(type).or(() -> dropsPartitions() ? Optional.of(partitionRetention) : Optional.empty());
+    }
+
+    public Optional<Duration> rollupTtl(AssetType type, RollupTier tier) {
+        return ttl(type, tier.label());
+    }
+
+    private boolean dropsPartitions() {
+        return partitionRetention.isPositive();
+    }
+
+    private Optional<Duration> ttl(AssetType type, String series) {
+        Duration ttl = byType.getOrDefault(type, Map.of()).get(series);
+        if (ttl == null) {
+            ttl = defaults.get(series);
+        }
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? Optional.empty() : Optional.of(ttl);
+    }
+
+    /** Accepts {@code raw} and the tier labels, rejects anything else. */
+    public static String requireSeries(String series) {
+        Objects.requireNonNull(series, "series cannot be null");
+        if (!RAW.equals(series) && RollupTier.fromLabel(series).isEmpty()) {
+            throw new IllegalArgumentException("Unknown metric series '" + series + "', expected raw, 1m, 5m, 1h or 1d");
+        }
+        return series;
+    }
+}
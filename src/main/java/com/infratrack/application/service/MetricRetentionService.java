@@ -0,0 +1,150 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.input.PurgeExpiredMetricsUseCase;
+import com.infratrack.application.port.input.RetentionReport;
+import com.infratrack.application.port.output.MetricRetentionRepository;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.RollupTier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Applies the {@link MetricRetentionPolicy}.
+ * <p>
+ * Expired rows are deleted in chunks of {@code chunkSize}, each in its own short
+ * transaction, with a pause between chunks. Locks are therefore held only for
+ * one chunk and ingest keeps getting its share of the database. A run stops at
+ * {@code maxRunTime}; whatever is left is picked up by the next run. Raw rows
+ * that a partition drop removes anyway are left to it (see {@link MetricRetentionPolicy}).
+ */
+public class MetricRetentionService implements PurgeExpiredMetricsUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricRetentionService.class);
+
+    /**
+     * @param chunkSize  most rows deleted per statement
+     * @param pause      wait between two chunks; the rate limit
+     * @param maxRunTime time budget of one run
+     */
+    public record Settings(int chunkSize, Duration pause, Duration maxRunTime) {
+
+        public Settings {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("chunkSize must be at least 1, got: " + chunkSize);
+            }
+            Objects.requireNonNull(pause, "pause cannot be null");
+            Objects.requireNonNull(maxRunTime, "maxRunTime cannot be null");
+        }
+
+        public static Settings defaults() {
+            return new Settings(5_000, Duration.ofMillis(200), Duration.ofMinutes(10));
+        }
+    }
+
+    private final MetricRetentionRepository retentionRepository;
+    private final MetricRetentionPolicy policy;
+    private final Settings settings;
+    private final Clock clock;
+
+    public MetricRetentionService(MetricRetentionRepository retentionRepository,
+                                  MetricRetentionPolicy policy,
+                                  Settings settings) {
+        this(retentionRepository, policy, settings, Clock.systemUTC());
+    }
+
+    public MetricRetentionService(MetricRetentionRepository retentionRepository,
+                                  MetricRetentionPolicy policy,
+                                  Settings settings,
+                                  Clock clock) {
+        this.retentionRepository = Objects.requireNonNull(retentionRepository, "retentionRepository cannot be null");
+        this.policy = Objects.requireNonNull(policy, "policy cannot be null");
+        this.settings = Objects.requireNonNull(settings, "settings cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+    }
+
+    @Override
+    public RetentionReport purgeExpired() {
+        Instant start = clock.instant();
+        Instant deadline = start.plus(settings.maxRunTime());
+        List<RetentionReport.Purge> purges = new ArrayList<>();
+        boolean complete = true;
+
+        for (AssetType type : AssetType.values()) {
+            Optional<Duration> rowTtl = policy.snapshotRowTtl(type);
+            if (complete && rowTtl.isPresent()) {
+                Instant cutoff = start.minus(rowTtl.get());
+                complete = purge(type, MetricRetentionPolicy.RAW, deadline, purges,
+                        limit -> retentionRepository.deleteSnapshotsBefore(type, cutoff, limit));
+            }
+            Optional<Duration> blockTtl = policy.blockTtl(type);
+            if (complete && blockTtl.isPresent()) {
+                Instant cutoff = start.minus(blockTtl.get());
+                complete = purge(type, MetricRetentionPolicy.RAW, deadline, purges,
+                        limit -> retentionRepository.deleteBlocksBefore(type, cutoff, limit));
+            }
+            for (RollupTier tier : RollupTier.values()) {
+                Optional<Duration> ttl = policy.rollupTtl(type, tier);
+                if (complete && ttl.isPresent()) {
+                    Instant cutoff = tier.bucketOf(start.minus(ttl.get()));
+                    complete = purge(type, tier.label(), deadline, purges,
+                            limit -> retentionRepository.deleteRollupsBefore(type, tier, cutoff, limit));
+                }
+            }
+        }
+
+        RetentionReport report = new RetentionReport(purges, Duration.between(start, clock.instant()), complete);
+        if (report.totalRows() > 0 || !complete) {
+            log.info("Retention purged {} rows in {} ms{}", report.totalRows(), report.duration().toMillis(),
+                    complete ? "" : " (time budget reached, continuing next run)");
+        }
+        return report;
+    }
+
+    // Deletes chunk after chunk until one comes back short; false if the deadline hit first
+    private boolean purge(AssetType type, String series, Instant deadline,
+                          List<RetentionReport.Purge> purges, IntUnaryOperator deleteChunk) {
+        Instant start = clock.instant();
+        long rows = 0;
+        boolean complete = true;
+        while (true) {
+            int deleted = deleteChunk.applyAsInt(settings.chunkSize());
+            rows += deleted;
+            if (deleted < settings.chunkSize()) {
+                break;
+            }
+            if (!clock.instant().isBefore(deadline)) {
+                complete = false;
+                break;
+            }
+            if (!pause(settings.pause())) {
+                complete = false;
+                break;
+            }
+        }
+        purges.add(new RetentionReport.Purge(type, series, rows, Duration.between(start, clock.instant())));
+        return complete;
+    }
+
+    /** Waits between chunks; false if interrupted. Protected as a test seam. */
+    protected boolean pause(Duration pause) {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
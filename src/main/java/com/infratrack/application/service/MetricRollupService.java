@@ -0,0 +1,56 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.input.QueryMetricRollupsUseCase;
+import com.infratrack.application.port.input.RollupSeries;
+import com.infratrack.application.port.output.MetricRollupRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Serves metric history from the rollup tiers. A chart asking for a week at
+ * one-hour resolution reads 168 hourly rows instead of ~10k raw snapshots.
+ */
+public class MetricRollupService implements QueryMetricRollupsUseCase {
+
+    /** Points a query aims for when it does not ask for a resolution. */
+    static final int DEFAULT_POINTS = 500;
+
+    private final MetricRollupRepository rollupRepository;
+
+    public MetricRollupService(MetricRollupRepository rollupRepository) {
+        this.rollupRepository = Objects.requireNonNull(rollupRepository, "rollupRepository cannot be null");
+    }
+
+    @Override
+    public RollupSeries getRollups(AssetId assetId, Instant from, Instant to, Duration resolution) {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to: " + from + " >= " + to);
+        }
+        Duration range = Duration.between(from, to);
+        RollupTier tier = selectTier(resolution != null ? resolution : range.dividedBy(DEFAULT_POINTS));
+        // Widen to whole buckets so the first and last bucket of the range are included
+        Instant start = tier.bucketOf(from);
+        return new RollupSeries(tier, rollupRepository.findByAssetId(assetId, tier, start, to));
+    }
+
+    /**
+     * Coarsest tier whose bucket width does not exceed {@code resolution}; the
+     * finest tier when the resolution is below every bucket width.
+     */
+    static RollupTier selectTier(Duration resolution) {
+        RollupTier selected = RollupTier.ONE_MINUTE;
+        for (RollupTier tier : RollupTier.values()) {
+            if (tier.width().compareTo(resolution) <= 0) {
+                selected = tier;
+            }
+        }
+        return selected;
+    }
+}
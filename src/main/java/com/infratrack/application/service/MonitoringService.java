@@ -1,35 +1,136 @@
 package com.infratrack.application.service;
 
 import com.infratrack.application.port.input.MonitorAssetUseCase;
+import com.infratrack.application.port.input.SweepReport;
 import com.infratrack.application.port.output.AssetRepository;
 import com.infratrack.application.port.output.MetricSnapshotRepository;
 import com.infratrack.application.port.output.MetricsCollector;
 import com.infratrack.domain.model.Asset;
 import com.infratrack.domain.model.AssetId;
 import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
 import com.infratrack.domain.model.MetricSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 public class MonitoringService implements MonitorAssetUseCase {
 
+    /**
+     * Sweep engine limits.
+     *
+     * @param maxConcurrency collections allowed in flight at once, across all sweeps.
+     *                       Bounds open SSH sockets and concurrent DB writes.
+     * @param deadline       how long a sweep may run; tasks still pending or running
+     *                       at the deadline are cancelled and reported as timed out
+     */
+    public record SweepSettings(int maxConcurrency, Duration deadline) {
+
+        public SweepSettings {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1, got: " + maxConcurrency);
+            }
+            Objects.requireNonNull(deadline, "deadline cannot be null");
+        }
+
+        public static SweepSettings defaults() {
+            return new SweepSettings(16, Duration.ofSeconds(50));
+        }
+    }
+
     private final AssetRepository assetRepository;
     private final MetricsCollector metricsCollector;
     private final MetricSnapshotRepository snapshotRepository;
+    private final SweepSettings sweepSettings;
+    private final Semaphore collectionPermits;
+    private final CollectionWheel collectionWheel;
+    private final CollectionIntervalPolicy intervalPolicy;
+    private final AssetCircuitBreaker circuitBreaker;
+    // Assets whose scheduled collection has not finished yet; a due slot for one of
+    // them is skipped rather than running a second collection of the same asset.
+    private final Set<AssetId> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong reconciledRotation = new AtomicLong(Long.MIN_VALUE);
     private static final Logger log = LoggerFactory.getLogger(MonitoringService.class);
 
     public MonitoringService(
             AssetRepository assetRepository,
             MetricsCollector metricsCollector,
             MetricSnapshotRepository snapshotRepository
+    ) {
+        this(assetRepository, metricsCollector, snapshotRepository, SweepSettings.defaults());
+    }
+
+    public MonitoringService(
+            AssetRepository assetRepository,
+            MetricsCollector metricsCollector,
+            MetricSnapshotRepository snapshotRepository,
+            SweepSettings sweepSettings
+    ) {
+        this(assetRepository, metricsCollector, snapshotRepository, sweepSettings,
+                new CollectionWheel(Duration.ofSeconds(1), Duration.ofSeconds(60)));
+    }
+
+    public MonitoringService(
+            AssetRepository assetRepository,
+            MetricsCollector metricsCollector,
+            MetricSnapshotRepository snapshotRepository,
+            SweepSettings sweepSettings,
+            CollectionWheel collectionWheel
+    ) {
+        this(assetRepository, metricsCollector, snapshotRepository, sweepSettings, collectionWheel,
+                CollectionIntervalPolicy.fixed(collectionWheel.defaultPeriod()));
+    }
+
+    public MonitoringService(
+            AssetRepository assetRepository,
+            MetricsCollector metricsCollector,
+            MetricSnapshotRepository snapshotRepository,
+            SweepSettings sweepSettings,
+            CollectionWheel collectionWheel,
+            CollectionIntervalPolicy intervalPolicy
+    ) {
+        this(assetRepository, metricsCollector, snapshotRepository, sweepSettings, collectionWheel, intervalPolicy,
+                new AssetCircuitBreaker(AssetCircuitBreaker.Settings.defaults(), event -> { }));
+    }
+
+    public MonitoringService(
+            AssetRepository assetRepository,
+            MetricsCollector metricsCollector,
+            MetricSnapshotRepository snapshotRepository,
+            SweepSettings sweepSettings,
+            CollectionWheel collectionWheel,
+            CollectionIntervalPolicy intervalPolicy,
+            AssetCircuitBreaker circuitBreaker
     ) {
         this.assetRepository = Objects.requireNonNull(assetRepository, "assetRepository cannot be null");
         this.metricsCollector = Objects.requireNonNull(metricsCollector, "metricsCollector cannot be null");
         this.snapshotRepository = Objects.requireNonNull(snapshotRepository, "snapshotRepository cannot be null");
+        this.sweepSettings = Objects.requireNonNull(sweepSettings, "sweepSettings cannot be null");
+        this.collectionPermits = new Semaphore(sweepSettings.maxConcurrency());
+        this.collectionWheel = Objects.requireNonNull(collectionWheel, "collectionWheel cannot be null");
+        this.intervalPolicy = Objects.requireNonNull(intervalPolicy, "intervalPolicy cannot be null");
+        this.circuitBreaker = Objects.requireNonNull(circuitBreaker, "circuitBreaker cannot be null");
     }
 
     @Override
@@ -38,10 +139,7 @@ public class MonitoringService implements MonitorAssetUseCase {
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Asset Not Found: " + assetId.getValue()
                 ));
-
-        MetricSnapshot snapshot = metricsCollector.collect(asset);
-        snapshotRepository.save(snapshot);
-        return snapshot;
+        return collect(asset);
     }
 
     @Override
@@ -50,22 +148,209 @@ public class MonitoringService implements MonitorAssetUseCase {
     }
 
     @Override
-    public void collectAllActive() {
-        List<Asset> activeAssets = assetRepository.findAll().stream()
+    public Map<AssetId, List<MetricSnapshot>> getHistories(Collection<AssetId> assetIds, int limit) {
+        return snapshotRepository.findLatestByAssetIds(assetIds, limit);
+    }
+
+    @Override
+    public Map<AssetId, List<MetricSnapshot>> getHistoriesByType(AssetType type, int limit) {
+        List<AssetId> assetIds = assetRepository.findAll().stream()
+                .filter(asset -> type == null || asset.getType() == type)
+                .map(Asset::getId)
+                .toList();
+        return snapshotRepository.findLatestByAssetIds(assetIds, limit);
+    }
+
+    @Override
+    public SweepReport collectAllActive() {
+        List<AssetId> activeAssets = assetRepository.findAll().stream()
                 .filter(asset -> asset.getStatus() == AssetStatus.ACTIVE)
+                .map(Asset::getId)
+                .toList();
+
+        // Assets with an open circuit are skipped before any lookup or connect
+        List<AssetId> admitted = activeAssets.stream()
+                .filter(circuitBreaker::tryAcquire)
                 .toList();
+        int circuitOpen = activeAssets.size() - admitted.size();
+
+        log.info("Collecting metrics for {} active assets ({} skipped, circuit open)",
+                admitted.size(), circuitOpen);
+
+        return sweep(admitted, this::collectTracked).withSkipped(circuitOpen);
+    }
+
+    /**
+     * Collects the assets the wheel says are due at {@code now}.
+     * <p>
+     * Wheel membership is synced with the repository once per rotation: new ACTIVE
+     * assets join at their stable phase with their base interval, and assets that
+     * disappeared or were deactivated leave. With an adaptive interval policy, each
+     * collected asset is rescheduled at the interval its new reading calls for.
+     * Between syncs, a due asset that is no longer ACTIVE is
+     * dropped from the wheel when its slot comes up and counted as skipped, as are
+     * due assets still being collected and assets whose circuit is open.
+     */
+    @Override
+    public SweepReport collectDue(Instant now) {
+        reconcileSchedule(now);
+
+        List<AssetId> due = collectionWheel.advance(now);
+        List<AssetId> ready = new ArrayList<>(due.size());
+        int stillRunning = 0;
+        int circuitOpen = 0;
+        for (AssetId id : due) {
+            if (!inFlight.add(id)) {
+                stillRunning++;
+            } else if (!circuitBreaker.tryAcquire(id)) {
+                inFlight.remove(id);
+                circuitOpen++;
+            } else {
+                ready.add(id);
+            }
+        }
+        if (stillRunning > 0) {
+            log.warn("Skipping {} due asset(s) whose previous collection is still running", stillRunning);
+        }
+
+        try {
+            return sweep(ready, this::collectIfActive).withSkipped(stillRunning + circuitOpen);
+        } finally {
+            // Also releases tasks cancelled at the deadline before they could run
+            ready.forEach(inFlight::remove);
+        }
+    }
+
+    private void reconcileSchedule(Instant now) {
+        long rotation = Math.floorDiv(now.toEpochMilli(), collectionWheel.defaultPeriod().toMillis());
+        long previous = reconciledRotation.get();
+        if (rotation == previous || !reconciledRotation.compareAndSet(previous, rotation)) {
+            return;
+        }
+        Map<AssetId, Duration> activeAssets = assetRepository.findAll().stream()
+                .filter(asset -> asset.getStatus() == AssetStatus.ACTIVE)
+                .collect(Collectors.toMap(Asset::getId, intervalPolicy::baseInterval));
+        collectionWheel.retainAndSchedule(activeAssets).forEach(this::forget);
+        log.info("Collection schedule synced: {} active assets over {} slots",
+                activeAssets.size(), collectionWheel.slots());
+    }
+
+    // Returns null when the asset is gone or no longer ACTIVE; the sweep counts that as skipped
+    private MetricSnapshot collectIfActive(AssetId assetId) {
+        Asset asset = assetRepository.findById(assetId)
+                .filter(a -> a.getStatus() == AssetStatus.ACTIVE)
+                .orElse(null);
+        if (asset == null) {
+            collectionWheel.remove(assetId);
+            forget(assetId);
+            return null;
+        }
+        MetricSnapshot snapshot = collectTracked(asset);
+        if (intervalPolicy.isAdaptive()) {
+            collectionWheel.reschedule(assetId, intervalPolicy.nextInterval(asset, snapshot));
+        }
+        return snapshot;
+    }
+
+    private void forget(AssetId assetId) {
+        intervalPolicy.forget(assetId);
+        circuitBreaker.forget(assetId);
+    }
+
+    private MetricSnapshot collectTracked(AssetId assetId) {
+        return collectTracked(assetRepository.findById(assetId)
+                .orElseThrow(() -> new IllegalArgumentException("Asset Not Found: " + assetId.getValue())));
+    }
+
+    // Scheduled collections feed the circuit breaker; only the collector call counts,
+    // a failed save says nothing about whether the asset is reachable.
+    private MetricSnapshot collectTracked(Asset asset) {
+        MetricSnapshot snapshot;
+        try {
+            snapshot = metricsCollector.collect(asset);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(asset.getId());
+            throw e;
+        }
+        circuitBreaker.onSuccess(asset.getId());
+        snapshotRepository.save(snapshot);
+        return snapshot;
+    }
+
+    private MetricSnapshot collect(Asset asset) {
+        MetricSnapshot snapshot = metricsCollector.collect(asset);
+        snapshotRepository.save(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Runs one collection task per asset on virtual threads and joins them all.
+     * <p>
+     * Virtual threads are cheap, so every task is started immediately; the shared
+     * semaphore is what bounds how many actually talk to SSH and the database at
+     * once. {@code invokeAll} with a timeout gives the sweep-wide deadline: when it
+     * expires, unfinished tasks are cancelled (interrupted), whether they are still
+     * waiting for a permit or stuck in I/O. A task returning {@code null} collected
+     * nothing and is counted as skipped.
+     */
+    private SweepReport sweep(List<AssetId> assetIds, Function<AssetId, MetricSnapshot> collection) {
+        long start = System.nanoTime();
+        List<Callable<MetricSnapshot>> tasks = assetIds.stream()
+                .map(id -> (Callable<MetricSnapshot>) () -> collectWithPermit(id, collection))
+                .toList();
+
+        List<Future<MetricSnapshot>> futures;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            futures = executor.invokeAll(tasks, sweepSettings.deadline().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            // invokeAll cancels every task before rethrowing; nothing completed that we can count
+            Thread.currentThread().interrupt();
+            return new SweepReport(assetIds.size(), 0, 0, assetIds.size(), Duration.ofNanos(System.nanoTime() - start));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int succeeded = 0;
+        int failed = 0;
+        int timedOut = 0;
+        int skipped = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                if (futures.get(i).get() != null) {
+                    succeeded++;
+                } else {
+                    skipped++;
+                }
+            } catch (CancellationException e) {
+                timedOut++;
+            } catch (ExecutionException e) {
+                failed++;
+                log.error("Metrics collection failed for asset {}: {}",
+                        assetIds.get(i), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                // Unreachable: invokeAll only returns completed or cancelled futures
+                Thread.currentThread().interrupt();
+                timedOut++;
+            }
+        }
+
+        SweepReport report = new SweepReport(assetIds.size(), succeeded, failed, timedOut, skipped,
+                Duration.ofNanos(System.nanoTime() - start));
+        if (timedOut > 0) {
+            log.warn("Sweep deadline of {} reached: {} of {} collections cancelled",
+                    sweepSettings.deadline(), timedOut, assetIds.size());
+        }
+        return report;
+    }
 
-        log.info("Collecting metrics for {} active assets", activeAssets.size());
-
-        activeAssets.forEach(asset ->
-                Thread.startVirtualThread(() -> {
-                    try {
-                        collectNow(asset.getId());
-                    } catch (Exception e) {
-                        log.error("Metrics collection failed for asset {}: {}",
-                                asset.getId(), e.getMessage());
-                    }
-                })
-        );
+    private MetricSnapshot collectWithPermit(AssetId assetId, Function<AssetId, MetricSnapshot> collection)
+            throws InterruptedException {
+        collectionPermits.acquire();
+        try {
+            return collection.apply(assetId);
+        } finally {
+            collectionPermits.release();
+        }
     }
 }
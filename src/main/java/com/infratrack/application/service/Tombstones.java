@@ -0,0 +1,49 @@
+package com.infratrack.application.service;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assets removed from an in-memory structure, with the time of removal. A snapshot
+ * collected before that time was still in flight when the asset went away and must
+ * not bring it back; newer snapshots (an asset re-activated) pass. Tombstones are
+ * pruned {@code ttl} after removal, so only recent removals are held.
+ */
+public final class Tombstones {
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<AssetId, Instant> removedAt = new ConcurrentHashMap<>();
+
+    public Tombstones(Duration ttl, Clock clock) {
+        this.ttl = Objects.requireNonNull(ttl, "ttl cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+    }
+
+    public void bury(AssetId assetId) {
+        Instant now = clock.instant();
+        Instant cutoff = now.minus(ttl);
+        removedAt.values().removeIf(at -> at.isBefore(cutoff));
+        removedAt.put(assetId, now);
+    }
+
+    /** Whether {@code snapshot} was collected before its asset was removed. */
+    public boolean buries(MetricSnapshot snapshot) {
+        if (removedAt.isEmpty()) {
+            return false;
+        }
+        Instant at = removedAt.get(snapshot.assetId());
+        return at != null && !snapshot.collectedAt().isAfter(at);
+    }
+
+    public int size() {
+        return removedAt.size();
+    }
+}
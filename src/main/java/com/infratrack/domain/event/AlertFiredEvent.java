@@ -0,0 +1,36 @@
+package com.infratrack.domain.event;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.UsageMetric;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Domain event: an alert rule started firing for an Asset.
+ *
+ * <p>Published by the alert engine once {@code samples} consecutive snapshots of
+ * the asset breached the rule's threshold. {@code value} is the reading that
+ * completed the run.
+ */
+public record AlertFiredEvent(
+        String ruleName,
+        AssetId assetId,
+        UsageMetric metric,
+        double value,
+        double threshold,
+        Instant occurredOn
+) {
+    // Compact constructor - validation without repeating field assignments
+    public AlertFiredEvent {
+        Objects.requireNonNull(ruleName, "RuleName cannot be null");
+        Objects.requireNonNull(assetId, "AssetId cannot be null");
+        Objects.requireNonNull(metric, "Metric cannot be null");
+        Objects.requireNonNull(occurredOn, "OccurredOn cannot be null");
+    }
+
+    public static AlertFiredEvent of(String ruleName, AssetId assetId, UsageMetric metric,
+                                     double value, double threshold) {
+        return new AlertFiredEvent(ruleName, assetId, metric, value, threshold, Instant.now());
+    }
+}
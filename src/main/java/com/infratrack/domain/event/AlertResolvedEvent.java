@@ -0,0 +1,36 @@
+package com.infratrack.domain.event;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.UsageMetric;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Domain event: a firing alert rule resolved for an Asset.
+ *
+ * <p>Published by the alert engine once {@code samples} consecutive snapshots of
+ * the asset are back within the rule's threshold, or when the asset leaves
+ * monitoring while the alert fires. {@code value} is the last reading seen.
+ */
+public record AlertResolvedEvent(
+        String ruleName,
+        AssetId assetId,
+        UsageMetric metric,
+        double value,
+        double threshold,
+        Instant occurredOn
+) {
+    // Compact constructor - validation without repeating field assignments
+    public AlertResolvedEvent {
+        Objects.requireNonNull(ruleName, "RuleName cannot be null");
+        Objects.requireNonNull(assetId, "AssetId cannot be null");
+        Objects.requireNonNull(metric, "Metric cannot be null");
+        Objects.requireNonNull(occurredOn, "OccurredOn cannot be null");
+    }
+
+    public static AlertResolvedEvent of(String ruleName, AssetId assetId, UsageMetric metric,
+                                        double value, double threshold) {
+        return new AlertResolvedEvent(ruleName, assetId, metric, value, threshold, Instant.now());
+    }
+}
@@ -0,0 +1,43 @@
+package com.infratrack.domain.event;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.CircuitState;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Domain event: the collection circuit of an Asset changed state.
+ *
+ * <p>Published by the monitoring circuit breaker when an asset becomes
+ * unreachable (OPEN), gets a trial collection (HALF_OPEN) or recovers (CLOSED).
+ * {@code retryAfter} is the backoff before the next attempt and is zero
+ * unless the new state is OPEN.
+ */
+public record AssetCircuitStateChangedEvent(
+        AssetId assetId,
+        CircuitState previousState,
+        CircuitState newState,
+        int consecutiveFailures,
+        Duration retryAfter,
+        Instant occurredOn
+) {
+    // Compact constructor - validation without repeating field assignments
+    public AssetCircuitStateChangedEvent {
+        Objects.requireNonNull(assetId, "AssetId cannot be null");
+        Objects.requireNonNull(previousState, "PreviousState cannot be null");
+        Objects.requireNonNull(newState, "NewState cannot be null");
+        Objects.requireNonNull(retryAfter, "RetryAfter cannot be null");
+        Objects.requireNonNull(occurredOn, "OccurredOn cannot be null");
+    }
+
+    public static AssetCircuitStateChangedEvent of(AssetId assetId,
+                                                   CircuitState previousState,
+                                                   CircuitState newState,
+                                                   int consecutiveFailures,
+                                                   Duration retryAfter) {
+        return new AssetCircuitStateChangedEvent(
+                assetId, previousState, newState, consecutiveFailures, retryAfter, Instant.now());
+    }
+}
@@ -0,0 +1,35 @@
+package com.infratrack.domain.event;
+
+import com.infratrack.domain.model.AssetId;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Domain event: the SSH credentials of an Asset were replaced.
+ *
+ * <p>This is a plain Java record — no Spring, no JPA, no framework.
+ * It deliberately carries no credential data: listeners only need to know
+ * which asset changed, never the new username or password.
+ *
+ * <p>Published by AssetService after a successful repository update.
+ * Consumed by any infrastructure adapter that registers a listener.
+ */
+public record AssetCredentialsChangedEvent(
+        AssetId assetId,
+        Instant occurredOn
+) {
+    // Compact constructor - validation without repeating field assignments
+    public AssetCredentialsChangedEvent {
+        Objects.requireNonNull(assetId, "AssetId cannot be null");
+        Objects.requireNonNull(occurredOn, "OccurredOn cannot be null");
+    }
+
+    /**
+     * Factory method — the canonical way to create this event.
+     * Captures "now" automatically so callers don't have to supply the timestamp.
+     */
+    public static AssetCredentialsChangedEvent of(AssetId assetId) {
+        return new AssetCredentialsChangedEvent(assetId, Instant.now());
+    }
+}
@@ -0,0 +1,38 @@
+package com.infratrack.domain.event;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.IpAddress;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Domain event: the IP address (or hostname) of an Asset was changed.
+ *
+ * <p>This is a plain Java record — no Spring, no JPA, no framework.
+ * It captures the minimum information listeners need to react:
+ * which asset, its new address, and when it happened.
+ *
+ * <p>Published by AssetService after a successful repository update.
+ * Consumed by any infrastructure adapter that registers a listener.
+ */
+public record AssetIpAddressChangedEvent(
+        AssetId assetId,
+        IpAddress ipAddress,
+        Instant occurredOn
+) {
+    // Compact constructor - validation without repeating field assignments
+    public AssetIpAddressChangedEvent {
+        Objects.requireNonNull(assetId, "AssetId cannot be null");
+        Objects.requireNonNull(ipAddress, "IpAddress cannot be null");
+        Objects.requireNonNull(occurredOn, "OccurredOn cannot be null");
+    }
+
+    /**
+     * Factory method — the canonical way to create this event.
+     * Captures "now" automatically so callers don't have to supply the timestamp.
+     */
+    public static AssetIpAddressChangedEvent of(AssetId assetId, IpAddress ipAddress) {
+        return new AssetIpAddressChangedEvent(assetId, ipAddress, Instant.now());
+    }
+}
@@ -0,0 +1,65 @@
+package com.infratrack.domain.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/** How the samples of one history bucket are reduced to a single value. */
+public enum Aggregation {
+    MIN,
+    MAX,
+    AVG,
+    /** 95th percentile, interpolated like SQL {@code percentile_cont(0.95)}. */
+    P95,
+    /** 99th percentile, interpolated like SQL {@code percentile_cont(0.99)}. */
+    P99;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /** Whether rollups, which keep min, max and sum per bucket, can answer it. */
+    public boolean servedByRollups() {
+        return fraction().isEmpty();
+    }
+
+    /** Whether quantile sketches can answer it, within their relative accuracy. */
+    public boolean servedBySketches() {
+        return fraction().isPresent();
+    }
+
+    /** The quantile a percentile asks for, e.g. 0.95; empty for min, max and avg. */
+    public Optional<Double> fraction() {
+        return switch (this) {
+            case MIN, MAX, AVG -> Optional.empty();
+            case P95 -> Optional.of(0.95);
+            case P99 -> Optional.of(0.99);
+        };
+    }
+
+    /** Reduces {@code values}, which must not be empty. The array is not modified. */
+    public double of(double[] values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Cannot aggregate an empty bucket");
+        }
+        return switch (this) {
+            case MIN -> Arrays.stream(values).min().orElseThrow();
+            case MAX -> Arrays.stream(values).max().orElseThrow();
+            case AVG -> Arrays.stream(values).average().orElseThrow();
+            case P95, P99 -> percentile(values, fraction().orElseThrow());
+        };
+    }
+
+    public static Optional<Aggregation> fromLabel(String label) {
+        return Arrays.stream(values()).filter(aggregation -> aggregation.label().equalsIgnoreCase(label)).findFirst();
+    }
+
+    private static double percentile(double[] values, double fraction) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double position = fraction * (sorted.length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = (int) Math.ceil(position);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+    }
+}
@@ -0,0 +1,113 @@
+package com.infratrack.domain.model;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A threshold on one usage of an asset, e.g. "cpu above 90 for 5 consecutive samples".
+ * <p>
+ * The rule fires once {@code samples} consecutive snapshots breach the threshold
+ * and resolves once as many consecutive snapshots are back within it, so a reading
+ * hovering around the threshold does not flap. It applies to one asset, to every
+ * asset of one {@link AssetType}, or to the whole fleet when both are null.
+ * <p>
+ * Written as {@code <name>: <metric> <op> <threshold> [for <samples>] [on <TYPE|asset-uuid>]},
+ * e.g. {@code high-cpu: cpu > 90 for 5} or {@code disk-full: disk > 85 on SERVER}.
+ */
+public record AlertRule(
+        String name,
+        UsageMetric metric,
+        Comparison comparison,
+        double threshold,
+        int samples,
+        AssetType assetType,
+        AssetId assetId
+) {
+
+    private static final Pattern DEFINITION = Pattern.compile(
+            "\\s*([\\w.-]+)\\s*:\\s*(\\w+)\\s*([<>])\\s*([\\d.]+)"
+                    + "(?:\\s+for\\s+(\\d+))?(?:\\s+on\\s+([\\w-]+))?\\s*");
+
+    public enum Comparison {
+        ABOVE(">"),
+        BELOW("<");
+
+        private final String symbol;
+
+        Comparison(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String symbol() {
+            return symbol;
+        }
+
+        public boolean breaches(double value, double threshold) {
+            return this == ABOVE ? value > threshold : value < threshold;
+        }
+    }
+
+    public AlertRule {
+        Objects.requireNonNull(name, "name cannot be null");
+        Objects.requireNonNull(metric, "metric cannot be null");
+        Objects.requireNonNull(comparison, "comparison cannot be null");
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("name cannot be blank");
+        }
+        if (!(threshold >= 0 && threshold <= 100)) {
+            throw new IllegalArgumentException("threshold must be in [0, 100], got: " + threshold);
+        }
+        if (samples < 1) {
+            throw new IllegalArgumentException("samples must be at least 1, got: " + samples);
+        }
+        if (assetType != null && assetId != null) {
+            throw new IllegalArgumentException("A rule applies to an asset type or to one asset, not both");
+        }
+    }
+
+    public static AlertRule parse(String definition) {
+        Matcher matcher = DEFINITION.matcher(definition);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(
+                    "Invalid alert rule, expected <name>: <metric> <op> <threshold> [for <samples>] [on <scope>]: "
+                            + definition);
+        }
+        UsageMetric metric = UsageMetric.fromLabel(matcher.group(2))
+                .orElseThrow(() -> new IllegalArgumentException("Unknown usage metric: " + matcher.group(2)));
+        Comparison comparison = ">".equals(matcher.group(3)) ? Comparison.ABOVE : Comparison.BELOW;
+        int samples = matcher.group(5) == null ? 1 : Integer.parseInt(matcher.group(5));
+        String scope = matcher.group(6);
+        AssetType assetType = null;
+        AssetId assetId = null;
+        if (scope != null) {
+            if (scope.contains("-") && scope.length() == 36) {
+                assetId = AssetId.of(scope);
+            } else {
+                assetType = AssetType.valueOf(scope.toUpperCase(Locale.ROOT));
+            }
+        }
+        return new AlertRule(matcher.group(1), metric, comparison, Double.parseDouble(matcher.group(4)),
+                samples, assetType, assetId);
+    }
+
+    public boolean appliesTo(AssetId id, AssetType type) {
+        if (assetId != null) {
+            return assetId.equals(id);
+        }
+        return assetType == null || assetType == type;
+    }
+
+    public boolean breachedBy(double value) {
+        return comparison.breaches(value, threshold);
+    }
+
+    @Override
+    public String toString() {
+        String scope = assetId != null ? " on " + assetId.getValue()
+                : assetType != null ? " on " + assetType.name() : "";
+        return name + ": " + metric.label() + " " + comparison.symbol() + " " + threshold
+                + " for " + samples + scope;
+    }
+}
@@ -14,7 +14,7 @@ public final class AssetId {
     // --- Factory methods ---
 
     public static AssetId generate() {
-        return new AssetId(UUID.randomUUID());
+        return new AssetId(UuidV7.generate());
     }
 
     public static AssetId of(UUID value) {
@@ -0,0 +1,14 @@
+package com.infratrack.domain.model;
+
+/**
+ * Reachability circuit of an asset, as seen by metric collection.
+ *
+ * <p>CLOSED: collected normally. OPEN: recent collections kept failing, so the
+ * asset is skipped until its backoff expires. HALF_OPEN: backoff expired and a
+ * single trial collection decides whether the circuit closes or opens again.
+ */
+public enum CircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+}
@@ -0,0 +1,33 @@
+package com.infratrack.domain.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * One point of a fleet-wide series: the samples of every asset of one type and
+ * status in the bucket starting at {@code bucketStart}, reduced by one
+ * {@link Aggregation}.
+ *
+ * @param assets assets that reported in the bucket
+ * @param count  samples in the bucket, over all those assets
+ */
+public record FleetMetricPoint(AssetType type,
+                               AssetStatus status,
+                               Instant bucketStart,
+                               long assets,
+                               long count,
+                               double cpu,
+                               double memory,
+                               double disk) {
+
+    public FleetMetricPoint {
+        Objects.requireNonNull(type, "type cannot be null");
+        Objects.requireNonNull(status, "status cannot be null");
+        Objects.requireNonNull(bucketStart, "bucketStart cannot be null");
+    }
+
+    public static FleetMetricPoint of(AssetType type, AssetStatus status, long assets, MetricPoint point) {
+        return new FleetMetricPoint(type, status, point.bucketStart(), assets, point.count(),
+                point.cpu(), point.memory(), point.disk());
+    }
+}
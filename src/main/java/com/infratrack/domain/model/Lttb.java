@@ -0,0 +1,107 @@
+package com.infratrack.domain.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013).
+ * <p>
+ * Keeps the first and last point and, from each of {@code maxPoints - 2} equal
+ * buckets in between, the one point that forms the largest triangle with the
+ * point kept before it and the average of the next bucket. Peaks and dips
+ * survive, so a chart of the result looks like a chart of the whole series.
+ * <p>
+ * Points are returned as they are, never interpolated. With several value
+ * series (cpu, memory, disk) the triangle areas are summed, so every kept point
+ * is one real sample for all of them. One linear pass over the input, no copies.
+ */
+public final class Lttb {
+
+    /** First, last and at least one bucket in between. */
+    public static final int MIN_POINTS = 3;
+
+    private Lttb() {
+    }
+
+    /**
+     * @param series    points in ascending {@code x} order
+     * @param maxPoints most points to keep, at least {@link #MIN_POINTS}
+     * @param x         position of a point, e.g. its epoch millis
+     * @param values    the plotted values of a point
+     * @return {@code series} itself when it has at most {@code maxPoints} points
+     */
+    public static <T> List<T> downsample(List<T> series,
+                                         int maxPoints,
+                                         ToLongFunction<? super T> x,
+                                         List<ToDoubleFunction<? super T>> values) {
+        Objects.requireNonNull(series, "series cannot be null");
+        Objects.requireNonNull(x, "x cannot be null");
+        Objects.requireNonNull(values, "values cannot be null");
+        if (maxPoints < MIN_POINTS) {
+            throw new IllegalArgumentException("maxPoints must be at least " + MIN_POINTS + ", got: " + maxPoints);
+        }
+        int size = series.size();
+        if (size <= maxPoints) {
+            return series;
+        }
+        int dimensions = values.size();
+        // x relative to the first point, so the areas stay well within double precision
+        long origin = x.applyAsLong(series.get(0));
+        double every = (double) (size - 2) / (maxPoints - 2);
+
+        List<T> sampled = new ArrayList<>(maxPoints);
+        sampled.add(series.get(0));
+        T previous = series.get(0);
+        double[] average = new double[dimensions];
+
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            // Average of the next bucket; the last point stands in for the one after the last bucket
+            int nextFrom = (int) ((bucket + 1) * every) + 1;
+            int nextTo = Math.min((int) ((bucket + 2) * every) + 1, size);
+            double averageX = 0;
+            Arrays.fill(average, 0);
+            for (int i = nextFrom; i < nextTo; i++) {
+                T point = series.get(i);
+                averageX += x.applyAsLong(point) - origin;
+                for (int d = 0; d < dimensions; d++) {
+                    average[d] += values.get(d).applyAsDouble(point);
+                }
+            }
+            int count = nextTo - nextFrom;
+            averageX /= count;
+            for (int d = 0; d < dimensions; d++) {
+                average[d] /= count;
+            }
+
+            double previousX = x.applyAsLong(previous) - origin;
+            int from = (int) (bucket * every) + 1;
+            int to = (int) ((bucket + 1) * every) + 1;
+            double largest = -1;
+            T selected = series.get(from);
+            for (int i = from; i < to; i++) {
+                T point = series.get(i);
+                double pointX = x.applyAsLong(point) - origin;
+                double area = 0;
+                for (int d = 0; d < dimensions; d++) {
+                    ToDoubleFunction<? super T> value = values.get(d);
+                    double previousY = value.applyAsDouble(previous);
+                    area += Math.abs((previousX - averageX) * (value.applyAsDouble(point) - previousY)
+                            - (previousX - pointX) * (average[d] - previousY));
+                }
+                if (area > largest) {
+                    largest = area;
+                    selected = point;
+                }
+            }
+            sampled.add(selected);
+            previous = selected;
+        }
+
+        sampled.add(series.get(size - 1));
+        return sampled;
+    }
+}
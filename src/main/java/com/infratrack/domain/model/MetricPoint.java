@@ -0,0 +1,107 @@
+package com.infratrack.domain.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * One point of an aggregated history: the usages of every sample in the bucket
+ * starting at {@code bucketStart}, each reduced by the same {@link Aggregation}.
+ * Buckets are a whole number of seconds wide and aligned on the Unix epoch, like
+ * {@link RollupTier} buckets.
+ */
+public record MetricPoint(Instant bucketStart, long count, double cpu, double memory, double disk) {
+
+    public MetricPoint {
+        Objects.requireNonNull(bucketStart, "bucketStart cannot be null");
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be at least 1, got: " + count);
+        }
+    }
+
+    /** Start of the {@code step}-wide bucket that contains {@code instant}. */
+    public static Instant bucketOf(Instant instant, Duration step) {
+        long seconds = requireWholeSeconds(step);
+        return Instant.ofEpochSecond(Math.floorDiv(instant.getEpochSecond(), seconds) * seconds);
+    }
+
+    /** Buckets raw snapshots; points come out in time order. */
+    public static List<MetricPoint> aggregate(Collection<MetricSnapshot> snapshots, Duration step, Aggregation aggregation) {
+        Map<Instant, List<MetricSnapshot>> buckets = new TreeMap<>();
+        for (MetricSnapshot snapshot : snapshots) {
+            buckets.computeIfAbsent(bucketOf(snapshot.collectedAt(), step), start -> new ArrayList<>()).add(snapshot);
+        }
+        List<MetricPoint> points = new ArrayList<>(buckets.size());
+        buckets.forEach((start, samples) -> points.add(new MetricPoint(start, samples.size(),
+                aggregation.of(samples.stream().mapToDouble(MetricSnapshot::cpuUsage).toArray()),
+                aggregation.of(samples.stream().mapToDouble(MetricSnapshot::memoryUsage).toArray()),
+                aggregation.of(samples.stream().mapToDouble(MetricSnapshot::diskUsage).toArray()))));
+        return points;
+    }
+
+    /**
+     * Re-buckets rollups of a tier no wider than {@code step} into {@code step}
+     * buckets. Exact for min, max and avg; percentiles need the raw samples.
+     */
+    public static List<MetricPoint> fromRollups(Collection<MetricRollup> rollups, Duration step, Aggregation aggregation) {
+        if (!aggregation.servedByRollups()) {
+            throw new IllegalArgumentException(aggregation.label() + " cannot be computed from rollups");
+        }
+        Map<Instant, MetricRollup> buckets = new TreeMap<>();
+        for (MetricRollup rollup : rollups) {
+            buckets.merge(bucketOf(rollup.bucketStart(), step), rollup, (a, b) -> new MetricRollup(
+                    a.assetId(), a.tier(), a.bucketStart(), a.count() + b.count(),
+                    a.cpu().merge(b.cpu()), a.memory().merge(b.memory()), a.disk().merge(b.disk())));
+        }
+        List<MetricPoint> points = new ArrayList<>(buckets.size());
+        buckets.forEach((start, merged) -> points.add(new MetricPoint(start, merged.count(),
+                reduce(merged.cpu(), merged.count(), aggregation),
+                reduce(merged.memory(), merged.count(), aggregation),
+                reduce(merged.disk(), merged.count(), aggregation))));
+        return points;
+    }
+
+    /**
+     * Re-buckets sketches of a tier no wider than {@code step} into {@code step}
+     * buckets, for percentiles: the sketches of a bucket are merged, then queried.
+     */
+    public static List<MetricPoint> fromSketches(Collection<MetricSketch> sketches, Duration step, Aggregation aggregation) {
+        double fraction = aggregation.fraction().orElseThrow(() ->
+                new IllegalArgumentException(aggregation.label() + " cannot be computed from sketches"));
+        Map<Instant, MetricSketch> buckets = new TreeMap<>();
+        for (MetricSketch sketch : sketches) {
+            if (sketch.count() > 0) {
+                buckets.merge(bucketOf(sketch.bucketStart(), step), sketch, (a, b) -> new MetricSketch(
+                        a.assetId(), a.tier(), a.bucketStart(),
+                        a.cpu().copy().merge(b.cpu()), a.memory().copy().merge(b.memory()), a.disk().copy().merge(b.disk())));
+            }
+        }
+        List<MetricPoint> points = new ArrayList<>(buckets.size());
+        buckets.forEach((start, merged) -> points.add(new MetricPoint(start, merged.count(),
+                merged.cpu().quantile(fraction),
+                merged.memory().quantile(fraction),
+                merged.disk().quantile(fraction))));
+        return points;
+    }
+
+    private static double reduce(MetricRollup.Stats stats, long count, Aggregation aggregation) {
+        return switch (aggregation) {
+            case MIN -> stats.min();
+            case MAX -> stats.max();
+            case AVG -> stats.sum() / count;
+            case P95, P99 -> throw new IllegalArgumentException("percentiles cannot be computed from rollups");
+        };
+    }
+
+    private static long requireWholeSeconds(Duration step) {
+        if (step.isNegative() || step.isZero() || step.getNano() != 0) {
+            throw new IllegalArgumentException("step must be a positive whole number of seconds, got: " + step);
+        }
+        return step.getSeconds();
+    }
+}
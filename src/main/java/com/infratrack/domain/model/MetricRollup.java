@@ -0,0 +1,111 @@
+package com.infratrack.domain.model;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Aggregate of every snapshot of one asset that falls into one bucket of a
+ * {@link RollupTier}.
+ *
+ * Rollups keep sums rather than averages so that two partial rollups of the same
+ * bucket merge exactly: this is what lets new snapshots be folded into existing
+ * buckets incrementally instead of recomputing them from the raw history.
+ */
+public record MetricRollup(
+        AssetId assetId,
+        RollupTier tier,
+        Instant bucketStart,
+        long count,
+        Stats cpu,
+        Stats memory,
+        Stats disk
+) {
+
+    /** Minimum, maximum and sum of one usage over the bucket. */
+    public record Stats(double min, double max, double sum) {
+
+        public static Stats of(double value) {
+            return new Stats(value, value, value);
+        }
+
+        public Stats merge(Stats other) {
+            return new Stats(Math.min(min, other.min), Math.max(max, other.max), sum + other.sum);
+        }
+    }
+
+    public MetricRollup {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(tier, "tier cannot be null");
+        Objects.requireNonNull(bucketStart, "bucketStart cannot be null");
+        Objects.requireNonNull(cpu, "cpu cannot be null");
+        Objects.requireNonNull(memory, "memory cannot be null");
+        Objects.requireNonNull(disk, "disk cannot be null");
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be at least 1, got: " + count);
+        }
+        if (!tier.bucketOf(bucketStart).equals(bucketStart)) {
+            throw new IllegalArgumentException("bucketStart " + bucketStart + " is not aligned to " + tier.label());
+        }
+    }
+
+    /** Rollup of a single snapshot in the bucket of {@code tier} that contains it. */
+    public static MetricRollup of(MetricSnapshot snapshot, RollupTier tier) {
+        return new MetricRollup(
+                snapshot.assetId(),
+                tier,
+                tier.bucketOf(snapshot.collectedAt()),
+                1,
+                Stats.of(snapshot.cpuUsage()),
+                Stats.of(snapshot.memoryUsage()),
+                Stats.of(snapshot.diskUsage())
+        );
+    }
+
+    /**
+     * Folds {@code snapshots} into one rollup per asset, tier and bucket — the
+     * delta to merge into the stored rollups.
+     */
+    public static List<MetricRollup> rollUp(Collection<MetricSnapshot> snapshots, Collection<RollupTier> tiers) {
+        Map<Key, MetricRollup> deltas = new LinkedHashMap<>();
+        for (MetricSnapshot snapshot : snapshots) {
+            for (RollupTier tier : tiers) {
+                MetricRollup rollup = of(snapshot, tier);
+                deltas.merge(rollup.key(), rollup, MetricRollup::merge);
+            }
+        }
+        return List.copyOf(deltas.values());
+    }
+
+    /** Combines two rollups of the same asset, tier and bucket. */
+    public MetricRollup merge(MetricRollup other) {
+        if (!key().equals(other.key())) {
+            throw new IllegalArgumentException("Cannot merge rollups of different buckets: " + key() + " vs " + other.key());
+        }
+        return new MetricRollup(assetId, tier, bucketStart, count + other.count,
+                cpu.merge(other.cpu), memory.merge(other.memory), disk.merge(other.disk));
+    }
+
+    public double cpuAverage() {
+        return cpu.sum() / count;
+    }
+
+    public double memoryAverage() {
+        return memory.sum() / count;
+    }
+
+    public double diskAverage() {
+        return disk.sum() / count;
+    }
+
+    public Key key() {
+        return new Key(assetId, tier, bucketStart);
+    }
+
+    /** Identity of a bucket: what stored rollups are upserted on. */
+    public record Key(AssetId assetId, RollupTier tier, Instant bucketStart) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.infratrack.domain.model;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Quantile sketches of every snapshot of one asset that falls into one bucket of a
+ * {@link RollupTier}: the percentile counterpart of {@link MetricRollup}. Like
+ * rollups, sketches of the same bucket merge exactly, so buckets are maintained
+ * incrementally and re-bucketed or combined across assets at query time.
+ */
+public record MetricSketch(
+        AssetId assetId,
+        RollupTier tier,
+        Instant bucketStart,
+        QuantileSketch cpu,
+        QuantileSketch memory,
+        QuantileSketch disk
+) {
+
+    public MetricSketch {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(tier, "tier cannot be null");
+        Objects.requireNonNull(bucketStart, "bucketStart cannot be null");
+        Objects.requireNonNull(cpu, "cpu cannot be null");
+        Objects.requireNonNull(memory, "memory cannot be null");
+        Objects.requireNonNull(disk, "disk cannot be null");
+        if (!tier.bucketOf(bucketStart).equals(bucketStart)) {
+            throw new IllegalArgumentException("bucketStart " + bucketStart + " is not aligned to " + tier.label());
+        }
+    }
+
+    /** Empty sketches of one bucket, to merge into. */
+    public static MetricSketch empty(AssetId assetId, RollupTier tier, Instant bucketStart) {
+        return new MetricSketch(assetId, tier, bucketStart, new QuantileSketch(), new QuantileSketch(), new QuantileSketch());
+    }
+
+    /**
+     * Sketches {@code snapshots} into one entry per asset, tier and bucket — the
+     * delta to merge into the stored sketches.
+     */
+    public static List<MetricSketch> sketch(Collection<MetricSnapshot> snapshots, Collection<RollupTier> tiers) {
+        Map<MetricRollup.Key, MetricSketch> deltas = new LinkedHashMap<>();
+        for (MetricSnapshot snapshot : snapshots) {
+            for (RollupTier tier : tiers) {
+                Instant bucketStart = tier.bucketOf(snapshot.collectedAt());
+                MetricSketch delta = deltas.computeIfAbsent(new MetricRollup.Key(snapshot.assetId(), tier, bucketStart),
+                        key -> empty(key.assetId(), key.tier(), key.bucketStart()));
+                delta.cpu.add(snapshot.cpuUsage());
+                delta.memory.add(snapshot.memoryUsage());
+                delta.disk.add(snapshot.diskUsage());
+            }
+        }
+        return List.copyOf(deltas.values());
+    }
+
+    /** Combines two sketches of the same asset, tier and bucket into a new one. */
+    public MetricSketch merge(MetricSketch other) {
+        if (!key().equals(other.key())) {
+            throw new IllegalArgumentException("Cannot merge sketches of different buckets: " + key() + " vs " + other.key());
+        }
+        return new MetricSketch(assetId, tier, bucketStart,
+                cpu.copy().merge(other.cpu), memory.copy().merge(other.memory), disk.copy().merge(other.disk));
+    }
+
+    /** Samples sketched; the same for all three usages. */
+    public long count() {
+        return cpu.count();
+    }
+
+    public MetricRollup.Key key() {
+        return new MetricRollup.Key(assetId, tier, bucketStart);
+    }
+}
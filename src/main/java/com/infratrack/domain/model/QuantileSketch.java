@@ -0,0 +1,207 @@
+package com.infratrack.domain.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch of usage values, after DDSketch (Masson et al., 2019).
+ * <p>
+ * A value {@code v} is counted in bin {@code ceil(log(v) / log(gamma))}, so every
+ * bin spans values within {@link #RELATIVE_ACCURACY} of each other and any
+ * quantile is answered within that relative error. Values below
+ * {@link #MIN_VALUE} share one zero bin. Usages are percentages, so a sketch never
+ * holds more than about 460 bins however many samples it has seen.
+ * <p>
+ * Two sketches merge by adding their bin counts, which is exact: the sketch of a
+ * day is the merge of its hours, and the sketch of a fleet the merge of its assets.
+ * Not thread-safe.
+ */
+public final class QuantileSketch {
+
+    /** Most relative error of a quantile estimate. */
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    /** Smaller values, down to 0, count as 0. */
+    public static final double MIN_VALUE = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final byte FORMAT = 1;
+
+    private final TreeMap<Integer, Long> bins = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public static QuantileSketch of(double... values) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : values) {
+            sketch.add(value);
+        }
+        return sketch;
+    }
+
+    public void add(double value) {
+        if (value < 0 || Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("value must be a finite non-negative number, got: " + value);
+        }
+        if (value < MIN_VALUE) {
+            zeroCount++;
+        } else {
+            bins.merge(index(value), 1L, Long::sum);
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** Adds every value {@code other} has seen; {@code other} is left unchanged. */
+    public QuantileSketch merge(QuantileSketch other) {
+        other.bins.forEach((index, binCount) -> bins.merge(index, binCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public QuantileSketch copy() {
+        return new QuantileSketch().merge(this);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Estimate of the {@code fraction} quantile (0.95 for p95), within
+     * {@link #RELATIVE_ACCURACY} of the exact value and never outside the values seen.
+     * The lowest and highest ranks are the exact min and max.
+     */
+    public double quantile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("fraction must be in [0, 1], got: " + fraction);
+        }
+        if (count == 0) {
+            throw new IllegalStateException("Cannot take a quantile of an empty sketch");
+        }
+        long rank = (long) Math.floor(fraction * (count - 1));
+        if (rank == 0) {
+            return min;
+        }
+        if (rank == count - 1) {
+            return max;
+        }
+        double estimate = max;
+        if (rank < zeroCount) {
+            estimate = 0;
+        } else {
+            long seen = zeroCount;
+            for (Map.Entry<Integer, Long> bin : bins.entrySet()) {
+                seen += bin.getValue();
+                if (rank < seen) {
+                    estimate = 2 * Math.pow(GAMMA, bin.getKey()) / (GAMMA + 1);
+                    break;
+                }
+            }
+        }
+        return Math.max(min, Math.min(max, estimate));
+    }
+
+    /**
+     * Compact binary form: format, zero count, min and max, then each bin as its
+     * index delta and count, all as varints. A few dozen bytes for a typical hour.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + bins.size() * 3);
+        out.write(FORMAT);
+        writeVarLong(out, zeroCount);
+        writeVarLong(out, bins.size());
+        if (count > 0) {
+            byte[] bounds = ByteBuffer.allocate(16).putDouble(min).putDouble(max).array();
+            out.write(bounds, 0, bounds.length);
+        }
+        int previous = 0;
+        for (Map.Entry<Integer, Long> bin : bins.entrySet()) {
+            int delta = bin.getKey() - previous;
+            writeVarLong(out, ((delta << 1) ^ (delta >> 31)) & 0xFFFFFFFFL);
+            writeVarLong(out, bin.getValue());
+            previous = bin.getKey();
+        }
+        return out.toByteArray();
+    }
+
+    public static QuantileSketch decode(byte[] data) {
+        Objects.requireNonNull(data, "data cannot be null");
+        ByteBuffer in = ByteBuffer.wrap(data);
+        byte format = in.get();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("Unknown sketch format: " + format);
+        }
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.zeroCount = readVarLong(in);
+        long binCount = readVarLong(in);
+        sketch.count = sketch.zeroCount;
+        if (sketch.zeroCount > 0 || binCount > 0) {
+            sketch.min = in.getDouble();
+            sketch.max = in.getDouble();
+        }
+        int index = 0;
+        for (long i = 0; i < binCount; i++) {
+            int zigzag = (int) readVarLong(in);
+            index += (zigzag >>> 1) ^ -(zigzag & 1);
+            long binSamples = readVarLong(in);
+            sketch.bins.put(index, binSamples);
+            sketch.count += binSamples;
+        }
+        return sketch;
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof QuantileSketch other && zeroCount == other.zeroCount && count == other.count
+                && Double.compare(min, other.min) == 0 && Double.compare(max, other.max) == 0
+                && bins.equals(other.bins);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bins, zeroCount, count, min, max);
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch[count=" + count + ", bins=" + bins.size() + "]";
+    }
+}
@@ -0,0 +1,44 @@
+package com.infratrack.domain.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Resolution of pre-aggregated metric history. Buckets are aligned on the Unix
+ * epoch, so a day bucket is a UTC day and every coarser bucket is made of whole
+ * finer ones.
+ */
+public enum RollupTier {
+    ONE_MINUTE("1m", Duration.ofMinutes(1)),
+    FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+    ONE_HOUR("1h", Duration.ofHours(1)),
+    ONE_DAY("1d", Duration.ofDays(1));
+
+    private final String label;
+    private final Duration width;
+
+    RollupTier(String label, Duration width) {
+        this.label = label;
+        this.width = width;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Duration width() {
+        return width;
+    }
+
+    /** Start of the bucket that contains {@code instant}. */
+    public Instant bucketOf(Instant instant) {
+        long widthMillis = width.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), widthMillis) * widthMillis);
+    }
+
+    public static Optional<RollupTier> fromLabel(String label) {
+        return Arrays.stream(values()).filter(tier -> tier.label.equals(label)).findFirst();
+    }
+}
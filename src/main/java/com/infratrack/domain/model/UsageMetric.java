@@ -0,0 +1,28 @@
+package com.infratrack.domain.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/** One of the usages a {@link MetricSnapshot} reports, in percent. */
+public enum UsageMetric {
+    CPU,
+    MEMORY,
+    DISK;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public double of(MetricSnapshot snapshot) {
+        return switch (this) {
+            case CPU -> snapshot.cpuUsage();
+            case MEMORY -> snapshot.memoryUsage();
+            case DISK -> snapshot.diskUsage();
+        };
+    }
+
+    public static Optional<UsageMetric> fromLabel(String label) {
+        return Arrays.stream(values()).filter(metric -> metric.label().equalsIgnoreCase(label)).findFirst();
+    }
+}
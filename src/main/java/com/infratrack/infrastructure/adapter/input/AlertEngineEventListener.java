@@ -0,0 +1,56 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import com.infratrack.application.port.output.AssetRepository;
+import com.infratrack.application.service.AlertEngine;
+import com.infratrack.domain.event.AssetCreatedEvent;
+import com.infratrack.domain.event.AssetDeletedEvent;
+import com.infratrack.domain.event.AssetStatusChangedEvent;
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetStatus;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+// Input adapter: tells the alert engine the type of every asset, so type-scoped rules
+// apply without a lookup per snapshot, and resolves the alerts of assets that are gone
+// or no longer monitored instead of leaving them firing.
+@Component
+public class AlertEngineEventListener {
+
+    private final AlertEngine alertEngine;
+    private final AssetRepository assetRepository;
+
+    public AlertEngineEventListener(AlertEngine alertEngine, AssetRepository assetRepository) {
+        this.alertEngine = Objects.requireNonNull(alertEngine, "AlertEngine cannot be null");
+        this.assetRepository = Objects.requireNonNull(assetRepository, "AssetRepository cannot be null");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (alertEngine.rules().isEmpty()) {
+            return;
+        }
+        for (Asset asset : assetRepository.findAll()) {
+            alertEngine.register(asset.getId(), asset.getType());
+        }
+    }
+
+    @EventListener
+    public void onCreated(AssetCreatedEvent event) {
+        alertEngine.register(event.assetId(), event.assetType());
+    }
+
+    @EventListener
+    public void onStatusChanged(AssetStatusChangedEvent event) {
+        if (event.assetStatus() != AssetStatus.ACTIVE) {
+            alertEngine.clear(event.assetId());
+        }
+    }
+
+    @EventListener
+    public void onDeleted(AssetDeletedEvent event) {
+        alertEngine.forget(event.assetId());
+    }
+}
@@ -0,0 +1,34 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import com.infratrack.application.port.output.FleetRanking;
+import com.infratrack.domain.event.AssetDeletedEvent;
+import com.infratrack.domain.event.AssetStatusChangedEvent;
+import com.infratrack.domain.model.AssetStatus;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+// Input adapter: takes assets that are gone or no longer monitored out of the fleet
+// top-N at once, instead of leaving them ranked until their last reading goes stale.
+@Component
+public class FleetRankingEventListener {
+
+    private final FleetRanking fleetRanking;
+
+    public FleetRankingEventListener(FleetRanking fleetRanking) {
+        this.fleetRanking = Objects.requireNonNull(fleetRanking, "FleetRanking cannot be null");
+    }
+
+    @EventListener
+    public void onStatusChanged(AssetStatusChangedEvent event) {
+        if (event.assetStatus() != AssetStatus.ACTIVE) {
+            fleetRanking.remove(event.assetId());
+        }
+    }
+
+    @EventListener
+    public void onDeleted(AssetDeletedEvent event) {
+        fleetRanking.remove(event.assetId());
+    }
+}
@@ -0,0 +1,91 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import com.infratrack.infrastructure.persistence.MetricPartitionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the daily {@code metrics} partitions rolling: creates the next
+ * {@code days-ahead} days and drops partitions older than {@code retention-days}.
+ * Runs once at startup and then daily on {@code cron} (UTC).
+ */
+@Component
+@Profile({"demo", "prod"})
+public class MetricPartitionMaintenanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricPartitionMaintenanceJob.class);
+
+    private final MetricPartitionManager partitionManager;
+    private final MeterRegistry meterRegistry;
+    private final int daysAhead;
+    private final int retentionDays;
+    private final Clock clock;
+
+    @Autowired
+    public MetricPartitionMaintenanceJob(MetricPartitionManager partitionManager,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${infratrack.monitoring.partitions.days-ahead:7}") int daysAhead,
+                                         @Value("${infratrack.monitoring.partitions.retention-days:30}") int retentionDays) {
+        this(partitionManager, meterRegistry, daysAhead, retentionDays, Clock.systemUTC());
+    }
+
+    public MetricPartitionMaintenanceJob(MetricPartitionManager partitionManager,
+                                         MeterRegistry meterRegistry,
+                                         int daysAhead,
+                                         int retentionDays,
+                                         Clock clock) {
+        this.partitionManager = Objects.requireNonNull(partitionManager, "MetricPartitionManager cannot be null");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "MeterRegistry cannot be null");
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+        if (daysAhead < 1) {
+            throw new IllegalArgumentException("daysAhead must be at least 1, got: " + daysAhead);
+        }
+        this.daysAhead = daysAhead;
+        this.retentionDays = retentionDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${infratrack.monitoring.partitions.cron:0 5 0 * * *}", zone = "UTC")
+    public void maintain() {
+        try {
+            if (!partitionManager.isPartitioned()) {
+                log.debug("metrics is not partitioned, skipping partition maintenance");
+                return;
+            }
+            LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+            List<String> created = partitionManager.createPartitions(today, daysAhead);
+            meterRegistry.counter("infratrack.metrics.partitions", "action", "created").increment(created.size());
+
+            // retention-days <= 0 keeps raw snapshots forever
+            if (retentionDays > 0) {
+                List<String> dropped = partitionManager.dropPartitionsBefore(today.minusDays(retentionDays));
+                meterRegistry.counter("infratrack.metrics.partitions", "action", "dropped").increment(dropped.size());
+            }
+
+            long stray = partitionManager.defaultPartitionRows();
+            if (stray > 0) {
+                log.warn("{} metric rows sit in metrics_default outside every daily partition", stray);
+            }
+        } catch (RuntimeException e) {
+            log.error("Metrics partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import com.infratrack.application.port.input.PurgeExpiredMetricsUseCase;
+import com.infratrack.application.port.input.RetentionReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Runs the retention engine on {@code infratrack.monitoring.retention.cron} and
+ * exports what it purged: {@code infratrack.retention.rows} per type and series,
+ * {@code infratrack.retention.duration} per series and run.
+ */
+@Component
+@Profile({"demo", "prod"})
+public class MetricRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricRetentionJob.class);
+
+    private final PurgeExpiredMetricsUseCase purgeUseCase;
+    private final MeterRegistry meterRegistry;
+
+    public MetricRetentionJob(PurgeExpiredMetricsUseCase purgeUseCase, MeterRegistry meterRegistry) {
+        this.purgeUseCase = Objects.requireNonNull(purgeUseCase, "PurgeExpiredMetricsUseCase cannot be null");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "MeterRegistry cannot be null");
+    }
+
+    @Scheduled(cron = "${infratrack.monitoring.retention.cron:0 15 * * * *}", zone = "UTC")
+    public void purge() {
+        try {
+            record(purgeUseCase.purgeExpired());
+        } catch (RuntimeException e) {
+            log.error("Metric retention run failed: {}", e.getMessage(), e);
+            meterRegistry.counter("infratrack.retention.runs", "outcome", "failed").increment();
+        }
+    }
+
+    void record(RetentionReport report) {
+        for (RetentionReport.Purge purge : report.purges()) {
+            meterRegistry.counter("infratrack.retention.rows",
+                    "type", purge.type().name().toLowerCase(), "series", purge.series()).increment(purge.rows());
+            Timer.builder("infratrack.retention.duration")
+                    .description("Time spent deleting expired metric rows")
+                    .tag("series", purge.series())
+                    .register(meterRegistry)
+                    .record(purge.duration());
+        }
+        Timer.builder("infratrack.retention.duration")
+                .description("Time spent deleting expired metric rows")
+                .tag("series", "all")
+                .register(meterRegistry)
+                .record(report.duration());
+        meterRegistry.counter("infratrack.retention.runs",
+                "outcome", report.complete() ? "complete" : "budget_exhausted").increment();
+    }
+}
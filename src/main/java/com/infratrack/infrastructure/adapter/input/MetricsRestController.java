@@ -1,23 +1,66 @@
 package com.infratrack.infrastructure.adapter.input;
 
 import com.infratrack.application.port.input.MonitorAssetUseCase;
+import com.infratrack.application.port.input.QueryFleetMetricsUseCase;
+import com.infratrack.application.port.input.QueryFleetTopUseCase;
+import com.infratrack.application.port.input.QueryMetricHistoryUseCase;
+import com.infratrack.application.port.input.MetricSeries;
+import com.infratrack.application.port.input.QueryMetricRollupsUseCase;
+import com.infratrack.application.port.input.RollupSeries;
+import com.infratrack.domain.model.Aggregation;
 import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.Lttb;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.MetricRollup;
 import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.RollupTier;
+import com.infratrack.domain.model.UsageMetric;
+import com.infratrack.infrastructure.adapter.input.dto.AssetMetricsResponse;
+import com.infratrack.infrastructure.adapter.input.dto.BulkMetricsRequest;
+import com.infratrack.infrastructure.adapter.input.dto.FleetSeriesResponse;
+import com.infratrack.infrastructure.adapter.input.dto.MetricRollupSeriesResponse;
+import com.infratrack.infrastructure.adapter.input.dto.MetricSeriesResponse;
 import com.infratrack.infrastructure.adapter.input.dto.MetricSnapshotResponse;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/assets")
 public class MetricsRestController {
 
+    /** Most snapshots per asset the bulk endpoint returns. */
+    static final int MAX_BULK_LIMIT = 100;
+
+    /** Most ids one bulk request may name; larger fleets are read by type or in pages. */
+    static final int MAX_BULK_IDS = 10_000;
+
     private final MonitorAssetUseCase monitorUseCase;
+    private final QueryMetricRollupsUseCase rollupsUseCase;
+    private final QueryMetricHistoryUseCase historyUseCase;
+    private final QueryFleetTopUseCase fleetTopUseCase;
+    private final QueryFleetMetricsUseCase fleetMetricsUseCase;
 
-    public MetricsRestController(MonitorAssetUseCase monitorUseCase) {
+    public MetricsRestController(MonitorAssetUseCase monitorUseCase,
+                                 QueryMetricRollupsUseCase rollupsUseCase,
+                                 QueryMetricHistoryUseCase historyUseCase,
+                                 QueryFleetTopUseCase fleetTopUseCase,
+                                 QueryFleetMetricsUseCase fleetMetricsUseCase) {
         this.monitorUseCase = Objects.requireNonNull(monitorUseCase, "MonitorAssetUseCase cannot be null");
+        this.rollupsUseCase = Objects.requireNonNull(rollupsUseCase, "QueryMetricRollupsUseCase cannot be null");
+        this.historyUseCase = Objects.requireNonNull(historyUseCase, "QueryMetricHistoryUseCase cannot be null");
+        this.fleetTopUseCase = Objects.requireNonNull(fleetTopUseCase, "QueryFleetTopUseCase cannot be null");
+        this.fleetMetricsUseCase = Objects.requireNonNull(fleetMetricsUseCase, "QueryFleetMetricsUseCase cannot be null");
     }
 
     @GetMapping("/{id}/metrics")
@@ -28,13 +71,189 @@ public class MetricsRestController {
                 : ResponseEntity.ok(MetricSnapshotResponse.from(snapshots.get(0)));
     }
 
+    // Latest snapshots of many assets in one request, e.g. a dashboard of the whole
+    // fleet: ids (comma-separated), else every asset of type, else every asset.
+    // One set-based read however many assets are asked for. The query string only
+    // fits a couple of hundred ids under the usual 8 KB header limit; longer id
+    // lists go through POST /metrics/query.
+    @GetMapping("/metrics")
+    public ResponseEntity<List<AssetMetricsResponse>> getBulkMetrics(
+            @RequestParam(required = false) List<String> ids,
+            @RequestParam(required = false) AssetType type,
+            @RequestParam(defaultValue = "1") int limit) {
+        if (ids != null && type != null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return bulkMetrics(ids, type, limit);
+    }
+
+    // Same as GET /metrics with the ids in the body, for id lists too long for a URL.
+    // A read, so VIEWERs may call it despite the verb.
+    @PostMapping("/metrics/query")
+    public ResponseEntity<List<AssetMetricsResponse>> queryBulkMetrics(@Valid @RequestBody BulkMetricsRequest request) {
+        return bulkMetrics(request.ids(), null, request.limit() != null ? request.limit() : 1);
+    }
+
+    private ResponseEntity<List<AssetMetricsResponse>> bulkMetrics(List<String> ids, AssetType type, int limit) {
+        if (limit < 1 || limit > MAX_BULK_LIMIT || (ids != null && ids.size() > MAX_BULK_IDS)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<AssetId, List<MetricSnapshot>> histories;
+        try {
+            histories = ids != null
+                    ? monitorUseCase.getHistories(ids.stream().map(AssetId::of).distinct().toList(), limit)
+                    : monitorUseCase.getHistoriesByType(type, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(histories.entrySet().stream()
+                .map(entry -> AssetMetricsResponse.from(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+
+    // The assets currently highest on metric (cpu, memory, disk), highest first
+    @GetMapping("/metrics/top")
+    public ResponseEntity<List<MetricSnapshotResponse>> getFleetTop(
+            @RequestParam(defaultValue = "cpu") String metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        Optional<UsageMetric> usage = UsageMetric.fromLabel(metric);
+        if (usage.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(fleetTopUseCase.getTop(usage.get(), limit).stream()
+                    .map(MetricSnapshotResponse::from)
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Whole-fleet history, one series per asset type and status, e.g. avg cpu of
+    // every SERVER or p95 disk of IOT_DEVICEs. type and status narrow it down;
+    // from, to, step and agg default as in /{id}/metrics/history.
+    @GetMapping("/metrics/fleet")
+    public ResponseEntity<FleetSeriesResponse> getFleetMetrics(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String step,
+            @RequestParam(required = false) String agg,
+            @RequestParam(required = false) AssetType type,
+            @RequestParam(required = false) AssetStatus status) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        Optional<Aggregation> aggregation = agg == null ? Optional.of(Aggregation.AVG) : Aggregation.fromLabel(agg);
+        if (!start.isBefore(end) || aggregation.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(FleetSeriesResponse.from(fleetMetricsUseCase.getFleetSeries(
+                    start, end, parseStep(step), aggregation.get(), type, status)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Only limit: the latest raw snapshots, newest first. With any of from, to, step
+    // or agg: points in time order, one per step bucket reduced by agg (min, max,
+    // avg, p95, p99). Defaults to the last 24h, ~500 points and avg; step is a tier
+    // label (1m, 5m, 1h, 1d) or an ISO-8601 duration. maxPoints thins either
+    // result down to that many points with LTTB, keeping its visual shape.
     @GetMapping("/{id}/metrics/history")
-    public ResponseEntity<List<MetricSnapshotResponse>> getMetricsHistory(
+    public ResponseEntity<?> getMetricsHistory(
             @PathVariable String id,
-            @RequestParam(defaultValue = "20") int limit) {
-        List<MetricSnapshot> history = monitorUseCase.getHistory(AssetId.of(id), limit);
-        return ResponseEntity.ok(
-                history.stream().map(MetricSnapshotResponse::from).toList()
-        );
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String step,
+            @RequestParam(required = false) String agg,
+            @RequestParam(required = false) Integer maxPoints) {
+        if (maxPoints != null && maxPoints < Lttb.MIN_POINTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        AssetId assetId = AssetId.of(id);
+        if (from == null && to == null && step == null && agg == null) {
+            List<MetricSnapshot> history = monitorUseCase.getHistory(assetId, limit);
+            return ResponseEntity.ok(
+                    downsampleSnapshots(history, maxPoints).stream().map(MetricSnapshotResponse::from).toList()
+            );
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        Optional<Aggregation> aggregation = agg == null ? Optional.of(Aggregation.AVG) : Aggregation.fromLabel(agg);
+        if (!start.isBefore(end) || aggregation.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            MetricSeries series = historyUseCase.getSeries(assetId, start, end, parseStep(step), aggregation.get());
+            return ResponseEntity.ok(MetricSeriesResponse.from(assetId, downsample(series, maxPoints)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Aggregated history; defaults to the last 24h. resolution is a tier label
+    // (1m, 5m, 1h, 1d) or an ISO-8601 duration such as PT15M.
+    @GetMapping("/{id}/metrics/rollups")
+    public ResponseEntity<MetricRollupSeriesResponse> getMetricsRollups(
+            @PathVariable String id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String resolution,
+            @RequestParam(required = false) Integer maxPoints) {
+        if (maxPoints != null && maxPoints < Lttb.MIN_POINTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Duration step;
+        try {
+            step = parseStep(resolution);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        AssetId assetId = AssetId.of(id);
+        return ResponseEntity.ok(MetricRollupSeriesResponse.from(
+                assetId, downsample(rollupsUseCase.getRollups(assetId, start, end, step), maxPoints)));
+    }
+
+    // Snapshots come newest first; LTTB walks them in time order
+    private static List<MetricSnapshot> downsampleSnapshots(List<MetricSnapshot> history, Integer maxPoints) {
+        if (maxPoints == null || history.size() <= maxPoints) {
+            return history;
+        }
+        return Lttb.downsample(history.reversed(), maxPoints,
+                snapshot -> snapshot.collectedAt().toEpochMilli(),
+                List.of(MetricSnapshot::cpuUsage, MetricSnapshot::memoryUsage, MetricSnapshot::diskUsage)).reversed();
+    }
+
+    private static MetricSeries downsample(MetricSeries series, Integer maxPoints) {
+        if (maxPoints == null || series.points().size() <= maxPoints) {
+            return series;
+        }
+        return new MetricSeries(series.step(), series.aggregation(), series.rollupTier(),
+                Lttb.downsample(series.points(), maxPoints,
+                        point -> point.bucketStart().toEpochMilli(),
+                        List.of(MetricPoint::cpu, MetricPoint::memory, MetricPoint::disk)));
+    }
+
+    private static RollupSeries downsample(RollupSeries series, Integer maxPoints) {
+        if (maxPoints == null || series.points().size() <= maxPoints) {
+            return series;
+        }
+        return new RollupSeries(series.tier(),
+                Lttb.downsample(series.points(), maxPoints,
+                        rollup -> rollup.bucketStart().toEpochMilli(),
+                        List.of(MetricRollup::cpuAverage, MetricRollup::memoryAverage, MetricRollup::diskAverage)));
+    }
+
+    // Tier label or ISO-8601 duration; null when absent
+    private static Duration parseStep(String value) {
+        return value == null ? null : RollupTier.fromLabel(value)
+                .map(RollupTier::width)
+                .orElseGet(() -> Duration.parse(value));
     }
 }
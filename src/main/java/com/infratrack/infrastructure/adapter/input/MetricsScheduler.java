@@ -2,38 +2,130 @@ package com.infratrack.infrastructure.adapter.input;
 
 
 import com.infratrack.application.port.input.MonitorAssetUseCase;
+import com.infratrack.application.port.input.SweepReport;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
 
 @Component
-public class MetricsScheduler {
+public class MetricsScheduler implements SchedulingConfigurer {
 
     private static final Logger log = LoggerFactory.getLogger(MetricsScheduler.class);
 
+    public enum Mode {
+        /** Collect every active asset at once on each interval boundary. */
+        SWEEP,
+        /** Collect each asset at its own stable phase inside the interval, one wheel slot per tick. */
+        WHEEL
+    }
+
     private final MonitorAssetUseCase monitorUseCase;
     private final MeterRegistry meterRegistry;
+    private final SweepCoordinator sweepCoordinator;
+    private final Mode mode;
+    private final WallClockAlignedTrigger wheelTrigger;
 
-    public MetricsScheduler(MonitorAssetUseCase monitorUseCase, MeterRegistry meterRegistry) {
+    public MetricsScheduler(MonitorAssetUseCase monitorUseCase,
+                            MeterRegistry meterRegistry,
+                            SweepCoordinator sweepCoordinator) {
+        this(monitorUseCase, meterRegistry, sweepCoordinator, Mode.SWEEP, 1000);
+    }
+
+    @Autowired
+    public MetricsScheduler(MonitorAssetUseCase monitorUseCase,
+                            MeterRegistry meterRegistry,
+                            SweepCoordinator sweepCoordinator,
+                            @Value("${infratrack.monitoring.scheduling.mode:WHEEL}") Mode mode,
+                            @Value("${infratrack.monitoring.wheel.tick-millis:1000}") long wheelTickMillis) {
         this.monitorUseCase = Objects.requireNonNull(monitorUseCase, "MonitorAssetUseCase cannot be null");
         this.meterRegistry = Objects.requireNonNull(meterRegistry, "MeterRegistry cannot be null");
+        this.sweepCoordinator = Objects.requireNonNull(sweepCoordinator, "SweepCoordinator cannot be null");
+        this.mode = Objects.requireNonNull(mode, "Mode cannot be null");
+        this.wheelTrigger = new WallClockAlignedTrigger(Duration.ofMillis(wheelTickMillis));
+    }
+
+    // SWEEP: ticks land on wall-clock boundaries of the monitoring interval and the
+    // coordinator decides what an overlapping tick does.
+    // WHEEL: ticks land on every wheel slot boundary and only dispatch the assets due in
+    // that slot; overlap is handled per asset by the monitoring service.
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        switch (mode) {
+            case SWEEP -> registrar.addTriggerTask(
+                    () -> sweepCoordinator.onTick(this::collectAll), sweepCoordinator.trigger());
+            case WHEEL -> registrar.addTriggerTask(this::advanceWheel, wheelTrigger);
+        }
+        log.info("Metrics collection scheduled in {} mode", mode);
+    }
+
+    // Never blocks the tick: slot batches run on their own virtual threads so a slow
+    // batch cannot delay the next slot.
+    public void advanceWheel() {
+        Instant scheduledAt = wheelTrigger.lastScheduled();
+        Instant slot = scheduledAt != null ? scheduledAt : Instant.now();
+        Thread.ofVirtual().name("monitoring-wheel").start(() -> {
+            try {
+                collectDue(slot);
+            } catch (RuntimeException e) {
+                log.error("Wheel collection for slot {} failed: {}", slot, e.getMessage(), e);
+            }
+        });
+    }
+
+    public void collectDue(Instant slot) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            SweepReport report = monitorUseCase.collectDue(slot);
+            recordOutcomes(report);
+            meterRegistry.summary("infratrack.monitoring.wheel.dispatched").record(report.total());
+            if (report.total() > 0) {
+                log.debug("Wheel slot {}: {} assets, {} ok, {} failed, {} timed out, {} skipped in {} ms",
+                        slot, report.total(), report.succeeded(), report.failed(), report.timedOut(),
+                        report.skipped(), report.duration().toMillis());
+            }
+        } finally {
+            sample.stop(Timer.builder("infratrack.monitoring.wheel.batch.duration")
+                    .description("Duration of one wheel slot's collections")
+                    .register(meterRegistry));
+        }
     }
 
-    @Scheduled(fixedRateString = "${infratrack.monitoring.interval-seconds:60}000")
     public void collectAll() {
         log.info("Scheduled metrics collection started");
         Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            monitorUseCase.collectAllActive();
+            // collectAllActive() blocks until every task finished or was cancelled at the
+            // sweep deadline, so the timer below measures the whole sweep, not just dispatch.
+            SweepReport report = monitorUseCase.collectAllActive();
+            recordOutcomes(report);
+            log.info("Scheduled metrics collection finished: {} assets, {} ok, {} failed, {} timed out in {} ms",
+                    report.total(), report.succeeded(), report.failed(), report.timedOut(),
+                    report.duration().toMillis());
         } finally {
             sample.stop(Timer.builder("infratrack.monitoring.collection.duration")
                     .description("Duration of scheduled monitoring sweeps")
                     .register(meterRegistry));
         }
     }
+
+    private void recordOutcomes(SweepReport report) {
+        countOutcome("success", report.succeeded());
+        countOutcome("failure", report.failed());
+        countOutcome("timeout", report.timedOut());
+        countOutcome("skipped", report.skipped());
+    }
+
+    private void countOutcome(String outcome, int count) {
+        meterRegistry.counter("infratrack.monitoring.sweep.assets", "outcome", outcome).increment(count);
+    }
 }
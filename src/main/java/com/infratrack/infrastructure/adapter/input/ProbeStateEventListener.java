@@ -0,0 +1,44 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import com.infratrack.domain.event.AssetDeletedEvent;
+import com.infratrack.domain.event.AssetIpAddressChangedEvent;
+import com.infratrack.domain.event.AssetStatusChangedEvent;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.infrastructure.adapter.output.ProbeCatalog;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+// Input adapter: drops the per-asset state probe decoders keep between samples
+// (e.g. the previous /proc/stat ticks) once an asset is no longer collected, or its
+// address points at another host whose counters must not be diffed against the old.
+// Only demo/prod collect over SSH, so only they have probes.
+@Component
+@Profile({"demo", "prod"})
+public class ProbeStateEventListener {
+
+    private final ProbeCatalog probeCatalog;
+
+    public ProbeStateEventListener(ProbeCatalog probeCatalog) {
+        this.probeCatalog = Objects.requireNonNull(probeCatalog, "ProbeCatalog cannot be null");
+    }
+
+    @EventListener
+    public void onIpAddressChanged(AssetIpAddressChangedEvent event) {
+        probeCatalog.forget(event.assetId());
+    }
+
+    @EventListener
+    public void onStatusChanged(AssetStatusChangedEvent event) {
+        if (event.assetStatus() != AssetStatus.ACTIVE) {
+            probeCatalog.forget(event.assetId());
+        }
+    }
+
+    @EventListener
+    public void onDeleted(AssetDeletedEvent event) {
+        probeCatalog.forget(event.assetId());
+    }
+}
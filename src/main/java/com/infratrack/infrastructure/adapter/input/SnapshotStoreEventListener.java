@@ -0,0 +1,26 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.domain.event.AssetDeletedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+// Input adapter: gives back what the snapshot store holds in memory for a deleted
+// asset (hot-tier rings, mapped-file slots), which would otherwise never be reclaimed.
+@Component
+public class SnapshotStoreEventListener {
+
+    private final MetricSnapshotRepository metricSnapshotRepository;
+
+    public SnapshotStoreEventListener(MetricSnapshotRepository metricSnapshotRepository) {
+        this.metricSnapshotRepository = Objects.requireNonNull(metricSnapshotRepository,
+                "MetricSnapshotRepository cannot be null");
+    }
+
+    @EventListener
+    public void onDeleted(AssetDeletedEvent event) {
+        metricSnapshotRepository.evict(event.assetId());
+    }
+}
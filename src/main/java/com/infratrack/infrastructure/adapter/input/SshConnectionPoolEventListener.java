@@ -0,0 +1,59 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import com.infratrack.domain.event.AssetCircuitStateChangedEvent;
+import com.infratrack.domain.event.AssetCredentialsChangedEvent;
+import com.infratrack.domain.event.AssetDeletedEvent;
+import com.infratrack.domain.event.AssetIpAddressChangedEvent;
+import com.infratrack.domain.event.AssetStatusChangedEvent;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.CircuitState;
+import com.infratrack.infrastructure.adapter.output.SshConnectionPool;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+// Input adapter: reacts to asset lifecycle events by dropping pooled SSH connections
+// that no longer point at the right target (or at a target we still monitor).
+// Only demo/prod have a real SSH collector, so only they have a pool to invalidate.
+@Component
+@Profile({"demo", "prod"})
+public class SshConnectionPoolEventListener {
+
+    private final SshConnectionPool connectionPool;
+
+    public SshConnectionPoolEventListener(SshConnectionPool connectionPool) {
+        this.connectionPool = Objects.requireNonNull(connectionPool, "SshConnectionPool cannot be null");
+    }
+
+    @EventListener
+    public void onCredentialsChanged(AssetCredentialsChangedEvent event) {
+        connectionPool.invalidate(event.assetId());
+    }
+
+    @EventListener
+    public void onIpAddressChanged(AssetIpAddressChangedEvent event) {
+        connectionPool.invalidate(event.assetId());
+    }
+
+    @EventListener
+    public void onStatusChanged(AssetStatusChangedEvent event) {
+        if (event.assetStatus() != AssetStatus.ACTIVE) {
+            connectionPool.invalidate(event.assetId());
+        }
+    }
+
+    @EventListener
+    public void onDeleted(AssetDeletedEvent event) {
+        connectionPool.invalidate(event.assetId());
+    }
+
+    // An unreachable asset will not be collected for a while; don't keep its socket
+    @EventListener
+    public void onCircuitOpened(AssetCircuitStateChangedEvent event) {
+        if (event.newState() == CircuitState.OPEN) {
+            connectionPool.invalidate(event.assetId());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Decides what happens when a scheduler tick arrives while the previous sweep is
+ * still running, so the same asset is never collected by two sweeps at once.
+ * <p>
+ * Ticks only dispatch: the sweep runs on its own virtual thread, so a slow sweep
+ * never delays the tick itself and the wall-clock cadence is preserved. An
+ * overlapping tick is handled according to the {@link OverlapPolicy}.
+ * <p>
+ * Every tick is also checked against the boundary it was scheduled for: ticks that
+ * start later than the tolerance count as late, and boundaries that produced no
+ * sweep (skipped, dropped from a full queue, or never fired) count as missed.
+ */
+public class SweepCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(SweepCoordinator.class);
+
+    public enum OverlapPolicy {
+        /** Drop the tick; the in-flight sweep already covers this interval. */
+        SKIP,
+        /** Run one extra sweep per overlapping tick, one after another, up to the queue limit. */
+        QUEUE,
+        /** Collapse any number of overlapping ticks into a single follow-up sweep. */
+        MERGE
+    }
+
+    private final OverlapPolicy policy;
+    private final int maxQueued;
+    private final Duration lateThreshold;
+    private final WallClockAlignedTrigger trigger;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter missedTicks;
+    private final Counter lateTicks;
+    private final Timer tickLateness;
+
+    // Guarded by this
+    private boolean running;
+    private int queued;
+    private boolean mergePending;
+    private Instant lastBoundary;
+
+    public SweepCoordinator(OverlapPolicy policy,
+                            int maxQueued,
+                            Duration lateThreshold,
+                            WallClockAlignedTrigger trigger,
+                            Clock clock,
+                            MeterRegistry meterRegistry) {
+        this.policy = Objects.requireNonNull(policy, "policy cannot be null");
+        this.maxQueued = maxQueued;
+        this.lateThreshold = Objects.requireNonNull(lateThreshold, "lateThreshold cannot be null");
+        this.trigger = Objects.requireNonNull(trigger, "trigger cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry cannot be null");
+
+        this.missedTicks = Counter.builder("infratrack.monitoring.ticks.missed")
+                .description("Interval boundaries that did not start a sweep")
+                .register(meterRegistry);
+        this.lateTicks = Counter.builder("infratrack.monitoring.ticks.late")
+                .description("Ticks that started later than the tolerated delay after their boundary")
+                .register(meterRegistry);
+        this.tickLateness = Timer.builder("infratrack.monitoring.tick.lateness")
+                .description("Delay between a tick's wall-clock boundary and its actual start")
+                .register(meterRegistry);
+    }
+
+    public WallClockAlignedTrigger trigger() {
+        return trigger;
+    }
+
+    /** Entry point for the scheduler: handles a tick fired by {@link #trigger()}. */
+    public void onTick(Runnable sweep) {
+        Instant scheduledAt = trigger.lastScheduled();
+        onTick(scheduledAt != null ? scheduledAt : clock.instant(), sweep);
+    }
+
+    /**
+     * Handles a tick scheduled for {@code scheduledAt}. Never blocks on the sweep.
+     */
+    public void onTick(Instant scheduledAt, Runnable sweep) {
+        recordTiming(scheduledAt);
+
+        synchronized (this) {
+            if (!running) {
+                running = true;
+                countTick("started");
+                Thread.ofVirtual().name("monitoring-sweep").start(() -> runSweeps(sweep));
+                return;
+            }
+            switch (policy) {
+                case SKIP -> skip("previous sweep still running");
+                case QUEUE -> {
+                    if (queued < maxQueued) {
+                        queued++;
+                        countTick("queued");
+                    } else {
+                        skip("sweep queue full");
+                    }
+                }
+                case MERGE -> {
+                    mergePending = true;
+                    countTick("merged");
+                }
+            }
+        }
+    }
+
+    public synchronized boolean isSweepInFlight() {
+        return running;
+    }
+
+    private void runSweeps(Runnable sweep) {
+        while (true) {
+            try {
+                sweep.run();
+            } catch (RuntimeException e) {
+                log.error("Monitoring sweep failed: {}", e.getMessage(), e);
+            }
+            synchronized (this) {
+                if (queued > 0) {
+                    queued--;
+                } else if (mergePending) {
+                    mergePending = false;
+                } else {
+                    running = false;
+                    return;
+                }
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void skip(String reason) {
+        countTick("skipped");
+        missedTicks.increment();
+        log.warn("Skipping monitoring tick: {}", reason);
+    }
+
+    private void recordTiming(Instant scheduledAt) {
+        Duration lateness = Duration.between(scheduledAt, clock.instant());
+        if (lateness.isNegative()) {
+            lateness = Duration.ZERO;
+        }
+        tickLateness.record(lateness);
+        if (lateness.compareTo(lateThreshold) > 0) {
+            lateTicks.increment();
+            log.warn("Monitoring tick for {} started {} ms late", scheduledAt, lateness.toMillis());
+        }
+
+        long intervalMillis = trigger.interval().toMillis();
+        synchronized (this) {
+            if (lastBoundary != null) {
+                long skippedBoundaries = (scheduledAt.toEpochMilli() - lastBoundary.toEpochMilli()) / intervalMillis - 1;
+                if (skippedBoundaries > 0) {
+                    missedTicks.increment(skippedBoundaries);
+                    log.warn("{} monitoring tick(s) never fired before {}", skippedBoundaries, scheduledAt);
+                }
+            }
+            lastBoundary = scheduledAt;
+        }
+    }
+
+    private void countTick(String outcome) {
+        meterRegistry.counter("infratrack.monitoring.ticks", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,57 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Fires on multiples of the interval since the Unix epoch: a 60s interval fires at
+ * hh:mm:00, a 30s interval at :00 and :30, regardless of when the app started.
+ * <p>
+ * Unlike {@code fixedRate}, the next fire time is derived from the wall clock
+ * instead of from the previous run, so ticks never drift and every node of a
+ * cluster ticks on the same boundaries. Snapshots taken by the same sweep on
+ * different assets therefore line up for fleet-wide aggregation.
+ */
+public class WallClockAlignedTrigger implements Trigger {
+
+    private final long intervalMillis;
+    private volatile Instant lastScheduled;
+
+    public WallClockAlignedTrigger(Duration interval) {
+        Objects.requireNonNull(interval, "interval cannot be null");
+        if (interval.toMillis() < 1) {
+            throw new IllegalArgumentException("interval must be at least 1ms, got: " + interval);
+        }
+        this.intervalMillis = interval.toMillis();
+    }
+
+    @Override
+    public Instant nextExecution(TriggerContext triggerContext) {
+        Instant next = nextBoundaryAfter(triggerContext.getClock().instant());
+        lastScheduled = next;
+        return next;
+    }
+
+    /** First boundary strictly after {@code instant}. */
+    public Instant nextBoundaryAfter(Instant instant) {
+        long millis = instant.toEpochMilli();
+        return Instant.ofEpochMilli((Math.floorDiv(millis, intervalMillis) + 1) * intervalMillis);
+    }
+
+    /**
+     * Boundary the currently running execution was scheduled for, or {@code null}
+     * before the first execution. Spring's trigger tasks ask for the next time only
+     * after the current run completes, so this stays stable while a tick runs.
+     */
+    public Instant lastScheduled() {
+        return lastScheduled;
+    }
+
+    public Duration interval() {
+        return Duration.ofMillis(intervalMillis);
+    }
+}
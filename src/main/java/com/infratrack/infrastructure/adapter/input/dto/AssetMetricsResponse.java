@@ -0,0 +1,18 @@
+package com.infratrack.infrastructure.adapter.input.dto;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.util.List;
+
+public record AssetMetricsResponse(
+        String assetId,
+        List<MetricSnapshotResponse> snapshots
+) {
+    public static AssetMetricsResponse from(AssetId assetId, List<MetricSnapshot> snapshots) {
+        return new AssetMetricsResponse(
+                assetId.toString(),
+                snapshots.stream().map(MetricSnapshotResponse::from).toList()
+        );
+    }
+}
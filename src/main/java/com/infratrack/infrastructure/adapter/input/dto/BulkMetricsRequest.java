@@ -0,0 +1,20 @@
+package com.infratrack.infrastructure.adapter.input.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkMetricsRequest(
+
+        @NotEmpty(message = "ids is required")
+        @Size(max = 10_000, message = "At most 10000 ids per request")
+        List<String> ids,
+
+        @Min(value = 1, message = "limit must be between 1 and 100")
+        @Max(value = 100, message = "limit must be between 1 and 100")
+        Integer limit
+) {
+}
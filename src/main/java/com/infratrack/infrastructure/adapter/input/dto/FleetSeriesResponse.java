@@ -0,0 +1,44 @@
+package com.infratrack.infrastructure.adapter.input.dto;
+
+import com.infratrack.application.port.input.FleetSeries;
+import com.infratrack.domain.model.FleetMetricPoint;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record FleetSeriesResponse(
+        String step,
+        String aggregation,
+        // "raw", or "rollup:<tier>" when the points come from a rollup tier
+        String source,
+        List<Group> groups
+) {
+    public record Group(String type, String status, List<Point> points) {
+    }
+
+    public record Point(Instant bucketStart, long assets, long count, double cpu, double memory, double disk) {
+
+        static Point from(FleetMetricPoint point) {
+            return new Point(point.bucketStart(), point.assets(), point.count(),
+                    point.cpu(), point.memory(), point.disk());
+        }
+    }
+
+    public static FleetSeriesResponse from(FleetSeries series) {
+        Map<String, Group> groups = new LinkedHashMap<>();
+        for (FleetMetricPoint point : series.points()) {
+            groups.computeIfAbsent(point.type() + "/" + point.status(),
+                            key -> new Group(point.type().name(), point.status().name(), new ArrayList<>()))
+                    .points().add(Point.from(point));
+        }
+        return new FleetSeriesResponse(
+                series.step().toString(),
+                series.aggregation().label(),
+                series.rollupTier().map(tier -> "rollup:" + tier.label()).orElse("raw"),
+                List.copyOf(groups.values())
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.infratrack.infrastructure.adapter.input.dto;
+
+import com.infratrack.application.port.input.RollupSeries;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricRollup;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MetricRollupSeriesResponse(
+        String assetId,
+        String tier,
+        List<Point> points
+) {
+    public record Point(Instant bucketStart, long count, Usage cpu, Usage memory, Usage disk) {
+
+        static Point from(MetricRollup rollup) {
+            return new Point(
+                    rollup.bucketStart(),
+                    rollup.count(),
+                    new Usage(rollup.cpu().min(), rollup.cpuAverage(), rollup.cpu().max()),
+                    new Usage(rollup.memory().min(), rollup.memoryAverage(), rollup.memory().max()),
+                    new Usage(rollup.disk().min(), rollup.diskAverage(), rollup.disk().max())
+            );
+        }
+    }
+
+    public record Usage(double min, double avg, double max) {
+    }
+
+    public static MetricRollupSeriesResponse from(AssetId assetId, RollupSeries series) {
+        return new MetricRollupSeriesResponse(
+                assetId.toString(),
+                series.tier().label(),
+                series.points().stream().map(Point::from).toList()
+        );
+    }
+}
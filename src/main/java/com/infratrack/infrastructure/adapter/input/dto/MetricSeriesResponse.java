@@ -0,0 +1,34 @@
+package com.infratrack.infrastructure.adapter.input.dto;
+
+import com.infratrack.application.port.input.MetricSeries;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricPoint;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MetricSeriesResponse(
+        String assetId,
+        String step,
+        String aggregation,
+        // "raw", or "rollup:<tier>" when the points come from a rollup tier
+        String source,
+        List<Point> points
+) {
+    public record Point(Instant bucketStart, long count, double cpu, double memory, double disk) {
+
+        static Point from(MetricPoint point) {
+            return new Point(point.bucketStart(), point.count(), point.cpu(), point.memory(), point.disk());
+        }
+    }
+
+    public static MetricSeriesResponse from(AssetId assetId, MetricSeries series) {
+        return new MetricSeriesResponse(
+                assetId.toString(),
+                series.step().toString(),
+                series.aggregation().label(),
+                series.rollupTier().map(tier -> "rollup:" + tier.label()).orElse("raw"),
+                series.points().stream().map(Point::from).toList()
+        );
+    }
+}
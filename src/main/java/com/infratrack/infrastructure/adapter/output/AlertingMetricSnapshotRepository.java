@@ -0,0 +1,62 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.application.service.AlertEngine;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Runs every snapshot the wrapped repository accepted through the {@link AlertEngine},
+ * on the recording thread, so alerts fire as readings arrive rather than when
+ * someone looks. Reads go straight to the wrapped repository.
+ */
+public class AlertingMetricSnapshotRepository implements MetricSnapshotRepository, AutoCloseable {
+
+    private final MetricSnapshotRepository delegate;
+    private final AlertEngine alertEngine;
+
+    public AlertingMetricSnapshotRepository(MetricSnapshotRepository delegate, AlertEngine alertEngine) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.alertEngine = Objects.requireNonNull(alertEngine, "alertEngine cannot be null");
+    }
+
+    @Override
+    public void save(MetricSnapshot snapshot) {
+        delegate.save(snapshot);
+        alertEngine.evaluate(snapshot);
+    }
+
+    @Override
+    public void saveAll(List<MetricSnapshot> snapshots) {
+        delegate.saveAll(snapshots);
+        snapshots.forEach(alertEngine::evaluate);
+    }
+
+    @Override
+    public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+        return delegate.findLatestByAssetId(assetId, numberOfSnapshots);
+    }
+
+    @Override
+    public Map<AssetId, List<MetricSnapshot>> findLatestByAssetIds(Collection<AssetId> assetIds, int numberOfSnapshots) {
+        return delegate.findLatestByAssetIds(assetIds, numberOfSnapshots);
+    }
+
+    @Override
+    public void evict(AssetId assetId) {
+        delegate.evict(assetId);
+    }
+
+    /** Closes the wrapped repository if it holds resources, e.g. the write pipeline. */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.infratrack.infrastructure.adapter.output;
+
+/** Reads back what a {@link BitWriter} wrote, most significant bit first. */
+final class BitReader {
+
+    private final byte[] data;
+    private long position;
+
+    BitReader(byte[] data) {
+        this.data = data;
+    }
+
+    boolean readBit() {
+        int byteIndex = (int) (position >>> 3);
+        if (byteIndex >= data.length) {
+            throw new IllegalStateException("Read past the end of a " + data.length + "-byte block");
+        }
+        boolean bit = (data[byteIndex] & (0x80 >>> (position & 7))) != 0;
+        position++;
+        return bit;
+    }
+
+    /** Reads {@code count} bits (0 to 64) as an unsigned value. */
+    long readBits(int count) {
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            value = (value << 1) | (readBit() ? 1L : 0L);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,48 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import java.util.Arrays;
+
+/** Append-only bit buffer, most significant bit first. */
+final class BitWriter {
+
+    private byte[] buffer;
+    private long bitCount;
+
+    BitWriter(int initialBytes) {
+        this.buffer = new byte[Math.max(initialBytes, 8)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /** Writes the low {@code count} bits of {@code value} (0 to 64). */
+    void writeBits(long value, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            int byteIndex = (int) (bitCount >>> 3);
+            if (byteIndex == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            if (((value >>> i) & 1L) != 0) {
+                buffer[byteIndex] |= (byte) (0x80 >>> (bitCount & 7));
+            }
+            bitCount++;
+        }
+    }
+
+    BitWriter copy() {
+        BitWriter copy = new BitWriter(buffer.length);
+        System.arraycopy(buffer, 0, copy.buffer, 0, buffer.length);
+        copy.bitCount = bitCount;
+        return copy;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    /** The bits written so far, zero-padded to a whole byte. */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, (int) ((bitCount + 7) >>> 3));
+    }
+}
@@ -0,0 +1,295 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decouples collection from persistence: {@link #save(MetricSnapshot)} only
+ * enqueues, and a small, fixed set of writer threads drains the queue in
+ * batches into the wrapped repository.
+ * <p>
+ * Collection threads therefore never hold a database connection; the number of
+ * connections used for snapshots is the number of writers, however many
+ * collections run in parallel. When the queue is full the {@link OverflowPolicy}
+ * decides whether the collector waits or a snapshot is dropped. A new snapshot that
+ * is dropped makes {@code save} throw, so decorators above the queue (hot tier,
+ * ranking, alerts) never see it; the oldest snapshot evicted by DROP_OLDEST was
+ * accepted earlier and cannot be taken back from them.
+ * <p>
+ * A batch rejected for a constraint violation is split in halves and retried, so
+ * one bad row (e.g. of an asset deleted while its snapshot was queued) is dropped
+ * alone instead of taking the rest of the batch with it.
+ * <p>
+ * Reads go straight to the wrapped repository, so a snapshot becomes visible in
+ * the history once its batch is written (at most one flush interval later).
+ */
+public class BufferedMetricSnapshotRepository implements MetricSnapshotRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BufferedMetricSnapshotRepository.class);
+
+    public enum OverflowPolicy {
+        /** Wait up to the block timeout for space, then drop the new snapshot. */
+        BLOCK,
+        /** Drop the new snapshot immediately. */
+        DROP_NEWEST,
+        /** Drop the oldest queued snapshot to make room for the new one. */
+        DROP_OLDEST
+    }
+
+    /**
+     * @param capacity      snapshots the queue holds before the overflow policy kicks in
+     * @param policy        what {@code save} does when the queue is full
+     * @param blockTimeout  longest a BLOCK-ed {@code save} waits for space
+     * @param maxBatchSize  most snapshots written in one batch
+     * @param flushInterval longest a partial batch waits before being written
+     * @param writers       writer threads, i.e. database connections used for snapshots
+     */
+    public record Settings(int capacity,
+                           OverflowPolicy policy,
+                           Duration blockTimeout,
+                           int maxBatchSize,
+                           Duration flushInterval,
+                           int writers) {
+
+        public Settings {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("capacity must be at least 1, got: " + capacity);
+            }
+            Objects.requireNonNull(policy, "policy cannot be null");
+            Objects.requireNonNull(blockTimeout, "blockTimeout cannot be null");
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be at least 1, got: " + maxBatchSize);
+            }
+            Objects.requireNonNull(flushInterval, "flushInterval cannot be null");
+            if (writers < 1) {
+                throw new IllegalArgumentException("writers must be at least 1, got: " + writers);
+            }
+        }
+
+        public static Settings defaults() {
+            return new Settings(10_000, OverflowPolicy.BLOCK, Duration.ofSeconds(5), 500, Duration.ofSeconds(1), 2);
+        }
+    }
+
+    private final MetricSnapshotRepository delegate;
+    private final Settings settings;
+    private final Clock clock;
+    private final BlockingQueue<MetricSnapshot> queue;
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSize;
+    private final Timer endToEndLatency;
+    private final Counter written;
+    private final Counter failed;
+
+    public BufferedMetricSnapshotRepository(MetricSnapshotRepository delegate,
+                                            Settings settings,
+                                            MeterRegistry meterRegistry) {
+        this(delegate, settings, meterRegistry, Clock.systemUTC());
+    }
+
+    public BufferedMetricSnapshotRepository(MetricSnapshotRepository delegate,
+                                            Settings settings,
+                                            MeterRegistry meterRegistry,
+                                            Clock clock) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.settings = Objects.requireNonNull(settings, "settings cannot be null");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+        this.queue = new ArrayBlockingQueue<>(settings.capacity());
+
+        Gauge.builder("infratrack.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("Snapshots waiting to be written")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("infratrack.pipeline.batch.size")
+                .description("Snapshots written per batch")
+                .register(meterRegistry);
+        this.endToEndLatency = Timer.builder("infratrack.pipeline.latency")
+                .description("Time from collection to the snapshot being written")
+                .register(meterRegistry);
+        this.written = meterRegistry.counter("infratrack.pipeline.snapshots", "outcome", "written");
+        this.failed = meterRegistry.counter("infratrack.pipeline.snapshots", "outcome", "failed");
+
+        for (int i = 0; i < settings.writers(); i++) {
+            Thread writer = Thread.ofPlatform()
+                    .name("snapshot-writer-" + i)
+                    .daemon()
+                    .start(this::drainLoop);
+            writers.add(writer);
+        }
+    }
+
+    /** @throws IllegalStateException when the snapshot was dropped or the pipeline is shut down */
+    @Override
+    public void save(MetricSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot cannot be null");
+        if (!running) {
+            throw new IllegalStateException("Snapshot pipeline is shut down");
+        }
+        boolean accepted = switch (settings.policy()) {
+            case BLOCK -> offerBlocking(snapshot);
+            case DROP_NEWEST -> queue.offer(snapshot);
+            case DROP_OLDEST -> offerEvictingOldest(snapshot);
+        };
+        if (!accepted) {
+            drop("queue_full");
+            throw new IllegalStateException("Snapshot dropped: pipeline queue is full");
+        }
+    }
+
+    /**
+     * Enqueues each snapshot; the writers regroup them into their own batches.
+     * Stops at the first snapshot dropped, see {@link #save}.
+     */
+    @Override
+    public void saveAll(List<MetricSnapshot> snapshots) {
+        snapshots.forEach(this::save);
+    }
+
+    @Override
+    public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+        return delegate.findLatestByAssetId(assetId, numberOfSnapshots);
+    }
+
+    @Override
+    public Map<AssetId, List<MetricSnapshot>> findLatestByAssetIds(Collection<AssetId> assetIds, int numberOfSnapshots) {
+        return delegate.findLatestByAssetIds(assetIds, numberOfSnapshots);
+    }
+
+    @Override
+    public void evict(AssetId assetId) {
+        delegate.evict(assetId);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting snapshots, writes what is already queued and stops the
+     * writers, then closes the wrapped repository if it holds resources.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread writer : writers) {
+            try {
+                writer.join(settings.flushInterval().toMillis() + 10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Snapshot pipeline closed with {} snapshots still queued", queue.size());
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close the snapshot store behind the pipeline", e);
+            }
+        }
+    }
+
+    private boolean offerBlocking(MetricSnapshot snapshot) {
+        try {
+            return queue.offer(snapshot, settings.blockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean offerEvictingOldest(MetricSnapshot snapshot) {
+        while (!queue.offer(snapshot)) {
+            if (queue.poll() != null) {
+                drop("evicted");
+            }
+        }
+        return true;
+    }
+
+    private void drop(String reason) {
+        meterRegistry.counter("infratrack.pipeline.dropped", "reason", reason).increment();
+        log.warn("Dropping metric snapshot: {}", reason.replace('_', ' '));
+    }
+
+    private void drainLoop() {
+        List<MetricSnapshot> batch = new ArrayList<>(settings.maxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                MetricSnapshot first = queue.poll(settings.flushInterval().toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, settings.maxBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<MetricSnapshot> batch) {
+        batchSize.record(batch.size());
+        writeOrSplit(batch);
+    }
+
+    // A batch is written in one transaction, so it succeeds or fails as a whole. A batch
+    // rejected by a constraint is bisected: one bad snapshot costs about 2*log2(batch)
+    // extra writes and only that snapshot is lost. Any other failure (database down)
+    // would fail every half the same way, so the batch is dropped at once.
+    private void writeOrSplit(List<MetricSnapshot> batch) {
+        try {
+            delegate.saveAll(batch);
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                failed.increment();
+                log.error("Dropping metric snapshot of asset {}: {}",
+                        batch.get(0).assetId().getValue(), e.getMostSpecificCause().getMessage());
+                return;
+            }
+            int half = batch.size() / 2;
+            writeOrSplit(batch.subList(0, half));
+            writeOrSplit(batch.subList(half, batch.size()));
+            return;
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.error("Failed to write batch of {} metric snapshots: {}", batch.size(), e.getMessage());
+            return;
+        }
+        written.increment(batch.size());
+        Instant now = clock.instant();
+        for (MetricSnapshot snapshot : batch) {
+            endToEndLatency.record(Duration.between(snapshot.collectedAt(), now));
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricHistoryRepository;
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.TreeMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Stores snapshots as compressed blocks in {@code metric_blocks}: one row per asset
+ * and epoch-aligned {@code blockWidth} window, holding every sample of that window
+ * encoded by {@link SnapshotBlockCodec}. A sample on a regular schedule costs a few
+ * bytes instead of a row with two 36-character keys and its index entries.
+ * <p>
+ * The newest block of each asset stays open in memory. A batch appends to a copy
+ * of its encoder and rewrites that one row; the copy replaces the open block only
+ * once the write commits, so a rolled-back batch leaves nothing behind. Writers
+ * of the same asset are serialized (on one of {@value #LOCK_STRIPES} lock stripes)
+ * until their transaction completes. The upsert only replaces a stored block that
+ * holds fewer samples, so a slower writer can never overwrite a newer version.
+ * A sample older than the last one in its block (rare) rebuilds the block in order;
+ * a sample for an already closed block is merged into the stored one, best effort.
+ * Open blocks are dropped when their asset is deleted or has not written for a
+ * whole block.
+ * <p>
+ * Rewriting the open block costs write amplification: a block of {@code n}
+ * samples written one batch at a time rewrites {@code O(n²)} bytes over its
+ * window and leaves a dead tuple per rewrite for vacuum. Blocks are small
+ * (a few bytes per sample), so at a one-minute interval and the default two-hour
+ * block this is about 120 rewrites of at most a few hundred bytes per asset;
+ * shorter blocks cap it further at some cost in compression.
+ * <p>
+ * Reads decode only the blocks that overlap what they need, newest first.
+ * Fleet reads fetch the blocks of every matching asset in one query and leave the
+ * decoding to the caller, one asset at a time. Timestamps are kept to the millisecond.
+ */
+public class CompressedMetricSnapshotRepository
+        implements MetricSnapshotRepository, MetricHistoryRepository, AutoCloseable {
+
+    private static final String COLUMNS = "asset_id, block_start, block_end, sample_count, data";
+
+    private static final String POSTGRES_UPSERT = "INSERT INTO metric_blocks (" + COLUMNS + ")"
+            + " VALUES (?, ?, ?, ?, ?)"
+            + " ON CONFLICT (asset_id, block_start) DO UPDATE SET"
+            + " block_end = EXCLUDED.block_end, sample_count = EXCLUDED.sample_count, data = EXCLUDED.data"
+            + " WHERE metric_blocks.sample_count < EXCLUDED.sample_count";
+
+    private static final String STANDARD_MERGE = "MERGE INTO metric_blocks b"
+            + " USING (VALUES (CAST(? AS UUID), CAST(? AS TIMESTAMP WITH TIME ZONE),"
+            + " CAST(? AS TIMESTAMP WITH TIME ZONE), CAST(? AS INTEGER), CAST(? AS VARBINARY)))"
+            + " AS d(" + COLUMNS + ")"
+            + " ON b.asset_id = d.asset_id AND b.block_start = d.block_start"
+            + " WHEN MATCHED AND b.sample_count < d.sample_count THEN UPDATE SET"
+            + " block_end = d.block_end, sample_count = d.sample_count, data = d.data"
+            + " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ")"
+            + " VALUES (d.asset_id, d.block_start, d.block_end, d.sample_count, d.data)";
+
+    /** Blocks fetched per round trip while walking back for the latest samples. */
+    private static final int BLOCKS_PER_PAGE = 4;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private record Block(Instant start, int count, byte[] data) {
+    }
+
+    /** The newest block of an asset, still accepting samples. */
+    private static final class OpenBlock {
+        private final Instant start;
+        private SnapshotBlockCodec.Encoder encoder;
+
+        private OpenBlock(Instant start, SnapshotBlockCodec.Encoder encoder) {
+            this.start = start;
+            this.encoder = encoder;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration blockWidth;
+    private final Map<AssetId, OpenBlock> openBlocks = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private volatile long prunedBlock = Long.MIN_VALUE;
+    private volatile String upsert;
+
+    public CompressedMetricSnapshotRepository(JdbcTemplate jdbcTemplate, Duration blockWidth) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate cannot be null");
+        Objects.requireNonNull(blockWidth, "blockWidth cannot be null");
+        if (blockWidth.toMillis() < 1 || Duration.ofDays(1).toMillis() % blockWidth.toMillis() != 0) {
+            throw new IllegalArgumentException("blockWidth must divide a day evenly, got: " + blockWidth);
+        }
+        this.blockWidth = blockWidth;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void save(MetricSnapshot snapshot) {
+        saveAll(List.of(snapshot));
+    }
+
+    @Override
+    public void saveAll(List<MetricSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        Map<AssetId, List<MetricSnapshot>> byAsset = new LinkedHashMap<>();
+        Instant newest = Instant.MIN;
+        for (MetricSnapshot snapshot : snapshots) {
+            byAsset.computeIfAbsent(snapshot.assetId(), id -> new ArrayList<>()).add(snapshot);
+            if (snapshot.collectedAt().isAfter(newest)) {
+                newest = snapshot.collectedAt();
+            }
+        }
+
+        int[] stripes = byAsset.keySet().stream().mapToInt(this::stripe).distinct().sorted().toArray();
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        boolean deferred = false;
+        try {
+            Map<AssetId, OpenBlock> staged = new LinkedHashMap<>();
+            List<Object[]> rows = new ArrayList<>();
+            for (Map.Entry<AssetId, List<MetricSnapshot>> entry : byAsset.entrySet()) {
+                rows.addAll(stage(entry.getKey(), entry.getValue(), staged));
+            }
+            jdbcTemplate.batchUpdate(upsertStatement(), rows);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        try {
+                            if (status == STATUS_COMMITTED) {
+                                openBlocks.putAll(staged);
+                            }
+                        } finally {
+                            unlock(stripes);
+                        }
+                    }
+                });
+                deferred = true;
+            } else {
+                openBlocks.putAll(staged);
+            }
+        } finally {
+            if (!deferred) {
+                unlock(stripes);
+            }
+        }
+        prune(newest);
+    }
+
+    @Override
+    public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+        List<MetricSnapshot> latest = new ArrayList<>(numberOfSnapshots);
+        Instant before = Instant.MAX;
+        while (latest.size() < numberOfSnapshots) {
+            List<Block> page = before == Instant.MAX
+                    ? jdbcTemplate.query("SELECT block_start, sample_count, data FROM metric_blocks"
+                            + " WHERE asset_id = ? ORDER BY block_start DESC LIMIT ?",
+                    CompressedMetricSnapshotRepository::block, assetId.getValue(), BLOCKS_PER_PAGE)
+                    : jdbcTemplate.query("SELECT block_start, sample_count, data FROM metric_blocks"
+                            + " WHERE asset_id = ? AND block_start < ? ORDER BY block_start DESC LIMIT ?",
+                    CompressedMetricSnapshotRepository::block, assetId.getValue(), utc(before), BLOCKS_PER_PAGE);
+            for (Block block : page) {
+                List<MetricSnapshot> samples = SnapshotBlockCodec.decode(assetId, block.data(), block.count());
+                for (int i = samples.size() - 1; i >= 0 && latest.size() < numberOfSnapshots; i--) {
+                    latest.add(samples.get(i));
+                }
+                before = block.start();
+            }
+            if (page.size() < BLOCKS_PER_PAGE) {
+                break;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Samples with {@code from <= collectedAt < to}, oldest first. Only blocks whose
+     * window overlaps the range are read and decoded.
+     */
+    public List<MetricSnapshot> findByAssetIdBetween(AssetId assetId, Instant from, Instant to) {
+        List<Block> blocks = jdbcTemplate.query("SELECT block_start, sample_count, data FROM metric_blocks"
+                        + " WHERE asset_id = ? AND block_start >= ? AND block_start < ? ORDER BY block_start",
+                CompressedMetricSnapshotRepository::block, assetId.getValue(), utc(blockOf(from)), utc(to));
+        return decode(assetId, blocks, from, to);
+    }
+
+    /**
+     * The blocks overlapping [from, to) of every asset of {@code type} and
+     * {@code status} (null matches all), read in one query joined on {@code assets}.
+     * The returned function decodes one asset's samples, oldest first; it does no
+     * I/O, so callers can run it for many assets in parallel.
+     */
+    public Function<AssetId, List<MetricSnapshot>> findFleetBetween(AssetType type, AssetStatus status,
+                                                                    Instant from, Instant to) {
+        StringBuilder sql = new StringBuilder("SELECT b.asset_id, b.block_start, b.sample_count, b.data"
+                + " FROM metric_blocks b JOIN assets a ON a.id = b.asset_id"
+                + " WHERE b.block_start >= ? AND b.block_start < ?");
+        List<Object> args = new ArrayList<>(List.of(utc(blockOf(from)), utc(to)));
+        if (type != null) {
+            sql.append(" AND a.type = ?");
+            args.add(type.name());
+        }
+        if (status != null) {
+            sql.append(" AND a.status = ?");
+            args.add(status.name());
+        }
+        sql.append(" ORDER BY b.asset_id, b.block_start");
+        Map<AssetId, List<Block>> blocks = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            blocks.computeIfAbsent(AssetId.of(rs.getObject("asset_id", UUID.class)), id -> new ArrayList<>())
+                    .add(block(rs, 0));
+        }, args.toArray());
+        return assetId -> decode(assetId, blocks.getOrDefault(assetId, List.of()), from, to);
+    }
+
+    private static List<MetricSnapshot> decode(AssetId assetId, List<Block> blocks, Instant from, Instant to) {
+        List<MetricSnapshot> result = new ArrayList<>();
+        for (Block block : blocks) {
+            for (MetricSnapshot snapshot : SnapshotBlockCodec.decode(assetId, block.data(), block.count())) {
+                if (!snapshot.collectedAt().isBefore(from) && snapshot.collectedAt().isBefore(to)) {
+                    result.add(snapshot);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Blocks cannot be aggregated in SQL: decodes the range and aggregates it here. */
+    @Override
+    public List<MetricPoint> aggregate(AssetId assetId, Instant from, Instant to, Duration step, Aggregation aggregation) {
+        return MetricPoint.aggregate(findByAssetIdBetween(assetId, from, to), step, aggregation);
+    }
+
+    Instant blockOf(Instant instant) {
+        long width = blockWidth.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), width) * width);
+    }
+
+    /** Drops the asset's open block; its stored blocks are left to retention. */
+    @Override
+    public void evict(AssetId assetId) {
+        openBlocks.remove(assetId);
+    }
+
+    @Override
+    public void close() {
+        openBlocks.clear();
+    }
+
+    /**
+     * Appends an asset's samples to copies of the blocks they fall in and returns
+     * the rows to write. The copy of the newest block is put in {@code staged}, to
+     * become the open block once the write commits.
+     */
+    private List<Object[]> stage(AssetId assetId, List<MetricSnapshot> samples, Map<AssetId, OpenBlock> staged) {
+        OpenBlock open = openBlocks.get(assetId);
+        TreeMap<Instant, OpenBlock> blocks = new TreeMap<>();
+        samples.stream()
+                .sorted(Comparator.comparing(MetricSnapshot::collectedAt))
+                .forEach(snapshot -> add(assetId, blocks.computeIfAbsent(blockOf(snapshot.collectedAt()), start ->
+                        open != null && open.start.equals(start)
+                                ? new OpenBlock(start, open.encoder.copy())
+                                // A block other than the open one: a new block, or a late sample for a closed one
+                                : load(assetId, start)), snapshot));
+
+        OpenBlock newest = blocks.lastEntry().getValue();
+        if (open == null || !newest.start.isBefore(open.start)) {
+            staged.put(assetId, newest);
+        }
+        List<Object[]> rows = new ArrayList<>(blocks.size());
+        for (OpenBlock block : blocks.values()) {
+            rows.add(row(assetId, block));
+        }
+        return rows;
+    }
+
+    private static void add(AssetId assetId, OpenBlock block, MetricSnapshot snapshot) {
+        SnapshotBlockCodec.Encoder encoder = block.encoder;
+        if (encoder.count() == 0 || snapshot.collectedAt().toEpochMilli() >= encoder.lastMillis()) {
+            encoder.append(snapshot);
+            return;
+        }
+        List<MetricSnapshot> samples = new ArrayList<>(
+                SnapshotBlockCodec.decode(assetId, encoder.toByteArray(), encoder.count()));
+        samples.add(snapshot);
+        samples.sort(Comparator.comparing(MetricSnapshot::collectedAt));
+        block.encoder = new SnapshotBlockCodec.Encoder();
+        samples.forEach(block.encoder::append);
+    }
+
+    private OpenBlock load(AssetId assetId, Instant start) {
+        OpenBlock block = new OpenBlock(start, new SnapshotBlockCodec.Encoder());
+        List<Block> stored = jdbcTemplate.query("SELECT block_start, sample_count, data FROM metric_blocks"
+                        + " WHERE asset_id = ? AND block_start = ?",
+                CompressedMetricSnapshotRepository::block, assetId.getValue(), utc(start));
+        for (Block existing : stored) {
+            SnapshotBlockCodec.decode(assetId, existing.data(), existing.count()).forEach(block.encoder::append);
+        }
+        return block;
+    }
+
+    private Object[] row(AssetId assetId, OpenBlock block) {
+        return new Object[]{
+                assetId.getValue(),
+                utc(block.start),
+                utc(Instant.ofEpochMilli(block.encoder.lastMillis())),
+                block.encoder.count(),
+                block.encoder.toByteArray()};
+    }
+
+    // Once per block window, drops the open blocks of assets that wrote nothing for a whole block
+    private void prune(Instant newest) {
+        long current = blockOf(newest).toEpochMilli();
+        if (current <= prunedBlock) {
+            return;
+        }
+        prunedBlock = current;
+        Instant keepFrom = Instant.ofEpochMilli(current).minus(blockWidth);
+        openBlocks.values().removeIf(block -> block.start.isBefore(keepFrom));
+    }
+
+    private int stripe(AssetId assetId) {
+        return Math.floorMod(assetId.hashCode(), LOCK_STRIPES);
+    }
+
+    private void unlock(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    private String upsertStatement() {
+        String statement = upsert;
+        if (statement == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            statement = "PostgreSQL".equals(product) ? POSTGRES_UPSERT : STANDARD_MERGE;
+            upsert = statement;
+        }
+        return statement;
+    }
+
+    private static Block block(ResultSet rs, int rowNum) throws SQLException {
+        return new Block(rs.getObject("block_start", OffsetDateTime.class).toInstant(),
+                rs.getInt("sample_count"),
+                rs.getBytes("data"));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
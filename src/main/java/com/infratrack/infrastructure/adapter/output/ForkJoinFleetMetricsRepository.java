@@ -0,0 +1,149 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.AssetRepository;
+import com.infratrack.application.port.output.FleetMetricsRepository;
+import com.infratrack.application.port.output.MetricRollupRepository;
+import com.infratrack.application.port.output.MetricSketchRepository;
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.FleetMetricPoint;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fleet metrics for stores that cannot group across assets themselves: the dev
+ * in-memory stores and compressed blocks. Raw samples of the whole fleet are read
+ * at once, then each asset's are decoded on a dedicated fork-join pool of
+ * {@code parallelism} threads, so blocking reads never occupy the common pool.
+ * Every type and status group is bucketed and reduced in memory.
+ */
+public class ForkJoinFleetMetricsRepository implements FleetMetricsRepository, AutoCloseable {
+
+    /**
+     * Reads the raw snapshots collected in [from, to) by the assets of {@code type}
+     * and {@code status} (null matches all). The returned function yields one
+     * asset's samples and is called for many assets in parallel, so it should only
+     * decode what was read, not query.
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+        Function<AssetId, List<MetricSnapshot>> read(AssetType type, AssetStatus status, Instant from, Instant to);
+    }
+
+    private record Group(AssetType type, AssetStatus status) {
+    }
+
+    // By name, the order the SQL implementation sorts the enum columns in
+    private static final Comparator<Group> GROUP_ORDER = Comparator
+            .comparing((Group group) -> group.type().name())
+            .thenComparing(group -> group.status().name());
+
+    private final AssetRepository assetRepository;
+    private final RangeReader rangeReader;
+    private final MetricRollupRepository rollupRepository;
+    private final MetricSketchRepository sketchRepository;
+    private final ForkJoinPool pool;
+
+    public ForkJoinFleetMetricsRepository(AssetRepository assetRepository,
+                                          RangeReader rangeReader,
+                                          MetricRollupRepository rollupRepository,
+                                          MetricSketchRepository sketchRepository,
+                                          int parallelism) {
+        this.assetRepository = Objects.requireNonNull(assetRepository, "assetRepository cannot be null");
+        this.rangeReader = Objects.requireNonNull(rangeReader, "rangeReader cannot be null");
+        this.rollupRepository = Objects.requireNonNull(rollupRepository, "rollupRepository cannot be null");
+        this.sketchRepository = Objects.requireNonNull(sketchRepository, "sketchRepository cannot be null");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    public List<FleetMetricPoint> aggregate(Instant from, Instant to, Duration step, Aggregation aggregation,
+                                            AssetType type, AssetStatus status) {
+        Function<AssetId, List<MetricSnapshot>> snapshots = rangeReader.read(type, status, from, to);
+        return reduce(type, status,
+                asset -> snapshots.apply(asset.getId()),
+                samples -> MetricPoint.aggregate(samples, step, aggregation),
+                samples -> assetsPerBucket(samples, MetricSnapshot::assetId, MetricSnapshot::collectedAt, step));
+    }
+
+    @Override
+    public List<FleetMetricPoint> aggregateRollups(RollupTier tier, Instant from, Instant to, Duration step,
+                                                   Aggregation aggregation, AssetType type, AssetStatus status) {
+        return reduce(type, status,
+                asset -> rollupRepository.findByAssetId(asset.getId(), tier, from, to),
+                rollups -> MetricPoint.fromRollups(rollups, step, aggregation),
+                rollups -> assetsPerBucket(rollups, MetricRollup::assetId, MetricRollup::bucketStart, step));
+    }
+
+    @Override
+    public List<FleetMetricPoint> aggregateSketches(RollupTier tier, Instant from, Instant to, Duration step,
+                                                    Aggregation aggregation, AssetType type, AssetStatus status) {
+        return reduce(type, status,
+                asset -> sketchRepository.findByAssetId(asset.getId(), tier, from, to),
+                sketches -> MetricPoint.fromSketches(sketches, step, aggregation),
+                sketches -> assetsPerBucket(sketches, MetricSketch::assetId, MetricSketch::bucketStart, step));
+    }
+
+    private <T> List<FleetMetricPoint> reduce(AssetType type, AssetStatus status,
+                                              Function<Asset, List<T>> read,
+                                              Function<List<T>, List<MetricPoint>> points,
+                                              Function<List<T>, Map<Instant, Long>> assets) {
+        Map<Group, List<Asset>> groups = new TreeMap<>(GROUP_ORDER);
+        for (Asset asset : assetRepository.findAll()) {
+            if ((type == null || asset.getType() == type) && (status == null || asset.getStatus() == status)) {
+                groups.computeIfAbsent(new Group(asset.getType(), asset.getStatus()), g -> new ArrayList<>()).add(asset);
+            }
+        }
+        List<FleetMetricPoint> result = new ArrayList<>();
+        groups.forEach((group, members) -> {
+            // A parallel stream started from a task of the pool runs on that pool
+            List<T> samples = pool.submit(() -> members.parallelStream()
+                    .flatMap(asset -> read.apply(asset).stream())
+                    .toList()).join();
+            Map<Instant, Long> reporting = assets.apply(samples);
+            for (MetricPoint point : points.apply(samples)) {
+                result.add(FleetMetricPoint.of(group.type(), group.status(), reporting.get(point.bucketStart()), point));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static <T> Map<Instant, Long> assetsPerBucket(Collection<T> samples,
+                                                          Function<T, AssetId> assetId,
+                                                          Function<T, Instant> at,
+                                                          Duration step) {
+        Map<Instant, Set<AssetId>> reporting = samples.stream().collect(Collectors.groupingBy(
+                sample -> MetricPoint.bucketOf(at.apply(sample), step),
+                Collectors.mapping(assetId, Collectors.toSet())));
+        return reporting.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> (long) entry.getValue().size()));
+    }
+}
@@ -0,0 +1,238 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.application.service.Tombstones;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Hot tier in front of the snapshot store: every saved snapshot is also kept in a
+ * per-asset {@link SnapshotRingBuffer}, and reads of the recent window are served
+ * from memory. Dashboard refreshes of the last few dozen points no longer reach
+ * the database.
+ * <p>
+ * Reads of the single latest snapshot are not served from the ring: they go to
+ * the wrapped repository, whose latest store answers them by key and the same on
+ * every app node, whereas a ring only holds what this node collected.
+ * <p>
+ * A read asking for more than the ring holds takes what the ring has and fetches
+ * only the older remainder from the wrapped repository.
+ * <p>
+ * Memory is bounded: {@code capacity * 32} bytes per asset, allocated up front,
+ * either on the heap or in a {@link MappedSnapshotFile} that keeps the rings warm
+ * across restarts. Only saving a snapshot creates a ring; reads merely look rings
+ * up, so reads of unknown ids cost nothing. Deleted assets give their ring (and
+ * file slot) back. An asset the file has no slot for is served by the wrapped
+ * repository alone. Snapshots are added to the ring once the wrapped repository accepted them, so
+ * with a write pipeline underneath they are readable before their batch is written.
+ */
+public class HotTierMetricSnapshotRepository implements MetricSnapshotRepository, AutoCloseable {
+
+    // Longer than any collection can be in flight when its asset is deleted
+    private static final Duration TOMBSTONE_TTL = Duration.ofMinutes(15);
+
+    private final MetricSnapshotRepository delegate;
+    private final Function<AssetId, Optional<SnapshotRing>> ringFactory;
+    private final MappedSnapshotFile file;
+    private final Map<AssetId, SnapshotRing> rings = new ConcurrentHashMap<>();
+    private final Tombstones evicted = new Tombstones(TOMBSTONE_TTL, Clock.systemUTC());
+
+    private final Counter hits;
+    private final Counter partialHits;
+    private final Counter misses;
+
+    /** Keeps the rings on the heap. */
+    public HotTierMetricSnapshotRepository(MetricSnapshotRepository delegate, int capacity, MeterRegistry meterRegistry) {
+        this(delegate, id -> Optional.of(new SnapshotRingBuffer(id, capacity)), null, requireCapacity(capacity),
+                meterRegistry);
+    }
+
+    /** Keeps the rings in {@code file}, which this repository closes. */
+    public HotTierMetricSnapshotRepository(MetricSnapshotRepository delegate, MappedSnapshotFile file,
+                                           MeterRegistry meterRegistry) {
+        this(delegate, file::ring, file, file.capacity(), meterRegistry);
+    }
+
+    private HotTierMetricSnapshotRepository(MetricSnapshotRepository delegate,
+                                            Function<AssetId, Optional<SnapshotRing>> ringFactory,
+                                            MappedSnapshotFile file,
+                                            int capacity,
+                                            MeterRegistry meterRegistry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.ringFactory = ringFactory;
+        this.file = file;
+
+        Gauge.builder("infratrack.hot-tier.assets", rings, Map::size)
+                .description("Assets with a hot-tier ring buffer")
+                .register(meterRegistry);
+        Gauge.builder("infratrack.hot-tier.memory", rings, r -> r.size() * SnapshotRingBuffer.bytesPerRing(capacity))
+                .description(file == null ? "Heap reserved by hot-tier ring buffers" : "Mapped memory used by hot-tier ring buffers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.hits = meterRegistry.counter("infratrack.hot-tier.reads", "result", "hit");
+        this.partialHits = meterRegistry.counter("infratrack.hot-tier.reads", "result", "partial");
+        this.misses = meterRegistry.counter("infratrack.hot-tier.reads", "result", "miss");
+    }
+
+    @Override
+    public void save(MetricSnapshot snapshot) {
+        delegate.save(snapshot);
+        append(snapshot);
+    }
+
+    @Override
+    public void saveAll(List<MetricSnapshot> snapshots) {
+        delegate.saveAll(snapshots);
+        snapshots.forEach(this::append);
+    }
+
+    @Override
+    public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+        if (numberOfSnapshots == 1) {
+            return delegate.findLatestByAssetId(assetId, 1);
+        }
+        SnapshotRing ring = find(assetId);
+        if (ring == null) {
+            misses.increment();
+            return delegate.findLatestByAssetId(assetId, numberOfSnapshots);
+        }
+        List<MetricSnapshot> recent = ring.latest(numberOfSnapshots);
+        if (recent.size() == numberOfSnapshots) {
+            hits.increment();
+            return recent;
+        }
+        return complete(recent, delegate.findLatestByAssetId(assetId, numberOfSnapshots), numberOfSnapshots);
+    }
+
+    // Rings that hold enough answer directly; all the others share one read of the wrapped repository
+    @Override
+    public Map<AssetId, List<MetricSnapshot>> findLatestByAssetIds(Collection<AssetId> assetIds, int numberOfSnapshots) {
+        if (numberOfSnapshots == 1) {
+            return delegate.findLatestByAssetIds(assetIds, 1);
+        }
+        Map<AssetId, List<MetricSnapshot>> latest = new LinkedHashMap<>();
+        Map<AssetId, List<MetricSnapshot>> incomplete = new LinkedHashMap<>();
+        for (AssetId assetId : assetIds) {
+            SnapshotRing ring = find(assetId);
+            List<MetricSnapshot> recent = ring == null ? List.of() : ring.latest(numberOfSnapshots);
+            if (recent.size() == numberOfSnapshots) {
+                hits.increment();
+            } else {
+                incomplete.put(assetId, recent);
+            }
+            latest.put(assetId, recent);
+        }
+        if (incomplete.isEmpty()) {
+            return latest;
+        }
+        Map<AssetId, List<MetricSnapshot>> stored = delegate.findLatestByAssetIds(incomplete.keySet(), numberOfSnapshots);
+        incomplete.forEach((assetId, recent) -> latest.put(assetId,
+                complete(recent, stored.getOrDefault(assetId, List.of()), numberOfSnapshots)));
+        return latest;
+    }
+
+    /** Drops the asset's ring and frees its slot in the mapped file. */
+    @Override
+    public void evict(AssetId assetId) {
+        evicted.bury(assetId);
+        release(assetId);
+        delegate.evict(assetId);
+    }
+
+    private List<MetricSnapshot> complete(List<MetricSnapshot> recent,
+                                          List<MetricSnapshot> stored,
+                                          int numberOfSnapshots) {
+        if (recent.isEmpty()) {
+            misses.increment();
+            return stored;
+        }
+
+        // The ring has the newest part; add only what is older than its oldest entry
+        partialHits.increment();
+        Instant oldest = recent.get(recent.size() - 1).collectedAt();
+        List<MetricSnapshot> merged = new ArrayList<>(recent);
+        for (MetricSnapshot snapshot : stored) {
+            if (merged.size() == numberOfSnapshots) {
+                break;
+            }
+            if (snapshot.collectedAt().isBefore(oldest)) {
+                merged.add(snapshot);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Closes the wrapped repository if it holds resources, e.g. the write pipeline,
+     * then flushes the mapped file.
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            if (delegate instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        } finally {
+            if (file != null) {
+                file.close();
+            }
+        }
+    }
+
+    // A snapshot still in flight when its asset was deleted must not take a new ring
+    private void append(MetricSnapshot snapshot) {
+        if (evicted.buries(snapshot)) {
+            return;
+        }
+        SnapshotRing ring = rings.computeIfAbsent(snapshot.assetId(), id -> ringFactory.apply(id).orElse(null));
+        if (ring != null) {
+            ring.append(snapshot);
+        }
+        if (evicted.buries(snapshot)) {
+            release(snapshot.assetId());
+        }
+    }
+
+    // Rings in a reopened file are picked up on their first read
+    private SnapshotRing find(AssetId assetId) {
+        SnapshotRing ring = rings.get(assetId);
+        if (ring == null && file != null) {
+            ring = file.find(assetId).orElse(null);
+            if (ring != null) {
+                SnapshotRing existing = rings.putIfAbsent(assetId, ring);
+                ring = existing == null ? ring : existing;
+            }
+        }
+        return ring;
+    }
+
+    private void release(AssetId assetId) {
+        rings.remove(assetId);
+        if (file != null) {
+            file.release(assetId);
+        }
+    }
+
+    private static int requireCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, got: " + capacity);
+        }
+        return capacity;
+    }
+}
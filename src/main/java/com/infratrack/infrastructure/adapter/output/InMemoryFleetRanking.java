@@ -0,0 +1,126 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.FleetRanking;
+import com.infratrack.application.service.Tombstones;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.UsageMetric;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * {@link FleetRanking} kept in memory: one skip list per usage metric, ordered by
+ * the asset's latest value, highest first. Recording a snapshot moves the asset's
+ * entry in each list (O(log n)); a top-k read walks the head of one list (O(k)),
+ * whatever the size of the fleet.
+ * <p>
+ * An asset whose latest snapshot is older than {@code staleAfter} has stopped
+ * reporting: a read that meets its entry drops it and carries on, so stale assets
+ * age out without a sweep. Deleted or deactivated assets are removed explicitly,
+ * and a snapshot collected before the removal (a collection still in flight) does
+ * not bring them back.
+ * The rankings start empty after a restart and fill up within one collection interval.
+ */
+public class InMemoryFleetRanking implements FleetRanking {
+
+    // Highest value first; the asset id breaks ties, so each asset has one distinct entry
+    private static Comparator<MetricSnapshot> byValueDescending(UsageMetric metric) {
+        return Comparator.comparingDouble(metric::of).reversed()
+                .thenComparing(snapshot -> snapshot.assetId().getValue());
+    }
+
+    private final Map<AssetId, MetricSnapshot> latest = new ConcurrentHashMap<>();
+    private final Map<UsageMetric, NavigableSet<MetricSnapshot>> rankings = new EnumMap<>(UsageMetric.class);
+    private final Duration staleAfter;
+    private final Clock clock;
+    private final Tombstones removed;
+
+    public InMemoryFleetRanking(Duration staleAfter) {
+        this(staleAfter, Clock.systemUTC());
+    }
+
+    public InMemoryFleetRanking(Duration staleAfter, Clock clock) {
+        this.staleAfter = Objects.requireNonNull(staleAfter, "staleAfter cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+        if (staleAfter.isNegative() || staleAfter.isZero()) {
+            throw new IllegalArgumentException("staleAfter must be positive, got: " + staleAfter);
+        }
+        // An in-flight snapshot older than staleAfter would be expired on read anyway
+        this.removed = new Tombstones(staleAfter, clock);
+        for (UsageMetric metric : UsageMetric.values()) {
+            rankings.put(metric, new ConcurrentSkipListSet<>(byValueDescending(metric)));
+        }
+    }
+
+    // compute() serialises updates of one asset; the skip lists take concurrent updates of different assets
+    @Override
+    public void record(MetricSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot cannot be null");
+        latest.compute(snapshot.assetId(), (assetId, previous) -> {
+            if (previous != null && previous.collectedAt().isAfter(snapshot.collectedAt())
+                    || removed.buries(snapshot)) {
+                return previous;
+            }
+            rankings.values().forEach(ranking -> {
+                if (previous != null) {
+                    ranking.remove(previous);
+                }
+                ranking.add(snapshot);
+            });
+            return snapshot;
+        });
+    }
+
+    @Override
+    public void remove(AssetId assetId) {
+        removed.bury(assetId);
+        latest.computeIfPresent(assetId, (id, previous) -> {
+            rankings.values().forEach(ranking -> ranking.remove(previous));
+            return null;
+        });
+    }
+
+    @Override
+    public List<MetricSnapshot> top(UsageMetric metric, int limit) {
+        Instant cutoff = clock.instant().minus(staleAfter);
+        List<MetricSnapshot> top = new ArrayList<>(limit);
+        for (MetricSnapshot snapshot : rankings.get(metric)) {
+            if (top.size() == limit) {
+                break;
+            }
+            if (snapshot.collectedAt().isBefore(cutoff)) {
+                expire(snapshot);
+            } else {
+                top.add(snapshot);
+            }
+        }
+        return top;
+    }
+
+    /** Assets currently ranked. */
+    public int size() {
+        return latest.size();
+    }
+
+    // Only if it is still the asset's latest snapshot; a fresher one may have just arrived
+    private void expire(MetricSnapshot stale) {
+        latest.computeIfPresent(stale.assetId(), (id, current) -> {
+            if (!current.equals(stale)) {
+                return current;
+            }
+            rankings.values().forEach(ranking -> ranking.remove(current));
+            return null;
+        });
+    }
+}
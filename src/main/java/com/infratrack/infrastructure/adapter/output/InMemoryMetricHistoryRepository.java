@@ -0,0 +1,31 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricHistoryRepository;
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/** Dev-profile history: scans everything the snapshot store holds for the asset and aggregates it in memory. */
+public class InMemoryMetricHistoryRepository implements MetricHistoryRepository {
+
+    private final MetricSnapshotRepository snapshotRepository;
+
+    public InMemoryMetricHistoryRepository(MetricSnapshotRepository snapshotRepository) {
+        this.snapshotRepository = Objects.requireNonNull(snapshotRepository, "snapshotRepository cannot be null");
+    }
+
+    @Override
+    public List<MetricPoint> aggregate(AssetId assetId, Instant from, Instant to, Duration step, Aggregation aggregation) {
+        List<MetricSnapshot> inRange = snapshotRepository.findLatestByAssetId(assetId, Integer.MAX_VALUE).stream()
+                .filter(snapshot -> !snapshot.collectedAt().isBefore(from) && snapshot.collectedAt().isBefore(to))
+                .toList();
+        return MetricPoint.aggregate(inRange, step, aggregation);
+    }
+}
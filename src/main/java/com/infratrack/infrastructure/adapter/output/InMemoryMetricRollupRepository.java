@@ -0,0 +1,32 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricRollupRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryMetricRollupRepository implements MetricRollupRepository {
+
+    private final Map<MetricRollup.Key, MetricRollup> store = new ConcurrentHashMap<>();
+
+    @Override
+    public void mergeAll(Collection<MetricRollup> deltas) {
+        deltas.forEach(delta -> store.merge(delta.key(), delta, MetricRollup::merge));
+    }
+
+    @Override
+    public List<MetricRollup> findByAssetId(AssetId assetId, RollupTier tier, Instant from, Instant to) {
+        return store.values().stream()
+                .filter(rollup -> rollup.assetId().equals(assetId) && rollup.tier() == tier)
+                .filter(rollup -> !rollup.bucketStart().isBefore(from) && rollup.bucketStart().isBefore(to))
+                .sorted(Comparator.comparing(MetricRollup::bucketStart))
+                .toList();
+    }
+}
@@ -0,0 +1,33 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricSketchRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.RollupTier;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryMetricSketchRepository implements MetricSketchRepository {
+
+    private final Map<MetricRollup.Key, MetricSketch> store = new ConcurrentHashMap<>();
+
+    @Override
+    public void mergeAll(Collection<MetricSketch> deltas) {
+        deltas.forEach(delta -> store.merge(delta.key(), delta, MetricSketch::merge));
+    }
+
+    @Override
+    public List<MetricSketch> findByAssetId(AssetId assetId, RollupTier tier, Instant from, Instant to) {
+        return store.values().stream()
+                .filter(sketch -> sketch.assetId().equals(assetId) && sketch.tier() == tier)
+                .filter(sketch -> !sketch.bucketStart().isBefore(from) && sketch.bucketStart().isBefore(to))
+                .sorted(Comparator.comparing(MetricSketch::bucketStart))
+                .toList();
+    }
+}
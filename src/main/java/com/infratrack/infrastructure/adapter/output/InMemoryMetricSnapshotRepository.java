@@ -12,12 +12,17 @@ public class InMemoryMetricSnapshotRepository implements MetricSnapshotRepositor
     private final List<MetricSnapshot> store = new ArrayList<>();
 
     @Override
-    public void save(MetricSnapshot snapshot) {
+    public synchronized void save(MetricSnapshot snapshot) {
         store.add(snapshot);
     }
 
     @Override
-    public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+    public synchronized void saveAll(List<MetricSnapshot> snapshots) {
+        store.addAll(snapshots);
+    }
+
+    @Override
+    public synchronized List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
         return store.stream()
                 .filter(s -> s.assetId().equals(assetId))
                 .sorted((a, b) -> b.collectedAt().compareTo(a.collectedAt()))
@@ -0,0 +1,208 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.FleetMetricsRepository;
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.FleetMetricPoint;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.QuantileSketch;
+import com.infratrack.domain.model.RollupTier;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Fleet metrics grouped in SQL: snapshots or rollups in range are bucketed, joined
+ * to {@code assets} and reduced with one {@code GROUP BY type, status, bucket}, so
+ * only the points cross the wire however many assets there are.
+ * <p>
+ * Rollup buckets merge exactly: min of mins, max of maxes, and sum of sums over
+ * sum of counts for the average. Quantile sketches cannot be merged in SQL: their
+ * rows are streamed and merged here per group and bucket, holding one set of
+ * sketches per point rather than the rows. With compressed storage the raw samples
+ * are not in {@code metrics}; raw queries then go to {@code rawDelegate}, which is
+ * closed along with this repository.
+ */
+public class JdbcFleetMetricsRepository implements FleetMetricsRepository, AutoCloseable {
+
+    // Buckets are step seconds wide and aligned on the epoch, like MetricPoint.bucketOf
+    private static final String BUCKET = "CAST(FLOOR(EXTRACT(EPOCH FROM %s) / CAST(? AS BIGINT)) AS BIGINT)"
+            + " * CAST(? AS BIGINT) AS bucket";
+
+    private record PointKey(AssetType type, AssetStatus status, Instant bucketStart) {
+    }
+
+    // One point being merged from sketch rows
+    private static final class SketchPoint {
+        private final Set<UUID> assets = new HashSet<>();
+        private final QuantileSketch cpu = new QuantileSketch();
+        private final QuantileSketch memory = new QuantileSketch();
+        private final QuantileSketch disk = new QuantileSketch();
+    }
+
+    private static final Comparator<PointKey> POINT_ORDER = Comparator
+            .comparing((PointKey key) -> key.type().name())
+            .thenComparing(key -> key.status().name())
+            .thenComparing(PointKey::bucketStart);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FleetMetricsRepository rawDelegate;
+
+    public JdbcFleetMetricsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate cannot be null");
+        this.rawDelegate = null;
+    }
+
+    public JdbcFleetMetricsRepository(JdbcTemplate jdbcTemplate, FleetMetricsRepository rawDelegate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate cannot be null");
+        this.rawDelegate = Objects.requireNonNull(rawDelegate, "rawDelegate cannot be null");
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (rawDelegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Override
+    public List<FleetMetricPoint> aggregate(Instant from, Instant to, Duration step, Aggregation aggregation,
+                                            AssetType type, AssetStatus status) {
+        if (rawDelegate != null) {
+            return rawDelegate.aggregate(from, to, step, aggregation, type, status);
+        }
+        String sql = "SELECT a.type, a.status, s.bucket, COUNT(DISTINCT s.asset_id) AS assets, COUNT(*) AS samples, "
+                + rawReduce(aggregation, "cpu_usage") + " AS cpu, "
+                + rawReduce(aggregation, "memory_usage") + " AS memory, "
+                + rawReduce(aggregation, "disk_usage") + " AS disk"
+                + " FROM (SELECT asset_id, cpu_usage, memory_usage, disk_usage, " + BUCKET.formatted("collected_at")
+                + " FROM metrics WHERE collected_at >= ? AND collected_at < ?) s";
+        return query(sql, step, from, to, null, type, status);
+    }
+
+    @Override
+    public List<FleetMetricPoint> aggregateRollups(RollupTier tier, Instant from, Instant to, Duration step,
+                                                   Aggregation aggregation, AssetType type, AssetStatus status) {
+        if (!aggregation.servedByRollups()) {
+            throw new IllegalArgumentException(aggregation.label() + " cannot be computed from rollups");
+        }
+        String sql = "SELECT a.type, a.status, s.bucket, COUNT(DISTINCT s.asset_id) AS assets,"
+                + " SUM(s.sample_count) AS samples, "
+                + rollupReduce(aggregation, "cpu") + " AS cpu, "
+                + rollupReduce(aggregation, "memory") + " AS memory, "
+                + rollupReduce(aggregation, "disk") + " AS disk"
+                + " FROM (SELECT asset_id, sample_count, cpu_min, cpu_max, cpu_sum, memory_min, memory_max, memory_sum,"
+                + " disk_min, disk_max, disk_sum, " + BUCKET.formatted("bucket_start")
+                + " FROM metric_rollups WHERE tier = ? AND bucket_start >= ? AND bucket_start < ?) s";
+        return query(sql, step, from, to, tier, type, status);
+    }
+
+    @Override
+    public List<FleetMetricPoint> aggregateSketches(RollupTier tier, Instant from, Instant to, Duration step,
+                                                    Aggregation aggregation, AssetType type, AssetStatus status) {
+        double fraction = aggregation.fraction().orElseThrow(() ->
+                new IllegalArgumentException(aggregation.label() + " cannot be computed from sketches"));
+        StringBuilder sql = new StringBuilder("SELECT a.type, a.status, s.asset_id, s.bucket_start, s.cpu, s.memory, s.disk"
+                + " FROM metric_sketches s JOIN assets a ON a.id = s.asset_id"
+                + " WHERE s.tier = ? AND s.bucket_start >= ? AND s.bucket_start < ? AND s.sample_count > 0");
+        List<Object> args = new ArrayList<>(List.of(tier.label(), utc(from), utc(to)));
+        if (type != null) {
+            sql.append(" AND a.type = ?");
+            args.add(type.name());
+        }
+        if (status != null) {
+            sql.append(" AND a.status = ?");
+            args.add(status.name());
+        }
+        Map<PointKey, SketchPoint> points = new TreeMap<>(POINT_ORDER);
+        jdbcTemplate.query(sql.toString(), rs -> {
+            PointKey key = new PointKey(
+                    AssetType.valueOf(rs.getString("type")),
+                    AssetStatus.valueOf(rs.getString("status")),
+                    MetricPoint.bucketOf(rs.getObject("bucket_start", OffsetDateTime.class).toInstant(), step));
+            SketchPoint point = points.computeIfAbsent(key, k -> new SketchPoint());
+            point.assets.add(rs.getObject("asset_id", UUID.class));
+            point.cpu.merge(QuantileSketch.decode(rs.getBytes("cpu")));
+            point.memory.merge(QuantileSketch.decode(rs.getBytes("memory")));
+            point.disk.merge(QuantileSketch.decode(rs.getBytes("disk")));
+        }, args.toArray());
+        List<FleetMetricPoint> result = new ArrayList<>(points.size());
+        points.forEach((key, point) -> result.add(new FleetMetricPoint(key.type(), key.status(), key.bucketStart(),
+                point.assets.size(), point.cpu.count(),
+                point.cpu.quantile(fraction), point.memory.quantile(fraction), point.disk.quantile(fraction))));
+        return result;
+    }
+
+    private List<FleetMetricPoint> query(String subquery, Duration step, Instant from, Instant to,
+                                         RollupTier tier, AssetType type, AssetStatus status) {
+        StringBuilder sql = new StringBuilder(subquery).append(" JOIN assets a ON a.id = s.asset_id");
+        List<Object> args = new ArrayList<>(List.of(step.getSeconds(), step.getSeconds()));
+        if (tier != null) {
+            args.add(tier.label());
+        }
+        args.add(utc(from));
+        args.add(utc(to));
+        String where = " WHERE ";
+        if (type != null) {
+            sql.append(where).append("a.type = ?");
+            args.add(type.name());
+            where = " AND ";
+        }
+        if (status != null) {
+            sql.append(where).append("a.status = ?");
+            args.add(status.name());
+        }
+        sql.append(" GROUP BY a.type, a.status, s.bucket ORDER BY a.type, a.status, s.bucket");
+        return jdbcTemplate.query(sql.toString(), JdbcFleetMetricsRepository::map, args.toArray());
+    }
+
+    private static String rawReduce(Aggregation aggregation, String column) {
+        return switch (aggregation) {
+            case MIN -> "MIN(" + column + ")";
+            case MAX -> "MAX(" + column + ")";
+            case AVG -> "AVG(" + column + ")";
+            case P95, P99 -> "PERCENTILE_CONT(" + aggregation.fraction().orElseThrow()
+                    + ") WITHIN GROUP (ORDER BY " + column + ")";
+        };
+    }
+
+    private static String rollupReduce(Aggregation aggregation, String usage) {
+        return switch (aggregation) {
+            case MIN -> "MIN(s." + usage + "_min)";
+            case MAX -> "MAX(s." + usage + "_max)";
+            case AVG -> "SUM(s." + usage + "_sum) / SUM(s.sample_count)";
+            case P95, P99 -> throw new IllegalArgumentException("percentiles cannot be computed from rollups");
+        };
+    }
+
+    private static FleetMetricPoint map(ResultSet rs, int rowNum) throws SQLException {
+        return new FleetMetricPoint(
+                AssetType.valueOf(rs.getString("type")),
+                AssetStatus.valueOf(rs.getString("status")),
+                Instant.ofEpochSecond(rs.getLong("bucket")),
+                rs.getLong("assets"),
+                rs.getLong("samples"),
+                rs.getDouble("cpu"),
+                rs.getDouble("memory"),
+                rs.getDouble("disk"));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
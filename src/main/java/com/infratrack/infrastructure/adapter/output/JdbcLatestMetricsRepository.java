@@ -0,0 +1,133 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.LatestMetricsRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the latest snapshot of each asset in {@code asset_latest_metrics}, one
+ * row per asset, with one batched upsert per write.
+ * <p>
+ * On PostgreSQL it is {@code INSERT ... ON CONFLICT DO UPDATE}; elsewhere (H2) a
+ * standard {@code MERGE}. Both only overwrite an older row, so batches written out
+ * of order by concurrent writers never move an asset back in time. A batch is
+ * reduced to one row per asset first (a multi-row upsert may not touch a row twice)
+ * and applied in asset order, so concurrent writers lock rows in the same order.
+ */
+public class JdbcLatestMetricsRepository implements LatestMetricsRepository {
+
+    private static final String COLUMNS = "asset_id, cpu_usage, memory_usage, disk_usage, collected_at";
+
+    private static final String POSTGRES_UPSERT = "INSERT INTO asset_latest_metrics (" + COLUMNS + ")"
+            + " VALUES (?, ?, ?, ?, ?)"
+            + " ON CONFLICT (asset_id) DO UPDATE SET"
+            + " cpu_usage = EXCLUDED.cpu_usage, memory_usage = EXCLUDED.memory_usage,"
+            + " disk_usage = EXCLUDED.disk_usage, collected_at = EXCLUDED.collected_at"
+            + " WHERE asset_latest_metrics.collected_at < EXCLUDED.collected_at";
+
+    private static final String STANDARD_MERGE = "MERGE INTO asset_latest_metrics l"
+            + " USING (VALUES (CAST(? AS UUID), CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION),"
+            + " CAST(? AS DOUBLE PRECISION), CAST(? AS TIMESTAMP WITH TIME ZONE)))"
+            + " AS d(" + COLUMNS + ")"
+            + " ON l.asset_id = d.asset_id"
+            + " WHEN MATCHED AND l.collected_at < d.collected_at THEN UPDATE SET"
+            + " cpu_usage = d.cpu_usage, memory_usage = d.memory_usage,"
+            + " disk_usage = d.disk_usage, collected_at = d.collected_at"
+            + " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES ("
+            + "d." + COLUMNS.replace(", ", ", d.") + ")";
+
+    private static final BinaryOperator<MetricSnapshot> NEWEST =
+            (a, b) -> b.collectedAt().isAfter(a.collectedAt()) ? b : a;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsert;
+
+    public JdbcLatestMetricsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate cannot be null");
+    }
+
+    @Override
+    public void upsertAll(Collection<MetricSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        List<MetricSnapshot> latest = snapshots.stream()
+                .collect(Collectors.toMap(MetricSnapshot::assetId, snapshot -> snapshot, NEWEST))
+                .values().stream()
+                .sorted(Comparator.comparing(snapshot -> snapshot.assetId().getValue()))
+                .toList();
+        jdbcTemplate.batchUpdate(upsertStatement(), latest, latest.size(), JdbcLatestMetricsRepository::bind);
+    }
+
+    @Override
+    public Optional<MetricSnapshot> findByAssetId(AssetId assetId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM asset_latest_metrics WHERE asset_id = ?",
+                JdbcLatestMetricsRepository::map, assetId.getValue()).stream().findFirst();
+    }
+
+    @Override
+    public Map<AssetId, MetricSnapshot> findByAssetIds(Collection<AssetId> assetIds) {
+        if (assetIds.isEmpty()) {
+            return Map.of();
+        }
+        Object[] ids = assetIds.stream().map(AssetId::getValue).toArray();
+        String placeholders = String.join(", ", Collections.nCopies(ids.length, "?"));
+        Map<AssetId, MetricSnapshot> latest = new HashMap<>();
+        jdbcTemplate.query("SELECT " + COLUMNS + " FROM asset_latest_metrics WHERE asset_id IN (" + placeholders + ")",
+                        JdbcLatestMetricsRepository::map, ids)
+                .forEach(snapshot -> latest.put(snapshot.assetId(), snapshot));
+        return latest;
+    }
+
+    private String upsertStatement() {
+        String statement = upsert;
+        if (statement == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            statement = "PostgreSQL".equals(product) ? POSTGRES_UPSERT : STANDARD_MERGE;
+            upsert = statement;
+        }
+        return statement;
+    }
+
+    private static void bind(PreparedStatement statement, MetricSnapshot snapshot) throws SQLException {
+        statement.setObject(1, snapshot.assetId().getValue());
+        statement.setDouble(2, snapshot.cpuUsage());
+        statement.setDouble(3, snapshot.memoryUsage());
+        statement.setDouble(4, snapshot.diskUsage());
+        statement.setObject(5, utc(snapshot.collectedAt()));
+    }
+
+    private static MetricSnapshot map(ResultSet rs, int rowNum) throws SQLException {
+        return MetricSnapshot.reconstruct(
+                AssetId.of(rs.getObject("asset_id", UUID.class)),
+                rs.getDouble("cpu_usage"),
+                rs.getDouble("memory_usage"),
+                rs.getDouble("disk_usage"),
+                rs.getObject("collected_at", OffsetDateTime.class).toInstant());
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
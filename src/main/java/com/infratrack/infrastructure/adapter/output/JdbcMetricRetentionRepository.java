@@ -0,0 +1,93 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricRetentionRepository;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.RollupTier;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * Chunked retention deletes. Neither PostgreSQL nor H2 has {@code DELETE ... LIMIT},
+ * so each statement picks at most {@code limit} keys in a sub-select and deletes
+ * those; every statement runs in its own auto-committed transaction. The outer
+ * time bound lets PostgreSQL prune the daily partitions of {@code metrics}.
+ */
+public class JdbcMetricRetentionRepository implements MetricRetentionRepository {
+
+    private static final String DELETE_SNAPSHOTS = """
+            DELETE FROM metrics
+            WHERE collected_at < ?
+              AND id IN (SELECT m.id
+                         FROM metrics m
+                         JOIN assets a ON a.id = m.asset_id
+                         WHERE a.type = ? AND m.collected_at < ?
+                         LIMIT ?)
+            """;
+
+    private static final String DELETE_BLOCKS = """
+            DELETE FROM metric_blocks
+            WHERE block_end < ?
+              AND (asset_id, block_start) IN (SELECT b.asset_id, b.block_start
+                                              FROM metric_blocks b
+                                              JOIN assets a ON a.id = b.asset_id
+                                              WHERE a.type = ? AND b.block_end < ?
+                                              LIMIT ?)
+            """;
+
+    private static final String DELETE_ROLLUPS = """
+            DELETE FROM metric_rollups
+            WHERE tier = ? AND bucket_start < ?
+              AND (asset_id, bucket_start) IN (SELECT r.asset_id, r.bucket_start
+                                               FROM metric_rollups r
+                                               JOIN assets a ON a.id = r.asset_id
+                                               WHERE a.type = ? AND r.tier = ? AND r.bucket_start < ?
+                                               LIMIT ?)
+            """;
+
+    private static final String DELETE_SKETCHES = """
+            DELETE FROM metric_sketches
+            WHERE tier = ? AND bucket_start < ?
+              AND (asset_id, bucket_start) IN (SELECT s.asset_id, s.bucket_start
+                                               FROM metric_sketches s
+                                               JOIN assets a ON a.id = s.asset_id
+                                               WHERE a.type = ? AND s.tier = ? AND s.bucket_start < ?
+                                               LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcMetricRetentionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate cannot be null");
+    }
+
+    @Override
+    public int deleteSnapshotsBefore(AssetType type, Instant cutoff, int limit) {
+        OffsetDateTime before = utc(cutoff);
+        return jdbcTemplate.update(DELETE_SNAPSHOTS, before, type.name(), before, limit);
+    }
+
+    @Override
+    public int deleteBlocksBefore(AssetType type, Instant cutoff, int limit) {
+        OffsetDateTime before = utc(cutoff);
+        return jdbcTemplate.update(DELETE_BLOCKS, before, type.name(), before, limit);
+    }
+
+    /** A tier is its rollups and, where the tier is sketched, its quantile sketches. */
+    @Override
+    public int deleteRollupsBefore(AssetType type, RollupTier tier, Instant cutoff, int limit) {
+        OffsetDateTime before = utc(cutoff);
+        int rows = jdbcTemplate.update(DELETE_ROLLUPS, tier.label(), before, type.name(), tier.label(), before, limit);
+        if (rows < limit) {
+            rows += jdbcTemplate.update(DELETE_SKETCHES, tier.label(), before, type.name(), tier.label(), before, limit - rows);
+        }
+        return rows;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,145 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricRollupRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.RollupTier;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Stores rollups in {@code metric_rollups} with one batched upsert per merge.
+ * <p>
+ * The upsert is done in SQL, so concurrent writers merging into the same bucket
+ * never lose an update. On PostgreSQL it is {@code INSERT ... ON CONFLICT DO UPDATE};
+ * elsewhere (H2) a standard {@code MERGE}. Deltas are applied in key order so that
+ * two writers touching overlapping buckets lock them in the same order and cannot
+ * deadlock.
+ */
+public class JdbcMetricRollupRepository implements MetricRollupRepository {
+
+    private static final String COLUMNS = "asset_id, tier, bucket_start, sample_count, "
+            + "cpu_min, cpu_max, cpu_sum, memory_min, memory_max, memory_sum, disk_min, disk_max, disk_sum";
+
+    private static final String POSTGRES_UPSERT = "INSERT INTO metric_rollups (" + COLUMNS + ")"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON CONFLICT (asset_id, tier, bucket_start) DO UPDATE SET"
+            + " sample_count = metric_rollups.sample_count + EXCLUDED.sample_count,"
+            + mergeAssignments("metric_rollups", "EXCLUDED");
+
+    private static final String STANDARD_MERGE = "MERGE INTO metric_rollups r"
+            + " USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(4)), CAST(? AS TIMESTAMP WITH TIME ZONE),"
+            + " CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION),"
+            + " CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION),"
+            + " CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION)))"
+            + " AS d(" + COLUMNS + ")"
+            + " ON r.asset_id = d.asset_id AND r.tier = d.tier AND r.bucket_start = d.bucket_start"
+            + " WHEN MATCHED THEN UPDATE SET"
+            + " sample_count = r.sample_count + d.sample_count,"
+            + mergeAssignments("r", "d")
+            + " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES ("
+            + "d." + COLUMNS.replace(", ", ", d.") + ")";
+
+    private static final Comparator<MetricRollup> KEY_ORDER = Comparator
+            .comparing((MetricRollup rollup) -> rollup.assetId().toString())
+            .thenComparing(MetricRollup::tier)
+            .thenComparing(MetricRollup::bucketStart);
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsert;
+
+    public JdbcMetricRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate cannot be null");
+    }
+
+    @Override
+    public void mergeAll(Collection<MetricRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<MetricRollup> ordered = deltas.stream().sorted(KEY_ORDER).toList();
+        jdbcTemplate.batchUpdate(upsertStatement(), ordered, ordered.size(), JdbcMetricRollupRepository::bind);
+    }
+
+    @Override
+    public List<MetricRollup> findByAssetId(AssetId assetId, RollupTier tier, Instant from, Instant to) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM metric_rollups"
+                        + " WHERE asset_id = ? AND tier = ? AND bucket_start >= ? AND bucket_start < ?"
+                        + " ORDER BY bucket_start",
+                JdbcMetricRollupRepository::map,
+                assetId.getValue(), tier.label(), utc(from), utc(to));
+    }
+
+    private String upsertStatement() {
+        String statement = upsert;
+        if (statement == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            statement = "PostgreSQL".equals(product) ? POSTGRES_UPSERT : STANDARD_MERGE;
+            upsert = statement;
+        }
+        return statement;
+    }
+
+    private static String mergeAssignments(String stored, String delta) {
+        StringBuilder sql = new StringBuilder();
+        for (String usage : List.of("cpu", "memory", "disk")) {
+            sql.append(' ').append(usage).append("_min = LEAST(").append(stored).append('.').append(usage)
+                    .append("_min, ").append(delta).append('.').append(usage).append("_min),");
+            sql.append(' ').append(usage).append("_max = GREATEST(").append(stored).append('.').append(usage)
+                    .append("_max, ").append(delta).append('.').append(usage).append("_max),");
+            sql.append(' ').append(usage).append("_sum = ").append(stored).append('.').append(usage)
+                    .append("_sum + ").append(delta).append('.').append(usage).append("_sum,");
+        }
+        return sql.substring(0, sql.length() - 1);
+    }
+
+    private static void bind(PreparedStatement statement, MetricRollup rollup) throws SQLException {
+        statement.setObject(1, rollup.assetId().getValue());
+        statement.setString(2, rollup.tier().label());
+        statement.setObject(3, utc(rollup.bucketStart()));
+        statement.setLong(4, rollup.count());
+        bindStats(statement, 5, rollup.cpu());
+        bindStats(statement, 8, rollup.memory());
+        bindStats(statement, 11, rollup.disk());
+    }
+
+    private static void bindStats(PreparedStatement statement, int index, MetricRollup.Stats stats) throws SQLException {
+        statement.setDouble(index, stats.min());
+        statement.setDouble(index + 1, stats.max());
+        statement.setDouble(index + 2, stats.sum());
+    }
+
+    private static MetricRollup map(ResultSet rs, int rowNum) throws SQLException {
+        String tier = rs.getString("tier");
+        return new MetricRollup(
+                AssetId.of(rs.getObject("asset_id", UUID.class)),
+                RollupTier.fromLabel(tier).orElseThrow(() -> new IllegalStateException("Unknown rollup tier: " + tier)),
+                rs.getObject("bucket_start", OffsetDateTime.class).toInstant(),
+                rs.getLong("sample_count"),
+                stats(rs, "cpu"),
+                stats(rs, "memory"),
+                stats(rs, "disk"));
+    }
+
+    private static MetricRollup.Stats stats(ResultSet rs, String usage) throws SQLException {
+        return new MetricRollup.Stats(rs.getDouble(usage + "_min"), rs.getDouble(usage + "_max"), rs.getDouble(usage + "_sum"));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
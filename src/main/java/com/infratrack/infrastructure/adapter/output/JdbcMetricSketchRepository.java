@@ -0,0 +1,187 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricSketchRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.QuantileSketch;
+import com.infratrack.domain.model.RollupTier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Stores sketches in {@code metric_sketches}, merging each batch in one transaction.
+ * <p>
+ * Unlike rollup sums, binary sketches cannot be merged inside an upsert, so a merge
+ * first inserts the missing buckets empty, then reads the buckets {@code FOR UPDATE},
+ * merges in memory and writes them back. The row locks keep concurrent writers from
+ * losing each other's samples; buckets are locked in one global order (tier, asset,
+ * bucket) so two writers cannot deadlock. On H2, whose MERGE does not skip a row a
+ * concurrent writer has just inserted, the losing transaction is retried.
+ */
+public class JdbcMetricSketchRepository implements MetricSketchRepository {
+
+    private static final String COLUMNS = "asset_id, tier, bucket_start, sample_count, cpu, memory, disk";
+
+    private static final String POSTGRES_INSERT_MISSING = "INSERT INTO metric_sketches (" + COLUMNS + ")"
+            + " VALUES (?, ?, ?, 0, ?, ?, ?) ON CONFLICT (asset_id, tier, bucket_start) DO NOTHING";
+
+    private static final String STANDARD_INSERT_MISSING = "MERGE INTO metric_sketches s"
+            + " USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(4)), CAST(? AS TIMESTAMP WITH TIME ZONE),"
+            + " CAST(? AS BINARY VARYING), CAST(? AS BINARY VARYING), CAST(? AS BINARY VARYING)))"
+            + " AS d(asset_id, tier, bucket_start, cpu, memory, disk)"
+            + " ON s.asset_id = d.asset_id AND s.tier = d.tier AND s.bucket_start = d.bucket_start"
+            + " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ")"
+            + " VALUES (d.asset_id, d.tier, d.bucket_start, 0, d.cpu, d.memory, d.disk)";
+
+    private static final String UPDATE = "UPDATE metric_sketches SET sample_count = ?, cpu = ?, memory = ?, disk = ?"
+            + " WHERE asset_id = ? AND tier = ? AND bucket_start = ?";
+
+    // UUIDs order by their hex form in PostgreSQL and H2 alike, so this matches ORDER BY asset_id
+    private static final Comparator<MetricSketch> LOCK_ORDER = Comparator
+            .comparing(MetricSketch::tier)
+            .thenComparing(sketch -> sketch.assetId().toString())
+            .thenComparing(MetricSketch::bucketStart);
+
+    private static final byte[] EMPTY = new QuantileSketch().encode();
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactions;
+    private volatile String insertMissing;
+
+    public JdbcMetricSketchRepository(JdbcTemplate jdbcTemplate, TransactionOperations transactions) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate cannot be null");
+        this.transactions = Objects.requireNonNull(transactions, "transactions cannot be null");
+    }
+
+    @Override
+    public void mergeAll(Collection<MetricSketch> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<MetricRollup.Key, MetricSketch> byKey = new LinkedHashMap<>();
+        deltas.forEach(delta -> byKey.merge(delta.key(), delta, MetricSketch::merge));
+        List<MetricSketch> ordered = byKey.values().stream().sorted(LOCK_ORDER).toList();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactions.executeWithoutResult(status -> merge(ordered));
+                return;
+            } catch (DuplicateKeyException e) {
+                // Another writer created one of the buckets first; it exists now
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void merge(List<MetricSketch> ordered) {
+        jdbcTemplate.batchUpdate(insertMissingStatement(), ordered, ordered.size(), (statement, sketch) -> {
+            statement.setObject(1, sketch.assetId().getValue());
+            statement.setString(2, sketch.tier().label());
+            statement.setObject(3, utc(sketch.bucketStart()));
+            statement.setBytes(4, EMPTY);
+            statement.setBytes(5, EMPTY);
+            statement.setBytes(6, EMPTY);
+        });
+        Map<MetricRollup.Key, MetricSketch> stored = lock(ordered);
+        List<MetricSketch> merged = ordered.stream()
+                .map(delta -> stored.getOrDefault(delta.key(), MetricSketch.empty(
+                        delta.assetId(), delta.tier(), delta.bucketStart())).merge(delta))
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE, merged, merged.size(), (statement, sketch) -> {
+            statement.setLong(1, sketch.count());
+            statement.setBytes(2, sketch.cpu().encode());
+            statement.setBytes(3, sketch.memory().encode());
+            statement.setBytes(4, sketch.disk().encode());
+            statement.setObject(5, sketch.assetId().getValue());
+            statement.setString(6, sketch.tier().label());
+            statement.setObject(7, utc(sketch.bucketStart()));
+        });
+    }
+
+    @Override
+    public List<MetricSketch> findByAssetId(AssetId assetId, RollupTier tier, Instant from, Instant to) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM metric_sketches"
+                        + " WHERE asset_id = ? AND tier = ? AND bucket_start >= ? AND bucket_start < ?"
+                        + " ORDER BY bucket_start",
+                JdbcMetricSketchRepository::map,
+                assetId.getValue(), tier.label(), utc(from), utc(to));
+    }
+
+    // One locking read per tier over the assets and buckets of the batch; it may
+    // also lock a few untouched buckets, never miss one
+    private Map<MetricRollup.Key, MetricSketch> lock(List<MetricSketch> ordered) {
+        Map<MetricRollup.Key, MetricSketch> stored = new HashMap<>();
+        Map<RollupTier, List<MetricSketch>> byTier = ordered.stream()
+                .collect(Collectors.groupingBy(MetricSketch::tier, LinkedHashMap::new, Collectors.toList()));
+        byTier.forEach((tier, sketches) -> {
+            List<UUID> assets = sketches.stream().map(sketch -> sketch.assetId().getValue()).distinct().toList();
+            List<OffsetDateTime> buckets = sketches.stream().map(sketch -> utc(sketch.bucketStart())).distinct().toList();
+            List<Object> args = new ArrayList<>();
+            args.add(tier.label());
+            args.addAll(assets);
+            args.addAll(buckets);
+            jdbcTemplate.query("SELECT " + COLUMNS + " FROM metric_sketches WHERE tier = ?"
+                            + " AND asset_id IN (" + placeholders(assets.size()) + ")"
+                            + " AND bucket_start IN (" + placeholders(buckets.size()) + ")"
+                            + " ORDER BY asset_id, bucket_start FOR UPDATE",
+                    JdbcMetricSketchRepository::map, args.toArray())
+                    .forEach(sketch -> stored.put(sketch.key(), sketch));
+        });
+        return stored;
+    }
+
+    private String insertMissingStatement() {
+        String statement = insertMissing;
+        if (statement == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            statement = "PostgreSQL".equals(product) ? POSTGRES_INSERT_MISSING : STANDARD_INSERT_MISSING;
+            insertMissing = statement;
+        }
+        return statement;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    static MetricSketch map(ResultSet rs, int rowNum) throws SQLException {
+        String tier = rs.getString("tier");
+        return new MetricSketch(
+                AssetId.of(rs.getObject("asset_id", UUID.class)),
+                RollupTier.fromLabel(tier).orElseThrow(() -> new IllegalStateException("Unknown rollup tier: " + tier)),
+                rs.getObject("bucket_start", OffsetDateTime.class).toInstant(),
+                QuantileSketch.decode(rs.getBytes("cpu")),
+                QuantileSketch.decode(rs.getBytes("memory")),
+                QuantileSketch.decode(rs.getBytes("disk")));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
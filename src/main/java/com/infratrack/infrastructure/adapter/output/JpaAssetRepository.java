@@ -25,7 +25,7 @@ public class JpaAssetRepository implements AssetRepository {
 
     @Override
     public Optional<Asset> findById(AssetId id) {
-        return springRepo.findById(id.toString()).map(AssetMapper::toDomain);
+        return springRepo.findById(id.getValue()).map(AssetMapper::toDomain);
     }
 
     @Override
@@ -40,7 +40,7 @@ public class JpaAssetRepository implements AssetRepository {
 
     @Override
     public void delete(AssetId id) {
-        springRepo.deleteById(id.toString());
+        springRepo.deleteById(id.getValue());
     }
 
     @Override
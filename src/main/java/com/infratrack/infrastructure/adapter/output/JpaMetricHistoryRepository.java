@@ -0,0 +1,43 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricHistoryRepository;
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.infrastructure.persistence.MetricBucketView;
+import com.infratrack.infrastructure.persistence.SpringDataMetricSnapshotRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/** Buckets and aggregates the {@code metrics} rows in SQL, one native query per aggregation. */
+public class JpaMetricHistoryRepository implements MetricHistoryRepository {
+
+    private final SpringDataMetricSnapshotRepository snapshotRepository;
+
+    public JpaMetricHistoryRepository(SpringDataMetricSnapshotRepository snapshotRepository) {
+        this.snapshotRepository = Objects.requireNonNull(snapshotRepository, "SpringDataMetricSnapshotRepository cannot be null");
+    }
+
+    @Override
+    public List<MetricPoint> aggregate(AssetId assetId, Instant from, Instant to, Duration step, Aggregation aggregation) {
+        long seconds = step.getSeconds();
+        List<MetricBucketView> rows = switch (aggregation) {
+            case MIN -> snapshotRepository.findMinByBucket(assetId.getValue(), from, to, seconds);
+            case MAX -> snapshotRepository.findMaxByBucket(assetId.getValue(), from, to, seconds);
+            case AVG -> snapshotRepository.findAvgByBucket(assetId.getValue(), from, to, seconds);
+            case P95 -> snapshotRepository.findP95ByBucket(assetId.getValue(), from, to, seconds);
+            case P99 -> snapshotRepository.findP99ByBucket(assetId.getValue(), from, to, seconds);
+        };
+        return rows.stream()
+                .map(row -> new MetricPoint(
+                        Instant.ofEpochSecond(row.getBucket().longValue()),
+                        row.getSamples().longValue(),
+                        row.getCpu().doubleValue(),
+                        row.getMemory().doubleValue(),
+                        row.getDisk().doubleValue()))
+                .toList();
+    }
+}
@@ -3,19 +3,48 @@ package com.infratrack.infrastructure.adapter.output;
 import com.infratrack.application.port.output.MetricSnapshotRepository;
 import com.infratrack.domain.model.AssetId;
 import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.infrastructure.persistence.MetricSnapshotJpaEntity;
 import com.infratrack.infrastructure.persistence.MetricSnapshotMapper;
 import com.infratrack.infrastructure.persistence.SpringDataMetricSnapshotRepository;
 import org.springframework.data.domain.Limit;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class JpaMetricSnapshotRepository implements MetricSnapshotRepository {
 
     private final SpringDataMetricSnapshotRepository snapshotRepository;
+    private final Duration lookback;
+    private final Clock clock;
 
     public JpaMetricSnapshotRepository(SpringDataMetricSnapshotRepository snapshotRepository) {
+        this(snapshotRepository, Duration.ZERO);
+    }
+
+    /**
+     * @param lookback window searched first by {@link #findLatestByAssetId}; the time
+     *                 bound lets PostgreSQL prune the daily partitions of {@code metrics}
+     *                 down to the last few. Zero always searches the whole table.
+     */
+    public JpaMetricSnapshotRepository(SpringDataMetricSnapshotRepository snapshotRepository, Duration lookback) {
+        this(snapshotRepository, lookback, Clock.systemUTC());
+    }
+
+    public JpaMetricSnapshotRepository(SpringDataMetricSnapshotRepository snapshotRepository,
+                                       Duration lookback,
+                                       Clock clock) {
         this.snapshotRepository = Objects.requireNonNull(snapshotRepository, "snapshotRepository cannot be null");
+        this.lookback = Objects.requireNonNull(lookback, "lookback cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
     }
 
     @Override
@@ -23,9 +52,51 @@ public class JpaMetricSnapshotRepository implements MetricSnapshotRepository {
         snapshotRepository.save(MetricSnapshotMapper.toJpaEntity(snapshot));
     }
 
+    // One transaction; Hibernate groups the INSERTs into JDBC batches of
+    // hibernate.jdbc.batch_size, which the Postgres driver rewrites into multi-row INSERTs.
+    @Override
+    public void saveAll(List<MetricSnapshot> snapshots) {
+        snapshotRepository.saveAll(snapshots.stream().map(MetricSnapshotMapper::toJpaEntity).toList());
+    }
+
+    // Recent window first: only its partitions are scanned. Falls back to the whole
+    // table when the window does not hold enough snapshots (an asset that was down).
     @Override
     public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
-        return snapshotRepository.findByAssetIdOrderByCollectedAtDesc(assetId.toString(), Limit.of(numberOfSnapshots))
-                .stream().map(MetricSnapshotMapper::fromJpaEntity).toList();
+        List<MetricSnapshotJpaEntity> latest = null;
+        if (!lookback.isZero()) {
+            latest = snapshotRepository.findByAssetIdAndCollectedAtGreaterThanEqualOrderByCollectedAtDesc(
+                    assetId.getValue(), clock.instant().minus(lookback), Limit.of(numberOfSnapshots));
+        }
+        if (latest == null || latest.size() < numberOfSnapshots) {
+            latest = snapshotRepository.findByAssetIdOrderByCollectedAtDesc(assetId.getValue(), Limit.of(numberOfSnapshots));
+        }
+        return latest.stream().map(MetricSnapshotMapper::fromJpaEntity).toList();
+    }
+
+    // Same two steps as findLatestByAssetId, but one query each for the whole set
+    @Override
+    public Map<AssetId, List<MetricSnapshot>> findLatestByAssetIds(Collection<AssetId> assetIds, int numberOfSnapshots) {
+        Map<AssetId, List<MetricSnapshot>> latest = new LinkedHashMap<>();
+        assetIds.forEach(assetId -> latest.put(assetId, List.of()));
+        Set<AssetId> remaining = latest.keySet();
+        if (!lookback.isZero() && !remaining.isEmpty()) {
+            latest.putAll(query(remaining, clock.instant().minus(lookback), numberOfSnapshots));
+            remaining = latest.entrySet().stream()
+                    .filter(entry -> entry.getValue().size() < numberOfSnapshots)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+        }
+        if (!remaining.isEmpty()) {
+            latest.putAll(query(remaining, Instant.EPOCH, numberOfSnapshots));
+        }
+        return latest;
+    }
+
+    private Map<AssetId, List<MetricSnapshot>> query(Collection<AssetId> assetIds, Instant since, int numberOfSnapshots) {
+        List<UUID> ids = assetIds.stream().map(AssetId::getValue).toList();
+        return snapshotRepository.findLatestByAssetIdIn(ids, since, numberOfSnapshots).stream()
+                .map(MetricSnapshotMapper::fromJpaEntity)
+                .collect(Collectors.groupingBy(MetricSnapshot::assetId));
     }
 }
@@ -0,0 +1,95 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.LatestMetricsRepository;
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps {@link LatestMetricsRepository} in step with the snapshot store: every
+ * batch and its latest-per-asset upsert are written in one transaction, so the two
+ * never disagree. Reads of a single latest snapshot per asset are then served by
+ * key from the latest store; the snapshot store is only asked for assets it has
+ * no entry for (history written before it existed) and for longer histories.
+ */
+public class LatestTrackingMetricSnapshotRepository implements MetricSnapshotRepository, AutoCloseable {
+
+    private final MetricSnapshotRepository delegate;
+    private final LatestMetricsRepository latestRepository;
+    private final TransactionOperations transactions;
+
+    public LatestTrackingMetricSnapshotRepository(MetricSnapshotRepository delegate,
+                                                  LatestMetricsRepository latestRepository,
+                                                  TransactionOperations transactions) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.latestRepository = Objects.requireNonNull(latestRepository, "latestRepository cannot be null");
+        this.transactions = Objects.requireNonNull(transactions, "transactions cannot be null");
+    }
+
+    @Override
+    public void save(MetricSnapshot snapshot) {
+        saveAll(List.of(snapshot));
+    }
+
+    @Override
+    public void saveAll(List<MetricSnapshot> snapshots) {
+        transactions.executeWithoutResult(status -> {
+            delegate.saveAll(snapshots);
+            latestRepository.upsertAll(snapshots);
+        });
+    }
+
+    @Override
+    public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+        if (numberOfSnapshots != 1) {
+            return delegate.findLatestByAssetId(assetId, numberOfSnapshots);
+        }
+        return latestRepository.findByAssetId(assetId)
+                .map(List::of)
+                .orElseGet(() -> delegate.findLatestByAssetId(assetId, 1));
+    }
+
+    @Override
+    public Map<AssetId, List<MetricSnapshot>> findLatestByAssetIds(Collection<AssetId> assetIds, int numberOfSnapshots) {
+        if (numberOfSnapshots != 1) {
+            return delegate.findLatestByAssetIds(assetIds, numberOfSnapshots);
+        }
+        Map<AssetId, MetricSnapshot> stored = latestRepository.findByAssetIds(assetIds);
+        List<AssetId> missing = new ArrayList<>();
+        for (AssetId assetId : assetIds) {
+            if (!stored.containsKey(assetId)) {
+                missing.add(assetId);
+            }
+        }
+        Map<AssetId, List<MetricSnapshot>> older = missing.isEmpty()
+                ? Map.of()
+                : delegate.findLatestByAssetIds(missing, 1);
+        Map<AssetId, List<MetricSnapshot>> latest = new LinkedHashMap<>();
+        for (AssetId assetId : assetIds) {
+            MetricSnapshot snapshot = stored.get(assetId);
+            latest.put(assetId, snapshot != null ? List.of(snapshot) : older.getOrDefault(assetId, List.of()));
+        }
+        return latest;
+    }
+
+    @Override
+    public void evict(AssetId assetId) {
+        delegate.evict(assetId);
+    }
+
+    /** Closes the wrapped repository if it holds resources, e.g. open compressed blocks. */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
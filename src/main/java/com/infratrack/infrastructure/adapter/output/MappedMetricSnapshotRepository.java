@@ -0,0 +1,64 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.application.service.Tombstones;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Dev-profile store backed only by a {@link MappedSnapshotFile}: like
+ * {@link InMemoryMetricSnapshotRepository}, but the last {@code capacity}
+ * snapshots of each asset are still there after a restart. A deleted asset's
+ * slot is released for the next asset.
+ */
+public class MappedMetricSnapshotRepository implements MetricSnapshotRepository, AutoCloseable {
+
+    // Longer than any collection can be in flight when its asset is deleted
+    private static final Duration TOMBSTONE_TTL = Duration.ofMinutes(15);
+
+    private final MappedSnapshotFile file;
+    private final Tombstones evicted = new Tombstones(TOMBSTONE_TTL, Clock.systemUTC());
+
+    public MappedMetricSnapshotRepository(MappedSnapshotFile file) {
+        this.file = Objects.requireNonNull(file, "file cannot be null");
+    }
+
+    @Override
+    public void save(MetricSnapshot snapshot) {
+        if (evicted.buries(snapshot)) {
+            return;
+        }
+        file.ring(snapshot.assetId())
+                .orElseThrow(() -> new IllegalStateException("Snapshot file " + file.path() + " has no free slot for asset "
+                        + snapshot.assetId() + "; raise max-assets"))
+                .append(snapshot);
+    }
+
+    @Override
+    public void saveAll(List<MetricSnapshot> snapshots) {
+        snapshots.forEach(this::save);
+    }
+
+    @Override
+    public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+        return file.find(assetId)
+                .map(ring -> ring.latest(numberOfSnapshots))
+                .orElse(List.of());
+    }
+
+    @Override
+    public void evict(AssetId assetId) {
+        evicted.bury(assetId);
+        file.release(assetId);
+    }
+
+    @Override
+    public void close() {
+        file.close();
+    }
+}
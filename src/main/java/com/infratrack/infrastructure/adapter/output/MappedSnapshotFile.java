@@ -0,0 +1,263 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory-mapped file of per-asset snapshot rings that survives restarts. The data
+ * lives in the page cache, off the Java heap, so it adds nothing to GC work.
+ * <p>
+ * Layout: a 64-byte header (magic, version, slots, capacity), then {@code maxAssets}
+ * fixed-size slots. A slot is a 32-byte header (asset UUID, next index, size)
+ * followed by {@code capacity} 32-byte records: epoch nanoseconds and the three
+ * usages. An asset takes a free slot and keeps it until it is released, which
+ * clears the slot header; the slot index is rebuilt from the slot headers when
+ * the file is opened.
+ * <p>
+ * A record is written before the slot header that publishes it, and the next
+ * index before the size, so a crash loses at most one sample and never exposes an
+ * unwritten record. A file whose header does not match the
+ * requested shape is discarded and recreated; it only ever holds recent data.
+ */
+public final class MappedSnapshotFile implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedSnapshotFile.class);
+
+    private static final int MAGIC = 0x49545253; // "ITRS"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 64;
+    private static final int SLOT_HEADER = 32;
+    private static final int RECORD = 32;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int maxAssets;
+    private final int capacity;
+    private final Map<AssetId, Slot> slots = new ConcurrentHashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private MappedSnapshotFile(Path path, MappedByteBuffer buffer, int maxAssets, int capacity) {
+        this.path = path;
+        this.buffer = buffer;
+        this.maxAssets = maxAssets;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Maps {@code path}, creating or recreating it for {@code maxAssets} rings of
+     * {@code capacity} snapshots each.
+     */
+    public static MappedSnapshotFile open(Path path, int maxAssets, int capacity) {
+        Objects.requireNonNull(path, "path cannot be null");
+        if (maxAssets < 1 || capacity < 1) {
+            throw new IllegalArgumentException("maxAssets and capacity must be at least 1, got: "
+                    + maxAssets + " and " + capacity);
+        }
+        long size = FILE_HEADER + (long) maxAssets * slotBytes(capacity);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A snapshot file of " + maxAssets + " x " + capacity
+                    + " snapshots exceeds 2 GB; lower max-assets or capacity");
+        }
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                boolean reuse = channel.size() == size && headerMatches(channel, maxAssets, capacity);
+                if (!reuse) {
+                    if (channel.size() > 0) {
+                        log.warn("Snapshot file {} does not match {} x {} snapshots, recreating it",
+                                path, maxAssets, capacity);
+                    }
+                    channel.truncate(0);
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                MappedSnapshotFile file = new MappedSnapshotFile(path, buffer, maxAssets, capacity);
+                if (!reuse) {
+                    buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, maxAssets).putInt(12, capacity);
+                }
+                file.loadSlots();
+                return file;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map snapshot file " + path, e);
+        }
+    }
+
+    /** The ring of an asset, if it already has a slot. */
+    Optional<SnapshotRing> find(AssetId assetId) {
+        return Optional.ofNullable(slots.get(assetId));
+    }
+
+    /** The ring of an asset, taking a free slot if needed; empty when the file is full. */
+    synchronized Optional<SnapshotRing> ring(AssetId assetId) {
+        Slot slot = slots.get(assetId);
+        if (slot == null && !freeSlots.isEmpty()) {
+            slot = new Slot(assetId, slotOffset(freeSlots.poll()));
+            UUID id = assetId.getValue();
+            buffer.putInt(slot.offset + 16, 0).putInt(slot.offset + 20, 0);
+            buffer.putLong(slot.offset, id.getMostSignificantBits());
+            buffer.putLong(slot.offset + 8, id.getLeastSignificantBits());
+            slots.put(assetId, slot);
+        }
+        return Optional.ofNullable(slot);
+    }
+
+    /** Frees the slot of an asset, e.g. a deleted one, for the next asset that needs one. */
+    synchronized boolean release(AssetId assetId) {
+        Slot slot = slots.remove(assetId);
+        if (slot == null) {
+            return false;
+        }
+        slot.release();
+        freeSlots.add((int) ((slot.offset - FILE_HEADER) / slotBytes(capacity)));
+        return true;
+    }
+
+    public int assets() {
+        return slots.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /** Flushes dirty pages to disk; also done on close. */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private static long slotBytes(int capacity) {
+        return SLOT_HEADER + (long) capacity * RECORD;
+    }
+
+    private int slotOffset(int index) {
+        return (int) (FILE_HEADER + index * slotBytes(capacity));
+    }
+
+    private static boolean headerMatches(FileChannel channel, int maxAssets, int capacity) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(16);
+        channel.read(header, 0);
+        return header.getInt(0) == MAGIC && header.getInt(4) == VERSION
+                && header.getInt(8) == maxAssets && header.getInt(12) == capacity;
+    }
+
+    // Released slots may sit between taken ones, so every slot header is read
+    private void loadSlots() {
+        for (int i = 0; i < maxAssets; i++) {
+            int offset = slotOffset(i);
+            long msb = buffer.getLong(offset);
+            long lsb = buffer.getLong(offset + 8);
+            if (msb == 0 && lsb == 0) {
+                freeSlots.add(i);
+                continue;
+            }
+            Slot slot = new Slot(AssetId.of(new UUID(msb, lsb)), offset);
+            int next = buffer.getInt(offset + 16);
+            int size = buffer.getInt(offset + 20);
+            if (next < 0 || next >= capacity || size < 0 || size > capacity) {
+                log.warn("Discarding corrupt snapshot ring of asset {} in {}", slot.assetId, path);
+                buffer.putInt(offset + 16, 0).putInt(offset + 20, 0);
+            }
+            slots.put(slot.assetId, slot);
+        }
+        if (!slots.isEmpty()) {
+            log.info("Mapped snapshot file {} with {} asset rings", path, slots.size());
+        }
+    }
+
+    /** One asset's ring inside the mapped file. */
+    private final class Slot implements SnapshotRing {
+
+        private final AssetId assetId;
+        private final int offset;
+        private boolean released;
+
+        private Slot(AssetId assetId, int offset) {
+            this.assetId = assetId;
+            this.offset = offset;
+        }
+
+        // A released slot may already belong to another asset; late writers must not touch it
+        private synchronized void release() {
+            released = true;
+            buffer.putLong(offset, 0).putLong(offset + 8, 0);
+        }
+
+        @Override
+        public synchronized void append(MetricSnapshot snapshot) {
+            if (released) {
+                return;
+            }
+            int next = buffer.getInt(offset + 16);
+            int record = offset + SLOT_HEADER + next * RECORD;
+            buffer.putLong(record, SnapshotRingBuffer.toNanos(snapshot.collectedAt()))
+                    .putDouble(record + 8, snapshot.cpuUsage())
+                    .putDouble(record + 16, snapshot.memoryUsage())
+                    .putDouble(record + 24, snapshot.diskUsage());
+            // next before size: a crash in between hides the oldest sample instead
+            // of exposing an unwritten record
+            buffer.putInt(offset + 16, (next + 1) % capacity);
+            buffer.putInt(offset + 20, Math.min(size() + 1, capacity));
+        }
+
+        @Override
+        public synchronized List<MetricSnapshot> latest(int limit) {
+            if (released) {
+                return List.of();
+            }
+            int next = buffer.getInt(offset + 16);
+            int count = Math.min(limit, size());
+            List<MetricSnapshot> result = new ArrayList<>(count);
+            for (int i = 1; i <= count; i++) {
+                int record = offset + SLOT_HEADER + Math.floorMod(next - i, capacity) * RECORD;
+                result.add(MetricSnapshot.reconstruct(assetId,
+                        buffer.getDouble(record + 8),
+                        buffer.getDouble(record + 16),
+                        buffer.getDouble(record + 24),
+                        SnapshotRingBuffer.fromNanos(buffer.getLong(record))));
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized int size() {
+            return buffer.getInt(offset + 20);
+        }
+
+        @Override
+        public int capacity() {
+            return capacity;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetType;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Named probe definitions and the one each {@link AssetType} uses.
+ * <p>
+ * New metrics or device families are added by registering another definition
+ * and pointing an asset type at it; the collector itself does not change.
+ */
+public class ProbeCatalog {
+
+    private final Map<String, ProbeDefinition> definitions = new HashMap<>();
+    private final Map<AssetType, ProbeDefinition> byType = new EnumMap<>(AssetType.class);
+
+    /** Every type on the {@link ProbeDefinition#linuxTop()} probe. */
+    public static ProbeCatalog defaults() {
+        ProbeCatalog catalog = new ProbeCatalog().register(ProbeDefinition.linuxTop());
+        for (AssetType type : AssetType.values()) {
+            catalog.use(type, "linux-top");
+        }
+        return catalog;
+    }
+
+    public ProbeCatalog register(ProbeDefinition definition) {
+        definitions.put(definition.name(), definition);
+        return this;
+    }
+
+    public ProbeCatalog use(AssetType type, String definitionName) {
+        ProbeDefinition definition = definitions.get(definitionName);
+        if (definition == null) {
+            throw new IllegalArgumentException(
+                    "Unknown probe '" + definitionName + "' for " + type + ", known: " + definitions.keySet());
+        }
+        byType.put(type, definition);
+        return this;
+    }
+
+    /** Drops the per-asset state every registered decoder keeps for {@code assetId}. */
+    public void forget(AssetId assetId) {
+        definitions.values().forEach(definition -> definition.decoder().forget(assetId));
+    }
+
+    public ProbeDefinition forType(AssetType type) {
+        ProbeDefinition definition = byType.get(Objects.requireNonNull(type, "type cannot be null"));
+        if (definition == null) {
+            throw new IllegalStateException("No probe configured for asset type " + type);
+        }
+        return definition;
+    }
+}
@@ -0,0 +1,66 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.util.Objects;
+
+/**
+ * What to run on an asset and how to turn its output into a snapshot.
+ * <p>
+ * The script runs in a single exec channel and must print one record in the
+ * {@link ProbeRecordParser} format. The decoder maps that record to a
+ * {@link MetricSnapshot}; it may keep per-asset state between calls (e.g. for
+ * counters that need a previous sample) and must then be thread-safe and drop
+ * that state in {@link Decoder#forget}.
+ */
+public record ProbeDefinition(String name, String script, Decoder decoder) {
+
+    @FunctionalInterface
+    public interface Decoder {
+        MetricSnapshot decode(Asset asset, ProbeRecord record);
+
+        /** Drops the state kept for an asset that is no longer collected, or no longer the same host. */
+        default void forget(AssetId assetId) {
+        }
+    }
+
+    public ProbeDefinition {
+        Objects.requireNonNull(name, "name cannot be null");
+        Objects.requireNonNull(script, "script cannot be null");
+        Objects.requireNonNull(decoder, "decoder cannot be null");
+    }
+
+    /**
+     * The original top/free/df commands, folded into one script. Same numbers and
+     * parsing as before, one channel instead of three.
+     */
+    public static ProbeDefinition linuxTop() {
+        String script = String.join("; ",
+                "echo \"cpu=$(top -bn1 | grep '%Cpu')\"",
+                "echo \"mem=$(free -m | awk 'NR==2 {printf \"%d %d\", $3, $2}')\"",
+                "echo \"disk=$(df / | awk 'NR==2 {print $5}')\"",
+                "echo '" + ProbeRecordParser.END_OF_RECORD + "'");
+        return new ProbeDefinition("linux-top", script, (asset, record) -> MetricSnapshot.of(
+                asset.getId(),
+                SshMetricsCollector.parseCpuUsage(record.require("cpu")),
+                SshMetricsCollector.parseMemoryUsage(record.require("mem")),
+                SshMetricsCollector.parseDiskUsage(record.require("disk"))));
+    }
+
+    /**
+     * Reads /proc/stat, /proc/meminfo and statfs in one exec. Much cheaper on the
+     * target than {@link #linuxTop()}; CPU comes from tick deltas between samples,
+     * memory is MemTotal - MemAvailable (free's "used"), disk is df's Use% of /.
+     */
+    public static ProbeDefinition linuxProc() {
+        String script = String.join("; ",
+                "echo \"cpu=$(head -n1 /proc/stat)\"",
+                "awk '/^MemTotal:/ {t=$2} /^MemAvailable:/ {a=$2} /^MemFree:/ {f=$2} /^Buffers:/ {b=$2} "
+                        + "/^Cached:/ {c=$2} END {if (!a) a=f+b+c; printf \"mem=%d %d\\n\", (t-a)/1024, t/1024}' /proc/meminfo",
+                "echo \"fs=$(stat -f -c '%b %f %a' /)\"",
+                "echo '" + ProbeRecordParser.END_OF_RECORD + "'");
+        return new ProbeDefinition("linux-proc", script, new ProcProbeDecoder());
+    }
+}
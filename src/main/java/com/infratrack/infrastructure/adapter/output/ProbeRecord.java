@@ -0,0 +1,35 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * One decoded probe output: the {@code key=value} fields a probe script printed.
+ */
+public final class ProbeRecord {
+
+    private final Map<String, String> fields;
+
+    public ProbeRecord(Map<String, String> fields) {
+        this.fields = Map.copyOf(Objects.requireNonNull(fields, "fields cannot be null"));
+    }
+
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(fields.get(key));
+    }
+
+    /** Value of a field the probe must emit; a missing one means the probe broke. */
+    public String require(String key) {
+        String value = fields.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Probe output is missing field '" + key + "', got: " + fields.keySet());
+        }
+        return value;
+    }
+
+    public Set<String> keys() {
+        return fields.keySet();
+    }
+}
@@ -0,0 +1,48 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming decoder for probe output.
+ * <p>
+ * Format: one {@code key=value} field per line, split on the first {@code '='};
+ * the record ends at a line holding only {@value #END_OF_RECORD} or at end of
+ * stream. Lines without {@code '='} (banners, MOTD noise) are ignored. Output is
+ * read line by line as it arrives and capped at {@value #MAX_BYTES} bytes, so a
+ * runaway command cannot make the collector buffer unbounded output.
+ */
+public final class ProbeRecordParser {
+
+    public static final String END_OF_RECORD = ".";
+    static final int MAX_BYTES = 64 * 1024;
+
+    private ProbeRecordParser() {
+    }
+
+    public static ProbeRecord parse(InputStream output) throws IOException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(output, StandardCharsets.UTF_8));
+        long bytes = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            bytes += line.length() + 1;
+            if (bytes > MAX_BYTES) {
+                throw new IOException("Probe output exceeds " + MAX_BYTES + " bytes");
+            }
+            if (line.equals(END_OF_RECORD)) {
+                break;
+            }
+            int separator = line.indexOf('=');
+            if (separator > 0) {
+                fields.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+            }
+        }
+        return new ProbeRecord(fields);
+    }
+}
@@ -0,0 +1,91 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decoder for the {@code linux-proc} probe, which reads kernel counters instead
+ * of running {@code top}: no fork-and-sample second on the target, just three
+ * small file reads.
+ * <p>
+ * {@code /proc/stat} only has cumulative CPU ticks since boot, so usage is the
+ * busy share of the ticks elapsed since this asset's previous sample, kept here
+ * per asset. Without a usable previous sample (first collection, or the host
+ * rebooted and the counters went backwards) the since-boot average is reported.
+ * The previous sample is forgotten when the asset stops being collected.
+ */
+public class ProcProbeDecoder implements ProbeDefinition.Decoder {
+
+    /** Cumulative ticks from the aggregate {@code cpu} line; idle includes iowait. */
+    record CpuTicks(long total, long idle) {
+    }
+
+    private final Map<AssetId, CpuTicks> previousTicks = new ConcurrentHashMap<>();
+
+    @Override
+    public MetricSnapshot decode(Asset asset, ProbeRecord record) {
+        CpuTicks current = parseCpuTicks(record.require("cpu"));
+        CpuTicks previous = previousTicks.put(asset.getId(), current);
+        return MetricSnapshot.of(
+                asset.getId(),
+                cpuUsage(previous, current),
+                SshMetricsCollector.parseMemoryUsage(record.require("mem")),
+                parseFilesystemUsage(record.require("fs")));
+    }
+
+    @Override
+    public void forget(AssetId assetId) {
+        previousTicks.remove(assetId);
+    }
+
+    static CpuTicks parseCpuTicks(String statLine) {
+        // Format: "cpu  user nice system idle iowait irq softirq steal guest guest_nice"
+        // guest and guest_nice are already included in user and nice, so they are not summed
+        String[] fields = statLine.trim().split("\\s+");
+        if (fields.length < 5 || !fields[0].equals("cpu")) {
+            throw new IllegalArgumentException("Cannot parse CPU ticks from: " + statLine);
+        }
+        long total = 0;
+        for (int i = 1; i < Math.min(fields.length, 9); i++) {
+            total += Long.parseLong(fields[i]);
+        }
+        long idle = Long.parseLong(fields[4]) + (fields.length > 5 ? Long.parseLong(fields[5]) : 0);
+        return new CpuTicks(total, idle);
+    }
+
+    static double cpuUsage(CpuTicks previous, CpuTicks current) {
+        long totalDelta = previous == null ? current.total() : current.total() - previous.total();
+        long idleDelta = previous == null ? current.idle() : current.idle() - previous.idle();
+        if (previous != null && (totalDelta <= 0 || idleDelta < 0)) {
+            // Counters reset (reboot) or no tick elapsed: fall back to since boot
+            totalDelta = current.total();
+            idleDelta = current.idle();
+        }
+        if (totalDelta <= 0) {
+            return 0.0;
+        }
+        double busy = 100.0 * (totalDelta - idleDelta) / totalDelta;
+        return Math.round(busy * 10.0) / 10.0;
+    }
+
+    static double parseFilesystemUsage(String statfsLine) {
+        // Format: "<total blocks> <free blocks> <blocks available to users>", as printed by
+        // stat -f -c '%b %f %a'. Same ratio as df's Use%: used / (used + available)
+        String[] parts = statfsLine.trim().split("\\s+");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Cannot parse filesystem usage from: " + statfsLine);
+        }
+        long total = Long.parseLong(parts[0]);
+        long free = Long.parseLong(parts[1]);
+        long available = Long.parseLong(parts[2]);
+        long used = total - free;
+        if (used + available <= 0) {
+            return 0.0;
+        }
+        return Math.round(used * 1000.0 / (used + available)) / 10.0;
+    }
+}
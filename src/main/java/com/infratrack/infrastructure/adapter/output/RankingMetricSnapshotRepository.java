@@ -0,0 +1,62 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.FleetRanking;
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Feeds every snapshot the wrapped repository accepted into the {@link FleetRanking},
+ * so the fleet top-N follows collection without a query of its own. Reads go
+ * straight to the wrapped repository.
+ */
+public class RankingMetricSnapshotRepository implements MetricSnapshotRepository, AutoCloseable {
+
+    private final MetricSnapshotRepository delegate;
+    private final FleetRanking fleetRanking;
+
+    public RankingMetricSnapshotRepository(MetricSnapshotRepository delegate, FleetRanking fleetRanking) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.fleetRanking = Objects.requireNonNull(fleetRanking, "fleetRanking cannot be null");
+    }
+
+    @Override
+    public void save(MetricSnapshot snapshot) {
+        delegate.save(snapshot);
+        fleetRanking.record(snapshot);
+    }
+
+    @Override
+    public void saveAll(List<MetricSnapshot> snapshots) {
+        delegate.saveAll(snapshots);
+        snapshots.forEach(fleetRanking::record);
+    }
+
+    @Override
+    public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+        return delegate.findLatestByAssetId(assetId, numberOfSnapshots);
+    }
+
+    @Override
+    public Map<AssetId, List<MetricSnapshot>> findLatestByAssetIds(Collection<AssetId> assetIds, int numberOfSnapshots) {
+        return delegate.findLatestByAssetIds(assetIds, numberOfSnapshots);
+    }
+
+    @Override
+    public void evict(AssetId assetId) {
+        delegate.evict(assetId);
+    }
+
+    /** Closes the wrapped repository if it holds resources, e.g. the write pipeline. */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricRollupRepository;
+import com.infratrack.application.port.output.MetricSketchRepository;
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.RollupTier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps the rollup tiers up to date as snapshots are written: every written
+ * batch is folded into one delta per asset, tier and bucket, and the deltas are
+ * merged into the stored rollups in a single round of upserts. With a sketch
+ * repository, the batch is also folded into quantile sketches of the sketch tiers.
+ * <p>
+ * Rollups and sketches are derived data. If merging them fails the snapshots stay
+ * written and the error is only logged, so a rollup problem never loses raw history.
+ */
+public class RollingUpMetricSnapshotRepository implements MetricSnapshotRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RollingUpMetricSnapshotRepository.class);
+
+    private final MetricSnapshotRepository delegate;
+    private final MetricRollupRepository rollupRepository;
+    private final Set<RollupTier> tiers;
+    private final MetricSketchRepository sketchRepository;
+    private final Set<RollupTier> sketchTiers;
+
+    public RollingUpMetricSnapshotRepository(MetricSnapshotRepository delegate, MetricRollupRepository rollupRepository) {
+        this(delegate, rollupRepository, EnumSet.allOf(RollupTier.class));
+    }
+
+    public RollingUpMetricSnapshotRepository(MetricSnapshotRepository delegate,
+                                             MetricRollupRepository rollupRepository,
+                                             Set<RollupTier> tiers) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.rollupRepository = Objects.requireNonNull(rollupRepository, "rollupRepository cannot be null");
+        this.tiers = tiers.isEmpty() ? Set.of() : EnumSet.copyOf(tiers);
+        this.sketchRepository = null;
+        this.sketchTiers = Set.of();
+    }
+
+    public RollingUpMetricSnapshotRepository(MetricSnapshotRepository delegate,
+                                             MetricRollupRepository rollupRepository,
+                                             MetricSketchRepository sketchRepository,
+                                             Set<RollupTier> sketchTiers) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.rollupRepository = Objects.requireNonNull(rollupRepository, "rollupRepository cannot be null");
+        this.tiers = EnumSet.allOf(RollupTier.class);
+        this.sketchRepository = Objects.requireNonNull(sketchRepository, "sketchRepository cannot be null");
+        this.sketchTiers = sketchTiers.isEmpty() ? Set.of() : EnumSet.copyOf(sketchTiers);
+    }
+
+    @Override
+    public void save(MetricSnapshot snapshot) {
+        saveAll(List.of(snapshot));
+    }
+
+    @Override
+    public void saveAll(List<MetricSnapshot> snapshots) {
+        delegate.saveAll(snapshots);
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        if (!tiers.isEmpty()) {
+            try {
+                rollupRepository.mergeAll(MetricRollup.rollUp(snapshots, tiers));
+            } catch (RuntimeException e) {
+                log.error("Failed to roll up {} metric snapshots: {}", snapshots.size(), e.getMessage());
+            }
+        }
+        if (!sketchTiers.isEmpty()) {
+            try {
+                sketchRepository.mergeAll(MetricSketch.sketch(snapshots, sketchTiers));
+            } catch (RuntimeException e) {
+                log.error("Failed to sketch {} metric snapshots: {}", snapshots.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+        return delegate.findLatestByAssetId(assetId, numberOfSnapshots);
+    }
+
+    @Override
+    public Map<AssetId, List<MetricSnapshot>> findLatestByAssetIds(Collection<AssetId> assetIds, int numberOfSnapshots) {
+        return delegate.findLatestByAssetIds(assetIds, numberOfSnapshots);
+    }
+
+    @Override
+    public void evict(AssetId assetId) {
+        delegate.evict(assetId);
+    }
+
+    /** Closes the wrapped repository if it holds resources, e.g. a mapped snapshot file. */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
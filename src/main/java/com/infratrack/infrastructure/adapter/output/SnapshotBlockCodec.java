@@ -0,0 +1,214 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gorilla-style compression of one asset's snapshots (Pelkonen et al., VLDB 2015).
+ * <p>
+ * Timestamps are stored in epoch milliseconds as delta-of-deltas: a sample taken on
+ * schedule costs a single bit. Each of cpu, memory and disk is its own XOR stream:
+ * a value equal to the previous one costs one bit, otherwise only the meaningful
+ * bits of the XOR are written, reusing the previous leading/trailing-zero window
+ * when it fits.
+ * <p>
+ * A block does not record how many samples it holds; callers store the count next
+ * to the bytes and pass it to {@link #decode}.
+ */
+final class SnapshotBlockCodec {
+
+    private static final int USAGE_STREAMS = 3;
+
+    private SnapshotBlockCodec() {
+    }
+
+    /**
+     * Incremental encoder: samples must be appended in timestamp order. Its state is
+     * the tail of the block, so appending never rewrites earlier bits.
+     */
+    static final class Encoder {
+
+        private final BitWriter out;
+        private final long[] previousValue = new long[USAGE_STREAMS];
+        private final int[] previousLeading = new int[USAGE_STREAMS];
+        private final int[] previousTrailing = new int[USAGE_STREAMS];
+        private long previousMillis;
+        private long previousDelta;
+        private int count;
+
+        Encoder() {
+            this(new BitWriter(256));
+        }
+
+        private Encoder(BitWriter out) {
+            this.out = out;
+        }
+
+        /** An independent encoder in the same state, to append to without touching this one. */
+        Encoder copy() {
+            Encoder copy = new Encoder(out.copy());
+            System.arraycopy(previousValue, 0, copy.previousValue, 0, USAGE_STREAMS);
+            System.arraycopy(previousLeading, 0, copy.previousLeading, 0, USAGE_STREAMS);
+            System.arraycopy(previousTrailing, 0, copy.previousTrailing, 0, USAGE_STREAMS);
+            copy.previousMillis = previousMillis;
+            copy.previousDelta = previousDelta;
+            copy.count = count;
+            return copy;
+        }
+
+        void append(MetricSnapshot snapshot) {
+            long millis = snapshot.collectedAt().toEpochMilli();
+            double[] usages = {snapshot.cpuUsage(), snapshot.memoryUsage(), snapshot.diskUsage()};
+            if (count == 0) {
+                out.writeBits(millis, 64);
+                for (int i = 0; i < USAGE_STREAMS; i++) {
+                    previousValue[i] = Double.doubleToRawLongBits(usages[i]);
+                    previousLeading[i] = Integer.MAX_VALUE;
+                    out.writeBits(previousValue[i], 64);
+                }
+            } else {
+                if (millis < previousMillis) {
+                    throw new IllegalArgumentException("Samples must be appended in time order: "
+                            + snapshot.collectedAt() + " is before " + Instant.ofEpochMilli(previousMillis));
+                }
+                long delta = millis - previousMillis;
+                writeDeltaOfDelta(delta - previousDelta);
+                previousDelta = delta;
+                for (int i = 0; i < USAGE_STREAMS; i++) {
+                    writeValue(i, Double.doubleToRawLongBits(usages[i]));
+                }
+            }
+            previousMillis = millis;
+            count++;
+        }
+
+        int count() {
+            return count;
+        }
+
+        long lastMillis() {
+            return previousMillis;
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        // Buckets from the paper, widened for millisecond jitter
+        private void writeDeltaOfDelta(long dod) {
+            if (dod == 0) {
+                out.writeBit(false);
+            } else if (dod >= -63 && dod <= 64) {
+                out.writeBits(0b10, 2);
+                out.writeBits(dod, 7);
+            } else if (dod >= -255 && dod <= 256) {
+                out.writeBits(0b110, 3);
+                out.writeBits(dod, 9);
+            } else if (dod >= -2047 && dod <= 2048) {
+                out.writeBits(0b1110, 4);
+                out.writeBits(dod, 12);
+            } else {
+                out.writeBits(0b1111, 4);
+                out.writeBits(dod, 64);
+            }
+        }
+
+        private void writeValue(int stream, long bits) {
+            long xor = bits ^ previousValue[stream];
+            previousValue[stream] = bits;
+            if (xor == 0) {
+                out.writeBit(false);
+                return;
+            }
+            out.writeBit(true);
+            // Leading zeros are capped at 31 so they fit in 5 bits
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (leading >= previousLeading[stream] && trailing >= previousTrailing[stream]) {
+                out.writeBit(false);
+                out.writeBits(xor >>> previousTrailing[stream], 64 - previousLeading[stream] - previousTrailing[stream]);
+            } else {
+                int meaningful = 64 - leading - trailing;
+                out.writeBit(true);
+                out.writeBits(leading, 5);
+                // 1..64 meaningful bits, 64 stored as 0
+                out.writeBits(meaningful & 63, 6);
+                out.writeBits(xor >>> trailing, meaningful);
+                previousLeading[stream] = leading;
+                previousTrailing[stream] = trailing;
+            }
+        }
+    }
+
+    /** Decodes the first {@code count} samples of a block. */
+    static List<MetricSnapshot> decode(AssetId assetId, byte[] block, int count) {
+        List<MetricSnapshot> snapshots = new ArrayList<>(count);
+        if (count == 0) {
+            return snapshots;
+        }
+        BitReader in = new BitReader(block);
+        long[] value = new long[USAGE_STREAMS];
+        int[] leading = new int[USAGE_STREAMS];
+        int[] trailing = new int[USAGE_STREAMS];
+
+        long millis = in.readBits(64);
+        for (int i = 0; i < USAGE_STREAMS; i++) {
+            value[i] = in.readBits(64);
+        }
+        snapshots.add(snapshot(assetId, millis, value));
+
+        long delta = 0;
+        for (int n = 1; n < count; n++) {
+            delta += readDeltaOfDelta(in);
+            millis += delta;
+            for (int i = 0; i < USAGE_STREAMS; i++) {
+                if (!in.readBit()) {
+                    continue;
+                }
+                if (in.readBit()) {
+                    leading[i] = (int) in.readBits(5);
+                    int meaningful = (int) in.readBits(6);
+                    trailing[i] = 64 - leading[i] - (meaningful == 0 ? 64 : meaningful);
+                }
+                value[i] ^= in.readBits(64 - leading[i] - trailing[i]) << trailing[i];
+            }
+            snapshots.add(snapshot(assetId, millis, value));
+        }
+        return snapshots;
+    }
+
+    private static long readDeltaOfDelta(BitReader in) {
+        if (!in.readBit()) {
+            return 0;
+        }
+        if (!in.readBit()) {
+            return signExtend(in.readBits(7), 7);
+        }
+        if (!in.readBit()) {
+            return signExtend(in.readBits(9), 9);
+        }
+        if (!in.readBit()) {
+            return signExtend(in.readBits(12), 12);
+        }
+        return in.readBits(64);
+    }
+
+    // The buckets are asymmetric (-63..64): values above the signed range wrap negative
+    // on write and are recovered here by the bucket's upper bound
+    private static long signExtend(long bits, int width) {
+        long value = (bits << (64 - width)) >> (64 - width);
+        return value < -(1L << (width - 1)) + 1 ? value + (1L << width) : value;
+    }
+
+    private static MetricSnapshot snapshot(AssetId assetId, long millis, long[] value) {
+        return MetricSnapshot.reconstruct(assetId,
+                Double.longBitsToDouble(value[0]),
+                Double.longBitsToDouble(value[1]),
+                Double.longBitsToDouble(value[2]),
+                Instant.ofEpochMilli(millis));
+    }
+}
@@ -0,0 +1,21 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.util.List;
+
+/**
+ * Fixed-capacity ring of the most recent snapshots of one asset. Appending
+ * overwrites the oldest entry once the ring is full.
+ */
+interface SnapshotRing {
+
+    void append(MetricSnapshot snapshot);
+
+    /** Up to {@code limit} of the most recent snapshots, newest first. */
+    List<MetricSnapshot> latest(int limit);
+
+    int size();
+
+    int capacity();
+}
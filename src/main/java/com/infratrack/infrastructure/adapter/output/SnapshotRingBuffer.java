@@ -0,0 +1,84 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap {@link SnapshotRing} stored column-wise in primitive arrays: 32 bytes per
+ * slot (nanosecond timestamp plus three doubles) and no per-snapshot objects, so
+ * its footprint is fixed when it is created.
+ * <p>
+ * All methods synchronize on the ring; they are short and allocation-free except
+ * for reads.
+ */
+final class SnapshotRingBuffer implements SnapshotRing {
+
+    private final AssetId assetId;
+    private final long[] collectedAtNanos;
+    private final double[] cpu;
+    private final double[] memory;
+    private final double[] disk;
+    private int next;
+    private int size;
+
+    SnapshotRingBuffer(AssetId assetId, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, got: " + capacity);
+        }
+        this.assetId = assetId;
+        this.collectedAtNanos = new long[capacity];
+        this.cpu = new double[capacity];
+        this.memory = new double[capacity];
+        this.disk = new double[capacity];
+    }
+
+    /** Heap used by the arrays of a ring of {@code capacity} slots, excluding headers. */
+    static long bytesPerRing(int capacity) {
+        return (long) capacity * (Long.BYTES + 3 * Double.BYTES);
+    }
+
+    @Override
+    public synchronized void append(MetricSnapshot snapshot) {
+        collectedAtNanos[next] = toNanos(snapshot.collectedAt());
+        cpu[next] = snapshot.cpuUsage();
+        memory[next] = snapshot.memoryUsage();
+        disk[next] = snapshot.diskUsage();
+        next = (next + 1) % capacity();
+        size = Math.min(size + 1, capacity());
+    }
+
+    @Override
+    public synchronized List<MetricSnapshot> latest(int limit) {
+        int count = Math.min(limit, size);
+        List<MetricSnapshot> result = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int slot = Math.floorMod(next - i, capacity());
+            result.add(MetricSnapshot.reconstruct(assetId, cpu[slot], memory[slot], disk[slot],
+                    fromNanos(collectedAtNanos[slot])));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return collectedAtNanos.length;
+    }
+
+    // Nanoseconds since the epoch fit a long until 2262 and keep Instant precision
+    static long toNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+
+    static Instant fromNanos(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+}
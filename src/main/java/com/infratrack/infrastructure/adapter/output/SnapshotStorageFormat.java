@@ -0,0 +1,9 @@
+package com.infratrack.infrastructure.adapter.output;
+
+/** How raw snapshots are persisted in demo/prod. */
+public enum SnapshotStorageFormat {
+    /** One row per snapshot in {@code metrics}, via JPA. */
+    ROWS,
+    /** Gorilla-compressed blocks in {@code metric_blocks}; see {@link CompressedMetricSnapshotRepository}. */
+    COMPRESSED
+}
@@ -0,0 +1,331 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.schmizz.keepalive.KeepAliveProvider;
+import net.schmizz.sshj.DefaultConfig;
+import net.schmizz.sshj.SSHClient;
+import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one authenticated {@link SSHClient} per asset alive between sweeps.
+ * <p>
+ * Opening an SSH connection costs a TCP handshake, a key exchange and a password
+ * authentication — several round trips that used to be paid on every sample.
+ * The pool pays them once per asset and reuses the connection for later
+ * collections; each collection only opens a new session (channel) on it.
+ * <p>
+ * Entries are keyed by {@link AssetId} and carry a fingerprint of the target
+ * (host, username, password). A lookup whose fingerprint no longer matches the
+ * asset is treated as a miss and the stale connection is retired, so a changed
+ * IP or password can never reuse an old connection even if the explicit
+ * {@link #invalidate(AssetId)} call was missed.
+ * <p>
+ * A connection is shared by concurrent leases and is only closed once the last
+ * lease is released. When the pool is full the least recently used idle
+ * connection is evicted; if every pooled connection is busy, the caller gets a
+ * one-shot connection that is closed on release.
+ */
+public class SshConnectionPool implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SshConnectionPool.class);
+
+    /**
+     * Pool tuning knobs.
+     *
+     * @param maxConnections    upper bound of pooled connections across all assets
+     * @param idleTimeout       a connection unused for longer than this is closed
+     * @param keepAliveInterval interval of SSH keepalive requests on pooled connections
+     * @param connectTimeout    TCP connect and socket read timeout
+     */
+    public record Settings(int maxConnections,
+                           Duration idleTimeout,
+                           Duration keepAliveInterval,
+                           Duration connectTimeout) {
+
+        public Settings {
+            if (maxConnections < 1) {
+                throw new IllegalArgumentException("maxConnections must be at least 1, got: " + maxConnections);
+            }
+            Objects.requireNonNull(idleTimeout, "idleTimeout cannot be null");
+            Objects.requireNonNull(keepAliveInterval, "keepAliveInterval cannot be null");
+            Objects.requireNonNull(connectTimeout, "connectTimeout cannot be null");
+        }
+
+        public static Settings defaults() {
+            return new Settings(256, Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofSeconds(30));
+        }
+    }
+
+    private final int sshPort;
+    private final Settings settings;
+    private final Map<AssetId, PooledConnection> connections = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter misses;
+
+    public SshConnectionPool(int sshPort, Settings settings, MeterRegistry meterRegistry) {
+        this.sshPort = sshPort;
+        this.settings = Objects.requireNonNull(settings, "settings cannot be null");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry cannot be null");
+
+        this.hits = meterRegistry.counter("infratrack.ssh.pool.acquire", "result", "hit");
+        this.misses = meterRegistry.counter("infratrack.ssh.pool.acquire", "result", "miss");
+        Gauge.builder("infratrack.ssh.pool.size", connections, Map::size)
+                .description("Pooled SSH connections currently open")
+                .register(meterRegistry);
+        Gauge.builder("infratrack.ssh.pool.hit.ratio", this, SshConnectionPool::hitRatio)
+                .description("Share of acquisitions served by an already open connection")
+                .register(meterRegistry);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ssh-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, settings.keepAliveInterval().toMillis());
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection to the asset, opening one if none is pooled.
+     * The caller must close the returned lease, ideally with try-with-resources.
+     */
+    public Lease acquire(Asset asset) throws IOException {
+        AssetId id = asset.getId();
+        Fingerprint fingerprint = Fingerprint.of(asset);
+
+        PooledConnection pooled = connections.get(id);
+        if (pooled != null) {
+            if (pooled.fingerprint.equals(fingerprint) && pooled.isHealthy() && pooled.retain()) {
+                hits.increment();
+                return new Lease(this, pooled);
+            }
+            retire(id, pooled, pooled.fingerprint.equals(fingerprint) ? "unhealthy" : "invalidated");
+        }
+
+        misses.increment();
+        boolean poolable = ensureCapacity();
+        PooledConnection fresh = new PooledConnection(id, fingerprint, connect(asset));
+        fresh.retain();
+        if (!poolable || connections.putIfAbsent(id, fresh) != null) {
+            // Pool is saturated with busy connections, or another thread won the race:
+            // hand out a one-shot connection that is closed as soon as it is released.
+            fresh.retire();
+        }
+        return new Lease(this, fresh);
+    }
+
+    /** Closes the asset's pooled connection, e.g. after its IP or credentials changed. */
+    public void invalidate(AssetId id) {
+        PooledConnection pooled = connections.get(id);
+        if (pooled != null) {
+            retire(id, pooled, "invalidated");
+        }
+    }
+
+    /** Closes connections that are broken or have been idle longer than the idle timeout. */
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - settings.idleTimeout().toNanos();
+        connections.forEach((id, pooled) -> {
+            if (!pooled.isHealthy()) {
+                retire(id, pooled, "unhealthy");
+            } else if (pooled.isIdleSince(cutoff)) {
+                retire(id, pooled, "idle");
+            }
+        });
+    }
+
+    public int size() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        connections.forEach((id, pooled) -> retire(id, pooled, "shutdown"));
+    }
+
+    /**
+     * Test seam: opens and authenticates a new SSH connection to the asset.
+     * Override in test subclasses to hand out mocked clients.
+     */
+    protected SSHClient connect(Asset asset) throws IOException {
+        DefaultConfig config = new DefaultConfig();
+        config.setKeepAliveProvider(KeepAliveProvider.KEEP_ALIVE);
+        SSHClient ssh = new SSHClient(config);
+        try {
+            ssh.addHostKeyVerifier(new PromiscuousVerifier()); // no host key verification - acceptable for demo
+            ssh.setConnectTimeout((int) settings.connectTimeout().toMillis());
+            ssh.setTimeout((int) settings.connectTimeout().toMillis());
+            ssh.getConnection().getKeepAlive()
+                    .setKeepAliveInterval((int) settings.keepAliveInterval().toSeconds());
+            ssh.connect(asset.getIpAddress().getValue(), sshPort);
+            ssh.authPassword(
+                    asset.getCredentials().getUsername(),
+                    asset.getCredentials().getPassword()
+            );
+            return ssh;
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(ssh);
+            throw e;
+        }
+    }
+
+    // Returns false when the pool is full of busy connections and the new one must not be pooled.
+    private boolean ensureCapacity() {
+        while (connections.size() >= settings.maxConnections()) {
+            Optional<Map.Entry<AssetId, PooledConnection>> lru = connections.entrySet().stream()
+                    .filter(entry -> entry.getValue().isIdle())
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos()));
+            if (lru.isEmpty()) {
+                return false;
+            }
+            retire(lru.get().getKey(), lru.get().getValue(), "capacity");
+        }
+        return true;
+    }
+
+    private void retire(AssetId id, PooledConnection pooled, String reason) {
+        if (connections.remove(id, pooled)) {
+            meterRegistry.counter("infratrack.ssh.pool.evictions", "reason", reason).increment();
+            log.debug("Evicting pooled SSH connection for asset {} ({})", id, reason);
+            pooled.retire();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private static void closeQuietly(SSHClient ssh) {
+        try {
+            ssh.disconnect();
+        } catch (IOException e) {
+            // /* ignored */
+        }
+    }
+
+    /**
+     * A borrowed connection. Closing the lease returns the connection to the pool;
+     * {@link #discard()} retires it instead, for callers that saw it fail mid-use.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final SshConnectionPool pool;
+        private final PooledConnection pooled;
+        private boolean released;
+
+        private Lease(SshConnectionPool pool, PooledConnection pooled) {
+            this.pool = pool;
+            this.pooled = pooled;
+        }
+
+        public SSHClient client() {
+            return pooled.client;
+        }
+
+        public void discard() {
+            pool.retire(pooled.assetId, pooled, "unhealthy");
+            pooled.retire();
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                pooled.release();
+            }
+        }
+    }
+
+    // Identity of the remote endpoint. The password only takes part through its hash,
+    // and toString() is never overridden to print it.
+    private record Fingerprint(String host, String username, int passwordHash) {
+
+        static Fingerprint of(Asset asset) {
+            return new Fingerprint(
+                    asset.getIpAddress().getValue(),
+                    asset.getCredentials().getUsername(),
+                    asset.getCredentials().getPassword().hashCode()
+            );
+        }
+    }
+
+    private static final class PooledConnection {
+
+        private final AssetId assetId;
+        private final Fingerprint fingerprint;
+        private final SSHClient client;
+        private int leases;
+        private boolean retired;
+        private long lastUsedNanos = System.nanoTime();
+
+        private PooledConnection(AssetId assetId, Fingerprint fingerprint, SSHClient client) {
+            this.assetId = assetId;
+            this.fingerprint = fingerprint;
+            this.client = client;
+        }
+
+        synchronized boolean retain() {
+            if (retired) {
+                return false;
+            }
+            leases++;
+            lastUsedNanos = System.nanoTime();
+            return true;
+        }
+
+        synchronized void release() {
+            leases--;
+            lastUsedNanos = System.nanoTime();
+            if (retired && leases == 0) {
+                closeQuietly(client);
+            }
+        }
+
+        synchronized void retire() {
+            if (!retired) {
+                retired = true;
+                if (leases == 0) {
+                    closeQuietly(client);
+                }
+            }
+        }
+
+        synchronized boolean isIdle() {
+            return leases == 0;
+        }
+
+        synchronized boolean isIdleSince(long cutoffNanos) {
+            return leases == 0 && lastUsedNanos - cutoffNanos <= 0;
+        }
+
+        synchronized long lastUsedNanos() {
+            return lastUsedNanos;
+        }
+
+        boolean isHealthy() {
+            return client.isConnected() && client.isAuthenticated();
+        }
+    }
+}
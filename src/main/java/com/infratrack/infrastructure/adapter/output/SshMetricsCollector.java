@@ -2,79 +2,68 @@ package com.infratrack.infrastructure.adapter.output;
 
 import com.infratrack.application.port.output.MetricsCollector;
 import com.infratrack.domain.model.Asset;
-import com.infratrack.domain.model.IpAddress;
 import com.infratrack.domain.model.MetricSnapshot;
 import io.micrometer.core.instrument.MeterRegistry;
 import net.schmizz.sshj.SSHClient;
 import net.schmizz.sshj.connection.channel.direct.Session;
-import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
 
 import java.io.IOException;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class SshMetricsCollector implements MetricsCollector {
 
-    private final int sshPort;
+    private static final long PROBE_JOIN_SECONDS = 5;
+
+    private final SshConnectionPool connectionPool;
+    private final ProbeCatalog probeCatalog;
     private final MeterRegistry meterRegistry;
 
     public SshMetricsCollector(int sshPort, MeterRegistry meterRegistry) {
-        this.sshPort = sshPort;
+        this(new SshConnectionPool(sshPort, SshConnectionPool.Settings.defaults(), meterRegistry), meterRegistry);
+    }
+
+    public SshMetricsCollector(SshConnectionPool connectionPool, MeterRegistry meterRegistry) {
+        this(connectionPool, ProbeCatalog.defaults(), meterRegistry);
+    }
+
+    public SshMetricsCollector(SshConnectionPool connectionPool, ProbeCatalog probeCatalog, MeterRegistry meterRegistry) {
+        this.connectionPool = Objects.requireNonNull(connectionPool, "connectionPool cannot be null");
+        this.probeCatalog = Objects.requireNonNull(probeCatalog, "probeCatalog cannot be null");
         this.meterRegistry = meterRegistry;
     }
 
     /**
-     * Test seam: performs the full SSH collection (connect, authenticate, execute
-     * commands, parse, disconnect) for a single asset. Override in test subclasses
-     * to simulate successful collection without a real SSH server.
+     * Test seam: performs the full SSH collection (borrow a pooled connection,
+     * run the asset type's probe, decode, release) for a single asset. Override in test
+     * subclasses to simulate successful collection without a real SSH server.
      * <p>
      * The {@link #collect(Asset)} method wraps this with counter instrumentation
      * — test subclasses only need to return a synthetic {@link MetricSnapshot}.
+     * <p>
+     * A connection that fails mid-collection is discarded rather than returned,
+     * so the next sweep reconnects instead of reusing a half-dead transport.
+     * <p>
+     * The probe is a single exec: one channel open and one round trip per asset,
+     * whatever the number of metrics the probe reports. Its output is decoded as it
+     * streams in.
      */
     protected MetricSnapshot doCollect(Asset asset) throws IOException {
-        IpAddress ip = asset.getIpAddress();
-        SSHClient ssh = new SSHClient();
-        try {
-            ssh.addHostKeyVerifier(new PromiscuousVerifier()); // no host key verification - acceptable for demo
-            ssh.connect(ip.getValue(), sshPort);
-            ssh.authPassword(
-                    asset.getCredentials().getUsername(),
-                    asset.getCredentials().getPassword()
-            );
-
-            String cpuOutput;
-            try (Session session = ssh.startSession()) {
-                Session.Command cmd = session.exec("top -bn1 | grep '%Cpu'");
-                cpuOutput = new String(cmd.getInputStream().readAllBytes());
-                cmd.join(5, TimeUnit.SECONDS);
-            }
-
-            String memOutput;
-            try (Session session = ssh.startSession()) {
-                Session.Command cmd = session.exec("free -m | awk 'NR==2 {printf \"%d %d\", $3, $2}'");
-                memOutput = new String(cmd.getInputStream().readAllBytes());
-                cmd.join(5, TimeUnit.SECONDS);
-            }
-
-            String diskOutput;
-            try (Session session = ssh.startSession()) {
-                Session.Command cmd = session.exec("df / | awk 'NR==2 {print $5}'");
-                diskOutput = new String(cmd.getInputStream().readAllBytes());
-                cmd.join(5, TimeUnit.SECONDS);
-            }
-
-            return MetricSnapshot.of(
-                    asset.getId(),
-                    parseCpuUsage(cpuOutput),
-                    parseMemoryUsage(memOutput),
-                    parseDiskUsage(diskOutput)
-            );
-        } finally {
+        try (SshConnectionPool.Lease lease = connectionPool.acquire(asset)) {
             try {
-                ssh.disconnect();
+                ProbeDefinition probe = probeCatalog.forType(asset.getType());
+                SSHClient ssh = lease.client();
+                try (Session session = ssh.startSession()) {
+                    Session.Command cmd = session.exec(probe.script());
+                    ProbeRecord record = ProbeRecordParser.parse(cmd.getInputStream());
+                    cmd.join(PROBE_JOIN_SECONDS, TimeUnit.SECONDS);
+                    return probe.decoder().decode(asset, record);
+                }
             } catch (IOException e) {
-                // /* ignored */
+                lease.discard();
+                throw e;
             }
         }
     }
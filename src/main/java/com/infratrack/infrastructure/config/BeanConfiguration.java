@@ -3,11 +3,32 @@ package com.infratrack.infrastructure.config;
 import com.infratrack.application.port.input.AuthenticateUserUseCase;
 import com.infratrack.application.port.input.ManageAssetUseCase;
 import com.infratrack.application.port.input.MonitorAssetUseCase;
+import com.infratrack.application.port.input.PurgeExpiredMetricsUseCase;
+import com.infratrack.application.port.input.QueryFleetMetricsUseCase;
+import com.infratrack.application.port.input.QueryFleetTopUseCase;
+import com.infratrack.application.port.input.QueryMetricHistoryUseCase;
+import com.infratrack.application.port.input.QueryMetricRollupsUseCase;
 import com.infratrack.application.port.output.*;
+import com.infratrack.application.service.AlertEngine;
 import com.infratrack.application.service.AssetService;
+import com.infratrack.application.service.AssetCircuitBreaker;
 import com.infratrack.application.service.AuthenticationService;
+import com.infratrack.application.service.CollectionIntervalPolicy;
+import com.infratrack.application.service.CollectionWheel;
+import com.infratrack.application.service.FleetMetricsService;
+import com.infratrack.application.service.FleetTopService;
+import com.infratrack.application.service.MetricHistoryService;
+import com.infratrack.application.service.MetricRetentionPolicy;
+import com.infratrack.application.service.MetricRetentionService;
+import com.infratrack.application.service.MetricRollupService;
+import com.infratrack.domain.model.AlertRule;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.CircuitState;
+import com.infratrack.domain.model.RollupTier;
 import com.infratrack.application.service.MonitoringService;
 import com.infratrack.infrastructure.adapter.output.*;
+import com.infratrack.infrastructure.persistence.MetricPartitionManager;
 import com.infratrack.infrastructure.persistence.SpringDataAssetRepository;
 import com.infratrack.infrastructure.persistence.SpringDataMetricSnapshotRepository;
 import com.infratrack.infrastructure.persistence.SpringDataUserRepository;
@@ -15,11 +36,27 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.infratrack.application.port.output.PasswordEncoder;
 import com.infratrack.application.port.output.UserRepository;
 import com.infratrack.infrastructure.adapter.output.BCryptPasswordEncoderAdapter;
 import com.infratrack.infrastructure.adapter.output.JpaUserRepository;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 public class BeanConfiguration {
@@ -45,23 +82,373 @@ public class BeanConfiguration {
 
     @Bean
     @Profile("dev")
-    public MetricSnapshotRepository inMemoryMetricSnapshotRepository() {
-        return new InMemoryMetricSnapshotRepository();
+    public MetricRollupRepository inMemoryMetricRollupRepository() {
+        return new InMemoryMetricRollupRepository();
+    }
+
+    @Bean
+    @Profile({"demo", "prod"})
+    public MetricRollupRepository jdbcMetricRollupRepository(JdbcTemplate jdbcTemplate) {
+        return new JdbcMetricRollupRepository(jdbcTemplate);
+    }
+
+    @Bean
+    @Profile("dev")
+    public MetricSketchRepository inMemoryMetricSketchRepository() {
+        return new InMemoryMetricSketchRepository();
+    }
+
+    @Bean
+    @Profile({"demo", "prod"})
+    public MetricSketchRepository jdbcMetricSketchRepository(JdbcTemplate jdbcTemplate,
+                                                             PlatformTransactionManager transactionManager) {
+        return new JdbcMetricSketchRepository(jdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    // Latest reading of every asset, ranked per usage metric. Assets silent for
+    // longer than stale-after-seconds drop out; keep it above the longest interval.
+    @Bean
+    public FleetRanking fleetRanking(
+            @Value("${infratrack.monitoring.top.stale-after-seconds:900}") long staleAfterSeconds) {
+        return new InMemoryFleetRanking(Duration.ofSeconds(staleAfterSeconds));
+    }
+
+    @Bean
+    public QueryFleetTopUseCase queryFleetTopUseCase(FleetRanking fleetRanking) {
+        return new FleetTopService(fleetRanking);
+    }
+
+    // Threshold rules evaluated on every recorded snapshot, e.g.
+    // "high-cpu: cpu > 90 for 5; disk-full: disk > 85 on SERVER"; blank for none
+    @Bean
+    public AlertEngine alertEngine(
+            DomainEventPublisher domainEventPublisher,
+            @Value("${infratrack.alerts.rules:}") String rules) {
+        return new AlertEngine(parseAlertRules(rules), domainEventPublisher);
+    }
+
+    @Bean
+    public MeterBinder alertEngineMetrics(AlertEngine alertEngine) {
+        return registry -> Gauge.builder("infratrack.alerts.firing", alertEngine, AlertEngine::firingCount)
+                .description("Alerts currently firing, one per rule and asset")
+                .register(registry);
+    }
+
+    // With hot-tier.file set, dev snapshots go to a memory-mapped file and the
+    // recent history survives restarts
+    @Bean
+    @Profile("dev")
+    public MetricSnapshotRepository inMemoryMetricSnapshotRepository(
+            MetricRollupRepository metricRollupRepository,
+            MetricSketchRepository metricSketchRepository,
+            FleetRanking fleetRanking,
+            AlertEngine alertEngine,
+            @Value("${infratrack.monitoring.sketches.tiers:5m,1h,1d}") String sketchTiers,
+            @Value("${infratrack.monitoring.hot-tier.file:}") String hotTierFile,
+            @Value("${infratrack.monitoring.hot-tier.max-assets:1024}") int maxAssets,
+            @Value("${infratrack.monitoring.hot-tier.capacity:120}") int capacity) {
+        MetricSnapshotRepository store = hotTierFile.isBlank()
+                ? new InMemoryMetricSnapshotRepository()
+                : new MappedMetricSnapshotRepository(MappedSnapshotFile.open(Path.of(hotTierFile), maxAssets, capacity));
+        return new AlertingMetricSnapshotRepository(new RankingMetricSnapshotRepository(
+                new RollingUpMetricSnapshotRepository(store, metricRollupRepository,
+                        metricSketchRepository, parseTiers(sketchTiers)), fleetRanking), alertEngine);
     }
 
+    // The snapshot write path, outermost first:
+    //   Alerting        evaluates alert rules on each accepted snapshot
+    //   Ranking         updates the fleet top-N
+    //   HotTier         per-node rings for recent reads (hot-tier.*; capacity 0 disables it)
+    //   Buffered        bounded queue drained in batches by a few writer threads
+    //   RollingUp       folds each written batch into the rollup tiers and sketches
+    //   LatestTracking  upserts asset_latest_metrics in the batch's transaction
+    //   store           JPA rows, or compressed blocks with storage.format=COMPRESSED
     @Bean
     @Profile({"demo", "prod"})
     public MetricSnapshotRepository jpaMetricSnapshotRepository(
-            SpringDataMetricSnapshotRepository springRepo) {
-        return new JpaMetricSnapshotRepository(springRepo);
+            SpringDataMetricSnapshotRepository springRepo,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MetricRollupRepository metricRollupRepository,
+            MetricSketchRepository metricSketchRepository,
+            FleetRanking fleetRanking,
+            AlertEngine alertEngine,
+            MeterRegistry meterRegistry,
+            @Value("${infratrack.monitoring.pipeline.capacity:10000}") int capacity,
+            @Value("${infratrack.monitoring.pipeline.overflow-policy:BLOCK}") BufferedMetricSnapshotRepository.OverflowPolicy policy,
+            @Value("${infratrack.monitoring.pipeline.block-timeout-ms:5000}") long blockTimeoutMs,
+            @Value("${infratrack.monitoring.pipeline.max-batch-size:500}") int maxBatchSize,
+            @Value("${infratrack.monitoring.pipeline.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${infratrack.monitoring.pipeline.writers:2}") int writers,
+            @Value("${infratrack.monitoring.partitions.query-lookback-hours:24}") long lookbackHours,
+            @Value("${infratrack.monitoring.hot-tier.capacity:120}") int hotTierCapacity,
+            @Value("${infratrack.monitoring.hot-tier.file:}") String hotTierFile,
+            @Value("${infratrack.monitoring.hot-tier.max-assets:1024}") int hotTierMaxAssets,
+            @Value("${infratrack.monitoring.storage.format:ROWS}") SnapshotStorageFormat storageFormat,
+            @Value("${infratrack.monitoring.storage.block-minutes:120}") long blockMinutes,
+            @Value("${infratrack.monitoring.sketches.tiers:5m,1h,1d}") String sketchTiers) {
+        MetricSnapshotRepository store = switch (storageFormat) {
+            case ROWS -> new JpaMetricSnapshotRepository(springRepo, Duration.ofHours(lookbackHours));
+            case COMPRESSED -> new CompressedMetricSnapshotRepository(jdbcTemplate, Duration.ofMinutes(blockMinutes));
+        };
+        MetricSnapshotRepository tracked = new LatestTrackingMetricSnapshotRepository(
+                store, new JdbcLatestMetricsRepository(jdbcTemplate), new TransactionTemplate(transactionManager));
+        MetricSnapshotRepository pipeline = new BufferedMetricSnapshotRepository(
+                new RollingUpMetricSnapshotRepository(tracked, metricRollupRepository,
+                        metricSketchRepository, parseTiers(sketchTiers)),
+                new BufferedMetricSnapshotRepository.Settings(capacity, policy, Duration.ofMillis(blockTimeoutMs),
+                        maxBatchSize, Duration.ofMillis(flushIntervalMs), writers),
+                meterRegistry);
+        MetricSnapshotRepository front = pipeline;
+        if (hotTierCapacity > 0) {
+            front = hotTierFile.isBlank()
+                    ? new HotTierMetricSnapshotRepository(pipeline, hotTierCapacity, meterRegistry)
+                    : new HotTierMetricSnapshotRepository(pipeline,
+                            MappedSnapshotFile.open(Path.of(hotTierFile), hotTierMaxAssets, hotTierCapacity), meterRegistry);
+        }
+        return new AlertingMetricSnapshotRepository(
+                new RankingMetricSnapshotRepository(front, fleetRanking), alertEngine);
+    }
+
+    @Bean
+    public QueryMetricRollupsUseCase queryMetricRollupsUseCase(MetricRollupRepository metricRollupRepository) {
+        return new MetricRollupService(metricRollupRepository);
+    }
+
+    @Bean
+    @Profile("dev")
+    public MetricHistoryRepository inMemoryMetricHistoryRepository(MetricSnapshotRepository metricSnapshotRepository) {
+        return new InMemoryMetricHistoryRepository(metricSnapshotRepository);
+    }
+
+    // Raw history is aggregated where it is stored: in SQL for rows, by decoding
+    // only the blocks in range for the compressed format
+    @Bean
+    @Profile({"demo", "prod"})
+    public MetricHistoryRepository metricHistoryRepository(
+            SpringDataMetricSnapshotRepository springRepo,
+            JdbcTemplate jdbcTemplate,
+            @Value("${infratrack.monitoring.storage.format:ROWS}") SnapshotStorageFormat storageFormat,
+            @Value("${infratrack.monitoring.storage.block-minutes:120}") long blockMinutes) {
+        return switch (storageFormat) {
+            case ROWS -> new JpaMetricHistoryRepository(springRepo);
+            case COMPRESSED -> new CompressedMetricSnapshotRepository(jdbcTemplate, Duration.ofMinutes(blockMinutes));
+        };
+    }
+
+    @Bean
+    public QueryMetricHistoryUseCase queryMetricHistoryUseCase(MetricRollupRepository metricRollupRepository,
+                                                               MetricSketchRepository metricSketchRepository,
+                                                               MetricHistoryRepository metricHistoryRepository) {
+        return new MetricHistoryService(metricRollupRepository, metricSketchRepository, metricHistoryRepository);
+    }
+
+    // Dev stores are scanned asset by asset on a fork-join pool
+    @Bean
+    @Profile("dev")
+    public FleetMetricsRepository inMemoryFleetMetricsRepository(AssetRepository assetRepository,
+                                                                 MetricSnapshotRepository metricSnapshotRepository,
+                                                                 MetricRollupRepository metricRollupRepository,
+                                                                 MetricSketchRepository metricSketchRepository,
+                                                                 @Value("${infratrack.monitoring.storage.decode-threads:4}") int decodeThreads) {
+        return new ForkJoinFleetMetricsRepository(assetRepository,
+                (type, status, from, to) -> assetId -> metricSnapshotRepository.findLatestByAssetId(assetId, Integer.MAX_VALUE).stream()
+                        .filter(snapshot -> !snapshot.collectedAt().isBefore(from) && snapshot.collectedAt().isBefore(to))
+                        .toList(),
+                metricRollupRepository, metricSketchRepository, decodeThreads);
+    }
+
+    // Fleet metrics are grouped in SQL; compressed blocks cannot be, so raw fleet
+    // queries over them read the matching blocks in one query and decode them per
+    // asset on a dedicated pool instead
+    @Bean
+    @Profile({"demo", "prod"})
+    public FleetMetricsRepository jdbcFleetMetricsRepository(
+            JdbcTemplate jdbcTemplate,
+            AssetRepository assetRepository,
+            MetricRollupRepository metricRollupRepository,
+            MetricSketchRepository metricSketchRepository,
+            @Value("${infratrack.monitoring.storage.format:ROWS}") SnapshotStorageFormat storageFormat,
+            @Value("${infratrack.monitoring.storage.block-minutes:120}") long blockMinutes,
+            @Value("${infratrack.monitoring.storage.decode-threads:4}") int decodeThreads) {
+        return switch (storageFormat) {
+            case ROWS -> new JdbcFleetMetricsRepository(jdbcTemplate);
+            case COMPRESSED -> new JdbcFleetMetricsRepository(jdbcTemplate, new ForkJoinFleetMetricsRepository(
+                    assetRepository,
+                    new CompressedMetricSnapshotRepository(jdbcTemplate, Duration.ofMinutes(blockMinutes))::findFleetBetween,
+                    metricRollupRepository, metricSketchRepository, decodeThreads));
+        };
+    }
+
+    // Default steps are rounded up to a tier that is retained and, for percentiles, sketched
+    @Bean
+    public QueryFleetMetricsUseCase queryFleetMetricsUseCase(
+            FleetMetricsRepository fleetMetricsRepository,
+            MetricRetentionPolicy metricRetentionPolicy,
+            @Value("${infratrack.monitoring.sketches.tiers:5m,1h,1d}") String sketchTiers) {
+        return new FleetMetricsService(fleetMetricsRepository, parseTiers(sketchTiers), metricRetentionPolicy);
+    }
+
+    // Retention per series (raw, 1m, 5m, 1h, 1d) with per-type overrides given as
+    // "<ASSET_TYPE>.<series>=<days>,..."; 0 days keeps a series forever. Raw rows are
+    // left to the partition drop unless a raw TTL is shorter than it.
+    @Bean
+    public MetricRetentionPolicy metricRetentionPolicy(
+            @Value("${infratrack.monitoring.retention.raw-days:0}") long rawDays,
+            @Value("${infratrack.monitoring.retention.rollup-days.1m:7}") long oneMinuteDays,
+            @Value("${infratrack.monitoring.retention.rollup-days.5m:30}") long fiveMinuteDays,
+            @Value("${infratrack.monitoring.retention.rollup-days.1h:365}") long oneHourDays,
+            @Value("${infratrack.monitoring.retention.rollup-days.1d:0}") long oneDayDays,
+            @Value("${infratrack.monitoring.retention.types:}") String typeOverrides,
+            @Value("${infratrack.monitoring.partitions.retention-days:30}") long partitionDays) {
+        Map<String, Duration> defaults = Map.of(
+                MetricRetentionPolicy.RAW, Duration.ofDays(rawDays),
+                RollupTier.ONE_MINUTE.label(), Duration.ofDays(oneMinuteDays),
+                RollupTier.FIVE_MINUTES.label(), Duration.ofDays(fiveMinuteDays),
+                RollupTier.ONE_HOUR.label(), Duration.ofDays(oneHourDays),
+                RollupTier.ONE_DAY.label(), Duration.ofDays(oneDayDays));
+
+        Map<AssetType, Map<String, Duration>> byType = new EnumMap<>(AssetType.class);
+        for (String override : typeOverrides.split(",")) {
+            if (override.isBlank()) {
+                continue;
+            }
+            String[] parts = override.split("[.=]");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid retention override, expected <ASSET_TYPE>.<series>=<days>: " + override);
+            }
+            byType.computeIfAbsent(AssetType.valueOf(parts[0].trim()), type -> new HashMap<>())
+                    .put(MetricRetentionPolicy.requireSeries(parts[1].trim()), Duration.ofDays(Long.parseLong(parts[2].trim())));
+        }
+        return new MetricRetentionPolicy(defaults, byType, Duration.ofDays(Math.max(0, partitionDays)));
+    }
+
+    @Bean
+    @Profile({"demo", "prod"})
+    public PurgeExpiredMetricsUseCase purgeExpiredMetricsUseCase(
+            JdbcTemplate jdbcTemplate,
+            MetricRetentionPolicy metricRetentionPolicy,
+            @Value("${infratrack.monitoring.retention.chunk-size:5000}") int chunkSize,
+            @Value("${infratrack.monitoring.retention.pause-ms:200}") long pauseMs,
+            @Value("${infratrack.monitoring.retention.max-run-seconds:600}") long maxRunSeconds) {
+        return new MetricRetentionService(new JdbcMetricRetentionRepository(jdbcTemplate), metricRetentionPolicy,
+                new MetricRetentionService.Settings(chunkSize, Duration.ofMillis(pauseMs), Duration.ofSeconds(maxRunSeconds)));
+    }
+
+    @Bean
+    @Profile({"demo", "prod"})
+    public MetricPartitionManager metricPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${infratrack.monitoring.partitions.lock-timeout-seconds:5}") long lockTimeoutSeconds) {
+        return new MetricPartitionManager(jdbcTemplate, Duration.ofSeconds(lockTimeoutSeconds));
+    }
+
+    @Bean
+    public CollectionWheel collectionWheel(
+            @Value("${infratrack.monitoring.wheel.tick-millis:1000}") long tickMillis,
+            @Value("${infratrack.monitoring.interval-seconds:60}") long intervalSeconds) {
+        return new CollectionWheel(Duration.ofMillis(tickMillis), Duration.ofSeconds(intervalSeconds));
+    }
+
+    // Slot occupancy of the collection wheel: max/min per slot show how evenly the
+    // hashed phases spread the fleet, entries how many assets are scheduled at all.
+    @Bean
+    public MeterBinder collectionWheelMetrics(CollectionWheel collectionWheel) {
+        return registry -> {
+            Gauge.builder("infratrack.monitoring.wheel.entries", collectionWheel, CollectionWheel::size)
+                    .description("Assets scheduled on the collection wheel")
+                    .register(registry);
+            Gauge.builder("infratrack.monitoring.wheel.slot.max", collectionWheel, CollectionWheel::maxOccupancy)
+                    .description("Assets in the fullest slot of the collection wheel")
+                    .register(registry);
+            Gauge.builder("infratrack.monitoring.wheel.slot.mean", collectionWheel,
+                            wheel -> (double) wheel.size() / wheel.slots())
+                    .description("Average assets per slot of the collection wheel")
+                    .register(registry);
+            Gauge.builder("infratrack.monitoring.wheel.period.mean", collectionWheel,
+                            wheel -> wheel.meanPeriod().toMillis() / 1000.0)
+                    .description("Average collection interval of the scheduled assets")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    // Base interval per AssetType (defaulting to the global interval) and optional
+    // per-asset overrides given as "<asset-uuid>=<seconds>,..."; overrides are never adapted.
+    @Bean
+    public CollectionIntervalPolicy collectionIntervalPolicy(
+            @Value("${infratrack.monitoring.interval-seconds:60}") long intervalSeconds,
+            @Value("${infratrack.monitoring.intervals.server-seconds:${infratrack.monitoring.interval-seconds:60}}") long serverSeconds,
+            @Value("${infratrack.monitoring.intervals.router-seconds:${infratrack.monitoring.interval-seconds:60}}") long routerSeconds,
+            @Value("${infratrack.monitoring.intervals.iot-device-seconds:${infratrack.monitoring.interval-seconds:60}}") long iotDeviceSeconds,
+            @Value("${infratrack.monitoring.intervals.assets:}") String assetOverrides,
+            @Value("${infratrack.monitoring.intervals.adaptive.enabled:false}") boolean adaptiveEnabled,
+            @Value("${infratrack.monitoring.intervals.adaptive.min-seconds:15}") long minSeconds,
+            @Value("${infratrack.monitoring.intervals.adaptive.max-seconds:600}") long maxSeconds,
+            @Value("${infratrack.monitoring.intervals.adaptive.volatility-percent:10}") double volatilityPercent,
+            @Value("${infratrack.monitoring.intervals.adaptive.flat-percent:2}") double flatPercent,
+            @Value("${infratrack.monitoring.intervals.adaptive.hot-percent:85}") double hotPercent) {
+        Map<AssetType, Duration> byType = Map.of(
+                AssetType.SERVER, Duration.ofSeconds(serverSeconds),
+                AssetType.ROUTER, Duration.ofSeconds(routerSeconds),
+                AssetType.IOT_DEVICE, Duration.ofSeconds(iotDeviceSeconds));
+
+        Map<AssetId, Duration> byAsset = new HashMap<>();
+        for (String override : assetOverrides.split(",")) {
+            if (override.isBlank()) {
+                continue;
+            }
+            String[] parts = override.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid per-asset interval, expected <uuid>=<seconds>: " + override);
+            }
+            byAsset.put(AssetId.of(parts[0].trim()), Duration.ofSeconds(Long.parseLong(parts[1].trim())));
+        }
+
+        return new CollectionIntervalPolicy(Duration.ofSeconds(intervalSeconds), byType, byAsset,
+                new CollectionIntervalPolicy.Adaptive(adaptiveEnabled,
+                        Duration.ofSeconds(minSeconds), Duration.ofSeconds(maxSeconds),
+                        volatilityPercent, flatPercent, hotPercent));
+    }
+
+    @Bean
+    public AssetCircuitBreaker assetCircuitBreaker(
+            DomainEventPublisher domainEventPublisher,
+            @Value("${infratrack.monitoring.circuit-breaker.failure-threshold:3}") int failureThreshold,
+            @Value("${infratrack.monitoring.circuit-breaker.base-backoff-seconds:30}") long baseBackoffSeconds,
+            @Value("${infratrack.monitoring.circuit-breaker.max-backoff-seconds:900}") long maxBackoffSeconds,
+            @Value("${infratrack.monitoring.circuit-breaker.jitter:0.2}") double jitter) {
+        return new AssetCircuitBreaker(
+                new AssetCircuitBreaker.Settings(failureThreshold,
+                        Duration.ofSeconds(baseBackoffSeconds), Duration.ofSeconds(maxBackoffSeconds), jitter),
+                domainEventPublisher);
+    }
+
+    @Bean
+    public MeterBinder assetCircuitBreakerMetrics(AssetCircuitBreaker assetCircuitBreaker) {
+        return registry -> {
+            for (CircuitState state : List.of(CircuitState.OPEN, CircuitState.HALF_OPEN)) {
+                Gauge.builder("infratrack.monitoring.circuit.assets", assetCircuitBreaker, breaker -> breaker.count(state))
+                        .description("Assets whose collection circuit is in the given state")
+                        .tag("state", state.name().toLowerCase())
+                        .register(registry);
+            }
+        };
     }
 
     @Bean
     public MonitorAssetUseCase monitorAssetUseCase(
             AssetRepository assetRepository,
             MetricsCollector metricsCollector,
-            MetricSnapshotRepository metricSnapshotRepository) {
-        return new MonitoringService(assetRepository, metricsCollector, metricSnapshotRepository);
+            MetricSnapshotRepository metricSnapshotRepository,
+            CollectionWheel collectionWheel,
+            CollectionIntervalPolicy collectionIntervalPolicy,
+            AssetCircuitBreaker assetCircuitBreaker,
+            @Value("${infratrack.monitoring.sweep.max-concurrency:16}") int maxConcurrency,
+            @Value("${infratrack.monitoring.sweep.deadline-seconds:50}") long deadlineSeconds) {
+        return new MonitoringService(assetRepository, metricsCollector, metricSnapshotRepository,
+                new MonitoringService.SweepSettings(maxConcurrency, Duration.ofSeconds(deadlineSeconds)),
+                collectionWheel, collectionIntervalPolicy, assetCircuitBreaker);
     }
 
     @Bean
@@ -72,10 +459,43 @@ public class BeanConfiguration {
 
     @Bean
     @Profile({"demo", "prod"})
-    public MetricsCollector sshMetricsCollector(
+    public SshConnectionPool sshConnectionPool(
             @Value("${infratrack.ssh.port:22}") int sshPort,
+            @Value("${infratrack.ssh.pool.max-connections:256}") int maxConnections,
+            @Value("${infratrack.ssh.pool.idle-timeout-seconds:300}") long idleTimeoutSeconds,
+            @Value("${infratrack.ssh.pool.keepalive-seconds:30}") long keepAliveSeconds,
+            @Value("${infratrack.ssh.connection.timeout-seconds:30}") long connectTimeoutSeconds,
             MeterRegistry meterRegistry) {
-        return new SshMetricsCollector(sshPort, meterRegistry);
+        return new SshConnectionPool(sshPort, new SshConnectionPool.Settings(
+                maxConnections,
+                Duration.ofSeconds(idleTimeoutSeconds),
+                Duration.ofSeconds(keepAliveSeconds),
+                Duration.ofSeconds(connectTimeoutSeconds)
+        ), meterRegistry);
+    }
+
+    // Probe per asset type, chosen by name among the registered definitions
+    @Bean
+    @Profile({"demo", "prod"})
+    public ProbeCatalog probeCatalog(
+            @Value("${infratrack.ssh.probe.server:linux-proc}") String serverProbe,
+            @Value("${infratrack.ssh.probe.router:linux-proc}") String routerProbe,
+            @Value("${infratrack.ssh.probe.iot-device:linux-proc}") String iotDeviceProbe) {
+        return new ProbeCatalog()
+                .register(ProbeDefinition.linuxTop())
+                .register(ProbeDefinition.linuxProc())
+                .use(AssetType.SERVER, serverProbe)
+                .use(AssetType.ROUTER, routerProbe)
+                .use(AssetType.IOT_DEVICE, iotDeviceProbe);
+    }
+
+    @Bean
+    @Profile({"demo", "prod"})
+    public MetricsCollector sshMetricsCollector(
+            SshConnectionPool sshConnectionPool,
+            ProbeCatalog probeCatalog,
+            MeterRegistry meterRegistry) {
+        return new SshMetricsCollector(sshConnectionPool, probeCatalog, meterRegistry);
     }
 
     // --- User beans ---
@@ -114,5 +534,33 @@ public class BeanConfiguration {
             TokenGenerator tokenGenerator) {
         return new AuthenticationService(userRepository, passwordEncoder, tokenGenerator);
     }
-}
 
+    // Semicolon-separated rule definitions, see AlertRule; names must be unique
+    private static List<AlertRule> parseAlertRules(String definitions) {
+        List<AlertRule> rules = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (String definition : definitions.split(";")) {
+            if (definition.isBlank()) {
+                continue;
+            }
+            AlertRule rule = AlertRule.parse(definition);
+            if (!names.add(rule.name())) {
+                throw new IllegalArgumentException("Duplicate alert rule name: " + rule.name());
+            }
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    // Comma-separated tier labels, e.g. "5m,1h,1d"; blank for none
+    private static Set<RollupTier> parseTiers(String labels) {
+        Set<RollupTier> tiers = EnumSet.noneOf(RollupTier.class);
+        for (String label : labels.split(",")) {
+            if (!label.isBlank()) {
+                tiers.add(RollupTier.fromLabel(label.trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown rollup tier: " + label)));
+            }
+        }
+        return tiers;
+    }
+}
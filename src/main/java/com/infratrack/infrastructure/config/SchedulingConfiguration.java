@@ -1,8 +1,33 @@
 package com.infratrack.infrastructure.config;
 
+import com.infratrack.infrastructure.adapter.input.SweepCoordinator;
+import com.infratrack.infrastructure.adapter.input.WallClockAlignedTrigger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.time.Clock;
+import java.time.Duration;
+
 @Configuration
 @EnableScheduling
-public class SchedulingConfiguration { }
+public class SchedulingConfiguration {
+
+    @Bean
+    public SweepCoordinator sweepCoordinator(
+            @Value("${infratrack.monitoring.interval-seconds:60}") long intervalSeconds,
+            @Value("${infratrack.monitoring.overlap.policy:SKIP}") SweepCoordinator.OverlapPolicy policy,
+            @Value("${infratrack.monitoring.overlap.max-queued:1}") int maxQueued,
+            @Value("${infratrack.monitoring.overlap.late-threshold-ms:1000}") long lateThresholdMs,
+            MeterRegistry meterRegistry) {
+        return new SweepCoordinator(
+                policy,
+                maxQueued,
+                Duration.ofMillis(lateThresholdMs),
+                new WallClockAlignedTrigger(Duration.ofSeconds(intervalSeconds)),
+                Clock.systemUTC(),
+                meterRegistry);
+    }
+}
@@ -112,7 +112,8 @@ public class SecurityConfig {
                 // 2. Actuator endpoints are public — Prometheus scrapes and Docker
                 //    healthchecks are unauthenticated machine requests. Note: in a real
                 //    deployment these would sit on a separate management port or network.
-                // 3. GET on assets/** is allowed to any authenticated role.
+                // 3. GET on assets/** is allowed to any authenticated role, and so is
+                //    POST assets/metrics/query: a bulk read whose ids travel in the body.
                 // 4. All other verbs on assets/** (POST/PUT/DELETE) require ADMIN.
                 //    hasRole("ADMIN") checks for the authority ROLE_ADMIN — the filter
                 //    sets "ROLE_" + claims.role(), so "ADMIN" → "ROLE_ADMIN". Consistent.
@@ -122,6 +123,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/v1/auth/login").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/assets/**").hasAnyRole("ADMIN", "VIEWER")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/assets/metrics/query").hasAnyRole("ADMIN", "VIEWER")
                         .requestMatchers("/api/v1/assets/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
@@ -4,12 +4,14 @@ package com.infratrack.infrastructure.persistence;
 import com.infratrack.infrastructure.security.EncryptedStringConverter;
 import jakarta.persistence.*;
 
+import java.util.UUID;
+
 @Entity
 @Table(name = "assets")
 public class AssetJpaEntity {
 
     @Id
-    private String id;
+    private UUID id;
 
     @Column(nullable = false)
     private String name;
@@ -37,7 +39,7 @@ public class AssetJpaEntity {
 
     // --- Constructor completo ---
 
-    public AssetJpaEntity(String id,
+    public AssetJpaEntity(UUID id,
                           String name,
                           String type,
                           String ipAddress,
@@ -55,7 +57,7 @@ public class AssetJpaEntity {
 
     // --- Getters ---
 
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
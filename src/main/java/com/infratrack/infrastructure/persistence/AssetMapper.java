@@ -15,7 +15,7 @@ public final class AssetMapper {
 
     public static AssetJpaEntity toJpaEntity(Asset asset) {
         return new AssetJpaEntity(
-                asset.getId().toString(),
+                asset.getId().getValue(),
                 asset.getName(),
                 asset.getType().name(),
                 asset.getIpAddress().getValue(),
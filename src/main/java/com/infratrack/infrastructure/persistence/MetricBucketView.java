@@ -0,0 +1,20 @@
+package com.infratrack.infrastructure.persistence;
+
+/**
+ * Row of the bucketed native queries in {@link SpringDataMetricSnapshotRepository}.
+ * Numbers are left as {@link Number}: the SQL types of the aggregates differ
+ * between PostgreSQL and H2.
+ */
+public interface MetricBucketView {
+
+    /** Bucket start in epoch seconds. */
+    Number getBucket();
+
+    Number getSamples();
+
+    Number getCpu();
+
+    Number getMemory();
+
+    Number getDisk();
+}
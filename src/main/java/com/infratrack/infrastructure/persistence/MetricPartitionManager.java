@@ -0,0 +1,191 @@
+package com.infratrack.infrastructure.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains the daily range partitions of the {@code metrics} table created by
+ * {@code V4__partition_metrics_by_day.sql} (PostgreSQL only).
+ * <p>
+ * Each partition is named {@code metrics_pYYYYMMDD} and covers one UTC day of
+ * {@code collected_at}. Upcoming partitions are created ahead of time so rows
+ * never land in {@code metrics_default}; expired ones are dropped whole, which
+ * frees their space at once without the bloat and vacuum work of a DELETE.
+ * <p>
+ * On any other database (H2 in dev and tests) the table is not partitioned and
+ * every operation is a no-op.
+ */
+public class MetricPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricPartitionManager.class);
+
+    static final String PREFIX = "metrics_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration lockTimeout;
+    private volatile Boolean partitioned;
+
+    /**
+     * @param lockTimeout longest a DROP waits for its lock on {@code metrics}, so a
+     *                    long-running read delays retention rather than stalling ingest
+     *                    queued behind the DROP
+     */
+    public MetricPartitionManager(JdbcTemplate jdbcTemplate, Duration lockTimeout) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate cannot be null");
+        this.lockTimeout = Objects.requireNonNull(lockTimeout, "lockTimeout cannot be null");
+    }
+
+    /** Whether {@code metrics} is a partitioned PostgreSQL table. Checked once. */
+    public boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('metrics'))",
+                    Boolean.class));
+            partitioned = result;
+        }
+        return result;
+    }
+
+    /** Names of the daily partitions that currently exist. */
+    public List<String> partitions() {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'metrics'::regclass
+                ORDER BY c.relname
+                """, String.class).stream()
+                .filter(name -> dayOf(name).isPresent())
+                .toList();
+    }
+
+    /**
+     * Creates the partitions for {@code from} and the following {@code daysAhead}
+     * days that do not exist yet.
+     *
+     * @return the partitions created
+     */
+    public List<String> createPartitions(LocalDate from, int daysAhead) {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        Set<String> existing = new HashSet<>(partitions());
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i <= daysAhead; i++) {
+            LocalDate day = from.plusDays(i);
+            String name = partitionName(day);
+            if (existing.contains(name)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute(createStatement(day));
+                created.add(name);
+                log.info("Created metrics partition {}", name);
+            } catch (DataAccessException e) {
+                // Typically rows for that day already sit in metrics_default
+                log.error("Could not create metrics partition {}: {}", name, e.getMostSpecificCause().getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Drops every daily partition whose whole day lies before {@code cutoff}.
+     *
+     * @return the partitions dropped
+     */
+    public List<String> dropPartitionsBefore(LocalDate cutoff) {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        List<String> dropped = new ArrayList<>();
+        for (String name : partitions()) {
+            LocalDate day = dayOf(name).orElseThrow();
+            if (!day.isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    dropWithLockTimeout(connection, name);
+                    return null;
+                });
+                dropped.add(name);
+                log.info("Dropped expired metrics partition {}", name);
+            } catch (DataAccessException e) {
+                log.warn("Could not drop metrics partition {}, retrying on the next run: {}",
+                        name, e.getMostSpecificCause().getMessage());
+            }
+        }
+        return dropped;
+    }
+
+    /** Rows that fell outside every daily partition; should stay at zero. */
+    public long defaultPartitionRows() {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM metrics_default", Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    static String partitionName(LocalDate day) {
+        return PREFIX + SUFFIX.format(day);
+    }
+
+    static Optional<LocalDate> dayOf(String partitionName) {
+        if (!partitionName.startsWith(PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDate.parse(partitionName.substring(PREFIX.length()), SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    static String createStatement(LocalDate day) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF metrics"
+                + " FOR VALUES FROM ('" + day + " 00:00:00+00') TO ('" + day.plusDays(1) + " 00:00:00+00')";
+    }
+
+    // DROP takes an ACCESS EXCLUSIVE lock on the parent; SET LOCAL scopes the
+    // timeout to this transaction so the pooled connection is left untouched.
+    private void dropWithLockTimeout(Connection connection, String name) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+            statement.execute("DROP TABLE IF EXISTS " + name);
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.infratrack.infrastructure.persistence;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
 import java.time.Instant;
+import java.util.UUID;
 
+// Persistable: ids are assigned by the mapper, so without isNew() Spring Data would
+// merge() every new snapshot and pay a SELECT before each INSERT.
 @Entity
 @Table(name = "metrics")
-public class MetricSnapshotJpaEntity {
+public class MetricSnapshotJpaEntity implements Persistable<UUID> {
 
     @Id
-    private String id;
+    private UUID id;
 
     @Column(name = "asset_id", nullable = false)
-    private String assetId;
+    private UUID assetId;
 
     @Column(name = "cpu_usage", nullable = false)
     private double cpuUsage;
@@ -25,11 +30,14 @@ public class MetricSnapshotJpaEntity {
     @Column(name = "collected_at", nullable = false)
     private Instant collectedAt;
 
+    @Transient
+    private boolean isNew = true;
+
     protected MetricSnapshotJpaEntity() {}
 
     public MetricSnapshotJpaEntity(
-            String id,
-            String assetId,
+            UUID id,
+            UUID assetId,
             double cpuUsage,
             double memoryUsage,
             double diskUsage,
@@ -43,11 +51,19 @@ public class MetricSnapshotJpaEntity {
         this.collectedAt = collectedAt;
     }
 
-    public String getId() { return id; }
-    public String getAssetId() { return assetId; }
+    @Override
+    public UUID getId() { return id; }
+    public UUID getAssetId() { return assetId; }
     public double getCpuUsage() { return cpuUsage; }
     public double getMemoryUsage() { return memoryUsage; }
     public double getDiskUsage() { return diskUsage; }
     public Instant getCollectedAt() { return collectedAt; }
 
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
 }
@@ -2,8 +2,8 @@ package com.infratrack.infrastructure.persistence;
 
 import com.infratrack.domain.model.AssetId;
 import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.UuidV7;
 
-import java.util.UUID;
 
 public class MetricSnapshotMapper {
 
@@ -13,8 +13,8 @@ public class MetricSnapshotMapper {
 
     public static MetricSnapshotJpaEntity toJpaEntity(MetricSnapshot snapshot) {
         return new MetricSnapshotJpaEntity(
-                UUID.randomUUID().toString(),
-                snapshot.assetId().toString(),
+                UuidV7.generate(),
+                snapshot.assetId().getValue(),
                 snapshot.cpuUsage(),
                 snapshot.memoryUsage(),
                 snapshot.diskUsage(),
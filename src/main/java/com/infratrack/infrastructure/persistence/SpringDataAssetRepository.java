@@ -2,7 +2,9 @@ package com.infratrack.infrastructure.persistence;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface SpringDataAssetRepository extends JpaRepository<AssetJpaEntity, String> {
+import java.util.UUID;
+
+public interface SpringDataAssetRepository extends JpaRepository<AssetJpaEntity, UUID> {
     boolean existsByIpAddress(String ipAddress);
 }
 
@@ -2,10 +2,73 @@ package com.infratrack.infrastructure.persistence;
 
 import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
-public interface SpringDataMetricSnapshotRepository extends JpaRepository<MetricSnapshotJpaEntity, String> {
+public interface SpringDataMetricSnapshotRepository extends JpaRepository<MetricSnapshotJpaEntity, UUID> {
 
-    List<MetricSnapshotJpaEntity> findByAssetIdOrderByCollectedAtDesc(String assetId, Limit limit);
+    // Buckets are :step seconds wide and aligned on the epoch, like MetricPoint.bucketOf.
+    // Plain SQL that PostgreSQL and H2 both run; the time bounds prune daily partitions.
+    String BUCKETED = " FROM (SELECT CAST(FLOOR(EXTRACT(EPOCH FROM collected_at) / :step) AS BIGINT) * :step AS bucket,"
+            + " cpu_usage, memory_usage, disk_usage"
+            + " FROM metrics"
+            + " WHERE asset_id = :assetId AND collected_at >= :from AND collected_at < :to) b"
+            + " GROUP BY bucket ORDER BY bucket";
+
+    List<MetricSnapshotJpaEntity> findByAssetIdOrderByCollectedAtDesc(UUID assetId, Limit limit);
+
+    // The latest :limit rows of every asset in one statement. A window function rather
+    // than LATERAL or DISTINCT ON so H2 runs it too; :since bounds the scan and, on
+    // PostgreSQL, prunes the daily partitions.
+    @Query(value = "SELECT id, asset_id, cpu_usage, memory_usage, disk_usage, collected_at FROM ("
+            + " SELECT m.*, ROW_NUMBER() OVER (PARTITION BY asset_id ORDER BY collected_at DESC) AS rn"
+            + " FROM metrics m WHERE asset_id IN (:assetIds) AND collected_at >= :since) ranked"
+            + " WHERE rn <= :limit"
+            + " ORDER BY asset_id, collected_at DESC",
+            nativeQuery = true)
+    List<MetricSnapshotJpaEntity> findLatestByAssetIdIn(@Param("assetIds") Collection<UUID> assetIds,
+                                                        @Param("since") Instant since,
+                                                        @Param("limit") int limit);
+
+    List<MetricSnapshotJpaEntity> findByAssetIdAndCollectedAtGreaterThanEqualOrderByCollectedAtDesc(
+            UUID assetId, Instant since, Limit limit);
+
+    @Query(value = "SELECT bucket, COUNT(*) AS samples,"
+            + " MIN(cpu_usage) AS cpu, MIN(memory_usage) AS memory, MIN(disk_usage) AS disk" + BUCKETED,
+            nativeQuery = true)
+    List<MetricBucketView> findMinByBucket(@Param("assetId") UUID assetId, @Param("from") Instant from,
+                                           @Param("to") Instant to, @Param("step") long stepSeconds);
+
+    @Query(value = "SELECT bucket, COUNT(*) AS samples,"
+            + " MAX(cpu_usage) AS cpu, MAX(memory_usage) AS memory, MAX(disk_usage) AS disk" + BUCKETED,
+            nativeQuery = true)
+    List<MetricBucketView> findMaxByBucket(@Param("assetId") UUID assetId, @Param("from") Instant from,
+                                           @Param("to") Instant to, @Param("step") long stepSeconds);
+
+    @Query(value = "SELECT bucket, COUNT(*) AS samples,"
+            + " AVG(cpu_usage) AS cpu, AVG(memory_usage) AS memory, AVG(disk_usage) AS disk" + BUCKETED,
+            nativeQuery = true)
+    List<MetricBucketView> findAvgByBucket(@Param("assetId") UUID assetId, @Param("from") Instant from,
+                                           @Param("to") Instant to, @Param("step") long stepSeconds);
+
+    @Query(value = "SELECT bucket, COUNT(*) AS samples,"
+            + " PERCENTILE_CONT(0.95) WITHIN GROUP (ORDER BY cpu_usage) AS cpu,"
+            + " PERCENTILE_CONT(0.95) WITHIN GROUP (ORDER BY memory_usage) AS memory,"
+            + " PERCENTILE_CONT(0.95) WITHIN GROUP (ORDER BY disk_usage) AS disk" + BUCKETED,
+            nativeQuery = true)
+    List<MetricBucketView> findP95ByBucket(@Param("assetId") UUID assetId, @Param("from") Instant from,
+                                           @Param("to") Instant to, @Param("step") long stepSeconds);
+
+    @Query(value = "SELECT bucket, COUNT(*) AS samples,"
+            + " PERCENTILE_CONT(0.99) WITHIN GROUP (ORDER BY cpu_usage) AS cpu,"
+            + " PERCENTILE_CONT(0.99) WITHIN GROUP (ORDER BY memory_usage) AS memory,"
+            + " PERCENTILE_CONT(0.99) WITHIN GROUP (ORDER BY disk_usage) AS disk" + BUCKETED,
+            nativeQuery = true)
+    List<MetricBucketView> findP99ByBucket(@Param("assetId") UUID assetId, @Param("from") Instant from,
+                                           @Param("to") Instant to, @Param("step") long stepSeconds);
 }
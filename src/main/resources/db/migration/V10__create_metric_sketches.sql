@@ -0,0 +1,19 @@
+-- V10: Quantile sketches per asset, tier and bucket
+-- The percentile counterpart of metric_rollups. Each usage column holds a
+-- QuantileSketch in its compact binary form; sketches of a bucket merge exactly,
+-- so p95/p99 over any window are answered by merging buckets, not reading raw rows.
+
+CREATE TABLE metric_sketches (
+    asset_id     UUID        NOT NULL,
+    tier         VARCHAR(4)  NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    sample_count BIGINT      NOT NULL,
+    cpu          BYTEA       NOT NULL,
+    memory       BYTEA       NOT NULL,
+    disk         BYTEA       NOT NULL,
+    CONSTRAINT pk_metric_sketches PRIMARY KEY (asset_id, tier, bucket_start),
+    CONSTRAINT fk_metric_sketches_asset FOREIGN KEY (asset_id) REFERENCES assets(id) ON DELETE CASCADE
+);
+
+-- Fleet-wide reads, as for metric_rollups in V9
+CREATE INDEX idx_metric_sketches_tier_bucket ON metric_sketches(tier, bucket_start);
@@ -0,0 +1,22 @@
+-- V5: Pre-aggregated metric history (1m / 5m / 1h / 1d buckets)
+-- Rows are upserted as snapshots are written: counts and sums add up, min/max widen,
+-- so averages are sum / sample_count and buckets never need recomputing.
+
+CREATE TABLE metric_rollups (
+    asset_id     VARCHAR(36) NOT NULL,
+    tier         VARCHAR(4)  NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    sample_count BIGINT      NOT NULL,
+    cpu_min      DOUBLE PRECISION NOT NULL,
+    cpu_max      DOUBLE PRECISION NOT NULL,
+    cpu_sum      DOUBLE PRECISION NOT NULL,
+    memory_min   DOUBLE PRECISION NOT NULL,
+    memory_max   DOUBLE PRECISION NOT NULL,
+    memory_sum   DOUBLE PRECISION NOT NULL,
+    disk_min     DOUBLE PRECISION NOT NULL,
+    disk_max     DOUBLE PRECISION NOT NULL,
+    disk_sum     DOUBLE PRECISION NOT NULL,
+    -- Also serves range queries: asset, then tier, then time
+    CONSTRAINT pk_metric_rollups PRIMARY KEY (asset_id, tier, bucket_start),
+    CONSTRAINT fk_metric_rollups_asset FOREIGN KEY (asset_id) REFERENCES assets(id) ON DELETE CASCADE
+);
@@ -0,0 +1,14 @@
+-- V6: Compressed snapshot storage (infratrack.monitoring.storage.format=COMPRESSED)
+-- One row per asset and block window; data holds every sample of the window,
+-- Gorilla-encoded (delta-of-delta timestamps, XOR-compressed values).
+
+CREATE TABLE metric_blocks (
+    asset_id     VARCHAR(36) NOT NULL,
+    block_start  TIMESTAMP WITH TIME ZONE NOT NULL,
+    -- Time of the last sample, so retention can drop whole expired blocks
+    block_end    TIMESTAMP WITH TIME ZONE NOT NULL,
+    sample_count INTEGER     NOT NULL,
+    data         BYTEA       NOT NULL,
+    CONSTRAINT pk_metric_blocks PRIMARY KEY (asset_id, block_start),
+    CONSTRAINT fk_metric_blocks_asset FOREIGN KEY (asset_id) REFERENCES assets(id) ON DELETE CASCADE
+);
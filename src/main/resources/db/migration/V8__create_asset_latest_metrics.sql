@@ -0,0 +1,21 @@
+-- V8: Latest snapshot of each asset, one row per asset
+-- Upserted in the same transaction as every snapshot batch, so "current state"
+-- reads are primary-key lookups instead of a newest-row search in metrics, and
+-- every app node sees the same values.
+
+CREATE TABLE asset_latest_metrics (
+    asset_id     UUID PRIMARY KEY,
+    cpu_usage    DOUBLE PRECISION NOT NULL,
+    memory_usage DOUBLE PRECISION NOT NULL,
+    disk_usage   DOUBLE PRECISION NOT NULL,
+    collected_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_asset_latest_metrics_asset FOREIGN KEY (asset_id) REFERENCES assets(id) ON DELETE CASCADE
+);
+
+-- Seed from the rows already stored
+INSERT INTO asset_latest_metrics (asset_id, cpu_usage, memory_usage, disk_usage, collected_at)
+SELECT asset_id, cpu_usage, memory_usage, disk_usage, collected_at
+FROM (SELECT asset_id, cpu_usage, memory_usage, disk_usage, collected_at,
+             ROW_NUMBER() OVER (PARTITION BY asset_id ORDER BY collected_at DESC) AS rn
+      FROM metrics) ranked
+WHERE rn = 1;
@@ -0,0 +1,5 @@
+-- V9: Time-first index on rollups for fleet-wide queries
+-- The primary key leads with asset_id, which serves one asset's history; the fleet
+-- endpoint reads one tier across every asset, so it needs tier and time first.
+
+CREATE INDEX idx_metric_rollups_tier_bucket ON metric_rollups(tier, bucket_start);
@@ -0,0 +1,268 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.output.DomainEventPublisher;
+import com.infratrack.domain.event.AlertFiredEvent;
+import com.infratrack.domain.event.AlertResolvedEvent;
+import com.infratrack.domain.model.AlertRule;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.UsageMetric;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AlertEngine — streaming threshold alerts")
+class AlertEngineTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-09T17:00:00Z");
+
+    private final List<Object> published = new ArrayList<>();
+    private final DomainEventPublisher publisher = published::add;
+    private final AssetId assetId = AssetId.generate();
+    private int sample;
+
+    /** Half a sample after the last recorded one: later snapshots are newer than a removal. */
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return T0.plusSeconds(60L * sample - 30);
+        }
+    };
+
+    private AlertEngine engine(String... definitions) {
+        List<AlertRule> rules = new ArrayList<>();
+        for (String definition : definitions) {
+            rules.add(AlertRule.parse(definition));
+        }
+        return new AlertEngine(rules, publisher, clock);
+    }
+
+    private void record(AlertEngine engine, AssetId assetId, double cpu, double disk) {
+        engine.evaluate(new MetricSnapshot(assetId, cpu, 50.0, disk, T0.plusSeconds(60L * sample++)));
+    }
+
+    private void recordCpu(AlertEngine engine, double... values) {
+        for (double value : values) {
+            record(engine, assetId, value, 10.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Consecutive samples")
+    class ConsecutiveSamples {
+
+        @Test
+        @DisplayName("fires once the run reaches the sample count")
+        void firesAfterRun() {
+            AlertEngine engine = engine("high-cpu: cpu > 90 for 3");
+
+            recordCpu(engine, 95, 96);
+            assertTrue(published.isEmpty());
+
+            recordCpu(engine, 97);
+
+            AlertFiredEvent event = assertInstanceOf(AlertFiredEvent.class, published.get(0));
+            assertEquals("high-cpu", event.ruleName());
+            assertEquals(assetId, event.assetId());
+            assertEquals(UsageMetric.CPU, event.metric());
+            assertEquals(97.0, event.value());
+            assertEquals(90.0, event.threshold());
+            assertTrue(engine.isFiring("high-cpu", assetId));
+        }
+
+        @Test
+        @DisplayName("a sample within the threshold restarts the run")
+        void interruptedRunDoesNotFire() {
+            AlertEngine engine = engine("high-cpu: cpu > 90 for 3");
+
+            recordCpu(engine, 95, 96, 80, 95, 96);
+
+            assertTrue(published.isEmpty());
+            assertFalse(engine.isFiring("high-cpu", assetId));
+        }
+
+        @Test
+        @DisplayName("fires only once while the breach lasts")
+        void firesOnce() {
+            AlertEngine engine = engine("disk-full: disk > 85");
+
+            for (int i = 0; i < 5; i++) {
+                record(engine, assetId, 10.0, 90.0);
+            }
+
+            assertEquals(1, published.size());
+            assertEquals(1, engine.firingCount());
+        }
+
+        @Test
+        @DisplayName("resolves after as many samples back within the threshold")
+        void resolvesAfterRun() {
+            AlertEngine engine = engine("high-cpu: cpu > 90 for 2");
+            recordCpu(engine, 95, 95);
+
+            recordCpu(engine, 50, 95, 50);
+            assertEquals(1, published.size());
+
+            recordCpu(engine, 40);
+
+            AlertResolvedEvent event = assertInstanceOf(AlertResolvedEvent.class, published.get(1));
+            assertEquals("high-cpu", event.ruleName());
+            assertEquals(40.0, event.value());
+            assertEquals(0, engine.firingCount());
+        }
+
+        @Test
+        @DisplayName("below rules fire on low readings")
+        void belowRule() {
+            AlertEngine engine = engine("idle: cpu < 5 for 2");
+
+            recordCpu(engine, 1, 2);
+
+            assertInstanceOf(AlertFiredEvent.class, published.get(0));
+        }
+
+        @Test
+        @DisplayName("ignores snapshots older than the last one evaluated")
+        void ignoresOutOfOrder() {
+            AlertEngine engine = engine("high-cpu: cpu > 90 for 2");
+            engine.evaluate(new MetricSnapshot(assetId, 95, 50, 10, T0.plusSeconds(120)));
+
+            engine.evaluate(new MetricSnapshot(assetId, 95, 50, 10, T0.plusSeconds(60)));
+
+            assertTrue(published.isEmpty());
+        }
+
+        @Test
+        @DisplayName("keeps the state of each rule and asset apart")
+        void independentState() {
+            AlertEngine engine = engine("high-cpu: cpu > 90 for 2", "disk-full: disk > 85");
+            AssetId other = AssetId.generate();
+
+            record(engine, assetId, 95, 90);
+            record(engine, other, 95, 10);
+            record(engine, other, 95, 10);
+
+            assertTrue(engine.isFiring("disk-full", assetId));
+            assertFalse(engine.isFiring("high-cpu", assetId));
+            assertTrue(engine.isFiring("high-cpu", other));
+            assertFalse(engine.isFiring("disk-full", other));
+        }
+    }
+
+    @Nested
+    @DisplayName("Scope")
+    class Scope {
+
+        @Test
+        @DisplayName("type rules apply once the asset's type is registered")
+        void typeRules() {
+            AlertEngine engine = engine("server-cpu: cpu > 90 on SERVER");
+            AssetId router = AssetId.generate();
+            engine.register(router, AssetType.ROUTER);
+
+            recordCpu(engine, 95);
+            record(engine, router, 95, 10);
+            assertTrue(published.isEmpty());
+
+            engine.register(assetId, AssetType.SERVER);
+            recordCpu(engine, 95);
+
+            assertTrue(engine.isFiring("server-cpu", assetId));
+            assertFalse(engine.isFiring("server-cpu", router));
+        }
+
+        @Test
+        @DisplayName("asset rules apply to that asset only")
+        void assetRules() {
+            AlertEngine engine = engine("one: cpu > 90 on " + assetId.getValue());
+            AssetId other = AssetId.generate();
+
+            record(engine, other, 95, 10);
+            recordCpu(engine, 95);
+
+            assertEquals(1, published.size());
+            assertEquals(assetId, ((AlertFiredEvent) published.get(0)).assetId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle")
+    class Lifecycle {
+
+        @Test
+        @DisplayName("clearing an asset resolves its firing alerts and keeps its type")
+        void clearResolves() {
+            AlertEngine engine = engine("server-cpu: cpu > 90 on SERVER");
+            engine.register(assetId, AssetType.SERVER);
+            recordCpu(engine, 95);
+
+            engine.clear(assetId);
+
+            AlertResolvedEvent event = assertInstanceOf(AlertResolvedEvent.class, published.get(1));
+            assertEquals(95.0, event.value());
+            assertEquals(0, engine.firingCount());
+
+            recordCpu(engine, 95);
+            assertTrue(engine.isFiring("server-cpu", assetId));
+        }
+
+        @Test
+        @DisplayName("forgetting an asset also drops its type")
+        void forgetDropsType() {
+            AlertEngine engine = engine("server-cpu: cpu > 90 on SERVER");
+            engine.register(assetId, AssetType.SERVER);
+            recordCpu(engine, 95);
+
+            engine.forget(assetId);
+            recordCpu(engine, 95);
+
+            assertEquals(2, published.size());
+            assertFalse(engine.isFiring("server-cpu", assetId));
+        }
+
+        @Test
+        @DisplayName("snapshot recorded after forget does not fire")
+        void inFlightAfterForget() {
+            AlertEngine engine = engine("disk-full: disk > 85");
+            MetricSnapshot inFlight = new MetricSnapshot(assetId, 10.0, 50.0, 95.0, T0.plusSeconds(60L * sample++));
+
+            engine.forget(assetId);
+            engine.evaluate(inFlight);
+
+            assertTrue(published.isEmpty());
+            assertFalse(engine.isFiring("disk-full", assetId));
+            assertEquals(0, engine.firingCount());
+        }
+
+        @Test
+        @DisplayName("without rules nothing is tracked")
+        void noRules() {
+            AlertEngine engine = engine();
+
+            recordCpu(engine, 99);
+
+            assertTrue(published.isEmpty());
+            assertEquals(0, engine.firingCount());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.output.DomainEventPublisher;
+import com.infratrack.domain.event.AssetCircuitStateChangedEvent;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.CircuitState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AssetCircuitBreaker — per-asset failure tracking")
+class AssetCircuitBreakerTest {
+
+    /** Clock the test moves by hand. */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final List<Object> published = new ArrayList<>();
+    private final DomainEventPublisher publisher = published::add;
+    private final MutableClock clock = new MutableClock();
+    private final AssetId assetId = AssetId.generate();
+    private AssetCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new AssetCircuitBreaker(
+                new AssetCircuitBreaker.Settings(3, Duration.ofSeconds(30), Duration.ofMinutes(2), 0.0),
+                publisher, clock);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.onFailure(assetId);
+        }
+    }
+
+    private AssetCircuitStateChangedEvent lastEvent() {
+        return (AssetCircuitStateChangedEvent) published.get(published.size() - 1);
+    }
+
+    @Nested
+    @DisplayName("Closed")
+    class Closed {
+
+        @Test
+        @DisplayName("stays closed below the failure threshold")
+        void staysClosedBelowThreshold() {
+            fail(2);
+
+            assertEquals(CircuitState.CLOSED, breaker.stateOf(assetId));
+            assertTrue(breaker.tryAcquire(assetId));
+            assertTrue(published.isEmpty());
+        }
+
+        @Test
+        @DisplayName("a success resets the consecutive failure count")
+        void successResetsFailures() {
+            fail(2);
+            breaker.onSuccess(assetId);
+            fail(2);
+
+            assertEquals(CircuitState.CLOSED, breaker.stateOf(assetId));
+        }
+    }
+
+    @Nested
+    @DisplayName("Open")
+    class Open {
+
+        @Test
+        @DisplayName("opens at the threshold, skips the asset and publishes the transition")
+        void opensAtThreshold() {
+            fail(3);
+
+            assertEquals(CircuitState.OPEN, breaker.stateOf(assetId));
+            assertFalse(breaker.tryAcquire(assetId));
+            assertEquals(1, breaker.count(CircuitState.OPEN));
+            AssetCircuitStateChangedEvent event = lastEvent();
+            assertEquals(CircuitState.CLOSED, event.previousState());
+            assertEquals(CircuitState.OPEN, event.newState());
+            assertEquals(3, event.consecutiveFailures());
+            assertEquals(Duration.ofSeconds(30), event.retryAfter());
+        }
+
+        @Test
+        @DisplayName("doubles the backoff on every re-open, up to the cap")
+        void backoffGrowsExponentially() {
+            fail(3);
+            List<Duration> backoffs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                clock.advance(lastEvent().retryAfter());
+                assertTrue(breaker.tryAcquire(assetId), "trial allowed once the backoff expired");
+                fail(1);
+                backoffs.add(lastEvent().retryAfter());
+            }
+
+            assertEquals(List.of(Duration.ofSeconds(60), Duration.ofSeconds(120),
+                    Duration.ofSeconds(120), Duration.ofSeconds(120)), backoffs);
+        }
+
+        @Test
+        @DisplayName("jitter keeps every backoff within the configured spread")
+        void jitterWithinSpread() {
+            breaker = new AssetCircuitBreaker(
+                    new AssetCircuitBreaker.Settings(1, Duration.ofSeconds(100), Duration.ofSeconds(100), 0.2),
+                    publisher, clock);
+            for (int i = 0; i < 50; i++) {
+                AssetId id = AssetId.generate();
+                breaker.onFailure(id);
+                long millis = lastEvent().retryAfter().toMillis();
+                assertTrue(millis >= 80_000 && millis <= 120_000, "backoff out of range: " + millis);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Half-open")
+    class HalfOpen {
+
+        @Test
+        @DisplayName("admits a single trial once the backoff expires")
+        void singleTrial() {
+            fail(3);
+            clock.advance(Duration.ofSeconds(30));
+
+            assertTrue(breaker.tryAcquire(assetId));
+            assertEquals(CircuitState.HALF_OPEN, breaker.stateOf(assetId));
+            assertFalse(breaker.tryAcquire(assetId), "second trial must wait");
+        }
+
+        @Test
+        @DisplayName("closes on a successful trial")
+        void closesOnSuccess() {
+            fail(3);
+            clock.advance(Duration.ofSeconds(30));
+            breaker.tryAcquire(assetId);
+
+            breaker.onSuccess(assetId);
+
+            assertEquals(CircuitState.CLOSED, breaker.stateOf(assetId));
+            assertEquals(CircuitState.CLOSED, lastEvent().newState());
+            assertEquals(0, breaker.count(CircuitState.HALF_OPEN));
+        }
+
+        @Test
+        @DisplayName("allows another trial if the previous one never reported back")
+        void trialExpires() {
+            fail(3);
+            clock.advance(Duration.ofSeconds(30));
+            breaker.tryAcquire(assetId);
+
+            clock.advance(Duration.ofSeconds(30));
+
+            assertTrue(breaker.tryAcquire(assetId));
+        }
+    }
+}
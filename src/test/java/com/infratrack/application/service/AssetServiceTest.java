@@ -3,12 +3,15 @@ package com.infratrack.application.service;
 import com.infratrack.application.port.output.AssetRepository;
 import com.infratrack.application.port.output.DomainEventPublisher;
 import com.infratrack.domain.event.AssetCreatedEvent;
+import com.infratrack.domain.event.AssetCredentialsChangedEvent;
+import com.infratrack.domain.event.AssetIpAddressChangedEvent;
 import com.infratrack.domain.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -246,6 +249,17 @@ class AssetServiceTest {
             assertEquals(newCreds, result.getCredentials());
             verify(assetRepository, times(1)).save(asset);
         }
+
+        @Test
+        @DisplayName("should publish AssetCredentialsChangedEvent after saving")
+        void updateAssetCredentials_shouldPublishEvent() {
+            Asset asset = sampleAsset();
+            when(assetRepository.findById(asset.getId())).thenReturn(Optional.of(asset));
+
+            assetService.updateAssetCredentials(asset.getId(), Credentials.of("newuser", "newpass1"));
+
+            verify(publisher, times(1)).publish(any(AssetCredentialsChangedEvent.class));
+        }
     }
 
     // -------------------------------------------------------------------------
@@ -282,6 +296,23 @@ class AssetServiceTest {
                     () -> assetService.updateAssetIpAddress(asset.getId(), newIp));
 
             verify(assetRepository, never()).save(asset);
+            verify(publisher, never()).publish(any(AssetIpAddressChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("should publish AssetIpAddressChangedEvent carrying the new address")
+        void updateAssetIpAddress_shouldPublishEventWithNewIp() {
+            Asset asset = sampleAsset();
+            IpAddress newIp = IpAddress.of("10.20.30.40");
+            when(assetRepository.findById(asset.getId())).thenReturn(Optional.of(asset));
+
+            assetService.updateAssetIpAddress(asset.getId(), newIp);
+
+            ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+            verify(publisher, times(1)).publish(captor.capture());
+            AssetIpAddressChangedEvent event = assertInstanceOf(AssetIpAddressChangedEvent.class, captor.getValue());
+            assertEquals(asset.getId(), event.assetId());
+            assertEquals(newIp, event.ipAddress());
         }
 
         @Test
@@ -0,0 +1,109 @@
+package com.infratrack.application.service;
+
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.Credentials;
+import com.infratrack.domain.model.IpAddress;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CollectionIntervalPolicy — per-asset collection intervals")
+class CollectionIntervalPolicyTest {
+
+    private static final CollectionIntervalPolicy.Adaptive ADAPTIVE = new CollectionIntervalPolicy.Adaptive(
+            true, Duration.ofSeconds(15), Duration.ofSeconds(600), 10, 2, 85);
+
+    private final Asset server = asset(AssetType.SERVER);
+    private final Asset sensor = asset(AssetType.IOT_DEVICE);
+
+    private static Asset asset(AssetType type) {
+        return Asset.create("asset", type, IpAddress.of("10.0.0.1"), Credentials.of("admin", "s3cr3t"));
+    }
+
+    private static MetricSnapshot reading(Asset asset, double cpu, double memory, double disk) {
+        return MetricSnapshot.of(asset.getId(), cpu, memory, disk);
+    }
+
+    private CollectionIntervalPolicy policy(CollectionIntervalPolicy.Adaptive adaptive) {
+        return new CollectionIntervalPolicy(
+                Duration.ofSeconds(60),
+                Map.of(AssetType.IOT_DEVICE, Duration.ofSeconds(300)),
+                Map.of(),
+                adaptive);
+    }
+
+    @Nested
+    @DisplayName("Base interval")
+    class BaseInterval {
+
+        @Test
+        @DisplayName("uses the AssetType interval, falling back to the default")
+        void byTypeThenDefault() {
+            CollectionIntervalPolicy policy = policy(CollectionIntervalPolicy.Adaptive.disabled());
+
+            assertEquals(Duration.ofSeconds(300), policy.baseInterval(sensor));
+            assertEquals(Duration.ofSeconds(60), policy.baseInterval(server));
+        }
+
+        @Test
+        @DisplayName("a per-asset override wins and is never adapted")
+        void perAssetOverridePinned() {
+            CollectionIntervalPolicy policy = new CollectionIntervalPolicy(
+                    Duration.ofSeconds(60), Map.of(), Map.of(server.getId(), Duration.ofSeconds(20)), ADAPTIVE);
+
+            assertEquals(Duration.ofSeconds(20), policy.baseInterval(server));
+            assertEquals(Duration.ofSeconds(20), policy.nextInterval(server, reading(server, 95, 95, 95)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Adaptive mode")
+    class AdaptiveMode {
+
+        @Test
+        @DisplayName("halves the interval on a volatile reading")
+        void shrinksWhenVolatile() {
+            CollectionIntervalPolicy policy = policy(ADAPTIVE);
+            policy.nextInterval(server, reading(server, 10, 40, 50));
+
+            assertEquals(Duration.ofSeconds(30), policy.nextInterval(server, reading(server, 35, 40, 50)));
+        }
+
+        @Test
+        @DisplayName("halves the interval near saturation even when readings are stable")
+        void shrinksWhenHot() {
+            CollectionIntervalPolicy policy = policy(ADAPTIVE);
+
+            assertEquals(Duration.ofSeconds(30), policy.nextInterval(server, reading(server, 90, 40, 50)));
+            assertEquals(Duration.ofSeconds(15), policy.nextInterval(server, reading(server, 90, 40, 50)));
+            assertEquals(Duration.ofSeconds(15), policy.nextInterval(server, reading(server, 90, 40, 50)),
+                    "never below min");
+        }
+
+        @Test
+        @DisplayName("grows the interval while readings stay flat, up to max")
+        void growsWhenFlat() {
+            CollectionIntervalPolicy policy = policy(ADAPTIVE);
+            policy.nextInterval(sensor, reading(sensor, 5, 20, 30));
+
+            assertEquals(Duration.ofSeconds(450), policy.nextInterval(sensor, reading(sensor, 6, 20, 30)));
+            assertEquals(Duration.ofSeconds(600), policy.nextInterval(sensor, reading(sensor, 6, 21, 30)));
+        }
+
+        @Test
+        @DisplayName("keeps the interval when disabled")
+        void disabledIsFixed() {
+            CollectionIntervalPolicy policy = policy(CollectionIntervalPolicy.Adaptive.disabled());
+            policy.nextInterval(server, reading(server, 10, 40, 50));
+
+            assertEquals(Duration.ofSeconds(60), policy.nextInterval(server, reading(server, 90, 40, 50)));
+        }
+    }
+}
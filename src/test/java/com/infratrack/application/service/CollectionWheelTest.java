@@ -0,0 +1,191 @@
+package com.infratrack.application.service;
+
+import com.infratrack.domain.model.AssetId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CollectionWheel — hashed timing wheel")
+class CollectionWheelTest {
+
+    private static final Instant EPOCH_ALIGNED = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final CollectionWheel wheel = new CollectionWheel(Duration.ofSeconds(1), Duration.ofSeconds(60));
+
+    private static AssetId assetId(String uuid) {
+        return AssetId.of(UUID.fromString(uuid));
+    }
+
+    private static Instant second(long n) {
+        return EPOCH_ALIGNED.plusSeconds(n);
+    }
+
+    // Advances second by second and returns the second (mod 60) at which each call fired
+    private List<Long> firingSeconds(AssetId assetId, long from, long to) {
+        List<Long> seconds = new ArrayList<>();
+        for (long s = from; s <= to; s++) {
+            if (wheel.advance(second(s)).contains(assetId)) {
+                seconds.add(s);
+            }
+        }
+        return seconds;
+    }
+
+    @Nested
+    @DisplayName("Phase")
+    class Phase {
+
+        @Test
+        @DisplayName("is a pure function of the asset id, so it survives restarts")
+        void stableAcrossInstances() {
+            AssetId id = assetId("3f2b8c1e-7a4d-4e9b-9c0a-5d6e7f8a9b0c");
+
+            assertEquals(CollectionWheel.phaseOf(id, 60), CollectionWheel.phaseOf(id, 60));
+
+            CollectionWheel restarted = new CollectionWheel(Duration.ofSeconds(1), Duration.ofSeconds(60));
+            wheel.schedule(id);
+            restarted.schedule(id);
+            long firstHere = firingSeconds(id, 0, 59).get(0);
+            long firstThere = -1;
+            for (long s = 0; s < 60 && firstThere < 0; s++) {
+                if (restarted.advance(second(s)).contains(id)) {
+                    firstThere = s;
+                }
+            }
+            assertEquals(firstHere, firstThere);
+        }
+
+        @Test
+        @DisplayName("spreads many assets evenly over the slots")
+        void spreadsEvenly() {
+            for (int i = 0; i < 6_000; i++) {
+                wheel.schedule(AssetId.generate());
+            }
+
+            int[] occupancy = wheel.occupancy();
+
+            assertEquals(60, occupancy.length);
+            for (int count : occupancy) {
+                assertTrue(count > 60 && count < 140, "expected ~100 per slot, got " + count);
+            }
+            assertEquals(6_000, wheel.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("advance()")
+    class Advance {
+
+        @Test
+        @DisplayName("fires each asset once per period, always at the same second")
+        void firesOncePerPeriod() {
+            AssetId id = AssetId.generate();
+            wheel.schedule(id);
+
+            List<Long> fired = firingSeconds(id, 0, 179);
+
+            assertEquals(3, fired.size());
+            assertEquals(60, fired.get(1) - fired.get(0));
+            assertEquals(60, fired.get(2) - fired.get(1));
+            assertEquals(CollectionWheel.phaseOf(id, 60), Math.floorMod(fired.get(0), 60));
+        }
+
+        @Test
+        @DisplayName("collects every overdue asset exactly once after a pause")
+        void catchesUpAfterPause() {
+            List<AssetId> ids = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                AssetId id = AssetId.generate();
+                ids.add(id);
+                wheel.schedule(id);
+            }
+            wheel.advance(second(0));
+
+            List<AssetId> due = wheel.advance(second(150));
+
+            assertEquals(Set.copyOf(due).size(), due.size(), "no asset fired twice");
+            assertTrue(due.containsAll(ids.stream().filter(id -> CollectionWheel.phaseOf(id, 60) != 0).toList()));
+            assertEquals(100, wheel.size());
+        }
+
+        @Test
+        @DisplayName("does not fire removed assets")
+        void skipsRemoved() {
+            AssetId id = AssetId.generate();
+            wheel.schedule(id);
+
+            assertTrue(wheel.remove(id));
+
+            assertTrue(firingSeconds(id, 0, 119).isEmpty());
+            assertEquals(0, wheel.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Heterogeneous periods")
+    class HeterogeneousPeriods {
+
+        @Test
+        @DisplayName("fires each asset at its own period, including periods longer than the wheel")
+        void firesAtOwnPeriod() {
+            AssetId fast = AssetId.generate();
+            AssetId slow = AssetId.generate();
+            wheel.schedule(fast, Duration.ofSeconds(10));
+            wheel.schedule(slow, Duration.ofSeconds(300));
+
+            int fastCount = 0;
+            int slowCount = 0;
+            for (long s = 0; s < 600; s++) {
+                List<AssetId> due = wheel.advance(second(s));
+                fastCount += due.contains(fast) ? 1 : 0;
+                slowCount += due.contains(slow) ? 1 : 0;
+            }
+
+            assertEquals(60, fastCount);
+            assertEquals(2, slowCount);
+            assertEquals(Duration.ofSeconds(155), wheel.meanPeriod());
+        }
+
+        @Test
+        @DisplayName("reschedule() switches an asset to the new period from the next tick on")
+        void rescheduleChangesCadence() {
+            AssetId id = AssetId.generate();
+            wheel.schedule(id);
+            wheel.advance(second(0));
+
+            wheel.reschedule(id, Duration.ofSeconds(5));
+
+            assertEquals(24, firingSeconds(id, 1, 120).size());
+            assertEquals(Duration.ofSeconds(5), wheel.periodOf(id).orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("retainAndSchedule() drops stale assets and adds new ones")
+    void retainAndSchedule() {
+        AssetId stale = AssetId.generate();
+        AssetId kept = AssetId.generate();
+        AssetId added = AssetId.generate();
+        wheel.schedule(stale);
+        wheel.schedule(kept);
+
+        List<AssetId> removed = wheel.retainAndSchedule(
+                Map.of(kept, Duration.ofSeconds(60), added, Duration.ofSeconds(60)));
+
+        assertEquals(List.of(stale), removed);
+        assertFalse(wheel.contains(stale));
+        assertTrue(wheel.contains(kept));
+        assertTrue(wheel.contains(added));
+        assertEquals(2, wheel.size());
+    }
+}
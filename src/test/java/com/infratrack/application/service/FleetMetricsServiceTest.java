@@ -0,0 +1,152 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.input.FleetSeries;
+import com.infratrack.application.port.output.FleetMetricsRepository;
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.FleetMetricPoint;
+import com.infratrack.domain.model.RollupTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FleetMetricsService — fleet-wide series")
+class FleetMetricsServiceTest {
+
+    private static final Instant FROM = Instant.parse("2026-03-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-03-02T00:00:00Z");
+
+    @Mock
+    private FleetMetricsRepository fleetRepository;
+
+    private FleetMetricsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(EnumSet.of(RollupTier.ONE_HOUR), MetricRetentionPolicy.keepForever());
+    }
+
+    private FleetMetricsService service(EnumSet<RollupTier> sketched, MetricRetentionPolicy retention) {
+        return new FleetMetricsService(fleetRepository, sketched, retention, Clock.fixed(TO, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("serves averages from the coarsest rollup tier that tiles the step")
+    void averagesFromRollups() {
+        FleetMetricPoint point = new FleetMetricPoint(AssetType.SERVER, AssetStatus.ACTIVE, FROM, 10, 600, 40, 50, 60);
+        when(fleetRepository.aggregateRollups(RollupTier.ONE_HOUR, FROM, TO, Duration.ofHours(1), Aggregation.AVG,
+                AssetType.SERVER, null)).thenReturn(List.of(point));
+
+        FleetSeries series = service.getFleetSeries(FROM, TO, Duration.ofHours(1), Aggregation.AVG, AssetType.SERVER, null);
+
+        assertEquals(Optional.of(RollupTier.ONE_HOUR), series.rollupTier());
+        assertEquals(List.of(point), series.points());
+    }
+
+    @Test
+    @DisplayName("serves percentiles from the sketches of the tier that tiles the step")
+    void percentilesFromSketches() {
+        FleetMetricPoint point = new FleetMetricPoint(AssetType.IOT_DEVICE, AssetStatus.ACTIVE, FROM, 10, 600, 40, 50, 97);
+        when(fleetRepository.aggregateSketches(RollupTier.ONE_HOUR, FROM, TO, Duration.ofHours(1), Aggregation.P99,
+                AssetType.IOT_DEVICE, null)).thenReturn(List.of(point));
+
+        FleetSeries series = service.getFleetSeries(FROM, TO, Duration.ofHours(1), Aggregation.P99, AssetType.IOT_DEVICE, null);
+
+        assertEquals(Optional.of(RollupTier.ONE_HOUR), series.rollupTier());
+        assertEquals(List.of(point), series.points());
+        verify(fleetRepository, never()).aggregate(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("aggregates percentiles from raw snapshots when the tier has no sketches")
+    void percentilesFromRaw() {
+        when(fleetRepository.aggregate(FROM, TO, Duration.ofHours(1), Aggregation.P95, AssetType.IOT_DEVICE, null))
+                .thenReturn(List.of());
+
+        FleetSeries series = service.getFleetSeries(FROM, TO, Duration.ofHours(1), Aggregation.P95, AssetType.IOT_DEVICE, null);
+
+        assertEquals(Optional.empty(), series.rollupTier());
+        verify(fleetRepository, never()).aggregateRollups(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("defaults to avg and about 500 points rounded to whole minutes")
+    void defaultsStepAndAggregation() {
+        when(fleetRepository.aggregateRollups(RollupTier.ONE_MINUTE, FROM, TO, Duration.ofMinutes(3), Aggregation.AVG,
+                null, null)).thenReturn(List.of());
+
+        FleetSeries series = service.getFleetSeries(FROM, TO, null, null, null, null);
+
+        assertEquals(Duration.ofMinutes(3), series.step());
+        assertEquals(Aggregation.AVG, series.aggregation());
+        assertEquals(Duration.ofMinutes(1), service.defaultStep(FROM, FROM.plus(Duration.ofHours(1)), Aggregation.AVG, null));
+    }
+
+    @Test
+    @DisplayName("rounds the default percentile step up to a sketched tier")
+    void defaultPercentileStepOnSketchedTier() {
+        FleetMetricsService sketched = service(EnumSet.of(RollupTier.FIVE_MINUTES, RollupTier.ONE_HOUR),
+                MetricRetentionPolicy.keepForever());
+
+        assertEquals(Duration.ofMinutes(5), sketched.defaultStep(FROM, TO, Aggregation.P95, null));
+        assertEquals(Duration.ofMinutes(3), sketched.defaultStep(FROM, TO, Aggregation.AVG, null));
+    }
+
+    @Test
+    @DisplayName("rounds the default step up past tiers already purged at the start of the range")
+    void defaultStepOnRetainedTier() {
+        Instant monthAgo = TO.minus(Duration.ofDays(30));
+        FleetMetricsService retained = service(EnumSet.allOf(RollupTier.class), new MetricRetentionPolicy(
+                Map.of(RollupTier.ONE_MINUTE.label(), Duration.ofDays(7),
+                        RollupTier.FIVE_MINUTES.label(), Duration.ofDays(7)), Map.of()));
+
+        assertEquals(Duration.ofHours(2), retained.defaultStep(monthAgo, TO, Aggregation.AVG, null));
+        assertEquals(Duration.ofHours(1), retained.defaultStep(FROM.minus(Duration.ofDays(10)), TO, Aggregation.AVG, null));
+    }
+
+    @Test
+    @DisplayName("reads the head of the range the tier no longer covers from raw snapshots")
+    void fillsUncoveredHeadFromRaw() {
+        Instant covered = Instant.parse("2026-03-01T12:00:00Z");
+        FleetMetricPoint rawPoint = new FleetMetricPoint(AssetType.SERVER, AssetStatus.ACTIVE, FROM, 10, 600, 40, 50, 60);
+        FleetMetricPoint tierPoint = new FleetMetricPoint(AssetType.SERVER, AssetStatus.ACTIVE, covered, 10, 600, 45, 50, 60);
+        when(fleetRepository.aggregateSketches(RollupTier.ONE_HOUR, FROM, TO, Duration.ofHours(1), Aggregation.P95,
+                null, null)).thenReturn(List.of(tierPoint));
+        when(fleetRepository.aggregate(FROM, covered, Duration.ofHours(1), Aggregation.P95, null, null))
+                .thenReturn(List.of(rawPoint));
+
+        FleetSeries series = service.getFleetSeries(FROM, TO, Duration.ofHours(1), Aggregation.P95, null, null);
+
+        assertEquals(Optional.of(RollupTier.ONE_HOUR), series.rollupTier());
+        assertEquals(List.of(rawPoint, tierPoint), series.points());
+    }
+
+    @Test
+    @DisplayName("rejects empty ranges and steps that give too many points")
+    void rejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getFleetSeries(TO, FROM, null, Aggregation.AVG, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getFleetSeries(FROM, TO, Duration.ofSeconds(1), Aggregation.AVG, null, null));
+    }
+}
@@ -0,0 +1,180 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.input.MetricSeries;
+import com.infratrack.application.port.output.MetricHistoryRepository;
+import com.infratrack.application.port.output.MetricRollupRepository;
+import com.infratrack.application.port.output.MetricSketchRepository;
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.QuantileSketch;
+import com.infratrack.domain.model.RollupTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricHistoryService — range and step queries")
+class MetricHistoryServiceTest {
+
+    private static final Instant FROM = Instant.parse("2026-03-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-03-31T00:00:00Z");
+
+    @Mock
+    private MetricRollupRepository rollupRepository;
+
+    @Mock
+    private MetricSketchRepository sketchRepository;
+
+    @Mock
+    private MetricHistoryRepository historyRepository;
+
+    private MetricHistoryService service;
+    private final AssetId assetId = AssetId.generate();
+
+    @BeforeEach
+    void setUp() {
+        service = new MetricHistoryService(rollupRepository, sketchRepository, historyRepository);
+    }
+
+    private MetricRollup hour(String start, double cpu) {
+        MetricRollup.Stats stats = new MetricRollup.Stats(cpu, cpu, cpu * 60);
+        return new MetricRollup(assetId, RollupTier.ONE_HOUR, Instant.parse(start), 60, stats, stats, stats);
+    }
+
+    @Test
+    @DisplayName("picks the coarsest tier whose buckets tile the step")
+    void tierTilesStep() {
+        assertEquals(Optional.of(RollupTier.ONE_MINUTE), MetricHistoryService.tileTier(Duration.ofMinutes(3)));
+        assertEquals(Optional.of(RollupTier.FIVE_MINUTES), MetricHistoryService.tileTier(Duration.ofMinutes(15)));
+        assertEquals(Optional.of(RollupTier.ONE_HOUR), MetricHistoryService.tileTier(Duration.ofHours(6)));
+        assertEquals(Optional.empty(), MetricHistoryService.tileTier(Duration.ofSeconds(30)));
+        assertEquals(Optional.empty(), MetricHistoryService.tileTier(Duration.ofSeconds(90)));
+    }
+
+    @Test
+    @DisplayName("without a step, sizes buckets for about 500 points, rounded up to tile a tier")
+    void defaultStep() {
+        assertEquals(Duration.ofHours(2), MetricHistoryService.defaultStep(Duration.ofDays(30)));
+        assertEquals(Duration.ofMinutes(10), MetricHistoryService.defaultStep(Duration.ofDays(3)));
+        assertEquals(Duration.ofMinutes(3), MetricHistoryService.defaultStep(Duration.ofDays(1)));
+        assertEquals(Duration.ofSeconds(1), MetricHistoryService.defaultStep(Duration.ofSeconds(10)));
+        assertEquals(Optional.of(RollupTier.ONE_HOUR),
+                MetricHistoryService.tileTier(MetricHistoryService.defaultStep(Duration.ofDays(30))));
+    }
+
+    @Test
+    @DisplayName("serves min/max/avg from rollups when the tier covers the range")
+    void servesFromRollups() {
+        when(rollupRepository.findByAssetId(assetId, RollupTier.ONE_HOUR, FROM, TO))
+                .thenReturn(List.of(hour("2026-03-01T00:00:00Z", 10.0), hour("2026-03-01T01:00:00Z", 30.0)));
+
+        MetricSeries series = service.getSeries(assetId, FROM, TO, Duration.ofHours(2), Aggregation.AVG);
+
+        assertEquals(Optional.of(RollupTier.ONE_HOUR), series.rollupTier());
+        assertEquals(1, series.points().size());
+        assertEquals(120, series.points().get(0).count());
+        assertEquals(20.0, series.points().get(0).cpu(), 1e-9);
+        verifyNoInteractions(historyRepository);
+    }
+
+    @Test
+    @DisplayName("reads the head of the range the rollups no longer cover from raw snapshots")
+    void fillsUncoveredHeadFromRaw() {
+        Instant covered = Instant.parse("2026-03-20T00:00:00Z");
+        MetricPoint rawPoint = new MetricPoint(FROM, 60, 50.0, 50.0, 50.0);
+        when(rollupRepository.findByAssetId(assetId, RollupTier.ONE_HOUR, FROM, TO))
+                .thenReturn(List.of(hour("2026-03-20T00:00:00Z", 10.0)));
+        when(historyRepository.aggregate(assetId, FROM, covered, Duration.ofHours(1), Aggregation.MAX))
+                .thenReturn(List.of(rawPoint));
+
+        MetricSeries series = service.getSeries(assetId, FROM, TO, Duration.ofHours(1), Aggregation.MAX);
+
+        assertEquals(2, series.points().size());
+        assertEquals(rawPoint, series.points().get(0));
+        assertEquals(covered, series.points().get(1).bucketStart());
+    }
+
+    @Test
+    @DisplayName("merges the sketches of a tier into p99 points")
+    void percentileFromSketches() {
+        double[] quiet = new double[99];
+        Arrays.fill(quiet, 10.0);
+        QuantileSketch first = QuantileSketch.of(quiet);
+        QuantileSketch second = QuantileSketch.of(90.0, 90.0);
+        when(sketchRepository.findByAssetId(assetId, RollupTier.ONE_HOUR, FROM, TO)).thenReturn(List.of(
+                new MetricSketch(assetId, RollupTier.ONE_HOUR, FROM, first, first, first),
+                new MetricSketch(assetId, RollupTier.ONE_HOUR, FROM.plusSeconds(3600), second, second, second)));
+
+        MetricSeries series = service.getSeries(assetId, FROM, TO, Duration.ofHours(2), Aggregation.P99);
+
+        assertEquals(Optional.of(RollupTier.ONE_HOUR), series.rollupTier());
+        assertEquals(1, series.points().size());
+        assertEquals(101, series.points().get(0).count());
+        assertEquals(90.0, series.points().get(0).cpu(), 90.0 * QuantileSketch.RELATIVE_ACCURACY);
+        verifyNoInteractions(historyRepository, rollupRepository);
+    }
+
+    @Test
+    @DisplayName("aggregates p95 from raw snapshots when the tier has no sketches, never from rollups")
+    void percentileGoesRaw() {
+        when(historyRepository.aggregate(assetId, FROM, TO, Duration.ofHours(1), Aggregation.P95)).thenReturn(List.of());
+
+        MetricSeries series = service.getSeries(assetId, FROM, TO, Duration.ofHours(1), Aggregation.P95);
+
+        assertTrue(series.rollupTier().isEmpty());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    @DisplayName("falls back to raw snapshots when no rollups exist")
+    void fallsBackToRaw() {
+        when(rollupRepository.findByAssetId(assetId, RollupTier.ONE_HOUR, FROM, TO)).thenReturn(List.of());
+        when(historyRepository.aggregate(assetId, FROM, TO, Duration.ofHours(1), Aggregation.AVG)).thenReturn(List.of());
+
+        MetricSeries series = service.getSeries(assetId, FROM, TO, Duration.ofHours(1), null);
+
+        assertEquals(Aggregation.AVG, series.aggregation());
+        assertTrue(series.rollupTier().isEmpty());
+    }
+
+    @Test
+    @DisplayName("widens the start of the range to the start of its bucket")
+    void alignsStart() {
+        Instant from = Instant.parse("2026-03-01T00:17:00Z");
+        Instant to = Instant.parse("2026-03-02T00:00:00Z");
+        Instant aligned = Instant.parse("2026-03-01T00:16:30Z");
+        when(historyRepository.aggregate(assetId, aligned, to, Duration.ofSeconds(90), Aggregation.P95))
+                .thenReturn(List.of(new MetricPoint(aligned, 1, 1.0, 1.0, 1.0)));
+
+        MetricSeries series = service.getSeries(assetId, from, to, Duration.ofSeconds(90), Aggregation.P95);
+
+        assertEquals(aligned, series.points().get(0).bucketStart());
+    }
+
+    @Test
+    @DisplayName("rejects empty ranges, fractional steps and too many points")
+    void rejectsInvalidQueries() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getSeries(assetId, TO, FROM, Duration.ofHours(1), Aggregation.AVG));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getSeries(assetId, FROM, TO, Duration.ofMillis(1500), Aggregation.AVG));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getSeries(assetId, FROM, TO, Duration.ofSeconds(1), Aggregation.AVG));
+    }
+}
@@ -0,0 +1,155 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.input.RetentionReport;
+import com.infratrack.application.port.output.MetricRetentionRepository;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.RollupTier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricRetentionService — chunked retention")
+class MetricRetentionServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-01T12:34:56Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Mock
+    private MetricRetentionRepository retentionRepository;
+
+    private static MetricRetentionPolicy rawOnly(Duration ttl) {
+        return new MetricRetentionPolicy(Map.of(MetricRetentionPolicy.RAW, ttl), Map.of());
+    }
+
+    /** Service whose pauses are counted instead of slept. */
+    private static final class CountingPauses extends MetricRetentionService {
+        int pauses;
+
+        CountingPauses(MetricRetentionRepository repository, MetricRetentionPolicy policy, Settings settings, Clock clock) {
+            super(repository, policy, settings, clock);
+        }
+
+        @Override
+        protected boolean pause(Duration pause) {
+            pauses++;
+            return true;
+        }
+    }
+
+    @Nested
+    @DisplayName("MetricRetentionPolicy")
+    class Policy {
+
+        @Test
+        @DisplayName("per-type TTLs replace the default; zero keeps a series forever")
+        void perTypeOverrides() {
+            MetricRetentionPolicy policy = new MetricRetentionPolicy(
+                    Map.of(MetricRetentionPolicy.RAW, Duration.ofDays(30), "1h", Duration.ofDays(365)),
+                    Map.of(AssetType.IOT_DEVICE, Map.of(MetricRetentionPolicy.RAW, Duration.ofDays(7), "1h", Duration.ZERO)));
+
+            assertEquals(Optional.of(Duration.ofDays(30)), policy.rawTtl(AssetType.SERVER));
+            assertEquals(Optional.of(Duration.ofDays(7)), policy.rawTtl(AssetType.IOT_DEVICE));
+            assertEquals(Optional.empty(), policy.rollupTtl(AssetType.IOT_DEVICE, RollupTier.ONE_HOUR));
+            assertEquals(Optional.empty(), policy.rollupTtl(AssetType.SERVER, RollupTier.ONE_MINUTE));
+        }
+
+        @Test
+        @DisplayName("raw rows are row-deleted only for a TTL shorter than the partition drop")
+        void rawRowsLeftToPartitionDrop() {
+            MetricRetentionPolicy policy = new MetricRetentionPolicy(
+                    Map.of(MetricRetentionPolicy.RAW, Duration.ofDays(30)),
+                    Map.of(AssetType.IOT_DEVICE, Map.of(MetricRetentionPolicy.RAW, Duration.ofDays(7)),
+                            AssetType.ROUTER, Map.of(MetricRetentionPolicy.RAW, Duration.ZERO)),
+                    Duration.ofDays(30));
+
+            assertEquals(Optional.empty(), policy.snapshotRowTtl(AssetType.SERVER));
+            assertEquals(Optional.of(Duration.ofDays(7)), policy.snapshotRowTtl(AssetType.IOT_DEVICE));
+            assertEquals(Optional.of(Duration.ofDays(30)), policy.blockTtl(AssetType.SERVER));
+            assertEquals(Optional.of(Duration.ofDays(30)), policy.blockTtl(AssetType.ROUTER));
+            assertEquals(Optional.of(Duration.ofDays(7)), policy.blockTtl(AssetType.IOT_DEVICE));
+        }
+
+        @Test
+        @DisplayName("rejects unknown series names")
+        void rejectsUnknownSeries() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new MetricRetentionPolicy(Map.of("2w", Duration.ofDays(1)), Map.of()));
+        }
+    }
+
+    @Test
+    @DisplayName("deletes chunk after chunk, pausing in between, until a chunk comes back short")
+    void deletesInChunks() {
+        Instant cutoff = NOW.minus(Duration.ofDays(30));
+        when(retentionRepository.deleteSnapshotsBefore(eq(AssetType.SERVER), eq(cutoff), eq(100)))
+                .thenReturn(100, 100, 42);
+        when(retentionRepository.deleteSnapshotsBefore(eq(AssetType.ROUTER), any(), anyInt())).thenReturn(0);
+        when(retentionRepository.deleteSnapshotsBefore(eq(AssetType.IOT_DEVICE), any(), anyInt())).thenReturn(0);
+        CountingPauses service = new CountingPauses(retentionRepository, rawOnly(Duration.ofDays(30)),
+                new MetricRetentionService.Settings(100, Duration.ofMillis(50), Duration.ofMinutes(1)), CLOCK);
+
+        RetentionReport report = service.purgeExpired();
+
+        assertTrue(report.complete());
+        assertEquals(242, report.totalRows());
+        assertEquals(2, service.pauses);
+        verify(retentionRepository, never()).deleteRollupsBefore(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("default config purges no raw rows: partition drops remove them")
+    void defaultConfigLeavesRawRows() {
+        MetricRetentionPolicy policy = new MetricRetentionPolicy(
+                Map.of(MetricRetentionPolicy.RAW, Duration.ZERO, "1m", Duration.ofDays(7), "5m", Duration.ofDays(30),
+                        "1h", Duration.ofDays(365), "1d", Duration.ZERO),
+                Map.of(), Duration.ofDays(30));
+
+        new CountingPauses(retentionRepository, policy, MetricRetentionService.Settings.defaults(), CLOCK).purgeExpired();
+
+        verify(retentionRepository, never()).deleteSnapshotsBefore(any(), any(), anyInt());
+        verify(retentionRepository).deleteBlocksBefore(AssetType.SERVER, NOW.minus(Duration.ofDays(30)), 5_000);
+    }
+
+    @Test
+    @DisplayName("rollup cutoffs are aligned to the tier's bucket")
+    void rollupCutoffAligned() {
+        MetricRetentionPolicy policy = new MetricRetentionPolicy(Map.of("1d", Duration.ofDays(400)), Map.of());
+        when(retentionRepository.deleteRollupsBefore(any(), eq(RollupTier.ONE_DAY), any(), anyInt())).thenReturn(0);
+
+        new CountingPauses(retentionRepository, policy, MetricRetentionService.Settings.defaults(), CLOCK).purgeExpired();
+
+        verify(retentionRepository).deleteRollupsBefore(AssetType.SERVER, RollupTier.ONE_DAY,
+                Instant.parse("2025-04-27T00:00:00Z"), 5_000);
+    }
+
+    @Test
+    @DisplayName("stops at the time budget and reports the run as incomplete")
+    void stopsAtBudget() {
+        when(retentionRepository.deleteSnapshotsBefore(eq(AssetType.SERVER), any(), eq(10))).thenReturn(10);
+        CountingPauses service = new CountingPauses(retentionRepository, rawOnly(Duration.ofDays(1)),
+                new MetricRetentionService.Settings(10, Duration.ZERO, Duration.ZERO), CLOCK);
+
+        RetentionReport report = service.purgeExpired();
+
+        assertFalse(report.complete());
+        assertEquals(10, report.totalRows());
+        verify(retentionRepository, never()).deleteSnapshotsBefore(eq(AssetType.ROUTER), any(), anyInt());
+    }
+}
@@ -0,0 +1,75 @@
+package com.infratrack.application.service;
+
+import com.infratrack.application.port.input.RollupSeries;
+import com.infratrack.application.port.output.MetricRollupRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.RollupTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricRollupService — tier selection")
+class MetricRollupServiceTest {
+
+    private static final Instant TO = Instant.parse("2026-03-10T00:00:00Z");
+
+    @Mock
+    private MetricRollupRepository rollupRepository;
+
+    private MetricRollupService service;
+    private final AssetId assetId = AssetId.generate();
+
+    @BeforeEach
+    void setUp() {
+        service = new MetricRollupService(rollupRepository);
+    }
+
+    @Test
+    @DisplayName("picks the coarsest tier no wider than the resolution")
+    void coarsestTierWithinResolution() {
+        assertEquals(RollupTier.ONE_MINUTE, MetricRollupService.selectTier(Duration.ofSeconds(10)));
+        assertEquals(RollupTier.ONE_MINUTE, MetricRollupService.selectTier(Duration.ofMinutes(4)));
+        assertEquals(RollupTier.FIVE_MINUTES, MetricRollupService.selectTier(Duration.ofMinutes(15)));
+        assertEquals(RollupTier.ONE_HOUR, MetricRollupService.selectTier(Duration.ofHours(6)));
+        assertEquals(RollupTier.ONE_DAY, MetricRollupService.selectTier(Duration.ofDays(7)));
+    }
+
+    @Test
+    @DisplayName("without a resolution, sizes buckets for about 500 points over the range")
+    void resolutionFromRange() {
+        Instant from = TO.minus(Duration.ofDays(30));
+        when(rollupRepository.findByAssetId(assetId, RollupTier.ONE_HOUR, from, TO)).thenReturn(List.of());
+
+        RollupSeries series = service.getRollups(assetId, from, TO, null);
+
+        assertEquals(RollupTier.ONE_HOUR, series.tier(), "30 days / 500 = 86 minutes");
+    }
+
+    @Test
+    @DisplayName("widens the start of the range to the start of its bucket")
+    void widensStartToBucket() {
+        when(rollupRepository.findByAssetId(assetId, RollupTier.ONE_HOUR, Instant.parse("2026-03-09T10:00:00Z"), TO))
+                .thenReturn(List.of());
+
+        RollupSeries series = service.getRollups(assetId, Instant.parse("2026-03-09T10:42:00Z"), TO, Duration.ofHours(1));
+
+        assertTrue(series.points().isEmpty());
+    }
+
+    @Test
+    @DisplayName("rejects an empty or inverted range")
+    void rejectsInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> service.getRollups(assetId, TO, TO, Duration.ofMinutes(1)));
+    }
+}
@@ -1,5 +1,6 @@
 package com.infratrack.application.service;
 
+import com.infratrack.application.port.input.SweepReport;
 import com.infratrack.application.port.output.AssetRepository;
 import com.infratrack.application.port.output.MetricSnapshotRepository;
 import com.infratrack.application.port.output.MetricsCollector;
@@ -13,11 +14,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @DisplayName("MonitoringService — application service")
@@ -108,6 +116,19 @@ class MonitoringServiceTest {
             assertEquals(expectedSnapshots, result);
             verify(metricSnapshotRepository, times(1)).findLatestByAssetId(asset.getId(), 5);
         }
+
+        @Test
+        @DisplayName("should read the histories of every asset of a type in one call")
+        void getHistoriesByType_shouldReadAllAssetsOfTypeAtOnce() {
+            Asset router = sampleAsset();
+            Asset server = Asset.create("Web", AssetType.SERVER, IpAddress.of("10.0.0.2"), Credentials.of("admin", "s3cr3t"));
+            Map<AssetId, List<MetricSnapshot>> expected = Map.of(router.getId(), List.of());
+            when(assetRepository.findAll()).thenReturn(List.of(router, server));
+            when(metricSnapshotRepository.findLatestByAssetIds(List.of(router.getId()), 1)).thenReturn(expected);
+
+            assertEquals(expected, monitoringService.getHistoriesByType(AssetType.ROUTER, 1));
+            verify(metricSnapshotRepository, never()).findLatestByAssetId(any(), anyInt());
+        }
     }
 
     @Nested
@@ -150,4 +171,212 @@ class MonitoringServiceTest {
             verify(metricsCollector, times(1)).collect(asset2);
         }
     }
+
+    @Nested
+    @DisplayName("Sweep engine")
+    class SweepEngineTests {
+
+        @Test
+        @DisplayName("should block until the sweep ends and report success and failure counts")
+        void collectAllActive_shouldReportOutcomes() {
+            Asset ok = sampleAsset();
+            Asset missing = sampleAsset();
+
+            when(assetRepository.findAll()).thenReturn(List.of(ok, missing));
+            when(assetRepository.findById(ok.getId())).thenReturn(Optional.of(ok));
+            when(metricsCollector.collect(ok)).thenReturn(MetricSnapshot.of(ok.getId(), 10.0, 20.0, 30.0));
+
+            SweepReport report = monitoringService.collectAllActive();
+
+            assertEquals(2, report.total());
+            assertEquals(1, report.succeeded());
+            assertEquals(1, report.failed());
+            assertEquals(0, report.timedOut());
+            verify(metricSnapshotRepository, times(1)).save(any());
+        }
+
+        @Test
+        @DisplayName("should skip assets whose circuit is open without looking them up")
+        void collectAllActive_shouldSkipOpenCircuits() {
+            AssetCircuitBreaker breaker = new AssetCircuitBreaker(
+                    new AssetCircuitBreaker.Settings(2, Duration.ofMinutes(1), Duration.ofMinutes(10), 0.0),
+                    event -> { });
+            monitoringService = new MonitoringService(assetRepository, metricsCollector, metricSnapshotRepository,
+                    MonitoringService.SweepSettings.defaults(),
+                    new CollectionWheel(Duration.ofSeconds(1), Duration.ofSeconds(60)),
+                    CollectionIntervalPolicy.fixed(Duration.ofSeconds(60)), breaker);
+            Asset down = sampleAsset();
+            when(assetRepository.findAll()).thenReturn(List.of(down));
+            when(assetRepository.findById(down.getId())).thenReturn(Optional.of(down));
+            when(metricsCollector.collect(down)).thenThrow(new RuntimeException("Connection timed out"));
+
+            monitoringService.collectAllActive();
+            monitoringService.collectAllActive();
+            SweepReport report = monitoringService.collectAllActive();
+
+            assertEquals(CircuitState.OPEN, breaker.stateOf(down.getId()));
+            assertEquals(1, report.skipped());
+            verify(assetRepository, times(2)).findById(down.getId());
+            verify(metricsCollector, times(2)).collect(down);
+        }
+
+        @Test
+        @DisplayName("should cancel collections still running at the deadline and count them as timed out")
+        void collectAllActive_shouldCancelStragglersAtDeadline() {
+            monitoringService = new MonitoringService(assetRepository, metricsCollector, metricSnapshotRepository,
+                    new MonitoringService.SweepSettings(4, Duration.ofMillis(200)));
+            Asset fast = sampleAsset();
+            Asset hung = sampleAsset();
+
+            when(assetRepository.findAll()).thenReturn(List.of(fast, hung));
+            when(assetRepository.findById(fast.getId())).thenReturn(Optional.of(fast));
+            when(assetRepository.findById(hung.getId())).thenReturn(Optional.of(hung));
+            when(metricsCollector.collect(fast)).thenReturn(MetricSnapshot.of(fast.getId(), 10.0, 20.0, 30.0));
+            when(metricsCollector.collect(hung)).thenAnswer(invocation -> {
+                Thread.sleep(10_000);
+                return null;
+            });
+
+            SweepReport report = monitoringService.collectAllActive();
+
+            assertEquals(1, report.succeeded());
+            assertEquals(1, report.timedOut());
+            assertTrue(report.duration().compareTo(Duration.ofSeconds(5)) < 0,
+                    "sweep must return at the deadline, not wait for the hung collection");
+        }
+
+        @Test
+        @DisplayName("should never run more collections at once than the concurrency limit")
+        void collectAllActive_shouldRespectConcurrencyLimit() {
+            monitoringService = new MonitoringService(assetRepository, metricsCollector, metricSnapshotRepository,
+                    new MonitoringService.SweepSettings(2, Duration.ofSeconds(10)));
+            List<Asset> assets = List.of(sampleAsset(), sampleAsset(), sampleAsset(), sampleAsset(), sampleAsset());
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+
+            when(assetRepository.findAll()).thenReturn(assets);
+            assets.forEach(a -> when(assetRepository.findById(a.getId())).thenReturn(Optional.of(a)));
+            when(metricsCollector.collect(any())).thenAnswer(invocation -> {
+                Asset asset = invocation.getArgument(0);
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                inFlight.decrementAndGet();
+                return MetricSnapshot.of(asset.getId(), 10.0, 20.0, 30.0);
+            });
+
+            SweepReport report = monitoringService.collectAllActive();
+
+            assertEquals(5, report.succeeded());
+            assertTrue(peak.get() <= 2, "peak concurrency was " + peak.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("collectDue() — wheel scheduling")
+    class CollectDueTests {
+
+        private static final Instant ROTATION_START = Instant.parse("2026-01-01T00:00:00Z");
+
+        private CollectionWheel wheel;
+
+        @BeforeEach
+        void setUpWheel() {
+            wheel = new CollectionWheel(Duration.ofSeconds(1), Duration.ofSeconds(60));
+            monitoringService = new MonitoringService(assetRepository, metricsCollector, metricSnapshotRepository,
+                    new MonitoringService.SweepSettings(4, Duration.ofSeconds(10)), wheel);
+        }
+
+        // An asset whose phase is past the first slot of the rotation
+        private Asset assetPastFirstSlot() {
+            Asset asset = sampleAsset();
+            while (CollectionWheel.phaseOf(asset.getId(), 60) < 1) {
+                asset = sampleAsset();
+            }
+            return asset;
+        }
+
+        private Instant phaseOf(Asset asset) {
+            return ROTATION_START.plusSeconds(CollectionWheel.phaseOf(asset.getId(), 60));
+        }
+
+        @Test
+        @DisplayName("should collect each active asset once per interval, at its own phase")
+        void collectDue_shouldCollectOncePerInterval() {
+            Asset asset = sampleAsset();
+            when(assetRepository.findAll()).thenReturn(List.of(asset));
+            when(assetRepository.findById(asset.getId())).thenReturn(Optional.of(asset));
+            when(metricsCollector.collect(asset)).thenReturn(MetricSnapshot.of(asset.getId(), 10.0, 20.0, 30.0));
+
+            int collected = 0;
+            for (int s = 0; s < 60; s++) {
+                SweepReport report = monitoringService.collectDue(ROTATION_START.plusSeconds(s));
+                collected += report.succeeded();
+                if (report.succeeded() > 0) {
+                    assertEquals(phaseOf(asset), ROTATION_START.plusSeconds(s));
+                }
+            }
+
+            assertEquals(1, collected);
+            verify(assetRepository, times(1)).findAll();
+        }
+
+        @Test
+        @DisplayName("should skip and unschedule an asset deactivated since the last sync")
+        void collectDue_shouldDropDeactivatedAsset() {
+            Asset asset = assetPastFirstSlot();
+            when(assetRepository.findAll()).thenReturn(List.of(asset));
+            monitoringService.collectDue(ROTATION_START);
+            asset.deactivate();
+            when(assetRepository.findById(asset.getId())).thenReturn(Optional.of(asset));
+
+            SweepReport report = monitoringService.collectDue(phaseOf(asset));
+
+            assertEquals(1, report.skipped());
+            assertFalse(wheel.contains(asset.getId()));
+            verify(metricsCollector, never()).collect(any());
+        }
+
+        @Test
+        @DisplayName("should reschedule an asset at the interval its reading calls for")
+        void collectDue_shouldApplyAdaptiveInterval() {
+            CollectionIntervalPolicy policy = new CollectionIntervalPolicy(Duration.ofSeconds(60), Map.of(), Map.of(),
+                    new CollectionIntervalPolicy.Adaptive(true, Duration.ofSeconds(15), Duration.ofSeconds(600), 10, 2, 85));
+            monitoringService = new MonitoringService(assetRepository, metricsCollector, metricSnapshotRepository,
+                    new MonitoringService.SweepSettings(4, Duration.ofSeconds(10)), wheel, policy);
+            Asset asset = sampleAsset();
+            when(assetRepository.findAll()).thenReturn(List.of(asset));
+            when(assetRepository.findById(asset.getId())).thenReturn(Optional.of(asset));
+            when(metricsCollector.collect(asset)).thenReturn(MetricSnapshot.of(asset.getId(), 95.0, 20.0, 30.0));
+
+            monitoringService.collectDue(phaseOf(asset));
+
+            assertEquals(Duration.ofSeconds(30), wheel.periodOf(asset.getId()).orElseThrow());
+        }
+
+        @Test
+        @DisplayName("should skip an asset whose previous collection is still running")
+        void collectDue_shouldSkipAssetStillInFlight() throws Exception {
+            Asset asset = sampleAsset();
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(assetRepository.findAll()).thenReturn(List.of(asset));
+            when(assetRepository.findById(asset.getId())).thenReturn(Optional.of(asset));
+            when(metricsCollector.collect(asset)).thenAnswer(invocation -> {
+                started.countDown();
+                release.await();
+                return MetricSnapshot.of(asset.getId(), 10.0, 20.0, 30.0);
+            });
+
+            Thread first = Thread.ofVirtual().start(() -> monitoringService.collectDue(phaseOf(asset)));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            SweepReport overlapping = monitoringService.collectDue(phaseOf(asset).plusSeconds(60));
+            release.countDown();
+            first.join();
+
+            assertEquals(1, overlapping.total());
+            assertEquals(1, overlapping.skipped());
+            verify(metricsCollector, times(1)).collect(asset);
+        }
+    }
 }
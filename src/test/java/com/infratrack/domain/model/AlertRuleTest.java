@@ -0,0 +1,71 @@
+package com.infratrack.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AlertRule — threshold rule definitions")
+class AlertRuleTest {
+
+    @Test
+    @DisplayName("parses a fleet-wide rule with a sample count")
+    void parsesFleetRule() {
+        AlertRule rule = AlertRule.parse("high-cpu: cpu > 90 for 5");
+
+        assertEquals("high-cpu", rule.name());
+        assertEquals(UsageMetric.CPU, rule.metric());
+        assertEquals(AlertRule.Comparison.ABOVE, rule.comparison());
+        assertEquals(90.0, rule.threshold());
+        assertEquals(5, rule.samples());
+        assertNull(rule.assetType());
+        assertNull(rule.assetId());
+    }
+
+    @Test
+    @DisplayName("defaults to one sample and takes a type or an asset as scope")
+    void parsesScopes() {
+        AssetId assetId = AssetId.generate();
+
+        AlertRule byType = AlertRule.parse(" disk-full: disk > 85 on iot_device ");
+        AlertRule byAsset = AlertRule.parse("low-mem: memory < 5.5 on " + assetId.getValue());
+
+        assertEquals(1, byType.samples());
+        assertEquals(AssetType.IOT_DEVICE, byType.assetType());
+        assertEquals(AlertRule.Comparison.BELOW, byAsset.comparison());
+        assertEquals(5.5, byAsset.threshold());
+        assertEquals(assetId, byAsset.assetId());
+    }
+
+    @Test
+    @DisplayName("applies to its scope only")
+    void appliesToScope() {
+        AssetId assetId = AssetId.generate();
+
+        assertTrue(AlertRule.parse("a: cpu > 90").appliesTo(assetId, null));
+        assertTrue(AlertRule.parse("a: cpu > 90 on SERVER").appliesTo(assetId, AssetType.SERVER));
+        assertFalse(AlertRule.parse("a: cpu > 90 on SERVER").appliesTo(assetId, AssetType.ROUTER));
+        assertFalse(AlertRule.parse("a: cpu > 90 on SERVER").appliesTo(assetId, null));
+        assertTrue(AlertRule.parse("a: cpu > 90 on " + assetId.getValue()).appliesTo(assetId, AssetType.ROUTER));
+        assertFalse(AlertRule.parse("a: cpu > 90 on " + assetId.getValue()).appliesTo(AssetId.generate(), null));
+    }
+
+    @Test
+    @DisplayName("round-trips through toString")
+    void roundTrips() {
+        AlertRule rule = AlertRule.parse("disk-full: disk > 85 for 3 on SERVER");
+
+        assertEquals(rule, AlertRule.parse(rule.toString()));
+    }
+
+    @Test
+    @DisplayName("rejects malformed definitions")
+    void rejectsMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.parse("cpu > 90"));
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.parse("a: load > 90"));
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.parse("a: cpu >= 90"));
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.parse("a: cpu > 190"));
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.parse("a: cpu > 90 for 0"));
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.parse("a: cpu > 90 on MAINFRAME"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.infratrack.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Lttb — largest-triangle-three-buckets downsampling")
+class LttbTest {
+
+    private record Sample(long x, double y) {
+    }
+
+    private static final List<ToDoubleFunction<? super Sample>> Y = List.of(Sample::y);
+
+    private static List<Sample> flatWithSpike(int size, int spikeAt) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new Sample(i * 1000L, i == spikeAt ? 95.0 : 10.0))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("returns the series untouched when it already fits")
+    void shortSeriesUntouched() {
+        List<Sample> series = flatWithSpike(10, 3);
+
+        assertSame(series, Lttb.downsample(series, 10, Sample::x, Y));
+    }
+
+    @Test
+    @DisplayName("keeps exactly maxPoints, including the first and last point")
+    void keepsFirstAndLast() {
+        List<Sample> series = flatWithSpike(10_000, 5_000);
+
+        List<Sample> sampled = Lttb.downsample(series, 500, Sample::x, Y);
+
+        assertEquals(500, sampled.size());
+        assertEquals(series.get(0), sampled.get(0));
+        assertEquals(series.get(9_999), sampled.get(499));
+    }
+
+    @Test
+    @DisplayName("keeps a one-sample spike that averaging would flatten")
+    void keepsSpike() {
+        List<Sample> sampled = Lttb.downsample(flatWithSpike(10_000, 4_321), 100, Sample::x, Y);
+
+        assertTrue(sampled.contains(new Sample(4_321_000L, 95.0)));
+    }
+
+    @Test
+    @DisplayName("returns original points in ascending order")
+    void pointsAreOriginalAndOrdered() {
+        List<Sample> series = IntStream.range(0, 1_000)
+                .mapToObj(i -> new Sample(i * 60_000L, 50 + 40 * Math.sin(i / 25.0)))
+                .toList();
+
+        List<Sample> sampled = Lttb.downsample(series, 50, Sample::x, Y);
+
+        assertTrue(series.containsAll(sampled));
+        for (int i = 1; i < sampled.size(); i++) {
+            assertTrue(sampled.get(i).x() > sampled.get(i - 1).x());
+        }
+    }
+
+    @Test
+    @DisplayName("rejects fewer than three points")
+    void rejectsTooFewPoints() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Lttb.downsample(flatWithSpike(10, 3), 2, Sample::x, Y));
+    }
+}
@@ -0,0 +1,86 @@
+package com.infratrack.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MetricRollup — bucketed aggregates")
+class MetricRollupTest {
+
+    private final AssetId assetId = AssetId.generate();
+
+    private MetricSnapshot snapshot(String at, double cpu) {
+        return MetricSnapshot.reconstruct(assetId, cpu, 50.0, 70.0, Instant.parse(at));
+    }
+
+    @Test
+    @DisplayName("tiers align buckets on the epoch (a day is a UTC day)")
+    void bucketAlignment() {
+        Instant at = Instant.parse("2026-03-09T17:47:31Z");
+
+        assertEquals(Instant.parse("2026-03-09T17:47:00Z"), RollupTier.ONE_MINUTE.bucketOf(at));
+        assertEquals(Instant.parse("2026-03-09T17:45:00Z"), RollupTier.FIVE_MINUTES.bucketOf(at));
+        assertEquals(Instant.parse("2026-03-09T17:00:00Z"), RollupTier.ONE_HOUR.bucketOf(at));
+        assertEquals(Instant.parse("2026-03-09T00:00:00Z"), RollupTier.ONE_DAY.bucketOf(at));
+    }
+
+    @Test
+    @DisplayName("rejects a bucket start that is not aligned to its tier")
+    void rejectsUnalignedBucket() {
+        MetricRollup.Stats stats = MetricRollup.Stats.of(1.0);
+        assertThrows(IllegalArgumentException.class, () -> new MetricRollup(assetId, RollupTier.ONE_HOUR,
+                Instant.parse("2026-03-09T17:30:00Z"), 1, stats, stats, stats));
+    }
+
+    @Nested
+    @DisplayName("rollUp()")
+    class RollUp {
+
+        @Test
+        @DisplayName("folds snapshots into one delta per tier and bucket")
+        void foldsPerBucket() {
+            List<MetricSnapshot> snapshots = List.of(
+                    snapshot("2026-03-09T17:47:10Z", 10.0),
+                    snapshot("2026-03-09T17:47:40Z", 30.0),
+                    snapshot("2026-03-09T17:48:10Z", 20.0));
+
+            List<MetricRollup> deltas = MetricRollup.rollUp(snapshots, EnumSet.of(RollupTier.ONE_MINUTE, RollupTier.ONE_HOUR));
+
+            assertEquals(3, deltas.size(), "two minute buckets and one hour bucket");
+            MetricRollup hour = deltas.stream().filter(r -> r.tier() == RollupTier.ONE_HOUR).findFirst().orElseThrow();
+            assertEquals(3, hour.count());
+            assertEquals(10.0, hour.cpu().min());
+            assertEquals(30.0, hour.cpu().max());
+            assertEquals(20.0, hour.cpuAverage(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("merging partial rollups gives the same result as rolling up everything at once")
+        void mergeIsIncremental() {
+            List<MetricSnapshot> first = List.of(snapshot("2026-03-09T17:01:00Z", 5.0), snapshot("2026-03-09T17:20:00Z", 95.0));
+            List<MetricSnapshot> second = List.of(snapshot("2026-03-09T17:59:59Z", 40.0));
+            Set<RollupTier> hourly = EnumSet.of(RollupTier.ONE_HOUR);
+
+            MetricRollup merged = MetricRollup.rollUp(first, hourly).get(0).merge(MetricRollup.rollUp(second, hourly).get(0));
+            MetricRollup whole = MetricRollup.rollUp(List.of(first.get(0), first.get(1), second.get(0)), hourly).get(0);
+
+            assertEquals(whole, merged);
+        }
+
+        @Test
+        @DisplayName("refuses to merge rollups of different buckets")
+        void mergeRejectsOtherBucket() {
+            MetricRollup a = MetricRollup.of(snapshot("2026-03-09T17:01:00Z", 5.0), RollupTier.ONE_MINUTE);
+            MetricRollup b = MetricRollup.of(snapshot("2026-03-09T17:02:00Z", 5.0), RollupTier.ONE_MINUTE);
+
+            assertThrows(IllegalArgumentException.class, () -> a.merge(b));
+        }
+    }
+}
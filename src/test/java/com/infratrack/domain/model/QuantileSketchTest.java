@@ -0,0 +1,76 @@
+package com.infratrack.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QuantileSketch — mergeable relative-error quantiles")
+class QuantileSketchTest {
+
+    private static double[] usages(long seed, int size) {
+        Random random = new Random(seed);
+        // Mostly idle with occasional spikes, like a real CPU series
+        return random.doubles(size).map(u -> u < 0.9 ? 5 + 20 * u : 60 + 40 * random.nextDouble()).toArray();
+    }
+
+    private static double exact(double[] values, double fraction) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.floor(fraction * (sorted.length - 1))];
+    }
+
+    @Test
+    @DisplayName("answers quantiles within the relative accuracy")
+    void relativeAccuracy() {
+        double[] values = usages(1, 100_000);
+        QuantileSketch sketch = QuantileSketch.of(values);
+
+        for (double fraction : new double[]{0.5, 0.9, 0.95, 0.99, 0.999}) {
+            double expected = exact(values, fraction);
+            assertEquals(expected, sketch.quantile(fraction), expected * QuantileSketch.RELATIVE_ACCURACY,
+                    "quantile " + fraction);
+        }
+        assertEquals(100_000, sketch.count());
+    }
+
+    @Test
+    @DisplayName("merging two sketches equals sketching all their values")
+    void mergeIsExact() {
+        double[] first = usages(2, 5_000);
+        double[] second = usages(3, 7_000);
+        double[] all = new double[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+
+        QuantileSketch merged = QuantileSketch.of(first).merge(QuantileSketch.of(second));
+
+        assertEquals(QuantileSketch.of(all), merged);
+    }
+
+    @Test
+    @DisplayName("never answers outside the values seen and counts tiny values as zero")
+    void clampsToSeenValues() {
+        QuantileSketch sketch = QuantileSketch.of(0.0, 0.001, 42.0);
+
+        assertEquals(0.0, sketch.quantile(0));
+        assertEquals(42.0, sketch.quantile(1));
+        assertThrows(IllegalStateException.class, () -> new QuantileSketch().quantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(-1));
+    }
+
+    @Test
+    @DisplayName("round-trips through its compact binary form")
+    void encodesCompactly() {
+        QuantileSketch sketch = QuantileSketch.of(usages(4, 3_600));
+
+        byte[] encoded = sketch.encode();
+
+        assertEquals(sketch, QuantileSketch.decode(encoded));
+        assertEquals(new QuantileSketch(), QuantileSketch.decode(new QuantileSketch().encode()));
+        assertTrue(encoded.length < 600, "an hour of samples in " + encoded.length + " bytes");
+    }
+}
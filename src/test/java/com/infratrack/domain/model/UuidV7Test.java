@@ -0,0 +1,56 @@
+package com.infratrack.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UuidV7 — time-ordered ids")
+class UuidV7Test {
+
+    @Test
+    @DisplayName("sets version 7 and the RFC 9562 variant")
+    void versionAndVariant() {
+        UUID uuid = UuidV7.generate();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    @DisplayName("carries its millisecond timestamp in the leading 48 bits")
+    void embedsTimestamp() {
+        long millis = 1_767_225_600_123L;
+
+        UUID uuid = UuidV7.generate(millis);
+
+        assertEquals(millis, UuidV7.timestampOf(uuid));
+        assertTrue(uuid.toString().startsWith(String.format("%08x-%04x-7", millis >>> 16, millis & 0xFFFF)));
+    }
+
+    @Test
+    @DisplayName("sorts by creation time, also as a string")
+    void sortsByTime() {
+        UUID earlier = UuidV7.generate(1_000_000L);
+        UUID later = UuidV7.generate(1_000_001L);
+
+        assertTrue(Long.compareUnsigned(earlier.getMostSignificantBits(), later.getMostSignificantBits()) < 0);
+        assertTrue(earlier.toString().compareTo(later.toString()) < 0);
+    }
+
+    @Test
+    @DisplayName("differs between ids of the same millisecond")
+    void randomWithinMillisecond() {
+        assertNotEquals(UuidV7.generate(42L), UuidV7.generate(42L));
+    }
+
+    @Test
+    @DisplayName("rejects timestamps outside 48 bits and non-v7 UUIDs")
+    void rejectsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.generate(-1L));
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.generate(1L << 48));
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampOf(UUID.randomUUID()));
+    }
+}
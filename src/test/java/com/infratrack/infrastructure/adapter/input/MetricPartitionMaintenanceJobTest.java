@@ -0,0 +1,78 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import com.infratrack.infrastructure.persistence.MetricPartitionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricPartitionMaintenanceJob — partition rolling and retention")
+class MetricPartitionMaintenanceJobTest {
+
+    // 23:30 UTC, already the next day in UTC+2: partitions follow the UTC day
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-05-10T23:30:00Z"), ZoneOffset.ofHours(2));
+
+    @Mock
+    private MetricPartitionManager partitionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private double partitions(String action) {
+        return meterRegistry.counter("infratrack.metrics.partitions", "action", action).count();
+    }
+
+    @Test
+    @DisplayName("creates upcoming partitions and drops those past retention")
+    void createsAndDrops() {
+        when(partitionManager.isPartitioned()).thenReturn(true);
+        when(partitionManager.createPartitions(LocalDate.of(2026, 5, 10), 7)).thenReturn(List.of("metrics_p20260517"));
+        when(partitionManager.dropPartitionsBefore(LocalDate.of(2026, 4, 10)))
+                .thenReturn(List.of("metrics_p20260408", "metrics_p20260409"));
+
+        new MetricPartitionMaintenanceJob(partitionManager, meterRegistry, 7, 30, CLOCK).maintain();
+
+        assertEquals(1.0, partitions("created"));
+        assertEquals(2.0, partitions("dropped"));
+    }
+
+    @Test
+    @DisplayName("retention-days 0 never drops partitions")
+    void retentionDisabled() {
+        when(partitionManager.isPartitioned()).thenReturn(true);
+        when(partitionManager.createPartitions(any(), anyInt())).thenReturn(List.of());
+
+        new MetricPartitionMaintenanceJob(partitionManager, meterRegistry, 7, 0, CLOCK).maintain();
+
+        verify(partitionManager, never()).dropPartitionsBefore(any());
+    }
+
+    @Test
+    @DisplayName("does nothing when metrics is not partitioned")
+    void skipsUnpartitioned() {
+        when(partitionManager.isPartitioned()).thenReturn(false);
+
+        new MetricPartitionMaintenanceJob(partitionManager, meterRegistry, 7, 30, CLOCK).maintain();
+
+        verify(partitionManager, never()).createPartitions(any(), anyInt());
+        verify(partitionManager, never()).dropPartitionsBefore(any());
+    }
+}
@@ -1,21 +1,47 @@
 package com.infratrack.infrastructure.adapter.input;
 
+import com.infratrack.application.port.input.FleetSeries;
+import com.infratrack.application.port.input.MetricSeries;
 import com.infratrack.application.port.input.MonitorAssetUseCase;
+import com.infratrack.application.port.input.QueryFleetMetricsUseCase;
+import com.infratrack.application.port.input.QueryFleetTopUseCase;
+import com.infratrack.application.port.input.QueryMetricHistoryUseCase;
+import com.infratrack.application.port.input.QueryMetricRollupsUseCase;
+import com.infratrack.application.port.input.RollupSeries;
+import com.infratrack.domain.model.Aggregation;
 import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.FleetMetricPoint;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.domain.model.MetricRollup;
 import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.RollupTier;
+import com.infratrack.domain.model.UsageMetric;
 import com.infratrack.infrastructure.config.SecurityConfig;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -31,6 +57,18 @@ public class MetricsRestControllerTest {
     @MockitoBean
     private MonitorAssetUseCase monitorUseCase;
 
+    @MockitoBean
+    private QueryMetricRollupsUseCase rollupsUseCase;
+
+    @MockitoBean
+    private QueryMetricHistoryUseCase historyUseCase;
+
+    @MockitoBean
+    private QueryFleetTopUseCase fleetTopUseCase;
+
+    @MockitoBean
+    private QueryFleetMetricsUseCase fleetMetricsUseCase;
+
     private MetricSnapshot testMetricSnapshot;
 
     private static final String ASSET_ID = "123e4567-e89b-12d3-a456-426614174000";
@@ -77,6 +115,159 @@ public class MetricsRestControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /metrics")
+    class GetBulkMetrics {
+
+        @Test
+        @DisplayName("returns the latest snapshots of the requested assets in one response")
+        void getBulkMetrics_shouldReturnEveryRequestedAsset() throws Exception {
+            AssetId other = AssetId.generate();
+            Map<AssetId, List<MetricSnapshot>> histories = new LinkedHashMap<>();
+            histories.put(testMetricSnapshot.assetId(), List.of(testMetricSnapshot));
+            histories.put(other, List.of());
+            when(monitorUseCase.getHistories(List.of(testMetricSnapshot.assetId(), other), 1)).thenReturn(histories);
+
+            mockMvc.perform(get("/api/v1/assets/metrics")
+                            .param("ids", ASSET_ID + "," + other))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].assetId").value(ASSET_ID))
+                    .andExpect(jsonPath("$[0].snapshots[0].cpuUsage").value(50.0))
+                    .andExpect(jsonPath("$[1].snapshots").isEmpty());
+        }
+
+        @Test
+        @DisplayName("selects the assets by type when no ids are given")
+        void getBulkMetrics_shouldSelectByType() throws Exception {
+            when(monitorUseCase.getHistoriesByType(AssetType.SERVER, 5))
+                    .thenReturn(Map.of(testMetricSnapshot.assetId(), List.of(testMetricSnapshot)));
+
+            mockMvc.perform(get("/api/v1/assets/metrics")
+                            .param("type", "SERVER")
+                            .param("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].assetId").value(ASSET_ID));
+        }
+
+        @Test
+        @DisplayName("returns 400 for an invalid id or a limit above the cap")
+        void getBulkMetrics_shouldReturn400_whenRequestIsInvalid() throws Exception {
+            mockMvc.perform(get("/api/v1/assets/metrics").param("ids", "not-a-uuid"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/v1/assets/metrics").param("limit", "101"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /metrics/query")
+    class QueryBulkMetrics {
+
+        @Test
+        @DisplayName("reads the ids from the body, however many there are")
+        void queryBulkMetrics_shouldReturnEveryRequestedAsset() throws Exception {
+            List<AssetId> assetIds = IntStream.range(0, 2_000).mapToObj(i -> AssetId.generate()).toList();
+            Map<AssetId, List<MetricSnapshot>> histories = new LinkedHashMap<>();
+            assetIds.forEach(assetId -> histories.put(assetId, List.of()));
+            histories.put(testMetricSnapshot.assetId(), List.of(testMetricSnapshot));
+            List<AssetId> requested = new ArrayList<>(assetIds);
+            requested.add(testMetricSnapshot.assetId());
+            when(monitorUseCase.getHistories(requested, 2)).thenReturn(histories);
+
+            String ids = requested.stream().map(assetId -> "\"" + assetId + "\"").collect(Collectors.joining(","));
+            mockMvc.perform(post("/api/v1/assets/metrics/query")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\":[" + ids + "],\"limit\":2}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2_001))
+                    .andExpect(jsonPath("$[2000].assetId").value(ASSET_ID))
+                    .andExpect(jsonPath("$[2000].snapshots[0].cpuUsage").value(50.0));
+        }
+
+        @Test
+        @DisplayName("returns 400 without ids, for an invalid id or a limit above the cap")
+        void queryBulkMetrics_shouldReturn400_whenRequestIsInvalid() throws Exception {
+            mockMvc.perform(post("/api/v1/assets/metrics/query")
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/api/v1/assets/metrics/query")
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[\"not-a-uuid\"]}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/api/v1/assets/metrics/query")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\":[\"" + ASSET_ID + "\"],\"limit\":101}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /metrics/top")
+    class GetFleetTop {
+
+        @Test
+        @DisplayName("returns the hottest assets on the requested metric")
+        void getFleetTop_shouldReturnRankedSnapshots() throws Exception {
+            when(fleetTopUseCase.getTop(UsageMetric.MEMORY, 3)).thenReturn(List.of(testMetricSnapshot));
+
+            mockMvc.perform(get("/api/v1/assets/metrics/top")
+                            .param("metric", "memory")
+                            .param("limit", "3"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].assetId").value(ASSET_ID))
+                    .andExpect(jsonPath("$[0].memoryUsage").value(60.0));
+        }
+
+        @Test
+        @DisplayName("returns 400 for an unknown metric")
+        void getFleetTop_shouldReturn400_whenMetricIsUnknown() throws Exception {
+            mockMvc.perform(get("/api/v1/assets/metrics/top").param("metric", "network"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /metrics/fleet")
+    class GetFleetMetrics {
+
+        @Test
+        @DisplayName("returns one series per asset type and status")
+        void getFleetMetrics_shouldGroupPointsByTypeAndStatus() throws Exception {
+            Instant from = Instant.parse("2026-01-15T00:00:00Z");
+            Instant to = Instant.parse("2026-01-16T00:00:00Z");
+            when(fleetMetricsUseCase.getFleetSeries(from, to, Duration.ofHours(1), Aggregation.P95,
+                    AssetType.IOT_DEVICE, null))
+                    .thenReturn(new FleetSeries(Duration.ofHours(1), Aggregation.P95, Optional.empty(), List.of(
+                            new FleetMetricPoint(AssetType.IOT_DEVICE, AssetStatus.ACTIVE, from, 40, 2400, 30, 50, 91),
+                            new FleetMetricPoint(AssetType.IOT_DEVICE, AssetStatus.ACTIVE, from.plusSeconds(3600),
+                                    40, 2400, 35, 50, 92),
+                            new FleetMetricPoint(AssetType.IOT_DEVICE, AssetStatus.MAINTENANCE, from, 2, 120, 5, 10, 20))));
+
+            mockMvc.perform(get("/api/v1/assets/metrics/fleet")
+                            .param("from", from.toString())
+                            .param("to", to.toString())
+                            .param("step", "1h")
+                            .param("agg", "p95")
+                            .param("type", "IOT_DEVICE"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.aggregation").value("p95"))
+                    .andExpect(jsonPath("$.source").value("raw"))
+                    .andExpect(jsonPath("$.groups.length()").value(2))
+                    .andExpect(jsonPath("$.groups[0].status").value("ACTIVE"))
+                    .andExpect(jsonPath("$.groups[0].points.length()").value(2))
+                    .andExpect(jsonPath("$.groups[0].points[1].disk").value(92.0))
+                    .andExpect(jsonPath("$.groups[0].points[0].assets").value(40))
+                    .andExpect(jsonPath("$.groups[1].status").value("MAINTENANCE"));
+        }
+
+        @Test
+        @DisplayName("returns 400 for an unknown aggregation")
+        void getFleetMetrics_shouldReturn400_whenAggregationIsUnknown() throws Exception {
+            mockMvc.perform(get("/api/v1/assets/metrics/fleet").param("agg", "median"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /{id}/metrics/history")
     class GetMetricsHistory {
@@ -120,5 +311,115 @@ public class MetricsRestControllerTest {
                     .andExpect(jsonPath("$").isArray())
                     .andExpect(jsonPath("$.length()").value(2));
         }
+
+        @Test
+        @DisplayName("thins the snapshots down to maxPoints, newest first")
+        void getMetricsHistory_shouldDownsample_whenMaxPointsIsGiven() throws Exception {
+            List<MetricSnapshot> history = IntStream.range(0, 100)
+                    .mapToObj(i -> MetricSnapshot.reconstruct(testMetricSnapshot.assetId(),
+                            i == 40 ? 99.0 : 10.0, 40.0, 60.0, FIXED_TIME.minusSeconds(60L * i)))
+                    .toList();
+            when(monitorUseCase.getHistory(testMetricSnapshot.assetId(), 100)).thenReturn(history);
+
+            mockMvc.perform(get("/api/v1/assets/{id}/metrics/history", ASSET_ID)
+                            .param("limit", "100")
+                            .param("maxPoints", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(10))
+                    .andExpect(jsonPath("$[0].collectedAt").value(FIXED_TIME.toString()))
+                    .andExpect(jsonPath("$[?(@.cpuUsage == 99.0)]").exists());
+        }
+
+        @Test
+        @DisplayName("returns 400 when maxPoints is below 3")
+        void getMetricsHistory_shouldReturn400_whenMaxPointsIsTooSmall() throws Exception {
+            mockMvc.perform(get("/api/v1/assets/{id}/metrics/history", ASSET_ID)
+                            .param("maxPoints", "2"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("returns aggregated points when a range, step and agg are given")
+        void getMetricsHistory_shouldReturnSeries_whenRangeIsGiven() throws Exception {
+            when(historyUseCase.getSeries(eq(AssetId.of(ASSET_ID)), eq(Instant.parse("2026-01-01T00:00:00Z")),
+                    eq(Instant.parse("2026-01-31T00:00:00Z")), eq(Duration.ofHours(1)), eq(Aggregation.P95)))
+                    .thenReturn(new MetricSeries(Duration.ofHours(1), Aggregation.P95, Optional.empty(),
+                            List.of(new MetricPoint(FIXED_TIME, 60, 91.5, 60.0, 70.0))));
+
+            mockMvc.perform(get("/api/v1/assets/{id}/metrics/history", ASSET_ID)
+                            .param("from", "2026-01-01T00:00:00Z")
+                            .param("to", "2026-01-31T00:00:00Z")
+                            .param("step", "1h")
+                            .param("agg", "p95"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.step").value("PT1H"))
+                    .andExpect(jsonPath("$.aggregation").value("p95"))
+                    .andExpect(jsonPath("$.source").value("raw"))
+                    .andExpect(jsonPath("$.points[0].count").value(60))
+                    .andExpect(jsonPath("$.points[0].cpu").value(91.5));
+        }
+
+        @Test
+        @DisplayName("returns 400 for an unknown aggregation")
+        void getMetricsHistory_shouldReturn400_whenAggIsUnknown() throws Exception {
+            mockMvc.perform(get("/api/v1/assets/{id}/metrics/history", ASSET_ID)
+                            .param("agg", "median"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("returns 400 when the step gives too many points")
+        void getMetricsHistory_shouldReturn400_whenStepIsTooFine() throws Exception {
+            when(historyUseCase.getSeries(any(), any(), any(), any(), any()))
+                    .thenThrow(new IllegalArgumentException("too many points"));
+
+            mockMvc.perform(get("/api/v1/assets/{id}/metrics/history", ASSET_ID)
+                            .param("step", "PT1S"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /{id}/metrics/rollups")
+    class GetMetricsRollups {
+
+        @Test
+        @DisplayName("returns the series of the selected tier with min/avg/max per bucket")
+        void getRollups_shouldReturnSeries() throws Exception {
+            MetricRollup rollup = MetricRollup.of(testMetricSnapshot, RollupTier.FIVE_MINUTES);
+            when(rollupsUseCase.getRollups(eq(AssetId.of(ASSET_ID)), eq(Instant.parse("2026-01-15T00:00:00Z")),
+                    eq(Instant.parse("2026-01-16T00:00:00Z")), eq(Duration.ofMinutes(5))))
+                    .thenReturn(new RollupSeries(RollupTier.FIVE_MINUTES, List.of(rollup)));
+
+            mockMvc.perform(get("/api/v1/assets/{id}/metrics/rollups", ASSET_ID)
+                            .param("from", "2026-01-15T00:00:00Z")
+                            .param("to", "2026-01-16T00:00:00Z")
+                            .param("resolution", "5m"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.tier").value("5m"))
+                    .andExpect(jsonPath("$.points.length()").value(1))
+                    .andExpect(jsonPath("$.points[0].count").value(1))
+                    .andExpect(jsonPath("$.points[0].cpu.avg").value(50.0));
+        }
+
+        @Test
+        @DisplayName("returns 400 when from is not before to")
+        void getRollups_shouldReturn400_whenRangeIsInverted() throws Exception {
+            mockMvc.perform(get("/api/v1/assets/{id}/metrics/rollups", ASSET_ID)
+                            .param("from", "2026-01-16T00:00:00Z")
+                            .param("to", "2026-01-15T00:00:00Z"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("returns 400 for an unparseable resolution")
+        void getRollups_shouldReturn400_whenResolutionIsInvalid() throws Exception {
+            when(rollupsUseCase.getRollups(any(), any(), any(), any()))
+                    .thenReturn(new RollupSeries(RollupTier.ONE_MINUTE, List.of()));
+
+            mockMvc.perform(get("/api/v1/assets/{id}/metrics/rollups", ASSET_ID)
+                            .param("resolution", "fortnight"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 }
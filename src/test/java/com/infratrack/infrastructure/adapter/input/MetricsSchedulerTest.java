@@ -1,6 +1,9 @@
 package com.infratrack.infrastructure.adapter.input;
 
 import com.infratrack.application.port.input.MonitorAssetUseCase;
+import com.infratrack.application.port.input.SweepReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,10 +14,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
 
 @DisplayName("MetricsScheduler — observability instrumentation")
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +36,10 @@ class MetricsSchedulerTest {
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        scheduler = new MetricsScheduler(monitorUseCase, meterRegistry);
+        SweepCoordinator coordinator = new SweepCoordinator(
+                SweepCoordinator.OverlapPolicy.SKIP, 1, Duration.ofSeconds(1),
+                new WallClockAlignedTrigger(Duration.ofSeconds(60)), Clock.systemUTC(), meterRegistry);
+        scheduler = new MetricsScheduler(monitorUseCase, meterRegistry, coordinator);
     }
 
     @Nested
@@ -39,6 +49,8 @@ class MetricsSchedulerTest {
         @Test
         @DisplayName("should record one timer sample on successful sweep")
         void recordsTimerOnSuccess() {
+            when(monitorUseCase.collectAllActive()).thenReturn(SweepReport.empty());
+
             scheduler.collectAll();
 
             Timer timer = meterRegistry.find("infratrack.monitoring.collection.duration").timer();
@@ -63,4 +75,52 @@ class MetricsSchedulerTest {
                     "duration should be positive even on failure");
         }
     }
+
+    @Nested
+    @DisplayName("Counter: infratrack.monitoring.sweep.assets")
+    class SweepOutcomeCounter {
+
+        @Test
+        @DisplayName("should count assets per outcome from the sweep report")
+        void countsOutcomes() {
+            when(monitorUseCase.collectAllActive())
+                    .thenReturn(new SweepReport(6, 3, 2, 1, Duration.ofMillis(40)));
+
+            scheduler.collectAll();
+
+            assertEquals(3.0, outcome("success"));
+            assertEquals(2.0, outcome("failure"));
+            assertEquals(1.0, outcome("timeout"));
+        }
+
+        private double outcome(String outcome) {
+            Counter counter = meterRegistry.find("infratrack.monitoring.sweep.assets")
+                    .tag("outcome", outcome)
+                    .counter();
+            assertNotNull(counter, outcome + " counter should be registered");
+            return counter.count();
+        }
+    }
+
+    @Nested
+    @DisplayName("Wheel mode")
+    class WheelMode {
+
+        @Test
+        @DisplayName("should count skipped assets and record the slot's batch size")
+        void collectDue_recordsOutcomesAndBatchSize() {
+            Instant slot = Instant.parse("2026-01-01T00:00:17Z");
+            when(monitorUseCase.collectDue(slot))
+                    .thenReturn(new SweepReport(4, 2, 1, 0, 1, Duration.ofMillis(15)));
+
+            scheduler.collectDue(slot);
+
+            assertEquals(1.0, meterRegistry.find("infratrack.monitoring.sweep.assets")
+                    .tag("outcome", "skipped").counter().count());
+            DistributionSummary dispatched = meterRegistry.find("infratrack.monitoring.wheel.dispatched").summary();
+            assertEquals(1, dispatched.count());
+            assertEquals(4.0, dispatched.totalAmount());
+            assertEquals(1, meterRegistry.find("infratrack.monitoring.wheel.batch.duration").timer().count());
+        }
+    }
 }
@@ -5,6 +5,10 @@ import com.infratrack.application.port.input.AuthenticateUserUseCase;
 import com.infratrack.application.port.input.AuthenticationResult;
 import com.infratrack.application.port.input.ManageAssetUseCase;
 import com.infratrack.application.port.input.MonitorAssetUseCase;
+import com.infratrack.application.port.input.QueryFleetMetricsUseCase;
+import com.infratrack.application.port.input.QueryFleetTopUseCase;
+import com.infratrack.application.port.input.QueryMetricHistoryUseCase;
+import com.infratrack.application.port.input.QueryMetricRollupsUseCase;
 import com.infratrack.application.port.output.TokenClaims;
 import com.infratrack.application.port.output.TokenValidator;
 import com.infratrack.domain.exception.InvalidTokenException;
@@ -25,6 +29,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.any;
@@ -60,6 +65,18 @@ class SecurityAuthorizationTest {
     @MockitoBean
     private MonitorAssetUseCase monitorAssetUseCase;
 
+    @MockitoBean
+    private QueryMetricRollupsUseCase queryMetricRollupsUseCase;
+
+    @MockitoBean
+    private QueryMetricHistoryUseCase queryMetricHistoryUseCase;
+
+    @MockitoBean
+    private QueryFleetTopUseCase queryFleetTopUseCase;
+
+    @MockitoBean
+    private QueryFleetMetricsUseCase queryFleetMetricsUseCase;
+
     @MockitoBean
     private AuthenticateUserUseCase authenticateUserUseCase;
 
@@ -185,6 +202,18 @@ class SecurityAuthorizationTest {
                     .andExpect(status().isOk());
         }
 
+        @Test
+        @DisplayName("T-26: POST /assets/metrics/query with VIEWER token → 200 (a read despite the verb)")
+        void query_metrics_viewer_200() throws Exception {
+            when(monitorAssetUseCase.getHistories(any(), anyInt())).thenReturn(Map.of());
+
+            mockMvc.perform(post("/api/v1/assets/metrics/query")
+                            .header("Authorization", BEARER)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\":[\"" + ID + "\"]}"))
+                    .andExpect(status().isOk());
+        }
+
         @Test
         @DisplayName("T-16: POST /assets with VIEWER token → 403 + {\"error\":\"...\"}")
         void post_assets_viewer_403() throws Exception {
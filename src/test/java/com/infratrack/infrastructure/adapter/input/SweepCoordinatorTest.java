@@ -0,0 +1,170 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SweepCoordinator — overlap protection and tick accounting")
+class SweepCoordinatorTest {
+
+    private static final Instant BOUNDARY = Instant.parse("2026-01-15T10:30:00Z");
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private SweepCoordinator coordinator(SweepCoordinator.OverlapPolicy policy, Instant now) {
+        return new SweepCoordinator(policy, 1, Duration.ofSeconds(1),
+                new WallClockAlignedTrigger(Duration.ofSeconds(60)),
+                Clock.fixed(now, ZoneOffset.UTC), meterRegistry);
+    }
+
+    private double counter(String name, String... tags) {
+        Counter counter = meterRegistry.find(name).tags(tags).counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    private static void awaitIdle(SweepCoordinator coordinator) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coordinator.isSweepInFlight()) {
+            assertTrue(System.nanoTime() < deadline, "sweep did not finish in time");
+            Thread.sleep(5);
+        }
+    }
+
+    /** A sweep that blocks until released, counting how many times it ran. */
+    private static final class BlockingSweep implements Runnable {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger runs = new AtomicInteger();
+
+        @Override
+        public void run() {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Overlap policies")
+    class OverlapPolicies {
+
+        @Test
+        @DisplayName("SKIP drops a tick that arrives while a sweep is running and counts it as missed")
+        void skipDropsOverlappingTick() throws InterruptedException {
+            SweepCoordinator coordinator = coordinator(SweepCoordinator.OverlapPolicy.SKIP, BOUNDARY);
+            BlockingSweep sweep = new BlockingSweep();
+
+            coordinator.onTick(BOUNDARY, sweep);
+            assertTrue(sweep.started.await(5, TimeUnit.SECONDS));
+            coordinator.onTick(BOUNDARY.plusSeconds(60), sweep);
+            sweep.release.countDown();
+            awaitIdle(coordinator);
+
+            assertEquals(1, sweep.runs.get());
+            assertEquals(1.0, counter("infratrack.monitoring.ticks", "outcome", "skipped"));
+            assertEquals(1.0, counter("infratrack.monitoring.ticks.missed"));
+        }
+
+        @Test
+        @DisplayName("QUEUE runs the overlapping tick after the in-flight sweep, up to the queue limit")
+        void queueRunsAfterwards() throws InterruptedException {
+            SweepCoordinator coordinator = coordinator(SweepCoordinator.OverlapPolicy.QUEUE, BOUNDARY);
+            BlockingSweep sweep = new BlockingSweep();
+
+            coordinator.onTick(BOUNDARY, sweep);
+            assertTrue(sweep.started.await(5, TimeUnit.SECONDS));
+            coordinator.onTick(BOUNDARY.plusSeconds(60), sweep);
+            coordinator.onTick(BOUNDARY.plusSeconds(120), sweep);
+            sweep.release.countDown();
+            awaitIdle(coordinator);
+
+            assertEquals(2, sweep.runs.get(), "one in-flight run plus one queued run");
+            assertEquals(1.0, counter("infratrack.monitoring.ticks", "outcome", "queued"));
+            assertEquals(1.0, counter("infratrack.monitoring.ticks", "outcome", "skipped"));
+        }
+
+        @Test
+        @DisplayName("MERGE folds several overlapping ticks into one follow-up sweep")
+        void mergeCoalesces() throws InterruptedException {
+            SweepCoordinator coordinator = coordinator(SweepCoordinator.OverlapPolicy.MERGE, BOUNDARY);
+            BlockingSweep sweep = new BlockingSweep();
+
+            coordinator.onTick(BOUNDARY, sweep);
+            assertTrue(sweep.started.await(5, TimeUnit.SECONDS));
+            coordinator.onTick(BOUNDARY.plusSeconds(60), sweep);
+            coordinator.onTick(BOUNDARY.plusSeconds(120), sweep);
+            sweep.release.countDown();
+            awaitIdle(coordinator);
+
+            assertEquals(2, sweep.runs.get());
+            assertEquals(2.0, counter("infratrack.monitoring.ticks", "outcome", "merged"));
+            assertEquals(0.0, counter("infratrack.monitoring.ticks.missed"));
+        }
+
+        @Test
+        @DisplayName("a failing sweep releases the coordinator for the next tick")
+        void failureReleasesCoordinator() throws InterruptedException {
+            SweepCoordinator coordinator = coordinator(SweepCoordinator.OverlapPolicy.SKIP, BOUNDARY);
+
+            coordinator.onTick(BOUNDARY, () -> {
+                throw new IllegalStateException("boom");
+            });
+            awaitIdle(coordinator);
+
+            assertFalse(coordinator.isSweepInFlight());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tick timing")
+    class TickTiming {
+
+        @Test
+        @DisplayName("a tick starting past the tolerance after its boundary counts as late")
+        void lateTick() throws InterruptedException {
+            SweepCoordinator coordinator = coordinator(SweepCoordinator.OverlapPolicy.SKIP, BOUNDARY.plusSeconds(5));
+
+            coordinator.onTick(BOUNDARY, () -> { });
+            awaitIdle(coordinator);
+
+            assertEquals(1.0, counter("infratrack.monitoring.ticks.late"));
+            assertEquals(5000.0, meterRegistry.find("infratrack.monitoring.tick.lateness").timer()
+                    .totalTime(TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        @DisplayName("boundaries skipped between two ticks count as missed")
+        void missedBoundaries() throws InterruptedException {
+            SweepCoordinator coordinator = coordinator(SweepCoordinator.OverlapPolicy.SKIP, BOUNDARY);
+
+            coordinator.onTick(BOUNDARY, () -> { });
+            awaitIdle(coordinator);
+            coordinator.onTick(BOUNDARY.plusSeconds(180), () -> { });
+            awaitIdle(coordinator);
+
+            assertEquals(2.0, counter("infratrack.monitoring.ticks.missed"));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.infratrack.infrastructure.adapter.input;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WallClockAlignedTrigger")
+class WallClockAlignedTriggerTest {
+
+    private final WallClockAlignedTrigger trigger = new WallClockAlignedTrigger(Duration.ofSeconds(60));
+
+    @Test
+    @DisplayName("next execution is the next whole interval since the epoch")
+    void alignsToIntervalBoundary() {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-15T10:30:17.250Z"), ZoneOffset.UTC);
+
+        Instant next = trigger.nextExecution(new SimpleTriggerContext(clock));
+
+        assertEquals(Instant.parse("2026-01-15T10:31:00Z"), next);
+        assertEquals(next, trigger.lastScheduled());
+    }
+
+    @Test
+    @DisplayName("a clock sitting exactly on a boundary schedules the following boundary")
+    void boundaryIsExclusive() {
+        assertEquals(Instant.parse("2026-01-15T10:31:00Z"),
+                trigger.nextBoundaryAfter(Instant.parse("2026-01-15T10:30:00Z")));
+    }
+
+    @Test
+    @DisplayName("sub-minute intervals divide the minute evenly")
+    void subMinuteInterval() {
+        WallClockAlignedTrigger every30s = new WallClockAlignedTrigger(Duration.ofSeconds(30));
+
+        assertEquals(Instant.parse("2026-01-15T10:30:30Z"),
+                every30s.nextBoundaryAfter(Instant.parse("2026-01-15T10:30:01Z")));
+    }
+
+    @Test
+    @DisplayName("rejects a zero interval")
+    void rejectsZeroInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new WallClockAlignedTrigger(Duration.ZERO));
+    }
+}
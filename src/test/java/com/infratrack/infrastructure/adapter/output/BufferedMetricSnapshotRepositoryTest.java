@@ -0,0 +1,231 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.MetricSnapshotRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BufferedMetricSnapshotRepository — asynchronous write pipeline")
+class BufferedMetricSnapshotRepositoryTest {
+
+    /** Delegate that records writes and can hold the writer until released. */
+    private static class RecordingRepository implements MetricSnapshotRepository {
+        private final List<MetricSnapshot> saved = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final CountDownLatch firstWrite = new CountDownLatch(1);
+        private final AtomicInteger batches = new AtomicInteger();
+
+        RecordingRepository(boolean blocked) {
+            this.release = new CountDownLatch(blocked ? 1 : 0);
+        }
+
+        @Override
+        public void save(MetricSnapshot snapshot) {
+            saveAll(List.of(snapshot));
+        }
+
+        @Override
+        public void saveAll(List<MetricSnapshot> snapshots) {
+            firstWrite.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.incrementAndGet();
+            saved.addAll(snapshots);
+        }
+
+        @Override
+        public List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+            return saved.stream().filter(s -> s.assetId().equals(assetId)).limit(numberOfSnapshots).toList();
+        }
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private BufferedMetricSnapshotRepository pipeline;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    private BufferedMetricSnapshotRepository pipeline(MetricSnapshotRepository delegate, int capacity,
+                                                      BufferedMetricSnapshotRepository.OverflowPolicy policy) {
+        return new BufferedMetricSnapshotRepository(delegate,
+                new BufferedMetricSnapshotRepository.Settings(capacity, policy, Duration.ofMillis(50),
+                        100, Duration.ofMillis(20), 1),
+                meterRegistry);
+    }
+
+    private static MetricSnapshot snapshot() {
+        return MetricSnapshot.of(AssetId.generate(), 10.0, 20.0, 30.0);
+    }
+
+    private double dropped(String reason) {
+        var counter = meterRegistry.find("infratrack.pipeline.dropped").tag("reason", reason).counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    @Test
+    @DisplayName("writes every queued snapshot in batches and meters batch size and latency")
+    void writesInBatches() {
+        RecordingRepository delegate = new RecordingRepository(false);
+        pipeline = pipeline(delegate, 1_000, BufferedMetricSnapshotRepository.OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 250; i++) {
+            pipeline.save(snapshot());
+        }
+        pipeline.close();
+
+        assertEquals(250, delegate.saved.size());
+        var batches = meterRegistry.find("infratrack.pipeline.batch.size").summary();
+        assertEquals(250.0, batches.totalAmount());
+        assertTrue(batches.max() <= 100, "batches are capped at maxBatchSize");
+        assertEquals(250, meterRegistry.find("infratrack.pipeline.latency").timer().count());
+        assertEquals(0, pipeline.queueDepth());
+        assertTrue(delegate.batches.get() < 250, "each batch is one saveAll call");
+    }
+
+    @Test
+    @DisplayName("counts a whole batch as failed when the delegate rejects it")
+    void failedBatch() {
+        RecordingRepository failing = new RecordingRepository(false) {
+            @Override
+            public void saveAll(List<MetricSnapshot> snapshots) {
+                throw new IllegalStateException("database down");
+            }
+        };
+        pipeline = pipeline(failing, 100, BufferedMetricSnapshotRepository.OverflowPolicy.BLOCK);
+
+        pipeline.saveAll(List.of(snapshot(), snapshot(), snapshot()));
+        pipeline.close();
+
+        assertEquals(3.0, meterRegistry.find("infratrack.pipeline.snapshots").tag("outcome", "failed").counter().count());
+        assertEquals(0.0, meterRegistry.find("infratrack.pipeline.snapshots").tag("outcome", "written").counter().count());
+    }
+
+    @Test
+    @DisplayName("splits a batch rejected by a constraint, so only the bad snapshot is lost")
+    void isolatesBadSnapshot() {
+        MetricSnapshot bad = snapshot();
+        AtomicInteger attempts = new AtomicInteger();
+        RecordingRepository delegate = new RecordingRepository(false) {
+            @Override
+            public void saveAll(List<MetricSnapshot> snapshots) {
+                attempts.incrementAndGet();
+                if (snapshots.contains(bad)) {
+                    throw new DataIntegrityViolationException("asset no longer exists");
+                }
+                super.saveAll(snapshots);
+            }
+        };
+        pipeline = pipeline(delegate, 100, BufferedMetricSnapshotRepository.OverflowPolicy.BLOCK);
+        List<MetricSnapshot> good = List.of(snapshot(), snapshot(), snapshot(), snapshot(), snapshot());
+
+        pipeline.saveAll(List.of(good.get(0), good.get(1), bad, good.get(2), good.get(3), good.get(4)));
+        pipeline.close();
+
+        assertTrue(delegate.saved.containsAll(good));
+        assertFalse(delegate.saved.contains(bad));
+        assertEquals(1.0, meterRegistry.find("infratrack.pipeline.snapshots").tag("outcome", "failed").counter().count());
+        assertEquals(5.0, meterRegistry.find("infratrack.pipeline.snapshots").tag("outcome", "written").counter().count());
+    }
+
+    @Nested
+    @DisplayName("Overflow policies")
+    class OverflowPolicies {
+
+        // Holds the single writer on its first snapshot so the queue fills up behind it
+        private RecordingRepository stalledWriter(BufferedMetricSnapshotRepository.OverflowPolicy policy)
+                throws InterruptedException {
+            RecordingRepository delegate = new RecordingRepository(true);
+            pipeline = pipeline(delegate, 2, policy);
+            pipeline.save(snapshot());
+            assertTrue(delegate.firstWrite.await(5, TimeUnit.SECONDS));
+            return delegate;
+        }
+
+        @Test
+        @DisplayName("DROP_NEWEST rejects new snapshots while the queue is full")
+        void dropNewest() throws InterruptedException {
+            RecordingRepository delegate = stalledWriter(BufferedMetricSnapshotRepository.OverflowPolicy.DROP_NEWEST);
+            MetricSnapshot kept = snapshot();
+            pipeline.save(kept);
+            pipeline.save(snapshot());
+            MetricSnapshot rejected = snapshot();
+
+            assertThrows(IllegalStateException.class, () -> pipeline.save(rejected));
+
+            assertEquals(1.0, dropped("queue_full"));
+            delegate.release.countDown();
+            pipeline.close();
+            assertTrue(delegate.saved.contains(kept));
+            assertFalse(delegate.saved.contains(rejected));
+        }
+
+        @Test
+        @DisplayName("DROP_OLDEST evicts the oldest queued snapshot to admit the new one")
+        void dropOldest() throws InterruptedException {
+            RecordingRepository delegate = stalledWriter(BufferedMetricSnapshotRepository.OverflowPolicy.DROP_OLDEST);
+            MetricSnapshot oldest = snapshot();
+            pipeline.save(oldest);
+            pipeline.save(snapshot());
+            MetricSnapshot newest = snapshot();
+
+            pipeline.save(newest);
+
+            assertEquals(1.0, dropped("evicted"));
+            delegate.release.countDown();
+            pipeline.close();
+            assertFalse(delegate.saved.contains(oldest));
+            assertTrue(delegate.saved.contains(newest));
+        }
+
+        @Test
+        @DisplayName("BLOCK waits for space and drops only after the block timeout")
+        void blockThenDrop() throws InterruptedException {
+            RecordingRepository delegate = stalledWriter(BufferedMetricSnapshotRepository.OverflowPolicy.BLOCK);
+            pipeline.save(snapshot());
+            pipeline.save(snapshot());
+
+            long start = System.nanoTime();
+            assertThrows(IllegalStateException.class, () -> pipeline.save(snapshot()));
+
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40), "save should have waited");
+            assertEquals(1.0, dropped("queue_full"));
+            delegate.release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("rejects saves after close()")
+    void rejectsAfterClose() {
+        pipeline = pipeline(new RecordingRepository(false), 10, BufferedMetricSnapshotRepository.OverflowPolicy.BLOCK);
+        pipeline.close();
+
+        assertThrows(IllegalStateException.class, () -> pipeline.save(snapshot()));
+    }
+}
@@ -0,0 +1,208 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompressedMetricSnapshotRepository — compressed blocks (H2)")
+class CompressedMetricSnapshotRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T00:00:00Z");
+
+    private final AssetId assetId = AssetId.generate();
+    private JdbcTemplate jdbcTemplate;
+    private CompressedMetricSnapshotRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__initial_schema.sql"),
+                new ClassPathResource("db/migration/V5__create_metric_rollups.sql"),
+                new ClassPathResource("db/migration/V6__create_metric_blocks.sql"),
+                new ClassPathResource("db/vendor/h2/V7__native_uuid_keys.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                + " VALUES (?, 'srv', 'SERVER', '10.0.0.1', 'ACTIVE', 'u', 'p')", assetId.toString());
+        repository = new CompressedMetricSnapshotRepository(jdbcTemplate, Duration.ofHours(1));
+    }
+
+    /** One sample a minute from T0. */
+    private MetricSnapshot minute(int i) {
+        return MetricSnapshot.reconstruct(assetId, i % 100, 50.0, 25.5, T0.plus(Duration.ofMinutes(i)));
+    }
+
+    private List<MetricSnapshot> minutes(int fromInclusive, int toExclusive) {
+        return IntStream.range(fromInclusive, toExclusive).mapToObj(this::minute).toList();
+    }
+
+    private int blocks() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM metric_blocks", Integer.class);
+    }
+
+    @Test
+    @DisplayName("packs each asset-hour into one row and reads the latest samples across blocks")
+    void latestAcrossBlocks() {
+        repository.saveAll(minutes(0, 150));
+
+        assertEquals(3, blocks());
+        assertEquals(minutes(50, 150).reversed(), repository.findLatestByAssetId(assetId, 100));
+        assertEquals(150, repository.findLatestByAssetId(assetId, 1_000).size());
+    }
+
+    @Test
+    @DisplayName("walks back past a full page of blocks")
+    void latestBeyondOnePage() {
+        for (int i = 0; i < 600; i += 60) {
+            repository.save(minute(i));
+        }
+
+        assertEquals(10, repository.findLatestByAssetId(assetId, 20).size());
+    }
+
+    @Test
+    @DisplayName("range scans decode only the blocks overlapping the range")
+    void rangeScan() {
+        repository.saveAll(minutes(0, 240));
+
+        List<MetricSnapshot> range = repository.findByAssetIdBetween(assetId,
+                T0.plus(Duration.ofMinutes(90)), T0.plus(Duration.ofMinutes(130)));
+
+        assertEquals(minutes(90, 130), range);
+    }
+
+    @Test
+    @DisplayName("fleet reads fetch the blocks of matching assets at once and decode them per asset")
+    void fleetRead() {
+        AssetId router = AssetId.generate();
+        jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                + " VALUES (?, 'rtr', 'ROUTER', '10.0.0.2', 'ACTIVE', 'u', 'p')", router.toString());
+        repository.saveAll(minutes(0, 240));
+        repository.save(MetricSnapshot.reconstruct(router, 1, 1, 1, T0.plus(Duration.ofMinutes(100))));
+
+        Function<AssetId, List<MetricSnapshot>> servers = repository.findFleetBetween(AssetType.SERVER, AssetStatus.ACTIVE,
+                T0.plus(Duration.ofMinutes(90)), T0.plus(Duration.ofMinutes(130)));
+
+        assertEquals(minutes(90, 130), servers.apply(assetId));
+        assertEquals(List.of(), servers.apply(router));
+    }
+
+    @Test
+    @DisplayName("a new instance continues the stored open block after a restart")
+    void continuesAfterRestart() {
+        repository.saveAll(minutes(0, 10));
+
+        CompressedMetricSnapshotRepository restarted = new CompressedMetricSnapshotRepository(jdbcTemplate, Duration.ofHours(1));
+        restarted.saveAll(minutes(10, 20));
+
+        assertEquals(1, blocks());
+        assertEquals(minutes(0, 20).reversed(), restarted.findLatestByAssetId(assetId, 50));
+    }
+
+    @Test
+    @DisplayName("keeps late samples in time order, in the open and in closed blocks")
+    void lateSamples() {
+        repository.saveAll(List.of(minute(0), minute(2), minute(70)));
+        repository.save(minute(1));
+        repository.save(minute(69));
+
+        assertEquals(List.of(minute(70), minute(69), minute(2), minute(1), minute(0)),
+                repository.findLatestByAssetId(assetId, 10));
+    }
+
+    @Test
+    @DisplayName("an older, shorter version of a block never overwrites a newer one")
+    void upsertKeepsLongerBlock() {
+        repository.saveAll(minutes(0, 10));
+        new CompressedMetricSnapshotRepository(jdbcTemplate, Duration.ofHours(1)).saveAll(minutes(10, 20));
+
+        repository.save(minute(10));
+
+        assertEquals(20, repository.findLatestByAssetId(assetId, 50).size());
+    }
+
+    @Test
+    @DisplayName("a rolled-back batch does not leak into later writes")
+    void rollbackLeavesOpenBlock() {
+        repository.saveAll(minutes(0, 5));
+        TransactionTemplate transactions = new TransactionTemplate(
+                new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+
+        transactions.executeWithoutResult(status -> {
+            repository.saveAll(minutes(5, 10));
+            status.setRollbackOnly();
+        });
+        repository.saveAll(minutes(10, 12));
+
+        List<MetricSnapshot> expected = new ArrayList<>(minutes(0, 5));
+        expected.addAll(minutes(10, 12));
+        assertEquals(expected.reversed(), repository.findLatestByAssetId(assetId, 50));
+    }
+
+    @Test
+    @DisplayName("a committed batch becomes the open block")
+    void commitInstallsOpenBlock() {
+        TransactionTemplate transactions = new TransactionTemplate(
+                new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+
+        transactions.executeWithoutResult(status -> repository.saveAll(minutes(0, 5)));
+        jdbcTemplate.update("DELETE FROM metric_blocks");
+        repository.saveAll(minutes(5, 7));
+
+        assertEquals(minutes(0, 7).reversed(), repository.findLatestByAssetId(assetId, 50));
+    }
+
+    @Test
+    @DisplayName("evicting an asset drops its open block")
+    void evictDropsOpenBlock() {
+        repository.saveAll(minutes(0, 5));
+        jdbcTemplate.update("DELETE FROM metric_blocks");
+
+        repository.evict(assetId);
+        repository.saveAll(minutes(5, 7));
+
+        assertEquals(minutes(5, 7).reversed(), repository.findLatestByAssetId(assetId, 50));
+    }
+
+    @Test
+    @DisplayName("drops the open blocks of assets idle for a whole block")
+    void prunesIdleOpenBlocks() {
+        AssetId other = AssetId.generate();
+        jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                + " VALUES (?, 'srv2', 'SERVER', '10.0.0.2', 'ACTIVE', 'u', 'p')", other.toString());
+        repository.saveAll(minutes(0, 5));
+        jdbcTemplate.update("DELETE FROM metric_blocks");
+
+        repository.save(MetricSnapshot.reconstruct(other, 1.0, 50.0, 25.5, T0.plus(Duration.ofHours(3))));
+        repository.save(minute(5));
+
+        assertEquals(List.of(minute(5)), repository.findLatestByAssetId(assetId, 50));
+    }
+
+    @Test
+    @DisplayName("rejects block widths that do not divide a day")
+    void rejectsUnevenBlockWidth() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompressedMetricSnapshotRepository(jdbcTemplate, Duration.ofMinutes(7)));
+    }
+}
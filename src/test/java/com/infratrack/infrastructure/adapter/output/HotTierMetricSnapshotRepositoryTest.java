@@ -0,0 +1,186 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HotTierMetricSnapshotRepository — in-memory ring of recent snapshots")
+class HotTierMetricSnapshotRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T12:00:00.123456789Z");
+
+    /** In-memory store that counts the reads reaching it. */
+    private static class CountingRepository extends InMemoryMetricSnapshotRepository {
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public synchronized List<MetricSnapshot> findLatestByAssetId(AssetId assetId, int numberOfSnapshots) {
+            reads.incrementAndGet();
+            return super.findLatestByAssetId(assetId, numberOfSnapshots);
+        }
+
+        private final AtomicInteger bulkReads = new AtomicInteger();
+
+        @Override
+        public Map<AssetId, List<MetricSnapshot>> findLatestByAssetIds(Collection<AssetId> assetIds, int numberOfSnapshots) {
+            bulkReads.incrementAndGet();
+            return super.findLatestByAssetIds(assetIds, numberOfSnapshots);
+        }
+    }
+
+    private final AssetId assetId = AssetId.generate();
+    private SimpleMeterRegistry meterRegistry;
+    private CountingRepository delegate;
+    private HotTierMetricSnapshotRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = new CountingRepository();
+        repository = new HotTierMetricSnapshotRepository(delegate, 5, meterRegistry);
+    }
+
+    private MetricSnapshot snapshot(int i) {
+        return MetricSnapshot.reconstruct(assetId, i, 50.0, 99.5, T0.plusSeconds(60L * i));
+    }
+
+    private double reads(String result) {
+        return meterRegistry.get("infratrack.hot-tier.reads").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("serves recent windows from memory, newest first and without loss of precision")
+    void servesFromRing() {
+        repository.saveAll(List.of(snapshot(0), snapshot(1), snapshot(2)));
+
+        List<MetricSnapshot> latest = repository.findLatestByAssetId(assetId, 2);
+
+        assertEquals(List.of(snapshot(2), snapshot(1)), latest);
+        assertEquals(0, delegate.reads.get());
+        assertEquals(1.0, reads("hit"));
+        assertEquals(3, delegate.findLatestByAssetId(assetId, 10).size(), "writes go through to the store");
+    }
+
+    @Test
+    @DisplayName("keeps only the newest capacity snapshots and reads older ones from the store")
+    void fallsBackForOlderData() {
+        for (int i = 0; i < 8; i++) {
+            repository.save(snapshot(i));
+        }
+
+        List<MetricSnapshot> latest = repository.findLatestByAssetId(assetId, 7);
+
+        assertEquals(List.of(snapshot(7), snapshot(6), snapshot(5), snapshot(4), snapshot(3), snapshot(2), snapshot(1)),
+                latest);
+        assertEquals(1, delegate.reads.get());
+        assertEquals(1.0, reads("partial"));
+    }
+
+    @Test
+    @DisplayName("reads of assets without a ring go to the store and allocate nothing")
+    void readsDoNotAllocateRings() {
+        delegate.saveAll(List.of(snapshot(0), snapshot(1)));
+
+        assertEquals(List.of(snapshot(1), snapshot(0)), repository.findLatestByAssetId(assetId, 2));
+        repository.findLatestByAssetIds(List.of(AssetId.generate(), AssetId.generate()), 2);
+
+        assertEquals(3.0, reads("miss"));
+        assertEquals(0.0, meterRegistry.get("infratrack.hot-tier.assets").gauge().value());
+    }
+
+    @Test
+    @DisplayName("drops the ring of an evicted asset and keeps late snapshots from recreating it")
+    void evictsRing() {
+        repository.save(snapshot(0));
+
+        repository.evict(assetId);
+        MetricSnapshot late = MetricSnapshot.reconstruct(assetId, 1.0, 50.0, 99.5, T0.minusSeconds(60));
+        repository.save(late);
+
+        assertEquals(0.0, meterRegistry.get("infratrack.hot-tier.assets").gauge().value());
+        assertEquals(List.of(snapshot(0), late), repository.findLatestByAssetId(assetId, 2));
+        assertEquals(1, delegate.reads.get(), "served by the store once the ring is gone");
+    }
+
+    @Test
+    @DisplayName("answers bulk reads from warm rings and fetches only the cold assets, in one read")
+    void bulkReadFetchesOnlyColdAssets() {
+        AssetId cold = AssetId.generate();
+        MetricSnapshot stored = MetricSnapshot.reconstruct(cold, 1.0, 2.0, 3.0, T0);
+        repository.saveAll(List.of(snapshot(0), snapshot(1)));
+        delegate.save(stored);
+
+        Map<AssetId, List<MetricSnapshot>> latest = repository.findLatestByAssetIds(List.of(assetId, cold), 2);
+
+        assertEquals(List.of(assetId, cold), List.copyOf(latest.keySet()));
+        assertEquals(List.of(snapshot(1), snapshot(0)), latest.get(assetId));
+        assertEquals(List.of(stored), latest.get(cold));
+        assertEquals(1, delegate.bulkReads.get());
+        assertEquals(1, delegate.reads.get(), "only the cold asset reaches the store");
+        assertEquals(1.0, reads("hit"));
+        assertEquals(1.0, reads("miss"));
+    }
+
+    @Test
+    @DisplayName("does not add a snapshot the store rejected")
+    void skipsRejectedWrites() {
+        HotTierMetricSnapshotRepository failing = new HotTierMetricSnapshotRepository(new InMemoryMetricSnapshotRepository() {
+            @Override
+            public void save(MetricSnapshot snapshot) {
+                throw new IllegalStateException("Snapshot pipeline is shut down");
+            }
+        }, 5, meterRegistry);
+
+        assertThrows(IllegalStateException.class, () -> failing.save(snapshot(0)));
+        assertTrue(failing.findLatestByAssetId(assetId, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("leaves single-latest reads to the store, which answers them the same on every node")
+    void singleLatestBypassesRing() {
+        repository.saveAll(List.of(snapshot(0), snapshot(1)));
+        MetricSnapshot written = snapshot(2);
+        delegate.save(written);
+
+        assertEquals(List.of(written), repository.findLatestByAssetId(assetId, 1));
+        assertEquals(List.of(written), repository.findLatestByAssetIds(List.of(assetId), 1).get(assetId));
+        assertEquals(1, delegate.bulkReads.get());
+        assertEquals(0.0, reads("hit"));
+    }
+
+    @Nested
+    @DisplayName("SnapshotRingBuffer")
+    class Ring {
+
+        @Test
+        @DisplayName("overwrites the oldest slot once full")
+        void wrapsAround() {
+            SnapshotRingBuffer ring = new SnapshotRingBuffer(assetId, 3);
+            for (int i = 0; i < 5; i++) {
+                ring.append(snapshot(i));
+            }
+
+            assertEquals(3, ring.size());
+            assertEquals(List.of(snapshot(4), snapshot(3), snapshot(2)), ring.latest(10));
+        }
+
+        @Test
+        @DisplayName("reserves a fixed 32 bytes per slot")
+        void boundedFootprint() {
+            assertEquals(120 * 32, SnapshotRingBuffer.bytesPerRing(120));
+            assertThrows(IllegalArgumentException.class, () -> new SnapshotRingBuffer(assetId, 0));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.UsageMetric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryFleetRanking — incrementally maintained top-N")
+class InMemoryFleetRankingTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-09T18:00:00Z");
+
+    /** Clock the test moves forward. */
+    private static class MutableClock extends Clock {
+        private Instant now = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final AssetId a = AssetId.generate();
+    private final AssetId b = AssetId.generate();
+    private final AssetId c = AssetId.generate();
+    private MutableClock clock;
+    private InMemoryFleetRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        ranking = new InMemoryFleetRanking(Duration.ofMinutes(15), clock);
+    }
+
+    private static MetricSnapshot snapshot(AssetId assetId, double cpu, double memory, Instant at) {
+        return MetricSnapshot.reconstruct(assetId, cpu, memory, 10.0, at);
+    }
+
+    private static List<AssetId> ids(List<MetricSnapshot> snapshots) {
+        return snapshots.stream().map(MetricSnapshot::assetId).toList();
+    }
+
+    @Test
+    @DisplayName("ranks assets by their latest value, highest first, per metric")
+    void ranksPerMetric() {
+        ranking.record(snapshot(a, 90.0, 10.0, NOW));
+        ranking.record(snapshot(b, 50.0, 80.0, NOW));
+        ranking.record(snapshot(c, 70.0, 40.0, NOW));
+
+        assertEquals(List.of(a, c), ids(ranking.top(UsageMetric.CPU, 2)));
+        assertEquals(List.of(b, c, a), ids(ranking.top(UsageMetric.MEMORY, 10)));
+    }
+
+    @Test
+    @DisplayName("moves an asset when a newer snapshot arrives and ignores older ones")
+    void keepsOnlyLatestReading() {
+        ranking.record(snapshot(a, 90.0, 10.0, NOW));
+        ranking.record(snapshot(b, 50.0, 10.0, NOW));
+        ranking.record(snapshot(a, 20.0, 10.0, NOW.plusSeconds(60)));
+        ranking.record(snapshot(a, 99.0, 10.0, NOW.minusSeconds(60)));
+
+        List<MetricSnapshot> top = ranking.top(UsageMetric.CPU, 10);
+
+        assertEquals(List.of(b, a), ids(top));
+        assertEquals(20.0, top.get(1).cpuUsage());
+        assertEquals(2, ranking.size());
+    }
+
+    @Test
+    @DisplayName("drops assets that stopped reporting when a read meets them")
+    void agesOutStaleAssets() {
+        ranking.record(snapshot(a, 90.0, 10.0, NOW));
+        clock.now = NOW.plus(Duration.ofMinutes(10));
+        ranking.record(snapshot(b, 50.0, 10.0, clock.now));
+        clock.now = NOW.plus(Duration.ofMinutes(20));
+
+        assertEquals(List.of(b), ids(ranking.top(UsageMetric.CPU, 10)));
+        assertEquals(1, ranking.size());
+    }
+
+    @Test
+    @DisplayName("removes an asset from every ranking")
+    void removesAsset() {
+        ranking.record(snapshot(a, 90.0, 90.0, NOW));
+        ranking.record(snapshot(b, 50.0, 50.0, NOW));
+
+        ranking.remove(a);
+
+        assertEquals(List.of(b), ids(ranking.top(UsageMetric.CPU, 10)));
+        assertEquals(List.of(b), ids(ranking.top(UsageMetric.MEMORY, 10)));
+    }
+
+    @Test
+    @DisplayName("a snapshot collected before the removal does not bring the asset back")
+    void ignoresInFlightSnapshotsOfRemovedAsset() {
+        ranking.record(snapshot(a, 90.0, 90.0, NOW));
+        clock.now = NOW.plusSeconds(60);
+
+        ranking.remove(a);
+        ranking.record(snapshot(a, 95.0, 90.0, NOW.plusSeconds(30)));
+
+        assertTrue(ranking.top(UsageMetric.CPU, 10).isEmpty());
+        assertEquals(0, ranking.size());
+
+        ranking.record(snapshot(a, 40.0, 90.0, NOW.plusSeconds(120)));
+
+        assertEquals(List.of(a), ids(ranking.top(UsageMetric.CPU, 10)));
+    }
+}
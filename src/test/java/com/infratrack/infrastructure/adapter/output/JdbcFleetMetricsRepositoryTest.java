@@ -0,0 +1,160 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetStatus;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.FleetMetricPoint;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.RollupTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JdbcFleetMetricsRepository — grouped by type, status and bucket (H2)")
+class JdbcFleetMetricsRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-09T00:00:00Z");
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final AssetId serverA = AssetId.generate();
+    private final AssetId serverB = AssetId.generate();
+    private final AssetId serverDown = AssetId.generate();
+    private final AssetId sensor = AssetId.generate();
+    private JdbcTemplate jdbcTemplate;
+    private JdbcFleetMetricsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__initial_schema.sql"),
+                new ClassPathResource("db/migration/V5__create_metric_rollups.sql"),
+                new ClassPathResource("db/migration/V6__create_metric_blocks.sql"),
+                new ClassPathResource("db/vendor/h2/V7__native_uuid_keys.sql"),
+                new ClassPathResource("db/migration/V9__index_fleet_queries.sql"),
+                new ClassPathResource("db/migration/V10__create_metric_sketches.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        asset(serverA, AssetType.SERVER, AssetStatus.ACTIVE);
+        asset(serverB, AssetType.SERVER, AssetStatus.ACTIVE);
+        asset(serverDown, AssetType.SERVER, AssetStatus.MAINTENANCE);
+        asset(sensor, AssetType.IOT_DEVICE, AssetStatus.ACTIVE);
+        repository = new JdbcFleetMetricsRepository(jdbcTemplate);
+    }
+
+    private void asset(AssetId id, AssetType type, AssetStatus status) {
+        jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                        + " VALUES (?, ?, ?, ?, ?, 'u', 'p')",
+                id.getValue(), id.toString(), type.name(), id.toString(), status.name());
+    }
+
+    private void snapshot(AssetId id, double cpu, double disk, long minutes) {
+        jdbcTemplate.update("INSERT INTO metrics (id, asset_id, cpu_usage, memory_usage, disk_usage, collected_at)"
+                        + " VALUES (?, ?, ?, 50.0, ?, ?)",
+                UUID.randomUUID(), id.getValue(), cpu, disk,
+                OffsetDateTime.ofInstant(T0.plusSeconds(60 * minutes), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("averages every asset of a type and status per bucket and counts the assets reporting")
+    void groupsRawSnapshots() {
+        snapshot(serverA, 10.0, 40.0, 0);
+        snapshot(serverA, 20.0, 40.0, 30);
+        snapshot(serverB, 60.0, 40.0, 10);
+        snapshot(serverB, 80.0, 40.0, 70);
+        snapshot(serverDown, 99.0, 40.0, 5);
+        snapshot(sensor, 5.0, 90.0, 5);
+
+        List<FleetMetricPoint> points = repository.aggregate(T0, T0.plus(Duration.ofHours(2)), HOUR,
+                Aggregation.AVG, AssetType.SERVER, null);
+
+        assertEquals(List.of(
+                new FleetMetricPoint(AssetType.SERVER, AssetStatus.ACTIVE, T0, 2, 3, 30.0, 50.0, 40.0),
+                new FleetMetricPoint(AssetType.SERVER, AssetStatus.ACTIVE, T0.plus(HOUR), 1, 1, 80.0, 50.0, 40.0),
+                new FleetMetricPoint(AssetType.SERVER, AssetStatus.MAINTENANCE, T0, 1, 1, 99.0, 50.0, 40.0)),
+                points);
+    }
+
+    @Test
+    @DisplayName("computes percentiles in the database, narrowed to one status")
+    void percentileByStatus() {
+        for (int i = 0; i < 20; i++) {
+            snapshot(i % 2 == 0 ? serverA : serverB, 50.0, i + 1, i);
+        }
+        snapshot(serverDown, 50.0, 100.0, 1);
+
+        List<FleetMetricPoint> points = repository.aggregate(T0, T0.plus(HOUR), HOUR,
+                Aggregation.P95, null, AssetStatus.ACTIVE);
+
+        assertEquals(1, points.size());
+        assertEquals(2, points.get(0).assets());
+        assertEquals(20, points.get(0).count());
+        assertEquals(19.05, points.get(0).disk(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("merges rollups across assets: min of mins, max of maxes, sum over count")
+    void groupsRollups() {
+        new JdbcMetricRollupRepository(jdbcTemplate).mergeAll(List.of(
+                rollup(serverA, T0, 60, 10.0, 30.0, 1200.0),
+                rollup(serverB, T0, 30, 50.0, 70.0, 1800.0),
+                rollup(serverB, T0.plus(Duration.ofMinutes(5)), 30, 40.0, 90.0, 1500.0)));
+
+        Instant to = T0.plus(HOUR);
+        FleetMetricPoint avg = repository.aggregateRollups(RollupTier.FIVE_MINUTES, T0, to, HOUR,
+                Aggregation.AVG, AssetType.SERVER, AssetStatus.ACTIVE).get(0);
+        FleetMetricPoint max = repository.aggregateRollups(RollupTier.FIVE_MINUTES, T0, to, HOUR,
+                Aggregation.MAX, AssetType.SERVER, AssetStatus.ACTIVE).get(0);
+
+        assertEquals(new FleetMetricPoint(AssetType.SERVER, AssetStatus.ACTIVE, T0, 2, 120, 37.5, 37.5, 37.5), avg);
+        assertEquals(90.0, max.cpu());
+        assertThrows(IllegalArgumentException.class, () -> repository.aggregateRollups(RollupTier.FIVE_MINUTES,
+                T0, to, HOUR, Aggregation.P95, null, null));
+    }
+
+    @Test
+    @DisplayName("merges the sketches of every asset in a group into fleet percentiles")
+    void groupsSketches() {
+        List<MetricSnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            snapshots.add(MetricSnapshot.reconstruct(i < 50 ? serverA : serverB, 20.0, 50.0, i + 1.0,
+                    T0.plusSeconds(30L * i)));
+        }
+        snapshots.add(MetricSnapshot.reconstruct(sensor, 5.0, 5.0, 5.0, T0));
+        new JdbcMetricSketchRepository(jdbcTemplate, TransactionOperations.withoutTransaction())
+                .mergeAll(MetricSketch.sketch(snapshots, EnumSet.of(RollupTier.FIVE_MINUTES)));
+
+        List<FleetMetricPoint> points = repository.aggregateSketches(RollupTier.FIVE_MINUTES, T0, T0.plus(HOUR), HOUR,
+                Aggregation.P95, AssetType.SERVER, null);
+
+        assertEquals(1, points.size());
+        assertEquals(AssetStatus.ACTIVE, points.get(0).status());
+        assertEquals(2, points.get(0).assets());
+        assertEquals(100, points.get(0).count());
+        assertEquals(95.0, points.get(0).disk(), 95.0 * 0.01);
+        assertEquals(20.0, points.get(0).cpu());
+    }
+
+    private static MetricRollup rollup(AssetId id, Instant start, long count, double min, double max, double sum) {
+        MetricRollup.Stats stats = new MetricRollup.Stats(min, max, sum);
+        return new MetricRollup(id, RollupTier.FIVE_MINUTES, start, count, stats, stats, stats);
+    }
+}
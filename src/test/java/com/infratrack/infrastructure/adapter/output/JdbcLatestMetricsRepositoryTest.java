@@ -0,0 +1,81 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JdbcLatestMetricsRepository — one row per asset (H2)")
+class JdbcLatestMetricsRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-09T17:00:00Z");
+
+    private final AssetId assetId = AssetId.generate();
+    private final AssetId other = AssetId.generate();
+    private JdbcTemplate jdbcTemplate;
+    private JdbcLatestMetricsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__initial_schema.sql"),
+                new ClassPathResource("db/migration/V5__create_metric_rollups.sql"),
+                new ClassPathResource("db/migration/V6__create_metric_blocks.sql"),
+                new ClassPathResource("db/vendor/h2/V7__native_uuid_keys.sql"),
+                new ClassPathResource("db/migration/V8__create_asset_latest_metrics.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (AssetId id : List.of(assetId, other)) {
+            jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                    + " VALUES (?, ?, 'SERVER', ?, 'ACTIVE', 'u', 'p')", id.getValue(), id.toString(), id.toString());
+        }
+        repository = new JdbcLatestMetricsRepository(jdbcTemplate);
+    }
+
+    private MetricSnapshot snapshot(AssetId id, double cpu, long minutes) {
+        return MetricSnapshot.reconstruct(id, cpu, 40.0, 60.0, T0.plusSeconds(60 * minutes));
+    }
+
+    @Test
+    @DisplayName("keeps the newest snapshot of each asset, also within one batch")
+    void keepsNewestPerAsset() {
+        repository.upsertAll(List.of(snapshot(assetId, 10.0, 0), snapshot(assetId, 30.0, 2), snapshot(assetId, 20.0, 1)));
+        repository.upsertAll(List.of(snapshot(assetId, 50.0, 3)));
+
+        assertEquals(Optional.of(snapshot(assetId, 50.0, 3)), repository.findByAssetId(assetId));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM asset_latest_metrics", Integer.class));
+    }
+
+    @Test
+    @DisplayName("never moves an asset back to an older snapshot")
+    void ignoresOlderSnapshots() {
+        repository.upsertAll(List.of(snapshot(assetId, 50.0, 5)));
+        repository.upsertAll(List.of(snapshot(assetId, 10.0, 1)));
+
+        assertEquals(50.0, repository.findByAssetId(assetId).orElseThrow().cpuUsage());
+    }
+
+    @Test
+    @DisplayName("looks up several assets by key and leaves out those without a row")
+    void findsByKeys() {
+        repository.upsertAll(List.of(snapshot(assetId, 10.0, 0)));
+
+        Map<AssetId, MetricSnapshot> latest = repository.findByAssetIds(List.of(assetId, other));
+
+        assertEquals(Map.of(assetId, snapshot(assetId, 10.0, 0)), latest);
+        assertTrue(repository.findByAssetId(other).isEmpty());
+    }
+}
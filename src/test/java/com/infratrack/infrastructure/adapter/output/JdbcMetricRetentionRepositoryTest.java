@@ -0,0 +1,133 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.RollupTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("JdbcMetricRetentionRepository — chunked deletes (H2)")
+class JdbcMetricRetentionRepositoryTest {
+
+    private static final Instant CUTOFF = Instant.parse("2026-06-01T00:00:00Z");
+
+    private final AssetId server = AssetId.generate();
+    private final AssetId sensor = AssetId.generate();
+    private JdbcTemplate jdbcTemplate;
+    private JdbcMetricRetentionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__initial_schema.sql"),
+                new ClassPathResource("db/migration/V5__create_metric_rollups.sql"),
+                new ClassPathResource("db/migration/V6__create_metric_blocks.sql"),
+                new ClassPathResource("db/vendor/h2/V7__native_uuid_keys.sql"),
+                new ClassPathResource("db/migration/V10__create_metric_sketches.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        insertAsset(server, AssetType.SERVER, "10.0.0.1");
+        insertAsset(sensor, AssetType.IOT_DEVICE, "10.0.0.2");
+        repository = new JdbcMetricRetentionRepository(jdbcTemplate);
+    }
+
+    private void insertAsset(AssetId id, AssetType type, String ip) {
+        jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                + " VALUES (?, 'a', ?, ?, 'ACTIVE', 'u', 'p')", id.toString(), type.name(), ip);
+    }
+
+    private void insertSnapshots(AssetId id, Instant from, int count) {
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO metrics (id, asset_id, cpu_usage, memory_usage, disk_usage, collected_at)"
+                            + " VALUES (?, ?, 1, 1, 1, ?)", UUID.randomUUID().toString(), id.toString(),
+                    OffsetDateTime.ofInstant(from.plus(Duration.ofMinutes(i)), ZoneOffset.UTC));
+        }
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    @DisplayName("deletes at most limit expired snapshots of the given type per call")
+    void deletesSnapshotsInChunks() {
+        insertSnapshots(server, CUTOFF.minus(Duration.ofHours(1)), 5);
+        insertSnapshots(server, CUTOFF, 2);
+        insertSnapshots(sensor, CUTOFF.minus(Duration.ofHours(1)), 3);
+
+        assertEquals(3, repository.deleteSnapshotsBefore(AssetType.SERVER, CUTOFF, 3));
+        assertEquals(2, repository.deleteSnapshotsBefore(AssetType.SERVER, CUTOFF, 3));
+        assertEquals(0, repository.deleteSnapshotsBefore(AssetType.SERVER, CUTOFF, 3));
+
+        assertEquals(5, count("metrics"), "newer server rows and all sensor rows are kept");
+    }
+
+    @Test
+    @DisplayName("also deletes compressed blocks whose last sample expired, within the same limit")
+    void deletesExpiredBlocks() {
+        CompressedMetricSnapshotRepository blocks = new CompressedMetricSnapshotRepository(jdbcTemplate, Duration.ofHours(1));
+        for (int hour = 3; hour >= 1; hour--) {
+            blocks.save(MetricSnapshot.reconstruct(server, 1, 1, 1, CUTOFF.minus(Duration.ofHours(hour))));
+        }
+        blocks.save(MetricSnapshot.reconstruct(server, 1, 1, 1, CUTOFF.plusSeconds(1)));
+        insertSnapshots(server, CUTOFF.minus(Duration.ofHours(1)), 1);
+
+        assertEquals(2, repository.deleteBlocksBefore(AssetType.SERVER, CUTOFF, 2));
+        assertEquals(1, repository.deleteBlocksBefore(AssetType.SERVER, CUTOFF, 2));
+        assertEquals(0, repository.deleteBlocksBefore(AssetType.SERVER, CUTOFF, 2));
+
+        assertEquals(1, count("metric_blocks"));
+        assertEquals(1, count("metrics"));
+    }
+
+    @Test
+    @DisplayName("deletes expired rollups of one tier and type only")
+    void deletesRollupsOfOneTier() {
+        JdbcMetricRollupRepository rollups = new JdbcMetricRollupRepository(jdbcTemplate);
+        for (AssetId id : List.of(server, sensor)) {
+            rollups.mergeAll(MetricRollup.rollUp(List.of(
+                    MetricSnapshot.reconstruct(id, 1, 1, 1, CUTOFF.minus(Duration.ofHours(2))),
+                    MetricSnapshot.reconstruct(id, 1, 1, 1, CUTOFF.plus(Duration.ofHours(2)))),
+                    EnumSet.of(RollupTier.ONE_HOUR, RollupTier.ONE_DAY)));
+        }
+
+        assertEquals(1, repository.deleteRollupsBefore(AssetType.SERVER, RollupTier.ONE_HOUR, CUTOFF, 10));
+
+        assertEquals(7, count("metric_rollups"));
+    }
+
+    @Test
+    @DisplayName("deletes expired sketches along with the rollups of their tier")
+    void deletesSketchesOfOneTier() {
+        JdbcMetricSketchRepository sketches = new JdbcMetricSketchRepository(jdbcTemplate, TransactionOperations.withoutTransaction());
+        for (AssetId id : List.of(server, sensor)) {
+            sketches.mergeAll(MetricSketch.sketch(List.of(
+                    MetricSnapshot.reconstruct(id, 1, 1, 1, CUTOFF.minus(Duration.ofHours(2))),
+                    MetricSnapshot.reconstruct(id, 1, 1, 1, CUTOFF.plus(Duration.ofHours(2)))),
+                    EnumSet.of(RollupTier.ONE_HOUR)));
+        }
+
+        assertEquals(1, repository.deleteRollupsBefore(AssetType.SERVER, RollupTier.ONE_HOUR, CUTOFF, 10));
+
+        assertEquals(3, count("metric_sketches"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricRollup;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.RollupTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JdbcMetricRollupRepository — batched upserts (H2)")
+class JdbcMetricRollupRepositoryTest {
+
+    private final AssetId assetId = AssetId.generate();
+    private JdbcMetricRollupRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__initial_schema.sql"),
+                new ClassPathResource("db/migration/V5__create_metric_rollups.sql"),
+                new ClassPathResource("db/migration/V6__create_metric_blocks.sql"),
+                new ClassPathResource("db/vendor/h2/V7__native_uuid_keys.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                + " VALUES (?, 'srv', 'SERVER', '10.0.0.1', 'ACTIVE', 'u', 'p')", assetId.toString());
+        repository = new JdbcMetricRollupRepository(jdbcTemplate);
+    }
+
+    private List<MetricRollup> rollUp(String at, double cpu) {
+        return MetricRollup.rollUp(
+                List.of(MetricSnapshot.reconstruct(assetId, cpu, 40.0, 60.0, Instant.parse(at))),
+                EnumSet.of(RollupTier.ONE_MINUTE, RollupTier.ONE_HOUR));
+    }
+
+    @Test
+    @DisplayName("merges deltas into existing buckets instead of overwriting them")
+    void mergesIntoExistingBuckets() {
+        repository.mergeAll(rollUp("2026-03-09T17:47:10Z", 10.0));
+        repository.mergeAll(rollUp("2026-03-09T17:47:50Z", 30.0));
+        repository.mergeAll(rollUp("2026-03-09T17:52:00Z", 80.0));
+
+        List<MetricRollup> minutes = repository.findByAssetId(assetId, RollupTier.ONE_MINUTE,
+                Instant.parse("2026-03-09T17:00:00Z"), Instant.parse("2026-03-09T18:00:00Z"));
+        assertEquals(2, minutes.size());
+        assertEquals(Instant.parse("2026-03-09T17:47:00Z"), minutes.get(0).bucketStart());
+        assertEquals(2, minutes.get(0).count());
+        assertEquals(20.0, minutes.get(0).cpuAverage(), 1e-9);
+
+        MetricRollup hour = repository.findByAssetId(assetId, RollupTier.ONE_HOUR,
+                Instant.parse("2026-03-09T17:00:00Z"), Instant.parse("2026-03-09T18:00:00Z")).get(0);
+        assertEquals(3, hour.count());
+        assertEquals(10.0, hour.cpu().min());
+        assertEquals(80.0, hour.cpu().max());
+        assertEquals(120.0, hour.cpu().sum(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("returns only buckets inside [from, to)")
+    void rangeIsHalfOpen() {
+        repository.mergeAll(rollUp("2026-03-09T17:00:00Z", 10.0));
+        repository.mergeAll(rollUp("2026-03-09T18:00:00Z", 10.0));
+
+        List<MetricRollup> hours = repository.findByAssetId(assetId, RollupTier.ONE_HOUR,
+                Instant.parse("2026-03-09T17:00:00Z"), Instant.parse("2026-03-09T18:00:00Z"));
+
+        assertEquals(1, hours.size());
+    }
+}
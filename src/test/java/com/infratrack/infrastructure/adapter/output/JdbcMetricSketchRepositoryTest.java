@@ -0,0 +1,104 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSketch;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.domain.model.RollupTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JdbcMetricSketchRepository — locked read-merge-write (H2)")
+class JdbcMetricSketchRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-09T17:00:00Z");
+
+    private final AssetId assetId = AssetId.generate();
+    private final AssetId other = AssetId.generate();
+    private JdbcMetricSketchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__initial_schema.sql"),
+                new ClassPathResource("db/migration/V5__create_metric_rollups.sql"),
+                new ClassPathResource("db/migration/V6__create_metric_blocks.sql"),
+                new ClassPathResource("db/vendor/h2/V7__native_uuid_keys.sql"),
+                new ClassPathResource("db/migration/V10__create_metric_sketches.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (AssetId id : List.of(assetId, other)) {
+            jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                    + " VALUES (?, ?, 'SERVER', ?, 'ACTIVE', 'u', 'p')", id.getValue(), id.toString(), id.toString());
+        }
+        repository = new JdbcMetricSketchRepository(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    private static MetricSnapshot snapshot(AssetId id, double cpu, long seconds) {
+        return MetricSnapshot.reconstruct(id, cpu, 40.0, 60.0, T0.plusSeconds(seconds));
+    }
+
+    @Test
+    @DisplayName("merges deltas into the stored bucket, creating it on first write")
+    void mergesIntoStoredBuckets() {
+        repository.mergeAll(MetricSketch.sketch(List.of(snapshot(assetId, 10.0, 0), snapshot(other, 99.0, 0)),
+                EnumSet.of(RollupTier.ONE_HOUR, RollupTier.ONE_DAY)));
+        repository.mergeAll(MetricSketch.sketch(List.of(snapshot(assetId, 90.0, 60)),
+                EnumSet.of(RollupTier.ONE_HOUR, RollupTier.ONE_DAY)));
+
+        List<MetricSketch> hours = repository.findByAssetId(assetId, RollupTier.ONE_HOUR, T0, T0.plusSeconds(3600));
+
+        assertEquals(1, hours.size());
+        assertEquals(2, hours.get(0).count());
+        assertEquals(90.0, hours.get(0).cpu().quantile(1.0));
+        assertEquals(10.0, hours.get(0).cpu().quantile(0.0));
+    }
+
+    @Test
+    @DisplayName("concurrent writers into the same buckets lose no samples")
+    void concurrentMergesKeepEverySample() throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                int writer = w;
+                futures.add(writers.submit(() -> {
+                    for (int batch = 0; batch < 10; batch++) {
+                        long at = writer * 10L + batch;
+                        repository.mergeAll(MetricSketch.sketch(
+                                List.of(snapshot(assetId, 50.0, at), snapshot(other, 50.0, at)),
+                                EnumSet.of(RollupTier.FIVE_MINUTES, RollupTier.ONE_HOUR)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        for (AssetId id : List.of(assetId, other)) {
+            assertEquals(40, repository.findByAssetId(id, RollupTier.ONE_HOUR, T0, T0.plusSeconds(3600)).get(0).count());
+            assertEquals(40, repository.findByAssetId(id, RollupTier.FIVE_MINUTES, T0, T0.plusSeconds(300)).get(0).count());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.Aggregation;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricPoint;
+import com.infratrack.infrastructure.persistence.SpringDataMetricSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Runs the bucketing native queries against the Flyway schema on H2. */
+@DataJpaTest(properties = "infratrack.encryption.key=yt1+CDm1+7KdsybbxWrFcunLl8hnMTROPrEdi2daEuc=")
+@DisplayName("JpaMetricHistoryRepository — SQL bucketing (H2)")
+class JpaMetricHistoryRepositoryTest {
+
+    private static final Instant FROM = Instant.parse("2026-03-09T17:00:00Z");
+    private static final Instant TO = Instant.parse("2026-03-09T18:00:00Z");
+
+    @Autowired
+    private SpringDataMetricSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AssetId assetId = AssetId.generate();
+    private JpaMetricHistoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                + " VALUES (?, 'srv', 'SERVER', '10.0.0.1', 'ACTIVE', 'u', 'p')", assetId.getValue());
+        insert("2026-03-09T17:01:00Z", 10.0);
+        insert("2026-03-09T17:02:00Z", 20.0);
+        insert("2026-03-09T17:04:59Z", 30.0);
+        insert("2026-03-09T17:05:00Z", 90.0);
+        insert("2026-03-09T18:00:00Z", 99.0);
+        repository = new JpaMetricHistoryRepository(snapshotRepository);
+    }
+
+    private void insert(String at, double cpu) {
+        jdbcTemplate.update("INSERT INTO metrics (id, asset_id, cpu_usage, memory_usage, disk_usage, collected_at)"
+                        + " VALUES (?, ?, ?, 40.0, 60.0, ?)",
+                UUID.randomUUID(), assetId.getValue(), cpu,
+                OffsetDateTime.ofInstant(Instant.parse(at), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("groups rows into epoch-aligned buckets inside [from, to)")
+    void bucketsRows() {
+        List<MetricPoint> points = repository.aggregate(assetId, FROM, TO, Duration.ofMinutes(5), Aggregation.AVG);
+
+        assertEquals(2, points.size());
+        assertEquals(FROM, points.get(0).bucketStart());
+        assertEquals(3, points.get(0).count());
+        assertEquals(20.0, points.get(0).cpu(), 1e-9);
+        assertEquals(Instant.parse("2026-03-09T17:05:00Z"), points.get(1).bucketStart());
+        assertEquals(90.0, points.get(1).cpu(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("computes min, max and p95 per bucket")
+    void reducesPerAggregation() {
+        Duration step = Duration.ofMinutes(5);
+
+        assertEquals(10.0, repository.aggregate(assetId, FROM, TO, step, Aggregation.MIN).get(0).cpu(), 1e-9);
+        assertEquals(30.0, repository.aggregate(assetId, FROM, TO, step, Aggregation.MAX).get(0).cpu(), 1e-9);
+        assertEquals(29.0, repository.aggregate(assetId, FROM, TO, step, Aggregation.P95).get(0).cpu(), 1e-9);
+    }
+}
@@ -0,0 +1,76 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import com.infratrack.infrastructure.persistence.SpringDataMetricSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Runs the set-based latest-per-asset query against the Flyway schema on H2. */
+@DataJpaTest(properties = "infratrack.encryption.key=yt1+CDm1+7KdsybbxWrFcunLl8hnMTROPrEdi2daEuc=")
+@DisplayName("JpaMetricSnapshotRepository — bulk latest snapshots (H2)")
+class JpaMetricSnapshotRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-09T18:00:00Z");
+
+    @Autowired
+    private SpringDataMetricSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AssetId busy = AssetId.generate();
+    private final AssetId down = AssetId.generate();
+    private final AssetId silent = AssetId.generate();
+    private JpaMetricSnapshotRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        for (AssetId assetId : List.of(busy, down, silent)) {
+            jdbcTemplate.update("INSERT INTO assets (id, name, type, ip_address, status, username, password)"
+                    + " VALUES (?, ?, 'SERVER', ?, 'ACTIVE', 'u', 'p')", assetId.getValue(), assetId.toString(), assetId.toString());
+        }
+        repository = new JpaMetricSnapshotRepository(snapshotRepository, Duration.ofHours(24),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        repository.saveAll(List.of(
+                snapshot(busy, 10.0, NOW.minusSeconds(180)),
+                snapshot(busy, 20.0, NOW.minusSeconds(120)),
+                snapshot(busy, 30.0, NOW.minusSeconds(60)),
+                // Outside the lookback window: only the fallback query finds it
+                snapshot(down, 40.0, NOW.minus(Duration.ofDays(3)))));
+    }
+
+    private static MetricSnapshot snapshot(AssetId assetId, double cpu, Instant at) {
+        return MetricSnapshot.reconstruct(assetId, cpu, 50.0, 60.0, at);
+    }
+
+    @Test
+    @DisplayName("returns the newest snapshots of every asset, newest first, in request order")
+    void latestPerAsset() {
+        Map<AssetId, List<MetricSnapshot>> latest = repository.findLatestByAssetIds(List.of(silent, busy, down), 2);
+
+        assertEquals(List.of(silent, busy, down), List.copyOf(latest.keySet()));
+        assertEquals(List.of(30.0, 20.0), latest.get(busy).stream().map(MetricSnapshot::cpuUsage).toList());
+        assertEquals(List.of(40.0), latest.get(down).stream().map(MetricSnapshot::cpuUsage).toList());
+        assertTrue(latest.get(silent).isEmpty());
+    }
+
+    @Test
+    @DisplayName("matches the per-asset read")
+    void matchesSingleAssetRead() {
+        assertEquals(repository.findLatestByAssetId(busy, 3), repository.findLatestByAssetIds(List.of(busy), 3).get(busy));
+    }
+}
@@ -0,0 +1,108 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.application.port.output.LatestMetricsRepository;
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatestTrackingMetricSnapshotRepository — latest snapshot by key")
+class LatestTrackingMetricSnapshotRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-09T17:00:00Z");
+
+    /** Map-backed latest store. */
+    private static class MapLatestMetrics implements LatestMetricsRepository {
+        private final Map<AssetId, MetricSnapshot> rows = new HashMap<>();
+
+        @Override
+        public void upsertAll(Collection<MetricSnapshot> snapshots) {
+            snapshots.forEach(s -> rows.merge(s.assetId(), s, (a, b) -> b.collectedAt().isAfter(a.collectedAt()) ? b : a));
+        }
+
+        @Override
+        public Optional<MetricSnapshot> findByAssetId(AssetId assetId) {
+            return Optional.ofNullable(rows.get(assetId));
+        }
+
+        @Override
+        public Map<AssetId, MetricSnapshot> findByAssetIds(Collection<AssetId> assetIds) {
+            Map<AssetId, MetricSnapshot> found = new HashMap<>();
+            assetIds.stream().filter(rows::containsKey).forEach(id -> found.put(id, rows.get(id)));
+            return found;
+        }
+    }
+
+    private final AssetId assetId = AssetId.generate();
+    private final AtomicInteger transactions = new AtomicInteger();
+    private InMemoryMetricSnapshotRepository store;
+    private MapLatestMetrics latest;
+    private LatestTrackingMetricSnapshotRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryMetricSnapshotRepository();
+        latest = new MapLatestMetrics();
+        TransactionOperations counting = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                transactions.incrementAndGet();
+                return TransactionOperations.withoutTransaction().execute(action);
+            }
+        };
+        repository = new LatestTrackingMetricSnapshotRepository(store, latest, counting);
+    }
+
+    private MetricSnapshot snapshot(AssetId id, double cpu, long minutes) {
+        return MetricSnapshot.reconstruct(id, cpu, 40.0, 60.0, T0.plusSeconds(60 * minutes));
+    }
+
+    @Test
+    @DisplayName("writes a batch and its latest-per-asset upsert in one transaction")
+    void writesBothInOneTransaction() {
+        repository.saveAll(List.of(snapshot(assetId, 10.0, 0), snapshot(assetId, 20.0, 1)));
+
+        assertEquals(1, transactions.get());
+        assertEquals(2, store.findLatestByAssetId(assetId, 10).size());
+        assertEquals(Optional.of(snapshot(assetId, 20.0, 1)), latest.findByAssetId(assetId));
+    }
+
+    @Test
+    @DisplayName("serves the latest snapshot from the latest store and longer histories from the snapshot store")
+    void routesReads() {
+        store.saveAll(List.of(snapshot(assetId, 10.0, 0), snapshot(assetId, 20.0, 1)));
+        latest.upsertAll(List.of(snapshot(assetId, 99.0, 1)));
+
+        assertEquals(List.of(snapshot(assetId, 99.0, 1)), repository.findLatestByAssetId(assetId, 1));
+        assertEquals(2, repository.findLatestByAssetId(assetId, 2).size());
+    }
+
+    @Test
+    @DisplayName("falls back to the snapshot store for assets without a latest row, keeping request order")
+    void fallsBackForUnknownAssets() {
+        AssetId legacy = AssetId.generate();
+        AssetId silent = AssetId.generate();
+        store.save(snapshot(legacy, 30.0, 0));
+        latest.upsertAll(List.of(snapshot(assetId, 10.0, 0)));
+
+        Map<AssetId, List<MetricSnapshot>> result = repository.findLatestByAssetIds(List.of(silent, legacy, assetId), 1);
+
+        assertEquals(List.of(silent, legacy, assetId), List.copyOf(result.keySet()));
+        assertTrue(result.get(silent).isEmpty());
+        assertEquals(List.of(snapshot(legacy, 30.0, 0)), result.get(legacy));
+        assertEquals(List.of(snapshot(assetId, 10.0, 0)), result.get(assetId));
+    }
+}
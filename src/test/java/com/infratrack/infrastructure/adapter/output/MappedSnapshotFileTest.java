@@ -0,0 +1,167 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MappedSnapshotFile — restart-surviving snapshot rings")
+class MappedSnapshotFileTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T12:00:00.123456789Z");
+
+    @TempDir
+    Path dir;
+
+    private final AssetId assetId = AssetId.generate();
+
+    private MetricSnapshot snapshot(int i) {
+        return MetricSnapshot.reconstruct(assetId, i, 50.0, 99.5, T0.plusSeconds(60L * i));
+    }
+
+    @Test
+    @DisplayName("keeps the newest capacity snapshots of each asset across a reopen")
+    void survivesReopen() {
+        Path path = dir.resolve("hot.bin");
+        try (MappedMetricSnapshotRepository repository = new MappedMetricSnapshotRepository(MappedSnapshotFile.open(path, 4, 3))) {
+            for (int i = 0; i < 5; i++) {
+                repository.save(snapshot(i));
+            }
+        }
+
+        try (MappedMetricSnapshotRepository reopened = new MappedMetricSnapshotRepository(MappedSnapshotFile.open(path, 4, 3))) {
+            assertEquals(List.of(snapshot(4), snapshot(3), snapshot(2)), reopened.findLatestByAssetId(assetId, 10));
+            reopened.save(snapshot(5));
+            assertEquals(List.of(snapshot(5), snapshot(4)), reopened.findLatestByAssetId(assetId, 2));
+            assertTrue(reopened.findLatestByAssetId(AssetId.generate(), 10).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("a crash between the next index and the size never exposes an unwritten record")
+    void crashBeforeSize() throws Exception {
+        Path path = dir.resolve("hot.bin");
+        try (MappedSnapshotFile file = MappedSnapshotFile.open(path, 1, 3)) {
+            SnapshotRing ring = file.ring(assetId).orElseThrow();
+            ring.append(snapshot(0));
+            ring.append(snapshot(1));
+        }
+        // Third record and next index written, size still 2
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            MetricSnapshot third = snapshot(2);
+            channel.write(ByteBuffer.allocate(32)
+                    .putLong(0, SnapshotRingBuffer.toNanos(third.collectedAt()))
+                    .putDouble(8, third.cpuUsage())
+                    .putDouble(16, third.memoryUsage())
+                    .putDouble(24, third.diskUsage()), 64 + 32 + 2 * 32);
+            channel.write(ByteBuffer.allocate(4).putInt(0, 0), 64 + 16);
+        }
+
+        try (MappedSnapshotFile file = MappedSnapshotFile.open(path, 1, 3)) {
+            assertEquals(List.of(snapshot(2), snapshot(1)), file.find(assetId).orElseThrow().latest(10));
+        }
+    }
+
+    @Test
+    @DisplayName("recreates a file mapped with a different shape")
+    void recreatesOnShapeChange() {
+        Path path = dir.resolve("hot.bin");
+        try (MappedSnapshotFile file = MappedSnapshotFile.open(path, 4, 3)) {
+            file.ring(assetId).orElseThrow().append(snapshot(0));
+        }
+
+        try (MappedSnapshotFile file = MappedSnapshotFile.open(path, 4, 5)) {
+            assertEquals(0, file.assets());
+            assertTrue(file.find(assetId).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("gives out no slot once every slot is taken")
+    void fullFile() {
+        try (MappedSnapshotFile file = MappedSnapshotFile.open(dir.resolve("hot.bin"), 1, 3)) {
+            assertTrue(file.ring(assetId).isPresent());
+            assertTrue(file.ring(AssetId.generate()).isEmpty());
+
+            MappedMetricSnapshotRepository repository = new MappedMetricSnapshotRepository(file);
+            MetricSnapshot other = MetricSnapshot.of(AssetId.generate(), 1, 1, 1);
+            assertThrows(IllegalStateException.class, () -> repository.save(other));
+        }
+    }
+
+    @Test
+    @DisplayName("reuses a released slot, also after a reopen")
+    void releasesSlots() {
+        Path path = dir.resolve("hot.bin");
+        AssetId second = AssetId.generate();
+        try (MappedSnapshotFile file = MappedSnapshotFile.open(path, 2, 3)) {
+            file.ring(assetId).orElseThrow().append(snapshot(0));
+            file.ring(second).orElseThrow().append(snapshot(1));
+
+            assertTrue(file.release(assetId));
+            assertFalse(file.release(assetId));
+            assertTrue(file.find(assetId).isEmpty());
+        }
+
+        try (MappedSnapshotFile file = MappedSnapshotFile.open(path, 2, 3)) {
+            assertEquals(1, file.assets());
+            assertEquals(1, file.find(second).orElseThrow().size());
+            SnapshotRing reused = file.ring(AssetId.generate()).orElseThrow();
+            assertEquals(0, reused.size(), "a reused slot starts empty");
+            assertTrue(file.ring(AssetId.generate()).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("gives a deleted asset's slot to the next asset and ignores its late snapshots")
+    void evictsDeletedAsset() {
+        try (MappedMetricSnapshotRepository repository = new MappedMetricSnapshotRepository(
+                MappedSnapshotFile.open(dir.resolve("hot.bin"), 1, 3))) {
+            repository.save(snapshot(0));
+
+            repository.evict(assetId);
+            repository.save(snapshot(1));
+            MetricSnapshot other = MetricSnapshot.of(AssetId.generate(), 1, 1, 1);
+            repository.save(other);
+
+            assertTrue(repository.findLatestByAssetId(assetId, 10).isEmpty());
+            assertEquals(List.of(other), repository.findLatestByAssetId(other.assetId(), 10));
+        }
+    }
+
+    @Test
+    @DisplayName("backs the hot tier, which is warm again after a restart")
+    void warmHotTierAfterRestart() throws Exception {
+        Path path = dir.resolve("hot.bin");
+        InMemoryMetricSnapshotRepository database = new InMemoryMetricSnapshotRepository();
+        try (HotTierMetricSnapshotRepository hotTier = new HotTierMetricSnapshotRepository(database,
+                MappedSnapshotFile.open(path, 4, 3), new SimpleMeterRegistry())) {
+            hotTier.saveAll(List.of(snapshot(0), snapshot(1)));
+        }
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (HotTierMetricSnapshotRepository restarted = new HotTierMetricSnapshotRepository(database,
+                MappedSnapshotFile.open(path, 4, 3), meterRegistry)) {
+            assertEquals(List.of(snapshot(1), snapshot(0)), restarted.findLatestByAssetId(assetId, 2));
+            assertEquals(1.0, meterRegistry.get("infratrack.hot-tier.reads").tag("result", "hit").counter().count());
+        }
+    }
+
+    @Test
+    @DisplayName("rejects shapes that do not fit in one mapping")
+    void rejectsOversizedFile() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MappedSnapshotFile.open(dir.resolve("hot.bin"), 1_000_000, 100_000));
+    }
+}
@@ -0,0 +1,84 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.Credentials;
+import com.infratrack.domain.model.IpAddress;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProbeRecordParser — streaming probe output decoding")
+class ProbeRecordParserTest {
+
+    private static InputStream stream(String output) {
+        return new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("parse()")
+    class Parse {
+
+        @Test
+        @DisplayName("should split each line on the first '=' and stop at the end marker")
+        void parsesUntilEndMarker() throws IOException {
+            ProbeRecord record = ProbeRecordParser.parse(stream("""
+                    Welcome to router-01
+                    cpu=%Cpu(s):  2.0 us,  1.0 sy,  0.0 ni, 97.0 id
+                    note=a=b
+                    .
+                    late=ignored
+                    """));
+
+            assertEquals("%Cpu(s):  2.0 us,  1.0 sy,  0.0 ni, 97.0 id", record.require("cpu"));
+            assertEquals("a=b", record.require("note"));
+            assertTrue(record.get("late").isEmpty());
+            assertEquals(2, record.keys().size());
+        }
+
+        @Test
+        @DisplayName("should name the missing field when a required one is absent")
+        void requireNamesMissingField() throws IOException {
+            ProbeRecord record = ProbeRecordParser.parse(stream("cpu=1\n"));
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> record.require("disk"));
+            assertTrue(e.getMessage().contains("disk"));
+        }
+
+        @Test
+        @DisplayName("should reject output larger than the cap")
+        void rejectsRunawayOutput() {
+            String flood = "x=" + "y".repeat(ProbeRecordParser.MAX_BYTES) + "\n";
+
+            assertThrows(IOException.class, () -> ProbeRecordParser.parse(stream(flood)));
+        }
+    }
+
+    @Test
+    @DisplayName("linux-top probe decodes its record with the existing top/free/df semantics")
+    void linuxTopDecodesRecord() throws IOException {
+        Asset asset = Asset.create("Server", AssetType.SERVER, IpAddress.of("10.0.0.1"), Credentials.of("admin", "s3cr3t"));
+        ProbeDefinition probe = ProbeCatalog.defaults().forType(AssetType.SERVER);
+        ProbeRecord record = ProbeRecordParser.parse(stream("""
+                cpu=%Cpu(s):  5.0 us,  2.5 sy,  0.0 ni, 92.5 id,  0.0 wa
+                mem=2048 8192
+                disk=42%
+                .
+                """));
+
+        MetricSnapshot snapshot = probe.decoder().decode(asset, record);
+
+        assertEquals("linux-top", probe.name());
+        assertEquals(7.5, snapshot.cpuUsage());
+        assertEquals(25.0, snapshot.memoryUsage());
+        assertEquals(42.0, snapshot.diskUsage());
+    }
+}
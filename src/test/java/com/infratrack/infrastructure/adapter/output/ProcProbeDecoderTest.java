@@ -0,0 +1,92 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.Credentials;
+import com.infratrack.domain.model.IpAddress;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProcProbeDecoder — /proc and statfs decoding")
+class ProcProbeDecoderTest {
+
+    private final ProcProbeDecoder decoder = new ProcProbeDecoder();
+    private final Asset asset = Asset.create("Server", AssetType.SERVER, IpAddress.of("10.0.0.1"),
+            Credentials.of("admin", "s3cr3t"));
+
+    private static ProbeRecord record(String cpuLine) {
+        return new ProbeRecord(Map.of(
+                "cpu", cpuLine,
+                "mem", "2048 8192",
+                "fs", "1000 600 550"));
+    }
+
+    @Nested
+    @DisplayName("CPU usage")
+    class CpuUsage {
+
+        @Test
+        @DisplayName("should use the since-boot average on the first sample")
+        void firstSampleSinceBoot() {
+            // total = 100+0+50+800+50 = 1000, idle = 800+50 = 850 → 15% busy
+            MetricSnapshot snapshot = decoder.decode(asset, record("cpu  100 0 50 800 50 0 0 0 0 0"));
+
+            assertEquals(15.0, snapshot.cpuUsage());
+        }
+
+        @Test
+        @DisplayName("should use the tick delta against the previous sample of the same asset")
+        void deltaAgainstPreviousSample() {
+            decoder.decode(asset, record("cpu  100 0 50 800 50 0 0 0 0 0"));
+
+            // +300 busy, +100 idle → 75% busy over the interval
+            MetricSnapshot snapshot = decoder.decode(asset, record("cpu  350 0 100 900 50 0 0 0 0 0"));
+
+            assertEquals(75.0, snapshot.cpuUsage());
+        }
+
+        @Test
+        @DisplayName("should fall back to the since-boot average after a counter reset")
+        void counterReset() {
+            decoder.decode(asset, record("cpu  100000 0 50000 800000 50000 0 0 0 0 0"));
+
+            MetricSnapshot snapshot = decoder.decode(asset, record("cpu  100 0 50 800 50 0 0 0 0 0"));
+
+            assertEquals(15.0, snapshot.cpuUsage());
+        }
+
+        @Test
+        @DisplayName("should start over from the since-boot average once the asset is forgotten")
+        void forgetDropsPreviousSample() {
+            decoder.decode(asset, record("cpu  100 0 50 800 50 0 0 0 0 0"));
+
+            decoder.forget(asset.getId());
+            MetricSnapshot snapshot = decoder.decode(asset, record("cpu  350 0 100 900 50 0 0 0 0 0"));
+
+            // total = 1400, idle = 950 → since boot, not the 75% delta
+            assertEquals(32.1, snapshot.cpuUsage());
+        }
+
+        @Test
+        @DisplayName("should reject a line that is not the aggregate cpu line")
+        void rejectsUnknownLine() {
+            assertThrows(IllegalArgumentException.class, () -> ProcProbeDecoder.parseCpuTicks("intr 12345"));
+        }
+    }
+
+    @Test
+    @DisplayName("should report memory like free and disk like df's Use%")
+    void memoryAndDisk() {
+        MetricSnapshot snapshot = decoder.decode(asset, record("cpu  100 0 50 800 50 0 0 0 0 0"));
+
+        assertEquals(25.0, snapshot.memoryUsage());
+        // used = 1000 - 600 = 400, used / (used + available) = 400 / 950
+        assertEquals(42.1, snapshot.diskUsage());
+    }
+}
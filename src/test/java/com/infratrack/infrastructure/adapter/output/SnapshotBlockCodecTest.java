@@ -0,0 +1,77 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.AssetId;
+import com.infratrack.domain.model.MetricSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SnapshotBlockCodec — Gorilla block encoding")
+class SnapshotBlockCodecTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T12:00:00Z");
+    private final AssetId assetId = AssetId.generate();
+
+    private List<MetricSnapshot> roundTrip(List<MetricSnapshot> samples) {
+        SnapshotBlockCodec.Encoder encoder = new SnapshotBlockCodec.Encoder();
+        samples.forEach(encoder::append);
+        return SnapshotBlockCodec.decode(assetId, encoder.toByteArray(), encoder.count());
+    }
+
+    @Test
+    @DisplayName("round-trips noisy values and jittered timestamps exactly")
+    void roundTripsExactly() {
+        Random random = new Random(42);
+        List<MetricSnapshot> samples = new ArrayList<>();
+        Instant at = T0;
+        for (int i = 0; i < 500; i++) {
+            at = at.plusMillis(60_000 + random.nextInt(4_001) - 2_000);
+            samples.add(MetricSnapshot.reconstruct(assetId,
+                    random.nextDouble() * 100, 40 + random.nextInt(3), i % 7 == 0 ? 100.0 : 0.0, at));
+        }
+
+        assertEquals(samples, roundTrip(samples));
+    }
+
+    @ParameterizedTest(name = "second delta shifted by {0} ms")
+    @ValueSource(longs = {-2048, -2047, -256, -255, -64, -63, -1, 1, 64, 65, 256, 257, 2048, 2049, 86_400_000})
+    @DisplayName("decodes delta-of-deltas at every bucket boundary")
+    void bucketBoundaries(long shift) {
+        List<MetricSnapshot> samples = List.of(
+                MetricSnapshot.reconstruct(assetId, 1, 2, 3, T0),
+                MetricSnapshot.reconstruct(assetId, 1, 2, 3, T0.plusMillis(100_000)),
+                MetricSnapshot.reconstruct(assetId, 1, 2, 3, T0.plusMillis(200_000 + shift)));
+
+        assertEquals(samples, roundTrip(samples));
+    }
+
+    @Test
+    @DisplayName("packs regular, slowly changing samples into a few bytes each")
+    void compressesRegularSeries() {
+        SnapshotBlockCodec.Encoder encoder = new SnapshotBlockCodec.Encoder();
+        for (int i = 0; i < 120; i++) {
+            encoder.append(MetricSnapshot.reconstruct(assetId, 12.5 + (i % 4) * 0.25, 61.0, 33.75, T0.plusSeconds(60L * i)));
+        }
+
+        assertTrue(encoder.toByteArray().length < 120 * 3,
+                "expected under 3 bytes per sample, got " + encoder.toByteArray().length + " bytes");
+    }
+
+    @Test
+    @DisplayName("rejects samples appended out of time order")
+    void rejectsOutOfOrder() {
+        SnapshotBlockCodec.Encoder encoder = new SnapshotBlockCodec.Encoder();
+        encoder.append(MetricSnapshot.reconstruct(assetId, 1, 1, 1, T0));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> encoder.append(MetricSnapshot.reconstruct(assetId, 1, 1, 1, T0.minusMillis(1))));
+    }
+}
@@ -0,0 +1,201 @@
+package com.infratrack.infrastructure.adapter.output;
+
+import com.infratrack.domain.model.Asset;
+import com.infratrack.domain.model.AssetType;
+import com.infratrack.domain.model.Credentials;
+import com.infratrack.domain.model.IpAddress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.schmizz.sshj.SSHClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SshConnectionPool — persistent per-asset SSH connections")
+class SshConnectionPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private final List<SSHClient> opened = new ArrayList<>();
+    private SshConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Test seam: pool subclass whose {@code connect()} hands out healthy
+     * mocked clients instead of dialing a real SSH server.
+     */
+    private SshConnectionPool poolWith(int maxConnections, Duration idleTimeout) {
+        SshConnectionPool.Settings settings = new SshConnectionPool.Settings(
+                maxConnections, idleTimeout, Duration.ofHours(1), Duration.ofSeconds(5));
+        return new SshConnectionPool(22, settings, meterRegistry) {
+            @Override
+            protected SSHClient connect(Asset asset) {
+                SSHClient client = mock(SSHClient.class);
+                when(client.isConnected()).thenReturn(true);
+                when(client.isAuthenticated()).thenReturn(true);
+                opened.add(client);
+                return client;
+            }
+        };
+    }
+
+    private Asset asset(String ip) {
+        return Asset.create("Server " + ip, AssetType.SERVER, IpAddress.of(ip), Credentials.of("admin", "s3cr3t"));
+    }
+
+    private double evictions(String reason) {
+        var counter = meterRegistry.find("infratrack.ssh.pool.evictions").tag("reason", reason).counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    @Nested
+    @DisplayName("acquire()")
+    class Acquire {
+
+        @Test
+        @DisplayName("reuses the pooled connection on the second acquisition")
+        void reusesConnection() throws IOException {
+            pool = poolWith(8, Duration.ofMinutes(5));
+            Asset asset = asset("10.0.0.1");
+
+            try (var lease = pool.acquire(asset)) {
+                assertSame(opened.get(0), lease.client());
+            }
+            try (var lease = pool.acquire(asset)) {
+                assertSame(opened.get(0), lease.client());
+            }
+
+            assertEquals(1, opened.size(), "second acquisition must not reconnect");
+            assertEquals(1, pool.size());
+            assertEquals(0.5, meterRegistry.find("infratrack.ssh.pool.hit.ratio").gauge().value());
+        }
+
+        @Test
+        @DisplayName("reconnects when the asset's credentials no longer match the pooled connection")
+        void reconnectsOnFingerprintMismatch() throws IOException {
+            pool = poolWith(8, Duration.ofMinutes(5));
+            Asset asset = asset("10.0.0.1");
+            pool.acquire(asset).close();
+
+            asset.updateCredentials(Credentials.of("admin", "rotated"));
+            pool.acquire(asset).close();
+
+            assertEquals(2, opened.size());
+            verify(opened.get(0)).disconnect();
+            assertEquals(1.0, evictions("invalidated"));
+        }
+
+        @Test
+        @DisplayName("reconnects when the pooled connection is no longer healthy")
+        void reconnectsWhenUnhealthy() throws IOException {
+            pool = poolWith(8, Duration.ofMinutes(5));
+            Asset asset = asset("10.0.0.1");
+            pool.acquire(asset).close();
+            when(opened.get(0).isConnected()).thenReturn(false);
+
+            pool.acquire(asset).close();
+
+            assertEquals(2, opened.size());
+            assertEquals(1.0, evictions("unhealthy"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Capacity and eviction")
+    class CapacityAndEviction {
+
+        @Test
+        @DisplayName("evicts the least recently used idle connection when the pool is full")
+        void evictsLruWhenFull() throws IOException {
+            pool = poolWith(1, Duration.ofMinutes(5));
+            pool.acquire(asset("10.0.0.1")).close();
+
+            pool.acquire(asset("10.0.0.2")).close();
+
+            assertEquals(1, pool.size());
+            verify(opened.get(0)).disconnect();
+            assertEquals(1.0, evictions("capacity"));
+        }
+
+        @Test
+        @DisplayName("hands out a one-shot connection when every pooled connection is busy")
+        void oneShotWhenAllBusy() throws IOException {
+            pool = poolWith(1, Duration.ofMinutes(5));
+            var busy = pool.acquire(asset("10.0.0.1"));
+
+            pool.acquire(asset("10.0.0.2")).close();
+
+            assertEquals(1, pool.size(), "busy connection stays pooled");
+            verify(opened.get(0), never()).disconnect();
+            verify(opened.get(1)).disconnect();
+            busy.close();
+        }
+
+        @Test
+        @DisplayName("evictIdle() closes connections idle past the timeout but not busy ones")
+        void evictsIdleOnly() throws IOException {
+            pool = poolWith(8, Duration.ZERO);
+            pool.acquire(asset("10.0.0.1")).close();
+            var busy = pool.acquire(asset("10.0.0.2"));
+
+            pool.evictIdle();
+
+            assertEquals(1, pool.size());
+            verify(opened.get(0)).disconnect();
+            verify(opened.get(1), never()).disconnect();
+            assertEquals(1.0, evictions("idle"));
+            busy.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("invalidate()")
+    class Invalidate {
+
+        @Test
+        @DisplayName("closes an idle connection immediately")
+        void closesIdleConnection() throws IOException {
+            pool = poolWith(8, Duration.ofMinutes(5));
+            Asset asset = asset("10.0.0.1");
+            pool.acquire(asset).close();
+
+            pool.invalidate(asset.getId());
+
+            assertEquals(0, pool.size());
+            verify(opened.get(0)).disconnect();
+        }
+
+        @Test
+        @DisplayName("defers closing a busy connection until its lease is released")
+        void defersCloseOfBusyConnection() throws IOException {
+            pool = poolWith(8, Duration.ofMinutes(5));
+            Asset asset = asset("10.0.0.1");
+            var lease = pool.acquire(asset);
+
+            pool.invalidate(asset.getId());
+            verify(opened.get(0), never()).disconnect();
+
+            lease.close();
+            verify(opened.get(0)).disconnect();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.infratrack.infrastructure.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MetricPartitionManager — daily metrics partitions")
+class MetricPartitionManagerTest {
+
+    @Test
+    @DisplayName("names partitions metrics_pYYYYMMDD and parses the day back")
+    void partitionNames() {
+        LocalDate day = LocalDate.of(2026, 3, 9);
+
+        assertEquals("metrics_p20260309", MetricPartitionManager.partitionName(day));
+        assertEquals(Optional.of(day), MetricPartitionManager.dayOf("metrics_p20260309"));
+        assertEquals(Optional.empty(), MetricPartitionManager.dayOf("metrics_default"));
+        assertEquals(Optional.empty(), MetricPartitionManager.dayOf("metrics_p2026030"));
+    }
+
+    @Test
+    @DisplayName("a partition covers exactly one UTC day")
+    void createStatementBounds() {
+        String ddl = MetricPartitionManager.createStatement(LocalDate.of(2026, 12, 31));
+
+        assertTrue(ddl.startsWith("CREATE TABLE IF NOT EXISTS metrics_p20261231 PARTITION OF metrics"));
+        assertTrue(ddl.endsWith("FROM ('2026-12-31 00:00:00+00') TO ('2027-01-01 00:00:00+00')"));
+    }
+
+    @Test
+    @DisplayName("is a no-op on a database without partitioning (H2)")
+    void noOpOnH2() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:partitions"));
+        MetricPartitionManager manager = new MetricPartitionManager(jdbcTemplate, Duration.ofSeconds(1));
+
+        assertFalse(manager.isPartitioned());
+        assertTrue(manager.createPartitions(LocalDate.now(), 7).isEmpty());
+        assertTrue(manager.dropPartitionsBefore(LocalDate.now()).isEmpty());
+        assertEquals(0, manager.defaultPartitionRows());
+    }
+}